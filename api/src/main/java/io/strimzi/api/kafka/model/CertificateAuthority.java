@@ -35,6 +35,7 @@ public class CertificateAuthority implements UnknownPropertyPreserving, Serializ
     private int renewalDays;
     private Map<String, Object> additionalProperties = new HashMap<>(0);
     private CertificateExpirationPolicy certificateExpirationPolicy;
+    private CertificateKeyAlgorithm keyAlgorithm;
     public static final int DEFAULT_CERTS_VALIDITY_DAYS = 365;
     public static final int DEFAULT_CERTS_RENEWAL_DAYS = 30;
 
@@ -95,6 +96,17 @@ public class CertificateAuthority implements UnknownPropertyPreserving, Serializ
     public void setCertificateExpirationPolicy(CertificateExpirationPolicy certificateExpirationPolicy) {
         this.certificateExpirationPolicy = certificateExpirationPolicy;
     }
+
+    @Description("Algorithm of the private keys generated for the CA and for the certificates it issues. " +
+            "Changing it only affects newly generated keys. " +
+            "The default is `rsa`.")
+    public CertificateKeyAlgorithm getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    public void setKeyAlgorithm(CertificateKeyAlgorithm keyAlgorithm) {
+        this.keyAlgorithm = keyAlgorithm;
+    }
     
     @Override
     public Map<String, Object> getAdditionalProperties() {
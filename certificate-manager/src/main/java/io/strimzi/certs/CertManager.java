@@ -23,6 +23,18 @@ public interface CertManager {
      */
     void generateSelfSignedCert(File keyFile, File certFile, Subject sbj, int days) throws IOException;
 
+    /**
+     * Generate a self-signed certificate
+     *
+     * @param keyFile path to the file which will contain the private key
+     * @param certFile path to the file which will contain the self signed certificate
+     * @param sbj subject information
+     * @param days certificate duration
+     * @param keyAlgorithm algorithm of the generated private key
+     * @throws IOException If an input or output file could not be read/written.
+     */
+    void generateSelfSignedCert(File keyFile, File certFile, Subject sbj, int days, KeyAlgorithm keyAlgorithm) throws IOException;
+
     /**
      * Generate a self-signed certificate
      *
@@ -94,6 +106,44 @@ public interface CertManager {
      */
     void generateCsr(File keyFile, File csrFile, Subject sbj) throws IOException;
 
+    /**
+     * Generate a certificate sign request
+     *
+     * @param keyFile path to the file which will contain the private key
+     * @param csrFile path to the file which will contain the certificate sign request
+     * @param sbj subject information
+     * @param keyAlgorithm algorithm of the generated private key
+     * @throws IOException If an input or output file could not be read/written.
+     */
+    void generateCsr(File keyFile, File csrFile, Subject sbj, KeyAlgorithm keyAlgorithm) throws IOException;
+
+    /**
+     * Generate a private key
+     *
+     * @param keyFile path to the file which will contain the private key
+     * @throws IOException If an input or output file could not be read/written.
+     */
+    void generateKey(File keyFile) throws IOException;
+
+    /**
+     * Generate a private key
+     *
+     * @param keyFile path to the file which will contain the private key
+     * @param keyAlgorithm algorithm of the generated private key
+     * @throws IOException If an input or output file could not be read/written.
+     */
+    void generateKey(File keyFile, KeyAlgorithm keyAlgorithm) throws IOException;
+
+    /**
+     * Generate a certificate sign request, keeping the existing private key
+     *
+     * @param keyFile path to the file containing the existing private key
+     * @param csrFile path to the file which will contain the certificate sign request
+     * @param sbj subject information
+     * @throws IOException If an input or output file could not be read/written.
+     */
+    void generateCsrWithExistingKey(File keyFile, File csrFile, Subject sbj) throws IOException;
+
     /**
      * Generate a certificate signed by a Certificate Authority
      *
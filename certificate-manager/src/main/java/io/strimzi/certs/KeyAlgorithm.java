@@ -0,0 +1,20 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.certs;
+
+/**
+ * Algorithm used for generating the private keys
+ */
+public enum KeyAlgorithm {
+    /**
+     * 2048 bits RSA key
+     */
+    RSA,
+
+    /**
+     * Elliptic curve key using the NIST P-256 curve, used for ECDSA signatures
+     */
+    EC
+}
@@ -26,6 +26,7 @@ import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -36,6 +37,8 @@ import static java.util.Arrays.asList;
  */
 public class OpenSslCertManager implements CertManager {
     public static final int MAXIMUM_CN_LENGTH = 64;
+    private static final int RSA_KEY_SIZE = 2048;
+    private static final String EC_CURVE = "prime256v1";
 
     private static final Logger log = LogManager.getLogger(OpenSslCertManager.class);
 
@@ -48,9 +51,15 @@ public class OpenSslCertManager implements CertManager {
 
     @Override
     public void generateSelfSignedCert(File keyFile, File certFile, Subject sbj, int days) throws IOException {
+        generateSelfSignedCert(keyFile, certFile, sbj, days, KeyAlgorithm.RSA);
+    }
+
+    @Override
+    public void generateSelfSignedCert(File keyFile, File certFile, Subject sbj, int days, KeyAlgorithm keyAlgorithm) throws IOException {
 
         List<String> cmd = new ArrayList<>(asList("openssl", "req", "-x509", "-new", "-days", String.valueOf(days), "-batch", "-nodes",
                 "-out", certFile.getAbsolutePath(), "-keyout", keyFile.getAbsolutePath()));
+        cmd.addAll(newKeyOptions(keyAlgorithm));
 
         File sna = null;
         File openSslConf = null;
@@ -265,9 +274,66 @@ public class OpenSslCertManager implements CertManager {
 
     @Override
     public void generateCsr(File keyFile, File csrFile, Subject sbj) throws IOException {
+        generateCsr(keyFile, csrFile, sbj, KeyAlgorithm.RSA);
+    }
+
+    @Override
+    public void generateCsr(File keyFile, File csrFile, Subject sbj, KeyAlgorithm keyAlgorithm) throws IOException {
 
         List<String> cmd = new ArrayList<>(asList("openssl", "req", "-new", "-batch", "-nodes",
                 "-keyout", keyFile.getAbsolutePath(), "-out", csrFile.getAbsolutePath()));
+        cmd.addAll(newKeyOptions(keyAlgorithm));
+
+        generateCsr(cmd, sbj);
+    }
+
+    @Override
+    public void generateKey(File keyFile) throws IOException {
+        generateKey(keyFile, KeyAlgorithm.RSA);
+    }
+
+    @Override
+    public void generateKey(File keyFile, KeyAlgorithm keyAlgorithm) throws IOException {
+
+        List<String> cmd = new ArrayList<>(asList("openssl", "genpkey", "-out", keyFile.getAbsolutePath()));
+
+        switch (keyAlgorithm) {
+            case EC:
+                cmd.addAll(asList("-algorithm", "EC", "-pkeyopt", "ec_paramgen_curve:" + EC_CURVE));
+                break;
+            case RSA:
+            default:
+                cmd.addAll(asList("-algorithm", "RSA", "-pkeyopt", "rsa_keygen_bits:" + RSA_KEY_SIZE));
+        }
+
+        exec(cmd);
+    }
+
+    /**
+     * Options for the openssl req command to generate a new private key with the given algorithm.
+     * RSA keys use the openssl defaults.
+     *
+     * @param keyAlgorithm algorithm of the generated private key
+     * @return list with the options
+     */
+    private static List<String> newKeyOptions(KeyAlgorithm keyAlgorithm) {
+        if (keyAlgorithm == KeyAlgorithm.EC) {
+            return asList("-newkey", "ec", "-pkeyopt", "ec_paramgen_curve:" + EC_CURVE);
+        } else {
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public void generateCsrWithExistingKey(File keyFile, File csrFile, Subject sbj) throws IOException {
+
+        List<String> cmd = new ArrayList<>(asList("openssl", "req", "-new", "-batch",
+                "-key", keyFile.getAbsolutePath(), "-out", csrFile.getAbsolutePath()));
+
+        generateCsr(cmd, sbj);
+    }
+
+    private void generateCsr(List<String> cmd, Subject sbj) throws IOException {
 
         File sna = null;
         File openSslConf = null;
@@ -197,6 +197,107 @@ public class OpenSslCertManagerTest {
         store.delete();
     }
 
+    @Test
+    public void testGenerateSignedCertWithExistingKey() throws Exception {
+
+        File caKey = File.createTempFile("ca-key-", ".key");
+        File caCert = File.createTempFile("ca-crt-", ".crt");
+
+        Subject caSbj = new Subject();
+        caSbj.setCommonName("CACommonName");
+        caSbj.setOrganizationName("CAOrganizationName");
+
+        File key = File.createTempFile("key-", ".key");
+        File csr = File.createTempFile("csr-", ".csr");
+        Subject sbj = new Subject();
+        sbj.setCommonName("MyCommonName");
+        sbj.setOrganizationName("MyOrganization");
+        File cert = File.createTempFile("crt-", ".crt");
+
+        ssl.generateSelfSignedCert(caKey, caCert, caSbj, 365);
+
+        ssl.generateKey(key);
+        byte[] originalKey = Files.readAllBytes(key.toPath());
+
+        ssl.generateCsrWithExistingKey(key, csr, sbj);
+        ssl.generateCert(csr, caKey, caCert, cert, sbj, 365);
+
+        // the existing key has to be kept
+        assertThat(Files.readAllBytes(key.toPath()), is(originalKey));
+
+        CertificateFactory cf = CertificateFactory.getInstance("X.509");
+        X509Certificate c = (X509Certificate) cf.generateCertificate(new FileInputStream(cert));
+        Certificate ca = cf.generateCertificate(new FileInputStream(caCert));
+
+        c.verify(ca.getPublicKey());
+        assertThat(String.format("CN=%s, O=%s", sbj.commonName(), sbj.organizationName()), is(c.getSubjectDN().getName()));
+
+        // the keystore export fails if the certificate was not issued for the existing key
+        File keyStore = File.createTempFile("store-", ".p12");
+        ssl.addKeyAndCertToKeyStore(key, cert, "user", keyStore, "123456");
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        store.load(new FileInputStream(keyStore), "123456".toCharArray());
+        assertThat(store.getKey("user", "123456".toCharArray()), is(notNullValue()));
+
+        caKey.delete();
+        caCert.delete();
+        key.delete();
+        csr.delete();
+        cert.delete();
+        keyStore.delete();
+    }
+
+    @Test
+    public void testGenerateSignedCertWithEcKeys() throws Exception {
+
+        File caKey = File.createTempFile("ca-key-", ".key");
+        File caCert = File.createTempFile("ca-crt-", ".crt");
+
+        Subject caSbj = new Subject();
+        caSbj.setCommonName("CACommonName");
+        caSbj.setOrganizationName("CAOrganizationName");
+
+        File key = File.createTempFile("key-", ".key");
+        File csr = File.createTempFile("csr-", ".csr");
+        Subject sbj = new Subject();
+        sbj.setCommonName("MyCommonName");
+        sbj.setOrganizationName("MyOrganization");
+        File cert = File.createTempFile("crt-", ".crt");
+
+        ssl.generateSelfSignedCert(caKey, caCert, caSbj, 365, KeyAlgorithm.EC);
+        ssl.generateCsr(key, csr, sbj, KeyAlgorithm.EC);
+        ssl.generateCert(csr, caKey, caCert, cert, sbj, 365);
+
+        CertificateFactory cf = CertificateFactory.getInstance("X.509");
+        X509Certificate c = (X509Certificate) cf.generateCertificate(new FileInputStream(cert));
+        X509Certificate ca = (X509Certificate) cf.generateCertificate(new FileInputStream(caCert));
+
+        assertThat(ca.getPublicKey().getAlgorithm(), is("EC"));
+        assertThat(c.getPublicKey().getAlgorithm(), is("EC"));
+        assertThat(c.getSigAlgName(), is("SHA256withECDSA"));
+        c.verify(ca.getPublicKey());
+
+        File keyStore = File.createTempFile("store-", ".p12");
+        ssl.addKeyAndCertToKeyStore(key, cert, "user", keyStore, "123456");
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        store.load(new FileInputStream(keyStore), "123456".toCharArray());
+        assertThat(store.getKey("user", "123456".toCharArray()).getAlgorithm(), is("EC"));
+
+        File trustStore = File.createTempFile("trust-", ".p12");
+        ssl.addCertToTrustStore(caCert, "ca", trustStore, "123456");
+        KeyStore trust = KeyStore.getInstance("PKCS12");
+        trust.load(new FileInputStream(trustStore), "123456".toCharArray());
+        assertThat(trust.getCertificate("ca").getPublicKey().getAlgorithm(), is("EC"));
+
+        caKey.delete();
+        caCert.delete();
+        key.delete();
+        csr.delete();
+        cert.delete();
+        keyStore.delete();
+        trustStore.delete();
+    }
+
     private void testGenerateSignedCert(File caKey, File caCert, Subject caSbj, File key, File csr, File cert,
                                         File keyStore, String keyStorePassword, Subject sbj) throws Exception {
 
@@ -14,8 +14,11 @@ import io.strimzi.operator.cluster.operator.assembly.KafkaConnectS2IAssemblyOper
 import io.strimzi.operator.cluster.operator.assembly.KafkaMirrorMakerAssemblyOperator;
 import io.strimzi.operator.cluster.operator.assembly.KafkaRebalanceAssemblyOperator;
 import io.strimzi.operator.common.AbstractOperator;
+import io.strimzi.operator.common.EventLoopMonitor;
 import io.strimzi.operator.cluster.operator.assembly.KafkaMirrorMaker2AssemblyOperator;
 import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.ReconciliationScheduler;
+import io.strimzi.operator.common.ShardManager;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
@@ -30,7 +33,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
@@ -59,6 +61,7 @@ public class ClusterOperator extends AbstractVerticle {
     private final Map<String, Watch> watchByKind = new ConcurrentHashMap<>();
 
     private long reconcileTimer;
+    private EventLoopMonitor eventLoopMonitor;
     private final KafkaAssemblyOperator kafkaAssemblyOperator;
     private final KafkaConnectAssemblyOperator kafkaConnectAssemblyOperator;
     private final KafkaConnectS2IAssemblyOperator kafkaConnectS2IAssemblyOperator;
@@ -66,6 +69,7 @@ public class ClusterOperator extends AbstractVerticle {
     private final KafkaMirrorMaker2AssemblyOperator kafkaMirrorMaker2AssemblyOperator;
     private final KafkaBridgeAssemblyOperator kafkaBridgeAssemblyOperator;
     private final KafkaRebalanceAssemblyOperator kafkaRebalanceAssemblyOperator;
+    private final ShardManager shardManager;
 
     public ClusterOperator(String namespace,
                            long reconciliationInterval,
@@ -78,6 +82,28 @@ public class ClusterOperator extends AbstractVerticle {
                            KafkaBridgeAssemblyOperator kafkaBridgeAssemblyOperator,
                            KafkaRebalanceAssemblyOperator kafkaRebalanceAssemblyOperator,
                            MetricsProvider metricsProvider) {
+        this(namespace, reconciliationInterval, client, kafkaAssemblyOperator, kafkaConnectAssemblyOperator,
+                kafkaConnectS2IAssemblyOperator, kafkaMirrorMakerAssemblyOperator, kafkaMirrorMaker2AssemblyOperator,
+                kafkaBridgeAssemblyOperator, kafkaRebalanceAssemblyOperator, metricsProvider, null);
+    }
+
+    /**
+     * @param shardManager The shard manager which decides which resources are reconciled by this replica or null
+     *                     when all resources are reconciled. The resources are reconciled when new shards are acquired.
+     */
+    @SuppressWarnings({"checkstyle:ParameterNumber"})
+    public ClusterOperator(String namespace,
+                           long reconciliationInterval,
+                           KubernetesClient client,
+                           KafkaAssemblyOperator kafkaAssemblyOperator,
+                           KafkaConnectAssemblyOperator kafkaConnectAssemblyOperator,
+                           KafkaConnectS2IAssemblyOperator kafkaConnectS2IAssemblyOperator,
+                           KafkaMirrorMakerAssemblyOperator kafkaMirrorMakerAssemblyOperator,
+                           KafkaMirrorMaker2AssemblyOperator kafkaMirrorMaker2AssemblyOperator,
+                           KafkaBridgeAssemblyOperator kafkaBridgeAssemblyOperator,
+                           KafkaRebalanceAssemblyOperator kafkaRebalanceAssemblyOperator,
+                           MetricsProvider metricsProvider,
+                           ShardManager shardManager) {
         log.info("Creating ClusterOperator for namespace {}", namespace);
         this.namespace = namespace;
         this.reconciliationInterval = reconciliationInterval;
@@ -91,14 +117,15 @@ public class ClusterOperator extends AbstractVerticle {
         this.kafkaRebalanceAssemblyOperator = kafkaRebalanceAssemblyOperator;
 
         this.metricsProvider = metricsProvider;
+        this.shardManager = shardManager;
     }
 
     @Override
     public void start(Promise<Void> start) {
         log.info("Starting ClusterOperator for namespace {}", namespace);
 
-        // Configure the executor here, but it is used only in other places
-        getVertx().createSharedWorkerExecutor("kubernetes-ops-pool", 10, TimeUnit.SECONDS.toNanos(120));
+        eventLoopMonitor = new EventLoopMonitor(vertx, metricsProvider, EventLoopMonitor.DEFAULT_INTERVAL_MS);
+        eventLoopMonitor.start();
 
         List<Future> watchFutures = new ArrayList<>(8);
         List<AbstractOperator<?, ?, ?, ?>> operators = new ArrayList<>(asList(
@@ -120,10 +147,17 @@ public class ClusterOperator extends AbstractVerticle {
 
         CompositeFuture.join(watchFutures)
                 .compose(f -> {
+                    if (shardManager != null) {
+                        shardManager.addListener(() -> context.runOnContext(ignore -> {
+                            log.info("Triggering reconciliation for namespace {} after acquiring shards {}...", namespace, shardManager.ownedShards());
+                            reconcileAll("shards");
+                        }));
+                    }
+
                     log.info("Setting up periodic reconciliation for namespace {}", namespace);
                     this.reconcileTimer = vertx.setPeriodic(this.reconciliationInterval, res2 -> {
                         log.info("Triggering periodic reconciliation for namespace {}...", namespace);
-                        reconcileAll("timer");
+                        reconcileAll(ReconciliationScheduler.PERIODIC_TRIGGER);
                     });
                     return startHealthServer().map((Void) null);
                 })
@@ -135,6 +169,7 @@ public class ClusterOperator extends AbstractVerticle {
     public void stop(Promise<Void> stop) {
         log.info("Stopping ClusterOperator for namespace {}", namespace);
         vertx.cancelTimer(reconcileTimer);
+        eventLoopMonitor.stop();
         for (Watch watch : watchByKind.values()) {
             if (watch != null) {
                 watch.close();
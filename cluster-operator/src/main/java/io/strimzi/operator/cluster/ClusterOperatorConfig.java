@@ -9,8 +9,11 @@ import io.fabric8.kubernetes.api.model.LocalObjectReferenceBuilder;
 import io.strimzi.operator.cluster.model.ImagePullPolicy;
 import io.strimzi.operator.cluster.model.KafkaVersion;
 import io.strimzi.operator.cluster.model.NoImageException;
+import io.strimzi.operator.common.HttpClients;
 import io.strimzi.operator.common.InvalidConfigurationException;
+import io.strimzi.operator.common.ReconciliationWorkQueue;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.AbstractWatchableResourceOperator;
 import org.apache.logging.log4j.LogManager;
@@ -23,6 +26,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
@@ -42,6 +46,22 @@ public class ClusterOperatorConfig {
     public static final String STRIMZI_IMAGE_PULL_SECRETS = "STRIMZI_IMAGE_PULL_SECRETS";
     public static final String STRIMZI_OPERATOR_NAMESPACE = "STRIMZI_OPERATOR_NAMESPACE";
     public static final String STRIMZI_OPERATOR_NAMESPACE_LABELS = "STRIMZI_OPERATOR_NAMESPACE_LABELS";
+    public static final String STRIMZI_RECONCILIATION_PARALLELISM = "STRIMZI_RECONCILIATION_PARALLELISM";
+    public static final String STRIMZI_RESOURCE_CACHE_ENABLED = "STRIMZI_RESOURCE_CACHE_ENABLED";
+    public static final String STRIMZI_WORKER_POOL_SIZES = "STRIMZI_WORKER_POOL_SIZES";
+    public static final String STRIMZI_VIRTUAL_THREADS_ENABLED = "STRIMZI_VIRTUAL_THREADS_ENABLED";
+    public static final String STRIMZI_SHARD_COUNT = "STRIMZI_SHARD_COUNT";
+    public static final String STRIMZI_SHARD_LEASE_DURATION_MS = "STRIMZI_SHARD_LEASE_DURATION_MS";
+    public static final String STRIMZI_SHARD_IDENTITY = "STRIMZI_SHARD_IDENTITY";
+    public static final String STRIMZI_KAFKA_ROLLER_MAX_CONCURRENT_RESTARTS = "STRIMZI_KAFKA_ROLLER_MAX_CONCURRENT_RESTARTS";
+    public static final String STRIMZI_UNCHANGED_FULL_RECONCILIATION_INTERVAL_MS = "STRIMZI_UNCHANGED_FULL_RECONCILIATION_INTERVAL_MS";
+    public static final String STRIMZI_MAX_CONCURRENT_RECONCILIATIONS = "STRIMZI_MAX_CONCURRENT_RECONCILIATIONS";
+    public static final String STRIMZI_MAX_CONCURRENT_RECONCILIATIONS_PER_KIND = "STRIMZI_MAX_CONCURRENT_RECONCILIATIONS_PER_KIND";
+    public static final String STRIMZI_PERIODIC_RECONCILIATION_JITTER_MS = "STRIMZI_PERIODIC_RECONCILIATION_JITTER_MS";
+    public static final String STRIMZI_ADMIN_CLIENT_IDLE_TIMEOUT_MS = "STRIMZI_ADMIN_CLIENT_IDLE_TIMEOUT_MS";
+    public static final String STRIMZI_HTTP_CLIENT_MAX_POOL_SIZE = "STRIMZI_HTTP_CLIENT_MAX_POOL_SIZE";
+    public static final String STRIMZI_HTTP_CLIENT_IDLE_TIMEOUT_MS = "STRIMZI_HTTP_CLIENT_IDLE_TIMEOUT_MS";
+    public static final String STRIMZI_HTTP_CLIENT_CONNECT_TIMEOUT_MS = "STRIMZI_HTTP_CLIENT_CONNECT_TIMEOUT_MS";
 
     // Env vars for configuring images
     public static final String STRIMZI_KAFKA_IMAGES = "STRIMZI_KAFKA_IMAGES";
@@ -62,6 +82,20 @@ public class ClusterOperatorConfig {
     public static final long DEFAULT_FULL_RECONCILIATION_INTERVAL_MS = 120_000;
     public static final long DEFAULT_OPERATION_TIMEOUT_MS = 300_000;
     public static final boolean DEFAULT_CREATE_CLUSTER_ROLES = false;
+    public static final int DEFAULT_RECONCILIATION_PARALLELISM = ReconciliationWorkQueue.DEFAULT_PARALLELISM;
+    public static final boolean DEFAULT_RESOURCE_CACHE_ENABLED = false;
+    public static final boolean DEFAULT_VIRTUAL_THREADS_ENABLED = false;
+    public static final int DEFAULT_SHARD_COUNT = 0;
+    public static final long DEFAULT_SHARD_LEASE_DURATION_MS = 15_000;
+    public static final int DEFAULT_KAFKA_ROLLER_MAX_CONCURRENT_RESTARTS = 1;
+    public static final long DEFAULT_UNCHANGED_FULL_RECONCILIATION_INTERVAL_MS = 0;
+    public static final int DEFAULT_MAX_CONCURRENT_RECONCILIATIONS = 0;
+    public static final int DEFAULT_MAX_CONCURRENT_RECONCILIATIONS_PER_KIND = 0;
+    public static final long DEFAULT_PERIODIC_RECONCILIATION_JITTER_MS = 0;
+    public static final long DEFAULT_ADMIN_CLIENT_IDLE_TIMEOUT_MS = 300_000;
+    public static final int DEFAULT_HTTP_CLIENT_MAX_POOL_SIZE = HttpClients.DEFAULT_MAX_POOL_SIZE;
+    public static final long DEFAULT_HTTP_CLIENT_IDLE_TIMEOUT_MS = HttpClients.DEFAULT_IDLE_TIMEOUT_MS;
+    public static final long DEFAULT_HTTP_CLIENT_CONNECT_TIMEOUT_MS = HttpClients.DEFAULT_CONNECT_TIMEOUT_MS;
 
     private final Set<String> namespaces;
     private final long reconciliationIntervalMs;
@@ -72,6 +106,22 @@ public class ClusterOperatorConfig {
     private final List<LocalObjectReference> imagePullSecrets;
     private final String operatorNamespace;
     private final Labels operatorNamespaceLabels;
+    private final int reconciliationParallelism;
+    private final boolean resourceCacheEnabled;
+    private final Map<WorkerPools.Workload, Integer> workerPoolSizes;
+    private final boolean virtualThreadsEnabled;
+    private final int shardCount;
+    private final long shardLeaseDurationMs;
+    private final String shardIdentity;
+    private final int kafkaRollerMaxConcurrentRestarts;
+    private final long unchangedFullReconciliationIntervalMs;
+    private final int maxConcurrentReconciliations;
+    private final int maxConcurrentReconciliationsPerKind;
+    private final long periodicReconciliationJitterMs;
+    private final long adminClientIdleTimeoutMs;
+    private final int httpClientMaxPoolSize;
+    private final long httpClientIdleTimeoutMs;
+    private final long httpClientConnectTimeoutMs;
 
     /**
      * Constructor
@@ -90,6 +140,56 @@ public class ClusterOperatorConfig {
                                  boolean createClusterRoles, KafkaVersion.Lookup versions, ImagePullPolicy imagePullPolicy,
                                  List<LocalObjectReference> imagePullSecrets, String operatorNamespace,
                                  Labels operatorNamespaceLabels) {
+        this(namespaces, reconciliationIntervalMs, operationTimeoutMs, createClusterRoles, versions, imagePullPolicy,
+                imagePullSecrets, operatorNamespace, operatorNamespaceLabels, DEFAULT_RECONCILIATION_PARALLELISM,
+                DEFAULT_RESOURCE_CACHE_ENABLED, Collections.emptyMap(), DEFAULT_VIRTUAL_THREADS_ENABLED, DEFAULT_SHARD_COUNT,
+                DEFAULT_SHARD_LEASE_DURATION_MS, null, DEFAULT_KAFKA_ROLLER_MAX_CONCURRENT_RESTARTS,
+                DEFAULT_UNCHANGED_FULL_RECONCILIATION_INTERVAL_MS, DEFAULT_MAX_CONCURRENT_RECONCILIATIONS,
+                DEFAULT_MAX_CONCURRENT_RECONCILIATIONS_PER_KIND, DEFAULT_PERIODIC_RECONCILIATION_JITTER_MS,
+                DEFAULT_ADMIN_CLIENT_IDLE_TIMEOUT_MS, DEFAULT_HTTP_CLIENT_MAX_POOL_SIZE, DEFAULT_HTTP_CLIENT_IDLE_TIMEOUT_MS,
+                DEFAULT_HTTP_CLIENT_CONNECT_TIMEOUT_MS);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param namespaces namespace in which the operator will run and create resources
+     * @param reconciliationIntervalMs    specify every how many milliseconds the reconciliation runs
+     * @param operationTimeoutMs    timeout for internal operations specified in milliseconds
+     * @param createClusterRoles true to create the cluster roles
+     * @param versions The configured Kafka versions
+     * @param imagePullPolicy Image pull policy configured by the user
+     * @param imagePullSecrets Set of secrets for pulling container images from secured repositories
+     * @param operatorNamespace Name of the namespace in which the operator is running
+     * @param operatorNamespaceLabels Labels of the namespace in which the operator is running (used for network policies)
+     * @param reconciliationParallelism Maximum number of reconciliations of one kind running at the same time
+     * @param resourceCacheEnabled true to read the Kubernetes resources used in the reconciliations from a watch-backed cache
+     * @param workerPoolSizes Number of threads of the worker pools used for blocking calls
+     * @param virtualThreadsEnabled true to run the blocking calls on virtual threads when the JVM supports them
+     * @param shardCount Number of shards the resources are split into between the operator replicas. 0 disables sharding.
+     * @param shardLeaseDurationMs How long the shard leases are held without being renewed
+     * @param shardIdentity Identity of this operator replica used in the shard leases
+     * @param kafkaRollerMaxConcurrentRestarts Maximal number of Kafka brokers restarted at the same time during rolling updates
+     * @param unchangedFullReconciliationIntervalMs How often unchanged and ready Kafka clusters are fully reconciled. 0 disables the lightweight verification of unchanged clusters.
+     * @param maxConcurrentReconciliations Maximum number of reconciliations of all kinds running at the same time. 0 means no limit.
+     * @param maxConcurrentReconciliationsPerKind Maximum number of reconciliations of one kind running at the same time across all operators. 0 means no limit.
+     * @param periodicReconciliationJitterMs Interval over which the periodic reconciliations are spread
+     * @param adminClientIdleTimeoutMs How long unused Kafka Admin clients are kept open for reuse. 0 disables the reuse.
+     * @param httpClientMaxPoolSize Maximal number of connections to one host used for the Kafka Connect and Cruise Control REST APIs
+     * @param httpClientIdleTimeoutMs How long unused connections to the Kafka Connect and Cruise Control REST APIs are kept open
+     * @param httpClientConnectTimeoutMs Timeout for opening connections to the Kafka Connect and Cruise Control REST APIs
+     */
+    @SuppressWarnings({"checkstyle:ParameterNumber"})
+    public ClusterOperatorConfig(Set<String> namespaces, long reconciliationIntervalMs, long operationTimeoutMs,
+                                 boolean createClusterRoles, KafkaVersion.Lookup versions, ImagePullPolicy imagePullPolicy,
+                                 List<LocalObjectReference> imagePullSecrets, String operatorNamespace,
+                                 Labels operatorNamespaceLabels, int reconciliationParallelism, boolean resourceCacheEnabled,
+                                 Map<WorkerPools.Workload, Integer> workerPoolSizes, boolean virtualThreadsEnabled,
+                                 int shardCount, long shardLeaseDurationMs, String shardIdentity,
+                                 int kafkaRollerMaxConcurrentRestarts, long unchangedFullReconciliationIntervalMs,
+                                 int maxConcurrentReconciliations, int maxConcurrentReconciliationsPerKind,
+                                 long periodicReconciliationJitterMs, long adminClientIdleTimeoutMs,
+                                 int httpClientMaxPoolSize, long httpClientIdleTimeoutMs, long httpClientConnectTimeoutMs) {
         this.namespaces = unmodifiableSet(new HashSet<>(namespaces));
         this.reconciliationIntervalMs = reconciliationIntervalMs;
         this.operationTimeoutMs = operationTimeoutMs;
@@ -99,6 +199,22 @@ public class ClusterOperatorConfig {
         this.imagePullSecrets = imagePullSecrets;
         this.operatorNamespace = operatorNamespace;
         this.operatorNamespaceLabels = operatorNamespaceLabels;
+        this.reconciliationParallelism = reconciliationParallelism;
+        this.resourceCacheEnabled = resourceCacheEnabled;
+        this.workerPoolSizes = workerPoolSizes;
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+        this.shardCount = shardCount;
+        this.shardLeaseDurationMs = shardLeaseDurationMs;
+        this.shardIdentity = shardIdentity;
+        this.kafkaRollerMaxConcurrentRestarts = kafkaRollerMaxConcurrentRestarts;
+        this.unchangedFullReconciliationIntervalMs = unchangedFullReconciliationIntervalMs;
+        this.maxConcurrentReconciliations = maxConcurrentReconciliations;
+        this.maxConcurrentReconciliationsPerKind = maxConcurrentReconciliationsPerKind;
+        this.periodicReconciliationJitterMs = periodicReconciliationJitterMs;
+        this.adminClientIdleTimeoutMs = adminClientIdleTimeoutMs;
+        this.httpClientMaxPoolSize = httpClientMaxPoolSize;
+        this.httpClientIdleTimeoutMs = httpClientIdleTimeoutMs;
+        this.httpClientConnectTimeoutMs = httpClientConnectTimeoutMs;
     }
 
     /**
@@ -142,9 +258,33 @@ public class ClusterOperatorConfig {
         List<LocalObjectReference> imagePullSecrets = parseImagePullSecrets(map.get(ClusterOperatorConfig.STRIMZI_IMAGE_PULL_SECRETS));
         String operatorNamespace = map.get(ClusterOperatorConfig.STRIMZI_OPERATOR_NAMESPACE);
         Labels operatorNamespaceLabels = parseOperatorNamespaceLabels(map.get(ClusterOperatorConfig.STRIMZI_OPERATOR_NAMESPACE_LABELS));
+        int reconciliationParallelism = parseReconciliationParallelism(map.get(ClusterOperatorConfig.STRIMZI_RECONCILIATION_PARALLELISM));
+        boolean resourceCacheEnabled = parseResourceCacheEnabled(map.get(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_ENABLED));
+        Map<WorkerPools.Workload, Integer> workerPoolSizes = parseWorkerPoolSizes(map.get(ClusterOperatorConfig.STRIMZI_WORKER_POOL_SIZES));
+        boolean virtualThreadsEnabled = parseVirtualThreadsEnabled(map.get(ClusterOperatorConfig.STRIMZI_VIRTUAL_THREADS_ENABLED));
+        int shardCount = parseShardCount(map.get(ClusterOperatorConfig.STRIMZI_SHARD_COUNT), operatorNamespace);
+        long shardLeaseDurationMs = parseShardLeaseDuration(map.get(ClusterOperatorConfig.STRIMZI_SHARD_LEASE_DURATION_MS));
+        String shardIdentity = parseShardIdentity(map.get(ClusterOperatorConfig.STRIMZI_SHARD_IDENTITY), map.get("HOSTNAME"));
+        int kafkaRollerMaxConcurrentRestarts = parseKafkaRollerMaxConcurrentRestarts(map.get(ClusterOperatorConfig.STRIMZI_KAFKA_ROLLER_MAX_CONCURRENT_RESTARTS));
+        long unchangedFullReconciliationIntervalMs = parseUnchangedFullReconciliationInterval(map.get(ClusterOperatorConfig.STRIMZI_UNCHANGED_FULL_RECONCILIATION_INTERVAL_MS));
+        int maxConcurrentReconciliations = parseMaxConcurrentReconciliations(map.get(ClusterOperatorConfig.STRIMZI_MAX_CONCURRENT_RECONCILIATIONS),
+                ClusterOperatorConfig.STRIMZI_MAX_CONCURRENT_RECONCILIATIONS, DEFAULT_MAX_CONCURRENT_RECONCILIATIONS);
+        int maxConcurrentReconciliationsPerKind = parseMaxConcurrentReconciliations(map.get(ClusterOperatorConfig.STRIMZI_MAX_CONCURRENT_RECONCILIATIONS_PER_KIND),
+                ClusterOperatorConfig.STRIMZI_MAX_CONCURRENT_RECONCILIATIONS_PER_KIND, DEFAULT_MAX_CONCURRENT_RECONCILIATIONS_PER_KIND);
+        long periodicReconciliationJitterMs = parsePeriodicReconciliationJitter(map.get(ClusterOperatorConfig.STRIMZI_PERIODIC_RECONCILIATION_JITTER_MS), reconciliationInterval);
+        long adminClientIdleTimeoutMs = parseAdminClientIdleTimeout(map.get(ClusterOperatorConfig.STRIMZI_ADMIN_CLIENT_IDLE_TIMEOUT_MS));
+        int httpClientMaxPoolSize = parseHttpClientMaxPoolSize(map.get(ClusterOperatorConfig.STRIMZI_HTTP_CLIENT_MAX_POOL_SIZE));
+        long httpClientIdleTimeoutMs = parseHttpClientTimeout(map.get(ClusterOperatorConfig.STRIMZI_HTTP_CLIENT_IDLE_TIMEOUT_MS),
+                ClusterOperatorConfig.STRIMZI_HTTP_CLIENT_IDLE_TIMEOUT_MS, DEFAULT_HTTP_CLIENT_IDLE_TIMEOUT_MS);
+        long httpClientConnectTimeoutMs = parseHttpClientTimeout(map.get(ClusterOperatorConfig.STRIMZI_HTTP_CLIENT_CONNECT_TIMEOUT_MS),
+                ClusterOperatorConfig.STRIMZI_HTTP_CLIENT_CONNECT_TIMEOUT_MS, DEFAULT_HTTP_CLIENT_CONNECT_TIMEOUT_MS);
 
         return new ClusterOperatorConfig(namespaces, reconciliationInterval, operationTimeout, createClusterRoles,
-                lookup, imagePullPolicy, imagePullSecrets, operatorNamespace, operatorNamespaceLabels);
+                lookup, imagePullPolicy, imagePullSecrets, operatorNamespace, operatorNamespaceLabels, reconciliationParallelism,
+                resourceCacheEnabled, workerPoolSizes, virtualThreadsEnabled, shardCount, shardLeaseDurationMs, shardIdentity,
+                kafkaRollerMaxConcurrentRestarts, unchangedFullReconciliationIntervalMs, maxConcurrentReconciliations,
+                maxConcurrentReconciliationsPerKind, periodicReconciliationJitterMs, adminClientIdleTimeoutMs,
+                httpClientMaxPoolSize, httpClientIdleTimeoutMs, httpClientConnectTimeoutMs);
     }
 
     private static Set<String> parseNamespaceList(String namespacesList)   {
@@ -186,6 +326,187 @@ public class ClusterOperatorConfig {
         return operationTimeout;
     }
 
+    private static int parseReconciliationParallelism(String reconciliationParallelismEnvVar) {
+        int reconciliationParallelism = DEFAULT_RECONCILIATION_PARALLELISM;
+
+        if (reconciliationParallelismEnvVar != null) {
+            reconciliationParallelism = Integer.parseInt(reconciliationParallelismEnvVar);
+
+            if (reconciliationParallelism <= 0) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_RECONCILIATION_PARALLELISM + " must be greater than 0");
+            }
+        }
+
+        return reconciliationParallelism;
+    }
+
+    private static int parseShardCount(String shardCountEnvVar, String operatorNamespace) {
+        int shardCount = DEFAULT_SHARD_COUNT;
+
+        if (shardCountEnvVar != null) {
+            shardCount = Integer.parseInt(shardCountEnvVar);
+
+            if (shardCount < 0) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_SHARD_COUNT + " must not be negative");
+            } else if (shardCount > 0 && operatorNamespace == null) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_OPERATOR_NAMESPACE + " is required when " + ClusterOperatorConfig.STRIMZI_SHARD_COUNT + " is set");
+            }
+        }
+
+        return shardCount;
+    }
+
+    private static long parseShardLeaseDuration(String shardLeaseDurationEnvVar) {
+        long shardLeaseDurationMs = DEFAULT_SHARD_LEASE_DURATION_MS;
+
+        if (shardLeaseDurationEnvVar != null) {
+            shardLeaseDurationMs = Long.parseLong(shardLeaseDurationEnvVar);
+
+            if (shardLeaseDurationMs < 1_000) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_SHARD_LEASE_DURATION_MS + " must be at least 1000");
+            }
+        }
+
+        return shardLeaseDurationMs;
+    }
+
+    private static String parseShardIdentity(String shardIdentityEnvVar, String hostname) {
+        if (shardIdentityEnvVar != null && !shardIdentityEnvVar.isEmpty()) {
+            return shardIdentityEnvVar;
+        } else if (hostname != null && !hostname.isEmpty()) {
+            return hostname;
+        } else {
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    private static int parseKafkaRollerMaxConcurrentRestarts(String maxConcurrentRestartsEnvVar) {
+        int maxConcurrentRestarts = DEFAULT_KAFKA_ROLLER_MAX_CONCURRENT_RESTARTS;
+
+        if (maxConcurrentRestartsEnvVar != null) {
+            maxConcurrentRestarts = Integer.parseInt(maxConcurrentRestartsEnvVar);
+
+            if (maxConcurrentRestarts <= 0) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_KAFKA_ROLLER_MAX_CONCURRENT_RESTARTS + " must be greater than 0");
+            }
+        }
+
+        return maxConcurrentRestarts;
+    }
+
+    private static long parseUnchangedFullReconciliationInterval(String intervalEnvVar) {
+        long intervalMs = DEFAULT_UNCHANGED_FULL_RECONCILIATION_INTERVAL_MS;
+
+        if (intervalEnvVar != null) {
+            intervalMs = Long.parseLong(intervalEnvVar);
+
+            if (intervalMs < 0) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_UNCHANGED_FULL_RECONCILIATION_INTERVAL_MS + " must not be negative");
+            }
+        }
+
+        return intervalMs;
+    }
+
+    private static int parseMaxConcurrentReconciliations(String maxConcurrentReconciliationsEnvVar, String envVarName, int defaultValue) {
+        int maxConcurrentReconciliations = defaultValue;
+
+        if (maxConcurrentReconciliationsEnvVar != null) {
+            maxConcurrentReconciliations = Integer.parseInt(maxConcurrentReconciliationsEnvVar);
+
+            if (maxConcurrentReconciliations < 0) {
+                throw new InvalidConfigurationException(envVarName + " must not be negative");
+            }
+        }
+
+        return maxConcurrentReconciliations;
+    }
+
+    private static long parsePeriodicReconciliationJitter(String jitterEnvVar, long reconciliationInterval) {
+        long jitterMs = DEFAULT_PERIODIC_RECONCILIATION_JITTER_MS;
+
+        if (jitterEnvVar != null) {
+            jitterMs = Long.parseLong(jitterEnvVar);
+
+            if (jitterMs < 0 || jitterMs >= reconciliationInterval) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_PERIODIC_RECONCILIATION_JITTER_MS
+                        + " must not be negative and must be shorter than " + ClusterOperatorConfig.STRIMZI_FULL_RECONCILIATION_INTERVAL_MS);
+            }
+        }
+
+        return jitterMs;
+    }
+
+    private static long parseAdminClientIdleTimeout(String idleTimeoutEnvVar) {
+        long idleTimeoutMs = DEFAULT_ADMIN_CLIENT_IDLE_TIMEOUT_MS;
+
+        if (idleTimeoutEnvVar != null) {
+            idleTimeoutMs = Long.parseLong(idleTimeoutEnvVar);
+
+            if (idleTimeoutMs < 0) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_ADMIN_CLIENT_IDLE_TIMEOUT_MS + " must not be negative");
+            }
+        }
+
+        return idleTimeoutMs;
+    }
+
+    private static int parseHttpClientMaxPoolSize(String maxPoolSizeEnvVar) {
+        int maxPoolSize = DEFAULT_HTTP_CLIENT_MAX_POOL_SIZE;
+
+        if (maxPoolSizeEnvVar != null) {
+            maxPoolSize = Integer.parseInt(maxPoolSizeEnvVar);
+
+            if (maxPoolSize <= 0) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_HTTP_CLIENT_MAX_POOL_SIZE + " must be greater than 0");
+            }
+        }
+
+        return maxPoolSize;
+    }
+
+    private static long parseHttpClientTimeout(String timeoutEnvVar, String envVarName, long defaultTimeoutMs) {
+        long timeoutMs = defaultTimeoutMs;
+
+        if (timeoutEnvVar != null) {
+            timeoutMs = Long.parseLong(timeoutEnvVar);
+
+            if (timeoutMs <= 0 || timeoutMs > Integer.MAX_VALUE) {
+                throw new InvalidConfigurationException(envVarName + " must be greater than 0 and at most " + Integer.MAX_VALUE);
+            }
+        }
+
+        return timeoutMs;
+    }
+
+    private static boolean parseResourceCacheEnabled(String resourceCacheEnabledEnvVar) {
+        boolean resourceCacheEnabled = DEFAULT_RESOURCE_CACHE_ENABLED;
+
+        if (resourceCacheEnabledEnvVar != null) {
+            resourceCacheEnabled = Boolean.parseBoolean(resourceCacheEnabledEnvVar);
+        }
+
+        return resourceCacheEnabled;
+    }
+
+    private static Map<WorkerPools.Workload, Integer> parseWorkerPoolSizes(String workerPoolSizesEnvVar) {
+        try {
+            return WorkerPools.parsePoolSizes(workerPoolSizesEnvVar);
+        } catch (RuntimeException e) {
+            throw new InvalidConfigurationException("Failed to parse worker pool sizes from " + ClusterOperatorConfig.STRIMZI_WORKER_POOL_SIZES, e);
+        }
+    }
+
+    private static boolean parseVirtualThreadsEnabled(String virtualThreadsEnabledEnvVar) {
+        boolean virtualThreadsEnabled = DEFAULT_VIRTUAL_THREADS_ENABLED;
+
+        if (virtualThreadsEnabledEnvVar != null) {
+            virtualThreadsEnabled = Boolean.parseBoolean(virtualThreadsEnabledEnvVar);
+        }
+
+        return virtualThreadsEnabled;
+    }
+
     private static boolean parseCreateClusterRoles(String createClusterRolesEnvVar) {
         boolean createClusterRoles = DEFAULT_CREATE_CLUSTER_ROLES;
 
@@ -346,6 +667,120 @@ public class ClusterOperatorConfig {
         return operatorNamespaceLabels;
     }
 
+    /**
+     * @return  The maximum number of reconciliations of one kind running at the same time
+     */
+    public int getReconciliationParallelism() {
+        return reconciliationParallelism;
+    }
+
+    /**
+     * @return  Indicates whether the Kubernetes resources used in the reconciliations are read from a watch-backed cache
+     */
+    public boolean isResourceCacheEnabled() {
+        return resourceCacheEnabled;
+    }
+
+    /**
+     * @return  The number of threads of the worker pools used for blocking calls. Pools missing in the map use their default size.
+     */
+    public Map<WorkerPools.Workload, Integer> getWorkerPoolSizes() {
+        return workerPoolSizes;
+    }
+
+    /**
+     * @return  Indicates whether the blocking calls should run on virtual threads instead of the worker pools
+     */
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    /**
+     * @return  The number of shards the resources are split into between the operator replicas. 0 means sharding is disabled.
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @return  How long the shard leases are held without being renewed in milliseconds
+     */
+    public long getShardLeaseDurationMs() {
+        return shardLeaseDurationMs;
+    }
+
+    /**
+     * @return  The identity of this operator replica used in the shard leases
+     */
+    public String getShardIdentity() {
+        return shardIdentity;
+    }
+
+    /**
+     * @return  The maximal number of Kafka brokers restarted at the same time during rolling updates
+     */
+    public int getKafkaRollerMaxConcurrentRestarts() {
+        return kafkaRollerMaxConcurrentRestarts;
+    }
+
+    /**
+     * @return  How often unchanged and ready Kafka clusters are fully reconciled in milliseconds. With 0, every
+     *          reconciliation is a full reconciliation.
+     */
+    public long getUnchangedFullReconciliationIntervalMs() {
+        return unchangedFullReconciliationIntervalMs;
+    }
+
+    /**
+     * @return  The maximal number of reconciliations of all kinds running at the same time. 0 means no limit.
+     */
+    public int getMaxConcurrentReconciliations() {
+        return maxConcurrentReconciliations;
+    }
+
+    /**
+     * @return  The maximal number of reconciliations of one kind running at the same time across all namespaces.
+     *          0 means no limit.
+     */
+    public int getMaxConcurrentReconciliationsPerKind() {
+        return maxConcurrentReconciliationsPerKind;
+    }
+
+    /**
+     * @return  The interval in milliseconds over which the periodic reconciliations are spread
+     */
+    public long getPeriodicReconciliationJitterMs() {
+        return periodicReconciliationJitterMs;
+    }
+
+    /**
+     * @return  How long in milliseconds unused Kafka Admin clients are kept open for reuse. 0 means they are not reused.
+     */
+    public long getAdminClientIdleTimeoutMs() {
+        return adminClientIdleTimeoutMs;
+    }
+
+    /**
+     * @return  The maximal number of connections to one host used for the Kafka Connect and Cruise Control REST APIs
+     */
+    public int getHttpClientMaxPoolSize() {
+        return httpClientMaxPoolSize;
+    }
+
+    /**
+     * @return  How long in milliseconds unused connections to the Kafka Connect and Cruise Control REST APIs are kept open
+     */
+    public long getHttpClientIdleTimeoutMs() {
+        return httpClientIdleTimeoutMs;
+    }
+
+    /**
+     * @return  The timeout in milliseconds for opening connections to the Kafka Connect and Cruise Control REST APIs
+     */
+    public long getHttpClientConnectTimeoutMs() {
+        return httpClientConnectTimeoutMs;
+    }
+
     @Override
     public String toString() {
         return "ClusterOperatorConfig(" +
@@ -358,6 +793,22 @@ public class ClusterOperatorConfig {
                 ",imagePullSecrets=" + imagePullSecrets +
                 ",operatorNamespace=" + operatorNamespace +
                 ",operatorNamespaceLabels=" + operatorNamespaceLabels +
+                ",reconciliationParallelism=" + reconciliationParallelism +
+                ",resourceCacheEnabled=" + resourceCacheEnabled +
+                ",workerPoolSizes=" + workerPoolSizes +
+                ",virtualThreadsEnabled=" + virtualThreadsEnabled +
+                ",shardCount=" + shardCount +
+                ",shardLeaseDurationMs=" + shardLeaseDurationMs +
+                ",shardIdentity=" + shardIdentity +
+                ",kafkaRollerMaxConcurrentRestarts=" + kafkaRollerMaxConcurrentRestarts +
+                ",unchangedFullReconciliationIntervalMs=" + unchangedFullReconciliationIntervalMs +
+                ",maxConcurrentReconciliations=" + maxConcurrentReconciliations +
+                ",maxConcurrentReconciliationsPerKind=" + maxConcurrentReconciliationsPerKind +
+                ",periodicReconciliationJitterMs=" + periodicReconciliationJitterMs +
+                ",adminClientIdleTimeoutMs=" + adminClientIdleTimeoutMs +
+                ",httpClientMaxPoolSize=" + httpClientMaxPoolSize +
+                ",httpClientIdleTimeoutMs=" + httpClientIdleTimeoutMs +
+                ",httpClientConnectTimeoutMs=" + httpClientConnectTimeoutMs +
                 ")";
     }
 }
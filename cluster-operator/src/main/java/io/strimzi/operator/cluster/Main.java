@@ -19,9 +19,22 @@ import io.strimzi.operator.cluster.operator.assembly.KafkaMirrorMakerAssemblyOpe
 import io.strimzi.operator.cluster.operator.assembly.KafkaMirrorMaker2AssemblyOperator;
 import io.strimzi.operator.cluster.operator.assembly.KafkaRebalanceAssemblyOperator;
 import io.strimzi.operator.cluster.operator.resource.ResourceOperatorSupplier;
+import io.strimzi.operator.common.AbstractOperator;
+import io.strimzi.operator.common.AdminClientProvider;
+import io.strimzi.operator.common.CachingAdminClientProvider;
+import io.strimzi.operator.common.DefaultAdminClientProvider;
+import io.strimzi.operator.common.HttpClients;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.strimzi.operator.common.PasswordGenerator;
+import io.strimzi.operator.common.ReconciliationScheduler;
+import io.strimzi.operator.common.ShardManager;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.operator.resource.ClusterRoleOperator;
+import io.strimzi.operator.common.operator.resource.LeaseOperator;
+import io.strimzi.operator.common.operator.resource.ResourceCache;
+import io.vertx.core.AbstractVerticle;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
@@ -35,6 +48,7 @@ import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.security.Security;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -100,7 +114,25 @@ public class Main {
     static CompositeFuture run(Vertx vertx, KubernetesClient client, PlatformFeaturesAvailability pfa, ClusterOperatorConfig config) {
         Util.printEnvInfo();
 
-        ResourceOperatorSupplier resourceOperatorSupplier = new ResourceOperatorSupplier(vertx, client, pfa, config.getOperationTimeoutMs());
+        // The worker pools and HTTP clients are configured before any operator which uses them is created
+        MetricsProvider metricsProvider = new MicrometerMetricsProvider();
+        WorkerPools.configure(vertx, config.getWorkerPoolSizes(), config.isVirtualThreadsEnabled(), metricsProvider);
+        HttpClients.configure(vertx, config.getHttpClientMaxPoolSize(), config.getHttpClientIdleTimeoutMs(),
+                config.getHttpClientConnectTimeoutMs(), metricsProvider);
+
+        AdminClientProvider adminClientProvider = new DefaultAdminClientProvider();
+        if (config.getAdminClientIdleTimeoutMs() > 0) {
+            CachingAdminClientProvider cachingAdminClientProvider = new CachingAdminClientProvider(adminClientProvider, config.getAdminClientIdleTimeoutMs());
+            vertx.deployVerticle(new AdminClientCacheVerticle(cachingAdminClientProvider, config.getAdminClientIdleTimeoutMs()), res -> {
+                if (res.failed()) {
+                    log.warn("Failed to start the eviction of idle Kafka Admin clients", res.cause());
+                }
+            });
+            adminClientProvider = cachingAdminClientProvider;
+        }
+
+        ResourceOperatorSupplier resourceOperatorSupplier = new ResourceOperatorSupplier(vertx, client, pfa, config.getOperationTimeoutMs(),
+                adminClientProvider, metricsProvider);
 
         OpenSslCertManager certManager = new OpenSslCertManager();
         PasswordGenerator passwordGenerator = new PasswordGenerator(12,
@@ -131,10 +163,49 @@ public class Main {
                 new KafkaBridgeAssemblyOperator(vertx, pfa, certManager, passwordGenerator, resourceOperatorSupplier, config);
 
         KafkaRebalanceAssemblyOperator kafkaRebalanceAssemblyOperator =
-                new KafkaRebalanceAssemblyOperator(vertx, pfa, resourceOperatorSupplier);
+                new KafkaRebalanceAssemblyOperator(vertx, pfa, resourceOperatorSupplier, config.getReconciliationParallelism());
+
+        ReconciliationScheduler scheduler = new ReconciliationScheduler(config.getMaxConcurrentReconciliations(),
+                config.getMaxConcurrentReconciliationsPerKind(), config.getPeriodicReconciliationJitterMs(),
+                resourceOperatorSupplier.metricsProvider);
+
+        for (AbstractOperator<?, ?, ?, ?> operator : Arrays.<AbstractOperator<?, ?, ?, ?>>asList(kafkaClusterOperations, kafkaConnectClusterOperations,
+                kafkaConnectS2IClusterOperations, kafkaMirrorMaker2AssemblyOperator, kafkaMirrorMakerAssemblyOperator,
+                kafkaBridgeAssemblyOperator, kafkaRebalanceAssemblyOperator)) {
+            if (operator != null) {
+                operator.setReconciliationScheduler(scheduler);
+            }
+        }
+
+        ShardManager shardManager = null;
+        if (config.getShardCount() > 0) {
+            shardManager = new ShardManager(vertx, new LeaseOperator(vertx, client), config.getOperatorNamespace(),
+                    "strimzi-cluster-operator-shard", config.getShardIdentity(), config.getShardCount(),
+                    config.getShardLeaseDurationMs(), resourceOperatorSupplier.metricsProvider);
+
+            for (AbstractOperator<?, ?, ?, ?> operator : Arrays.<AbstractOperator<?, ?, ?, ?>>asList(kafkaClusterOperations, kafkaConnectClusterOperations,
+                    kafkaConnectS2IClusterOperations, kafkaMirrorMaker2AssemblyOperator, kafkaMirrorMakerAssemblyOperator,
+                    kafkaBridgeAssemblyOperator, kafkaRebalanceAssemblyOperator)) {
+                if (operator != null) {
+                    operator.setShardManager(shardManager);
+                }
+            }
+        }
 
         List<Future> futures = new ArrayList<>(config.getNamespaces().size());
         for (String namespace : config.getNamespaces()) {
+            if (config.isResourceCacheEnabled()) {
+                // The reads go to the Kubernetes API until the caches are filled, so the operator does not wait for them
+                resourceOperatorSupplier.enableResourceCaches(namespace, ResourceCache.DEFAULT_RESYNC_INTERVAL_MS)
+                        .onComplete(res -> {
+                            if (res.succeeded()) {
+                                log.info("Resource caches for namespace {} are ready", namespace);
+                            } else {
+                                log.warn("Failed to fill the resource caches for namespace {}", namespace, res.cause());
+                            }
+                        });
+            }
+
             Promise<String> prom = Promise.promise();
             futures.add(prom.future());
             ClusterOperator operator = new ClusterOperator(namespace,
@@ -147,7 +218,8 @@ public class Main {
                     kafkaMirrorMaker2AssemblyOperator,
                     kafkaBridgeAssemblyOperator,
                     kafkaRebalanceAssemblyOperator,
-                    resourceOperatorSupplier.metricsProvider);
+                    resourceOperatorSupplier.metricsProvider,
+                    shardManager);
             vertx.deployVerticle(operator,
                 res -> {
                     if (res.succeeded()) {
@@ -159,7 +231,52 @@ public class Main {
                     prom.handle(res);
                 });
         }
-        return CompositeFuture.join(futures);
+        CompositeFuture result = CompositeFuture.join(futures);
+
+        if (shardManager != null) {
+            // The shards are acquired once the operators listen for them, so the operators reconcile their resources
+            ShardManager startedShardManager = shardManager;
+            result.onComplete(res -> {
+                if (res.succeeded()) {
+                    startedShardManager.start();
+                }
+            });
+        }
+
+        return result;
+    }
+
+    /**
+     * Closes the idle cached Kafka Admin clients periodically and closes all of them when the operator is stopped
+     */
+    /*test*/ static class AdminClientCacheVerticle extends AbstractVerticle {
+        private final CachingAdminClientProvider cache;
+        private final long evictionIntervalMs;
+        private long evictionTimer;
+
+        AdminClientCacheVerticle(CachingAdminClientProvider cache, long evictionIntervalMs) {
+            this.cache = cache;
+            this.evictionIntervalMs = evictionIntervalMs;
+        }
+
+        @Override
+        public void start() {
+            evictionTimer = vertx.setPeriodic(evictionIntervalMs, timerId -> WorkerPools.get(vertx, WorkerPools.Workload.KAFKA_ADMIN).executeBlocking(
+                future -> {
+                    cache.evictIdle();
+                    future.complete();
+                }, false, ignored -> { }));
+        }
+
+        @Override
+        public void stop(Promise<Void> stop) {
+            vertx.cancelTimer(evictionTimer);
+            WorkerPools.get(vertx, WorkerPools.Workload.KAFKA_ADMIN).<Void>executeBlocking(
+                future -> {
+                    cache.close();
+                    future.complete();
+                }, false, ignored -> stop.complete());
+        }
     }
 
     /*test*/ static Future<Void> maybeCreateClusterRoles(Vertx vertx, ClusterOperatorConfig config, KubernetesClient client)  {
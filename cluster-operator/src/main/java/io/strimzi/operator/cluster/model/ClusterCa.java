@@ -9,6 +9,7 @@ import io.strimzi.api.kafka.model.CertificateExpirationPolicy;
 import io.strimzi.api.kafka.model.Kafka;
 import io.strimzi.certs.CertAndKey;
 import io.strimzi.certs.CertManager;
+import io.strimzi.certs.KeyAlgorithm;
 import io.strimzi.certs.Subject;
 import io.strimzi.operator.cluster.ClusterOperator;
 import io.strimzi.operator.common.PasswordGenerator;
@@ -47,12 +48,25 @@ public class ClusterCa extends Ca {
                      int renewalDays,
                      boolean generateCa,
                      CertificateExpirationPolicy policy) {
+        this(certManager, passwordGenerator, clusterName, clusterCaCert, clusterCaKey, validityDays, renewalDays, generateCa, policy, null);
+    }
+
+    public ClusterCa(CertManager certManager,
+                     PasswordGenerator passwordGenerator,
+                     String clusterName,
+                     Secret clusterCaCert,
+                     Secret clusterCaKey,
+                     int validityDays,
+                     int renewalDays,
+                     boolean generateCa,
+                     CertificateExpirationPolicy policy,
+                     KeyAlgorithm keyAlgorithm) {
         super(certManager, passwordGenerator, "cluster-ca",
                 AbstractModel.clusterCaCertSecretName(clusterName),
                 forceRenewal(clusterCaCert, clusterCaKey, "cluster-ca.key"),
                 AbstractModel.clusterCaKeySecretName(clusterName),
                 adapt060ClusterCaSecret(clusterCaKey),
-                validityDays, renewalDays, generateCa, policy);
+                validityDays, renewalDays, generateCa, policy, keyAlgorithm);
         this.clusterName = clusterName;
     }
 
@@ -24,11 +24,13 @@ import io.strimzi.api.kafka.model.EntityUserOperatorSpec;
 import io.strimzi.api.kafka.model.Kafka;
 import io.strimzi.api.kafka.model.Probe;
 import io.strimzi.api.kafka.model.ProbeBuilder;
+import io.strimzi.certs.KeyAlgorithm;
 import io.strimzi.operator.cluster.ClusterOperatorConfig;
 import io.strimzi.operator.common.model.OrderedProperties;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -59,6 +61,7 @@ public class EntityUserOperator extends AbstractModel {
     public static final String ENV_VAR_CLIENTS_CA_NAMESPACE = "STRIMZI_CA_NAMESPACE";
     public static final String ENV_VAR_CLIENTS_CA_VALIDITY = "STRIMZI_CA_VALIDITY";
     public static final String ENV_VAR_CLIENTS_CA_RENEWAL = "STRIMZI_CA_RENEWAL";
+    public static final String ENV_VAR_CLIENTS_CA_KEY_ALGORITHM = "STRIMZI_CA_KEY_ALGORITHM";
     public static final String ENV_VAR_CLUSTER_CA_CERT_SECRET_NAME = "STRIMZI_CLUSTER_CA_CERT_SECRET_NAME";
     public static final String ENV_VAR_EO_KEY_SECRET_NAME = "STRIMZI_EO_KEY_SECRET_NAME";
     public static final String ENV_VAR_SECRET_PREFIX = "STRIMZI_SECRET_PREFIX";
@@ -74,6 +77,7 @@ public class EntityUserOperator extends AbstractModel {
     private long zookeeperSessionTimeoutMs;
     private int clientsCaValidityDays;
     private int clientsCaRenewalDays;
+    private KeyAlgorithm clientsCaKeyAlgorithm;
     protected List<ContainerEnvVar> templateContainerEnvVars;
     protected SecurityContext templateContainerSecurityContext;
 
@@ -136,6 +140,14 @@ public class EntityUserOperator extends AbstractModel {
         return this.clientsCaRenewalDays;
     }
 
+    public void setClientsCaKeyAlgorithm(KeyAlgorithm clientsCaKeyAlgorithm) {
+        this.clientsCaKeyAlgorithm = clientsCaKeyAlgorithm;
+    }
+
+    public KeyAlgorithm getClientsCaKeyAlgorithm() {
+        return this.clientsCaKeyAlgorithm;
+    }
+
     public void setZookeeperSessionTimeoutMs(long zookeeperSessionTimeoutMs) {
         this.zookeeperSessionTimeoutMs = zookeeperSessionTimeoutMs;
     }
@@ -252,6 +264,10 @@ public class EntityUserOperator extends AbstractModel {
                     if (kafkaAssembly.getSpec().getClientsCa().getRenewalDays() > 0) {
                         result.setClientsCaRenewalDays(kafkaAssembly.getSpec().getClientsCa().getRenewalDays());
                     }
+
+                    if (kafkaAssembly.getSpec().getClientsCa().getKeyAlgorithm() != null) {
+                        result.setClientsCaKeyAlgorithm(ModelUtils.getKeyAlgorithm(kafkaAssembly.getSpec().getClientsCa()));
+                    }
                 }
             }
         }
@@ -290,6 +306,9 @@ public class EntityUserOperator extends AbstractModel {
         varList.add(buildEnvVar(ENV_VAR_CLIENTS_CA_NAMESPACE, namespace));
         varList.add(buildEnvVar(ENV_VAR_CLIENTS_CA_VALIDITY, Integer.toString(clientsCaValidityDays)));
         varList.add(buildEnvVar(ENV_VAR_CLIENTS_CA_RENEWAL, Integer.toString(clientsCaRenewalDays)));
+        if (clientsCaKeyAlgorithm != null) {
+            varList.add(buildEnvVar(ENV_VAR_CLIENTS_CA_KEY_ALGORITHM, clientsCaKeyAlgorithm.name().toLowerCase(Locale.ENGLISH)));
+        }
         varList.add(buildEnvVar(ENV_VAR_CLUSTER_CA_CERT_SECRET_NAME, KafkaCluster.clusterCaCertSecretName(cluster)));
         varList.add(buildEnvVar(ENV_VAR_EO_KEY_SECRET_NAME, EntityOperator.secretName(cluster)));
         varList.add(buildEnvVar(ENV_VAR_STRIMZI_GC_LOG_ENABLED, String.valueOf(gcLoggingEnabled)));
@@ -22,6 +22,7 @@ import io.fabric8.kubernetes.api.model.Toleration;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.networking.v1.NetworkPolicyPeer;
 import io.strimzi.api.kafka.model.CertificateAuthority;
+import io.strimzi.api.kafka.model.CertificateKeyAlgorithm;
 import io.strimzi.api.kafka.model.SystemProperty;
 import io.strimzi.api.kafka.model.storage.JbodStorage;
 import io.strimzi.api.kafka.model.storage.PersistentClaimStorage;
@@ -32,6 +33,7 @@ import io.strimzi.api.kafka.model.template.DeploymentTemplate;
 import io.strimzi.api.kafka.model.template.PodDisruptionBudgetTemplate;
 import io.strimzi.api.kafka.model.template.PodTemplate;
 import io.strimzi.certs.CertAndKey;
+import io.strimzi.certs.KeyAlgorithm;
 import io.strimzi.operator.cluster.KafkaUpgradeException;
 import io.strimzi.operator.common.Util;
 import io.strimzi.operator.common.model.Labels;
@@ -91,6 +93,19 @@ public class ModelUtils {
         return renewalDays;
     }
 
+    /**
+     * @param certificateAuthority The CA configuration.
+     * @return The algorithm used for the generated private keys.
+     */
+    public static KeyAlgorithm getKeyAlgorithm(CertificateAuthority certificateAuthority) {
+        if (certificateAuthority != null
+                && certificateAuthority.getKeyAlgorithm() == CertificateKeyAlgorithm.EC) {
+            return KeyAlgorithm.EC;
+        }
+
+        return KeyAlgorithm.RSA;
+    }
+
     public static String formatTimestamp(Date date) {
         return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ").format(date);
     }
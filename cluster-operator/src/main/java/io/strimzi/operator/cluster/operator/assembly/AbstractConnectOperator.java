@@ -124,7 +124,7 @@ public abstract class AbstractConnectOperator<C extends KubernetesClient, T exte
                                    ResourceOperatorSupplier supplier, ClusterOperatorConfig config,
                                    Function<Vertx, KafkaConnectApi> connectClientProvider,
                                    int port) {
-        super(vertx, kind, resourceOperator, supplier.metricsProvider);
+        super(vertx, kind, resourceOperator, supplier.metricsProvider, config.getReconciliationParallelism());
         this.connectorOperator = supplier.kafkaConnectorOperator;
         this.connectClientProvider = connectClientProvider;
         this.configMapOperations = supplier.configMapOperations;
@@ -210,7 +210,9 @@ public abstract class AbstractConnectOperator<C extends KubernetesClient, T exte
                         case DELETED:
                         case MODIFIED:
                             Future<Void> f;
-                            if (connectName != null) {
+                            if (connectName != null && !connectOperator.isOwned(connectNamespace, connectName)) {
+                                log.debug("{} {} in namespace {} was {}, but Connect cluster {} belongs to a shard owned by another replica", connectorKind, connectorName, connectorNamespace, action, connectName);
+                            } else if (connectName != null) {
                                 // Check whether a KafkaConnect/S2I exists
                                 CompositeFuture.join(connectOperator.resourceOperator.getAsync(connectNamespace, connectName),
                                         connectOperator.pfa.supportsS2I() ?
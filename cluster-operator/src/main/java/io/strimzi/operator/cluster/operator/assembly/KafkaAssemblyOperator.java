@@ -6,6 +6,8 @@ package io.strimzi.operator.cluster.operator.assembly;
 
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ConfigMapKeySelector;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.Node;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
@@ -13,28 +15,35 @@ import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodTemplateSpec;
 import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretKeySelector;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
 import io.fabric8.kubernetes.api.model.extensions.Ingress;
+import io.fabric8.kubernetes.api.model.networking.v1.NetworkPolicy;
+import io.fabric8.kubernetes.api.model.policy.PodDisruptionBudget;
 import io.fabric8.kubernetes.api.model.rbac.ClusterRoleBinding;
 import io.fabric8.kubernetes.api.model.rbac.RoleBinding;
 import io.fabric8.kubernetes.api.model.storage.StorageClass;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.internal.readiness.Readiness;
 import io.fabric8.openshift.api.model.Route;
 import io.strimzi.api.kafka.KafkaList;
 import io.strimzi.api.kafka.model.CertAndKeySecretSource;
+import io.strimzi.api.kafka.model.CertSecretSource;
 import io.strimzi.api.kafka.model.CertificateAuthority;
 import io.strimzi.api.kafka.model.Constants;
 import io.strimzi.api.kafka.model.DoneableKafka;
 import io.strimzi.api.kafka.model.ExternalLogging;
+import io.strimzi.api.kafka.model.GenericSecretSource;
 import io.strimzi.api.kafka.model.JmxPrometheusExporterMetrics;
 import io.strimzi.api.kafka.model.Kafka;
 import io.strimzi.api.kafka.model.KafkaBuilder;
 import io.strimzi.api.kafka.model.KafkaResources;
 import io.strimzi.api.kafka.model.KafkaSpec;
+import io.strimzi.api.kafka.model.PasswordSecretSource;
 import io.strimzi.api.kafka.model.listener.NodeAddressType;
 import io.strimzi.api.kafka.model.listener.arraylistener.GenericKafkaListener;
 import io.strimzi.api.kafka.model.listener.arraylistener.GenericKafkaListenerConfigurationBroker;
@@ -90,8 +99,12 @@ import io.strimzi.operator.common.InvalidConfigurationException;
 import io.strimzi.operator.common.PasswordGenerator;
 import io.strimzi.operator.common.Reconciliation;
 import io.strimzi.operator.common.ReconciliationException;
+import io.strimzi.operator.common.ReconciliationGraph;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.model.NamespaceAndName;
+import io.strimzi.operator.common.model.ResourceVisitor;
 import io.strimzi.operator.common.operator.resource.AbstractScalableResourceOperator;
 import io.strimzi.operator.common.operator.resource.CrdOperator;
 import io.strimzi.operator.common.operator.resource.DeploymentOperator;
@@ -112,6 +125,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.quartz.CronExpression;
 
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -127,10 +142,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -159,7 +177,11 @@ import static java.util.Collections.emptyMap;
 public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesClient, Kafka, KafkaList, DoneableKafka, Resource<Kafka, DoneableKafka>, KafkaSpec, KafkaStatus> {
     private static final Logger log = LogManager.getLogger(KafkaAssemblyOperator.class.getName());
 
+    private static final String OPERATOR_VERSION = String.valueOf(KafkaAssemblyOperator.class.getPackage().getImplementationVersion());
+
     private final long operationTimeoutMs;
+    private final int maxConcurrentRestarts;
+    private final long unchangedFullReconciliationIntervalMs;
     private final String operatorNamespace;
     private final Labels operatorNamespaceLabels;
 
@@ -177,6 +199,24 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
     private final ZookeeperScalerProvider zkScalerProvider;
     private final AdminClientProvider adminClientProvider;
 
+    private final Map<NamespaceAndName, ReconciledFingerprint> fingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * Fingerprints of the inputs and of the owned resources of the last successful full reconciliation of a Kafka
+     * cluster
+     */
+    private static class ReconciledFingerprint {
+        final String fingerprint;
+        final String ownedResources;
+        final long reconciledAtMs;
+
+        ReconciledFingerprint(String fingerprint, String ownedResources, long reconciledAtMs) {
+            this.fingerprint = fingerprint;
+            this.ownedResources = ownedResources;
+            this.reconciledAtMs = reconciledAtMs;
+        }
+    }
+
     /**
      * @param vertx The Vertx instance
      * @param pfa Platform features availability properties
@@ -192,6 +232,8 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         super(vertx, pfa, Kafka.RESOURCE_KIND, certManager, passwordGenerator,
                 supplier.kafkaOperator, supplier, config);
         this.operationTimeoutMs = config.getOperationTimeoutMs();
+        this.maxConcurrentRestarts = config.getKafkaRollerMaxConcurrentRestarts();
+        this.unchangedFullReconciliationIntervalMs = config.getUnchangedFullReconciliationIntervalMs();
         this.operatorNamespace = config.getOperatorNamespace();
         this.operatorNamespaceLabels = config.getOperatorNamespaceLabels();
         this.routeOperations = supplier.routeOperations;
@@ -209,8 +251,325 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         this.adminClientProvider = supplier.adminClientProvider;
     }
 
+    /**
+     * Reconciles the Kafka cluster. When the interval for full reconciliations of unchanged clusters is configured,
+     * the full reconciliation is skipped if the Kafka custom resource, the Secrets and ConfigMaps it uses and the
+     * resources owned by the cluster did not change since the last successful full reconciliation, the cluster is
+     * still ready and no certificate is within its renewal period. Only a lightweight verification of the owned
+     * resources is done in that case.
+     *
+     * @param reconciliation The reconciliation
+     * @param kafkaAssembly The Kafka custom resource
+     *
+     * @return A future with the status of the Kafka cluster
+     */
     @Override
     public Future<KafkaStatus> createOrUpdate(Reconciliation reconciliation, Kafka kafkaAssembly) {
+        if (unchangedFullReconciliationIntervalMs <= 0) {
+            return fullCreateOrUpdate(reconciliation, kafkaAssembly);
+        }
+
+        NamespaceAndName key = new NamespaceAndName(reconciliation.namespace(), reconciliation.name());
+
+        return fingerprint(kafkaAssembly)
+                .recover(error -> {
+                    log.warn("{}: Failed to compute the fingerprint of the Kafka cluster", reconciliation, error);
+                    return Future.succeededFuture(null);
+                })
+                .compose(fingerprint -> isUnchangedAndReady(kafkaAssembly, fingerprints.get(key), fingerprint)
+                        .compose(unchanged -> {
+                            if (unchanged) {
+                                log.info("{}: Kafka cluster is unchanged and ready, the full reconciliation is skipped", reconciliation);
+                                return Future.succeededFuture(new KafkaStatusBuilder(kafkaAssembly.getStatus()).build());
+                            }
+
+                            fingerprints.remove(key);
+
+                            return fullCreateOrUpdate(reconciliation, kafkaAssembly)
+                                    .compose(status -> {
+                                        if (fingerprint == null) {
+                                            return Future.succeededFuture(status);
+                                        }
+
+                                        // The owned resources are fingerprinted after the full reconciliation changed them
+                                        return ownedResourcesFingerprint(kafkaAssembly)
+                                                .otherwise((String) null)
+                                                .map(ownedResources -> {
+                                                    if (ownedResources != null) {
+                                                        fingerprints.put(key, new ReconciledFingerprint(fingerprint, ownedResources, System.currentTimeMillis()));
+                                                    }
+
+                                                    return status;
+                                                });
+                                    });
+                        }));
+    }
+
+    @Override
+    protected Future<Boolean> delete(Reconciliation reconciliation) {
+        fingerprints.remove(new NamespaceAndName(reconciliation.namespace(), reconciliation.name()));
+        return super.delete(reconciliation);
+    }
+
+    /**
+     * Computes the fingerprint of the inputs of the reconciliation. It covers the generation, labels and annotations
+     * of the Kafka custom resource, the resource versions of the CA Secrets and of all Secrets and ConfigMaps
+     * referenced by the custom resource (for example custom listener certificates, OAuth client secrets and trusted
+     * certificates, Keycloak authorization trusted certificates and logging and metrics configuration) and the version
+     * of the operator.
+     *
+     * @param kafkaAssembly The Kafka custom resource
+     *
+     * @return A future with the fingerprint or with null when the custom resource has no generation
+     */
+    /*test*/ Future<String> fingerprint(Kafka kafkaAssembly) {
+        if (kafkaAssembly.getMetadata().getGeneration() == null) {
+            return Future.succeededFuture(null);
+        }
+
+        String namespace = kafkaAssembly.getMetadata().getNamespace();
+        String name = kafkaAssembly.getMetadata().getName();
+
+        Set<String> secrets = new TreeSet<>(Arrays.asList(
+                KafkaResources.clusterCaCertificateSecretName(name),
+                KafkaResources.clusterCaKeySecretName(name),
+                KafkaResources.clientsCaCertificateSecretName(name),
+                KafkaResources.clientsCaKeySecretName(name)));
+        Set<String> configMaps = new TreeSet<>();
+        ResourceVisitor.visit(kafkaAssembly, new ReferencedResourcesVisitor(secrets, configMaps));
+
+        Map<String, Future<String>> versions = new TreeMap<>();
+        secrets.forEach(secret -> versions.put("secret/" + secret, secretOperations.getAsync(namespace, secret)
+                .map(resource -> resource != null ? resource.getMetadata().getResourceVersion() : "-")));
+        configMaps.forEach(configMap -> versions.put("configmap/" + configMap, configMapOperations.getAsync(namespace, configMap)
+                .map(resource -> resource != null ? resource.getMetadata().getResourceVersion() : "-")));
+
+        return CompositeFuture.join(new ArrayList<>(versions.values()))
+                .map(res -> {
+                    StringBuilder fingerprint = new StringBuilder()
+                            .append("generation=").append(kafkaAssembly.getMetadata().getGeneration())
+                            .append(";labels=").append(new TreeMap<>(kafkaAssembly.getMetadata().getLabels() != null ? kafkaAssembly.getMetadata().getLabels() : emptyMap()))
+                            .append(";annotations=").append(new TreeMap<>(kafkaAssembly.getMetadata().getAnnotations() != null ? kafkaAssembly.getMetadata().getAnnotations() : emptyMap()))
+                            .append(";operator=").append(OPERATOR_VERSION);
+
+                    versions.forEach((resource, version) -> fingerprint.append(';').append(resource).append('=').append(version.result()));
+
+                    return Util.stringHash(fingerprint.toString());
+                });
+    }
+
+    /**
+     * Collects the names of the Secrets and ConfigMaps referenced from the spec of a custom resource
+     */
+    private static class ReferencedResourcesVisitor implements ResourceVisitor.Visitor {
+        private final Set<String> secrets;
+        private final Set<String> configMaps;
+
+        ReferencedResourcesVisitor(Set<String> secrets, Set<String> configMaps) {
+            this.secrets = secrets;
+            this.configMaps = configMaps;
+        }
+
+        @Override
+        public <M extends AnnotatedElement & Member> void visitProperty(List<String> path, Object owner, M member,
+                                                                        ResourceVisitor.Property<M> property, Object propertyValue) {
+        }
+
+        @Override
+        public void visitObject(List<String> path, Object object) {
+            if (path.isEmpty() || !"spec".equals(path.get(0))) {
+                return;
+            }
+
+            if (object instanceof CertSecretSource) {
+                addName(secrets, ((CertSecretSource) object).getSecretName());
+            } else if (object instanceof GenericSecretSource) {
+                addName(secrets, ((GenericSecretSource) object).getSecretName());
+            } else if (object instanceof PasswordSecretSource) {
+                addName(secrets, ((PasswordSecretSource) object).getSecretName());
+            } else if (object instanceof SecretKeySelector) {
+                addName(secrets, ((SecretKeySelector) object).getName());
+            } else if (object instanceof ConfigMapKeySelector) {
+                addName(configMaps, ((ConfigMapKeySelector) object).getName());
+            } else if (object instanceof ExternalLogging) {
+                addName(configMaps, ((ExternalLogging) object).getName());
+            }
+        }
+
+        private static void addName(Set<String> names, String name) {
+            if (name != null) {
+                names.add(name);
+            }
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the resources owned by the Kafka cluster: the StatefulSets, Deployments, Services,
+     * Routes, Ingresses, NetworkPolicies, PodDisruptionBudgets and Secrets with the labels of the cluster. It uses
+     * their generations (or resource versions for the resources without a generation), so it changes when any of
+     * them is modified, created or deleted. The fingerprint is null when a Deployment is not ready or when a
+     * certificate in the Secrets of the cluster is within its renewal period, so that the full reconciliation renews
+     * it or waits for the maintenance window.
+     *
+     * @param kafkaAssembly The Kafka custom resource
+     *
+     * @return A future with the fingerprint or with null when the full reconciliation cannot be skipped
+     */
+    /*test*/ Future<String> ownedResourcesFingerprint(Kafka kafkaAssembly) {
+        String namespace = kafkaAssembly.getMetadata().getNamespace();
+        String name = kafkaAssembly.getMetadata().getName();
+        Labels selector = Labels.forStrimziCluster(name).withStrimziKind(Kafka.RESOURCE_KIND);
+
+        Future<List<StatefulSet>> statefulSets = zkSetOperations.listAsync(namespace, selector);
+        Future<List<Deployment>> deployments = deploymentOperations.listAsync(namespace, selector);
+        Future<List<Service>> services = serviceOperations.listAsync(namespace, selector);
+        Future<List<Route>> routes = pfa.hasRoutes() ? routeOperations.listAsync(namespace, selector) : Future.succeededFuture(emptyList());
+        Future<List<Ingress>> ingresses = ingressOperations.listAsync(namespace, selector);
+        Future<List<NetworkPolicy>> networkPolicies = networkPolicyOperator.listAsync(namespace, selector);
+        Future<List<PodDisruptionBudget>> podDisruptionBudgets = podDisruptionBudgetOperator.listAsync(namespace, selector);
+        Future<List<Secret>> secrets = secretOperations.listAsync(namespace, selector);
+
+        List<Future> futures = Arrays.asList(statefulSets, deployments, services, routes, ingresses, networkPolicies, podDisruptionBudgets, secrets);
+
+        return CompositeFuture.join(futures)
+                .map(res -> {
+                    KafkaSpec spec = kafkaAssembly.getSpec();
+                    int renewalDays = spec != null
+                            ? Math.max(ModelUtils.getRenewalDays(spec.getClusterCa()), ModelUtils.getRenewalDays(spec.getClientsCa()))
+                            : CertificateAuthority.DEFAULT_CERTS_RENEWAL_DAYS;
+
+                    if (!deployments.result().stream().allMatch(KafkaAssemblyOperator::isReady)
+                            || secrets.result().stream().anyMatch(secret -> hasCertificateToRenew(secret, renewalDays))) {
+                        return null;
+                    }
+
+                    Map<String, String> versions = new TreeMap<>();
+                    addVersions(versions, "statefulset", statefulSets.result());
+                    addVersions(versions, "deployment", deployments.result());
+                    addVersions(versions, "service", services.result());
+                    addVersions(versions, "route", routes.result());
+                    addVersions(versions, "ingress", ingresses.result());
+                    addVersions(versions, "networkpolicy", networkPolicies.result());
+                    addVersions(versions, "poddisruptionbudget", podDisruptionBudgets.result());
+                    addVersions(versions, "secret", secrets.result());
+
+                    return Util.stringHash(versions.toString());
+                });
+    }
+
+    private static void addVersions(Map<String, String> versions, String kind, List<? extends HasMetadata> resources) {
+        for (HasMetadata resource : resources) {
+            Long generation = resource.getMetadata().getGeneration();
+            versions.put(kind + "/" + resource.getMetadata().getName(),
+                    generation != null ? "generation-" + generation : resource.getMetadata().getResourceVersion());
+        }
+    }
+
+    /**
+     * @return True when a certificate in the Secret expires within the renewal days or cannot be parsed
+     */
+    private static boolean hasCertificateToRenew(Secret secret, int renewalDays) {
+        if (secret.getData() == null) {
+            return false;
+        }
+
+        long renewAfterMs = System.currentTimeMillis() + renewalDays * 24L * 60L * 60L * 1000L;
+
+        for (String key : secret.getData().keySet()) {
+            if (key.endsWith(".crt")) {
+                try {
+                    X509Certificate cert = Ca.cert(secret, key);
+
+                    if (cert != null && cert.getNotAfter().getTime() < renewAfterMs) {
+                        return true;
+                    }
+                } catch (RuntimeException e) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks whether the full reconciliation can be skipped. That is the case when the fingerprint did not change
+     * since the last successful full reconciliation, the full reconciliation interval did not elapse yet, the status
+     * of the custom resource is ready, the ZooKeeper and Kafka StatefulSets and pods are ready and not annotated
+     * for a manual rolling update or deletion and the fingerprint of the owned resources did not change either.
+     *
+     * @param kafkaAssembly The Kafka custom resource
+     * @param previous The fingerprint of the last successful full reconciliation or null
+     * @param fingerprint The current fingerprint or null
+     *
+     * @return A future which completes with true when the full reconciliation can be skipped
+     */
+    private Future<Boolean> isUnchangedAndReady(Kafka kafkaAssembly, ReconciledFingerprint previous, String fingerprint) {
+        if (fingerprint == null
+                || previous == null
+                || !fingerprint.equals(previous.fingerprint)
+                || System.currentTimeMillis() - previous.reconciledAtMs >= unchangedFullReconciliationIntervalMs
+                || !isReady(kafkaAssembly)) {
+            return Future.succeededFuture(false);
+        }
+
+        String namespace = kafkaAssembly.getMetadata().getNamespace();
+        String name = kafkaAssembly.getMetadata().getName();
+
+        Future<StatefulSet> zkSts = zkSetOperations.getAsync(namespace, KafkaResources.zookeeperStatefulSetName(name));
+        Future<StatefulSet> kafkaSts = kafkaSetOperations.getAsync(namespace, KafkaResources.kafkaStatefulSetName(name));
+        Future<List<Pod>> pods = podOperations.listAsync(namespace, Labels.forStrimziCluster(name).withStrimziKind(Kafka.RESOURCE_KIND));
+        Future<String> ownedResources = ownedResourcesFingerprint(kafkaAssembly);
+
+        return CompositeFuture.join(zkSts, kafkaSts, pods, ownedResources)
+                .map(res -> isReady(zkSts.result())
+                        && isReady(kafkaSts.result())
+                        && pods.result().stream().allMatch(KafkaAssemblyOperator::isReady)
+                        && ownedResources.result() != null
+                        && ownedResources.result().equals(previous.ownedResources))
+                .otherwise(false);
+    }
+
+    private static boolean isReady(Kafka kafkaAssembly) {
+        KafkaStatus status = kafkaAssembly.getStatus();
+
+        return status != null
+                && status.getConditions() != null
+                && kafkaAssembly.getMetadata().getGeneration().equals(status.getObservedGeneration())
+                && status.getConditions().stream().anyMatch(condition -> "Ready".equals(condition.getType()) && "True".equals(condition.getStatus()));
+    }
+
+    private static boolean isReady(StatefulSet sts) {
+        return sts != null
+                && !Annotations.booleanAnnotation(sts, Annotations.ANNO_STRIMZI_IO_MANUAL_ROLLING_UPDATE, false, Annotations.ANNO_OP_STRIMZI_IO_MANUAL_ROLLING_UPDATE)
+                && sts.getStatus() != null
+                && sts.getSpec().getReplicas() != null
+                && sts.getSpec().getReplicas().equals(sts.getStatus().getReadyReplicas());
+    }
+
+    private static boolean isReady(Deployment deployment) {
+        int replicas = deployment.getSpec() != null && deployment.getSpec().getReplicas() != null ? deployment.getSpec().getReplicas() : 1;
+
+        return deployment.getStatus() != null
+                && Objects.equals(deployment.getMetadata().getGeneration(), deployment.getStatus().getObservedGeneration())
+                && replicas == (deployment.getStatus().getReadyReplicas() != null ? deployment.getStatus().getReadyReplicas() : 0);
+    }
+
+    private static boolean isReady(Pod pod) {
+        return Readiness.isPodReady(pod)
+                && !Annotations.booleanAnnotation(pod, Annotations.ANNO_STRIMZI_IO_MANUAL_ROLLING_UPDATE, false, Annotations.ANNO_OP_STRIMZI_IO_MANUAL_ROLLING_UPDATE)
+                && !Annotations.booleanAnnotation(pod, AbstractScalableResourceOperator.ANNO_STRIMZI_IO_DELETE_POD_AND_PVC, false, AbstractScalableResourceOperator.ANNO_OP_STRIMZI_IO_DELETE_POD_AND_PVC);
+    }
+
+    /**
+     * Runs the full reconciliation of the Kafka cluster.
+     *
+     * @param reconciliation The reconciliation
+     * @param kafkaAssembly The Kafka custom resource
+     *
+     * @return A future with the status of the Kafka cluster
+     */
+    Future<KafkaStatus> fullCreateOrUpdate(Reconciliation reconciliation, Kafka kafkaAssembly) {
         Promise<KafkaStatus> createOrUpdatePromise = Promise.promise();
         ReconciliationState reconcileState = createReconciliationState(reconciliation, kafkaAssembly);
 
@@ -249,112 +608,129 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
     }
 
     Future<Void> reconcile(ReconciliationState reconcileState)  {
-        Promise<Void> chainPromise = Promise.promise();
+        return reconciliationGraph(reconcileState.reconciliation)
+                .execute(vertx, reconcileState)
+                .map((Void) null);
+    }
 
-        reconcileState.initialStatus()
-                .compose(state -> state.reconcileCas(this::dateSupplier))
-                .compose(state -> state.clusterOperatorSecret(this::dateSupplier))
-                .compose(state -> state.getKafkaClusterDescription())
+    /**
+     * Declares the steps of the reconciliation and the steps each of them depends on. Steps which do not depend on
+     * each other run concurrently. For example the ZooKeeper and Kafka services and network policies are reconciled
+     * while the pods are being cleaned up or rolled and the Entity Operator, Cruise Control, Kafka Exporter and
+     * JmxTrans are deployed at the same time once the Kafka cluster is ready.
+     *
+     * @param reconciliation The reconciliation
+     *
+     * @return The graph with the reconciliation steps
+     */
+    ReconciliationGraph<ReconciliationState> reconciliationGraph(Reconciliation reconciliation) {
+        return new ReconciliationGraph<ReconciliationState>(reconciliation, metrics)
+                .step("initialStatus", ReconciliationState::initialStatus)
+                .step("reconcileCas", state -> state.reconcileCas(this::dateSupplier), "initialStatus")
+                .step("clusterOperatorSecret", state -> state.clusterOperatorSecret(this::dateSupplier), "reconcileCas")
+                .step("getKafkaClusterDescription", ReconciliationState::getKafkaClusterDescription, "clusterOperatorSecret")
                 // Roll everything if a new CA is added to the trust store.
-                .compose(state -> state.rollingUpdateForNewCaKey())
-                .compose(state -> state.getZookeeperDescription())
-                .compose(state -> state.zkModelWarnings())
-                .compose(state -> state.zkManualPodCleaning())
-                .compose(state -> state.zkNetPolicy())
-                .compose(state -> state.zkManualRollingUpdate())
-                .compose(state -> state.zkVersionChange())
-                .compose(state -> state.zookeeperServiceAccount())
-                .compose(state -> state.zkPvcs())
-                .compose(state -> state.zkService())
-                .compose(state -> state.zkHeadlessService())
-                .compose(state -> state.zkGenerateCertificates(this::dateSupplier))
-                .compose(state -> state.zkAncillaryCm())
-                .compose(state -> state.zkNodesSecret())
-                .compose(state -> state.zkPodDisruptionBudget())
-                .compose(state -> state.zkStatefulSet())
-                .compose(state -> state.zkScalingDown())
-                .compose(state -> state.zkRollingUpdate())
-                .compose(state -> state.zkPodsReady())
-                .compose(state -> state.zkScalingUp())
-                .compose(state -> state.zkScalingCheck())
-                .compose(state -> state.zkServiceEndpointReadiness())
-                .compose(state -> state.zkHeadlessServiceEndpointReadiness())
-                .compose(state -> state.zkPersistentClaimDeletion())
-
-                .compose(state -> state.checkKafkaSpec())
-                .compose(state -> state.kafkaModelWarnings())
-                .compose(state -> state.kafkaManualPodCleaning())
-                .compose(state -> state.kafkaNetPolicy())
-                .compose(state -> state.kafkaManualRollingUpdate())
-                .compose(state -> state.kafkaVersionChangeCheck())
-                .compose(state -> state.kafkaVersionChange(false))
-                .compose(state -> state.kafkaPvcs())
-                .compose(state -> state.kafkaInitServiceAccount())
-                .compose(state -> state.kafkaInitClusterRoleBinding())
-                .compose(state -> state.kafkaScaleDown())
-                .compose(state -> state.kafkaServices())
-                .compose(state -> state.kafkaRoutes())
-                .compose(state -> state.kafkaIngresses())
-                .compose(state -> state.kafkaInternalServicesReady())
-                .compose(state -> state.kafkaLoadBalancerServicesReady())
-                .compose(state -> state.kafkaNodePortServicesReady())
-                .compose(state -> state.kafkaRoutesReady())
-                .compose(state -> state.kafkaIngressesReady())
-                .compose(state -> state.kafkaGenerateCertificates(this::dateSupplier))
-                .compose(state -> state.customListenerCertificates())
-                .compose(state -> state.kafkaAncillaryCm())
-                .compose(state -> state.kafkaBrokersSecret())
-                .compose(state -> state.kafkaJmxSecret())
-                .compose(state -> state.kafkaPodDisruptionBudget())
-                .compose(state -> state.kafkaStatefulSet())
-                .compose(state -> state.kafkaVersionChange(true))
-                .compose(state -> state.kafkaRollingUpdate())
-                .compose(state -> state.kafkaScaleUp())
-                .compose(state -> state.kafkaPodsReady())
-                .compose(state -> state.kafkaServiceEndpointReady())
-                .compose(state -> state.kafkaHeadlessServiceEndpointReady())
-                .compose(state -> state.kafkaPersistentClaimDeletion())
+                .step("rollingUpdateForNewCaKey", ReconciliationState::rollingUpdateForNewCaKey, "getKafkaClusterDescription")
+
+                .step("getZookeeperDescription", ReconciliationState::getZookeeperDescription, "rollingUpdateForNewCaKey")
+                .step("zkModelWarnings", ReconciliationState::zkModelWarnings, "getZookeeperDescription")
+                .step("zkNetPolicy", ReconciliationState::zkNetPolicy, "zkModelWarnings")
+                .step("zookeeperServiceAccount", ReconciliationState::zookeeperServiceAccount, "zkModelWarnings")
+                .step("zkService", ReconciliationState::zkService, "zkModelWarnings")
+                .step("zkHeadlessService", ReconciliationState::zkHeadlessService, "zkModelWarnings")
+                .step("zkManualPodCleaning", ReconciliationState::zkManualPodCleaning, "zkModelWarnings")
+                .step("zkManualRollingUpdate", ReconciliationState::zkManualRollingUpdate, "zkManualPodCleaning")
+                .step("zkVersionChange", ReconciliationState::zkVersionChange, "zkManualRollingUpdate")
+                .step("zkPvcs", ReconciliationState::zkPvcs, "zkVersionChange")
+                .step("zkGenerateCertificates", state -> state.zkGenerateCertificates(this::dateSupplier), "zkVersionChange")
+                .step("zkAncillaryCm", ReconciliationState::zkAncillaryCm, "zkVersionChange")
+                .step("zkNodesSecret", ReconciliationState::zkNodesSecret, "zkGenerateCertificates")
+                .step("zkPodDisruptionBudget", ReconciliationState::zkPodDisruptionBudget, "zkVersionChange")
+                .step("zkStatefulSet", ReconciliationState::zkStatefulSet, "zkNetPolicy", "zookeeperServiceAccount",
+                        "zkService", "zkHeadlessService", "zkPvcs", "zkAncillaryCm", "zkNodesSecret", "zkPodDisruptionBudget")
+                .step("zkScalingDown", ReconciliationState::zkScalingDown, "zkStatefulSet")
+                .step("zkRollingUpdate", ReconciliationState::zkRollingUpdate, "zkScalingDown")
+                .step("zkPodsReady", ReconciliationState::zkPodsReady, "zkRollingUpdate")
+                .step("zkScalingUp", ReconciliationState::zkScalingUp, "zkPodsReady")
+                .step("zkScalingCheck", ReconciliationState::zkScalingCheck, "zkScalingUp")
+                .step("zkServiceEndpointReadiness", ReconciliationState::zkServiceEndpointReadiness, "zkScalingCheck")
+                .step("zkHeadlessServiceEndpointReadiness", ReconciliationState::zkHeadlessServiceEndpointReadiness, "zkScalingCheck")
+                .step("zkPersistentClaimDeletion", ReconciliationState::zkPersistentClaimDeletion, "zkServiceEndpointReadiness", "zkHeadlessServiceEndpointReadiness")
+
+                .step("checkKafkaSpec", ReconciliationState::checkKafkaSpec, "zkPersistentClaimDeletion")
+                .step("kafkaModelWarnings", ReconciliationState::kafkaModelWarnings, "checkKafkaSpec")
+                .step("kafkaNetPolicy", ReconciliationState::kafkaNetPolicy, "kafkaModelWarnings")
+                .step("kafkaInitServiceAccount", ReconciliationState::kafkaInitServiceAccount, "kafkaModelWarnings")
+                .step("kafkaInitClusterRoleBinding", ReconciliationState::kafkaInitClusterRoleBinding, "kafkaModelWarnings")
+                .step("kafkaManualPodCleaning", ReconciliationState::kafkaManualPodCleaning, "kafkaModelWarnings")
+                .step("kafkaManualRollingUpdate", ReconciliationState::kafkaManualRollingUpdate, "kafkaManualPodCleaning")
+                .step("kafkaVersionChangeCheck", ReconciliationState::kafkaVersionChangeCheck, "kafkaManualRollingUpdate")
+                .step("kafkaVersionChange", state -> state.kafkaVersionChange(false), "kafkaVersionChangeCheck")
+                .step("kafkaPvcs", ReconciliationState::kafkaPvcs, "kafkaVersionChange")
+                .step("kafkaScaleDown", ReconciliationState::kafkaScaleDown, "kafkaVersionChange")
+                .step("kafkaServices", ReconciliationState::kafkaServices, "kafkaScaleDown")
+                .step("kafkaRoutes", ReconciliationState::kafkaRoutes, "kafkaScaleDown")
+                .step("kafkaIngresses", ReconciliationState::kafkaIngresses, "kafkaScaleDown")
+                // The readiness steps run one after another to keep the order of the listeners in the status
+                .step("kafkaInternalServicesReady", ReconciliationState::kafkaInternalServicesReady, "kafkaServices", "kafkaRoutes", "kafkaIngresses")
+                .step("kafkaLoadBalancerServicesReady", ReconciliationState::kafkaLoadBalancerServicesReady, "kafkaInternalServicesReady")
+                .step("kafkaNodePortServicesReady", ReconciliationState::kafkaNodePortServicesReady, "kafkaLoadBalancerServicesReady")
+                .step("kafkaRoutesReady", ReconciliationState::kafkaRoutesReady, "kafkaNodePortServicesReady")
+                .step("kafkaIngressesReady", ReconciliationState::kafkaIngressesReady, "kafkaRoutesReady")
+                .step("kafkaGenerateCertificates", state -> state.kafkaGenerateCertificates(this::dateSupplier), "kafkaIngressesReady")
+                .step("customListenerCertificates", ReconciliationState::customListenerCertificates, "kafkaGenerateCertificates")
+                .step("kafkaAncillaryCm", ReconciliationState::kafkaAncillaryCm, "customListenerCertificates")
+                .step("kafkaBrokersSecret", ReconciliationState::kafkaBrokersSecret, "customListenerCertificates")
+                .step("kafkaJmxSecret", ReconciliationState::kafkaJmxSecret, "customListenerCertificates")
+                .step("kafkaPodDisruptionBudget", ReconciliationState::kafkaPodDisruptionBudget, "customListenerCertificates")
+                .step("kafkaStatefulSet", ReconciliationState::kafkaStatefulSet, "kafkaNetPolicy", "kafkaInitServiceAccount",
+                        "kafkaInitClusterRoleBinding", "kafkaPvcs", "kafkaAncillaryCm", "kafkaBrokersSecret", "kafkaJmxSecret", "kafkaPodDisruptionBudget")
+                .step("kafkaPostponedVersionChange", state -> state.kafkaVersionChange(true), "kafkaStatefulSet")
+                .step("kafkaRollingUpdate", ReconciliationState::kafkaRollingUpdate, "kafkaPostponedVersionChange")
+                .step("kafkaScaleUp", ReconciliationState::kafkaScaleUp, "kafkaRollingUpdate")
+                .step("kafkaPodsReady", ReconciliationState::kafkaPodsReady, "kafkaScaleUp")
+                .step("kafkaServiceEndpointReady", ReconciliationState::kafkaServiceEndpointReady, "kafkaPodsReady")
+                .step("kafkaHeadlessServiceEndpointReady", ReconciliationState::kafkaHeadlessServiceEndpointReady, "kafkaPodsReady")
+                .step("kafkaPersistentClaimDeletion", ReconciliationState::kafkaPersistentClaimDeletion, "kafkaServiceEndpointReady", "kafkaHeadlessServiceEndpointReady")
                 // This has to run after all possible rolling updates which might move the pods to different nodes
-                .compose(state -> state.kafkaNodePortExternalListenerStatus())
-                .compose(state -> state.kafkaCustomCertificatesToStatus())
-
-                .compose(state -> state.checkUnsupportedTopicOperator())
-
-                .compose(state -> state.getEntityOperatorDescription())
-                .compose(state -> state.entityOperatorServiceAccount())
-                .compose(state -> state.entityOperatorTopicOpRoleBinding())
-                .compose(state -> state.entityOperatorUserOpRoleBinding())
-                .compose(state -> state.entityOperatorTopicOpAncillaryCm())
-                .compose(state -> state.entityOperatorUserOpAncillaryCm())
-                .compose(state -> state.entityOperatorSecret(this::dateSupplier))
-                .compose(state -> state.entityOperatorDeployment())
-                .compose(state -> state.entityOperatorReady())
-
-                .compose(state -> state.getCruiseControlDescription())
-                .compose(state -> state.cruiseControlNetPolicy())
-                .compose(state -> state.cruiseControlServiceAccount())
-                .compose(state -> state.cruiseControlAncillaryCm())
-                .compose(state -> state.cruiseControlSecret(this::dateSupplier))
-                .compose(state -> state.cruiseControlDeployment())
-                .compose(state -> state.cruiseControlService())
-                .compose(state -> state.cruiseControlReady())
-
-                .compose(state -> state.getKafkaExporterDescription())
-                .compose(state -> state.kafkaExporterServiceAccount())
-                .compose(state -> state.kafkaExporterSecret(this::dateSupplier))
-                .compose(state -> state.kafkaExporterDeployment())
-                .compose(state -> state.kafkaExporterReady())
-
-                .compose(state -> state.getJmxTransDescription())
-                .compose(state -> state.jmxTransServiceAccount())
-                .compose(state -> state.jmxTransConfigMap())
-                .compose(state -> state.jmxTransDeployment())
-                .compose(state -> state.jmxTransDeploymentReady())
-
-                .map((Void) null)
-                .onComplete(chainPromise);
-
-        return chainPromise.future();
+                .step("kafkaNodePortExternalListenerStatus", ReconciliationState::kafkaNodePortExternalListenerStatus, "kafkaPersistentClaimDeletion")
+                .step("kafkaCustomCertificatesToStatus", ReconciliationState::kafkaCustomCertificatesToStatus, "kafkaNodePortExternalListenerStatus")
+
+                .step("checkUnsupportedTopicOperator", ReconciliationState::checkUnsupportedTopicOperator, "kafkaCustomCertificatesToStatus")
+
+                .step("getEntityOperatorDescription", ReconciliationState::getEntityOperatorDescription, "checkUnsupportedTopicOperator")
+                .step("entityOperatorServiceAccount", ReconciliationState::entityOperatorServiceAccount, "getEntityOperatorDescription")
+                .step("entityOperatorTopicOpRoleBinding", ReconciliationState::entityOperatorTopicOpRoleBinding, "getEntityOperatorDescription")
+                .step("entityOperatorUserOpRoleBinding", ReconciliationState::entityOperatorUserOpRoleBinding, "getEntityOperatorDescription")
+                .step("entityOperatorTopicOpAncillaryCm", ReconciliationState::entityOperatorTopicOpAncillaryCm, "getEntityOperatorDescription")
+                .step("entityOperatorUserOpAncillaryCm", ReconciliationState::entityOperatorUserOpAncillaryCm, "getEntityOperatorDescription")
+                .step("entityOperatorSecret", state -> state.entityOperatorSecret(this::dateSupplier), "getEntityOperatorDescription")
+                .step("entityOperatorDeployment", ReconciliationState::entityOperatorDeployment, "entityOperatorServiceAccount",
+                        "entityOperatorTopicOpRoleBinding", "entityOperatorUserOpRoleBinding", "entityOperatorTopicOpAncillaryCm",
+                        "entityOperatorUserOpAncillaryCm", "entityOperatorSecret")
+                .step("entityOperatorReady", ReconciliationState::entityOperatorReady, "entityOperatorDeployment")
+
+                .step("getCruiseControlDescription", ReconciliationState::getCruiseControlDescription, "checkUnsupportedTopicOperator")
+                .step("cruiseControlNetPolicy", ReconciliationState::cruiseControlNetPolicy, "getCruiseControlDescription")
+                .step("cruiseControlServiceAccount", ReconciliationState::cruiseControlServiceAccount, "getCruiseControlDescription")
+                .step("cruiseControlAncillaryCm", ReconciliationState::cruiseControlAncillaryCm, "getCruiseControlDescription")
+                .step("cruiseControlSecret", state -> state.cruiseControlSecret(this::dateSupplier), "getCruiseControlDescription")
+                .step("cruiseControlService", ReconciliationState::cruiseControlService, "getCruiseControlDescription")
+                .step("cruiseControlDeployment", ReconciliationState::cruiseControlDeployment, "cruiseControlNetPolicy",
+                        "cruiseControlServiceAccount", "cruiseControlAncillaryCm", "cruiseControlSecret")
+                .step("cruiseControlReady", ReconciliationState::cruiseControlReady, "cruiseControlDeployment", "cruiseControlService")
+
+                .step("getKafkaExporterDescription", ReconciliationState::getKafkaExporterDescription, "checkUnsupportedTopicOperator")
+                .step("kafkaExporterServiceAccount", ReconciliationState::kafkaExporterServiceAccount, "getKafkaExporterDescription")
+                .step("kafkaExporterSecret", state -> state.kafkaExporterSecret(this::dateSupplier), "getKafkaExporterDescription")
+                .step("kafkaExporterDeployment", ReconciliationState::kafkaExporterDeployment, "kafkaExporterServiceAccount", "kafkaExporterSecret")
+                .step("kafkaExporterReady", ReconciliationState::kafkaExporterReady, "kafkaExporterDeployment")
+
+                .step("getJmxTransDescription", ReconciliationState::getJmxTransDescription, "checkUnsupportedTopicOperator")
+                .step("jmxTransServiceAccount", ReconciliationState::jmxTransServiceAccount, "getJmxTransDescription")
+                .step("jmxTransConfigMap", ReconciliationState::jmxTransConfigMap, "getJmxTransDescription")
+                .step("jmxTransDeployment", ReconciliationState::jmxTransDeployment, "jmxTransServiceAccount", "jmxTransConfigMap")
+                .step("jmxTransDeploymentReady", ReconciliationState::jmxTransDeploymentReady, "jmxTransDeployment");
     }
 
     ReconciliationState createReconciliationState(Reconciliation reconciliation, Kafka kafkaAssembly) {
@@ -566,7 +942,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
             Labels selectorLabels = Labels.EMPTY.withStrimziKind(reconciliation.kind()).withStrimziCluster(reconciliation.name());
             Labels caLabels = Labels.generateDefaultLabels(kafkaAssembly, Labels.APPLICATION_NAME, AbstractModel.STRIMZI_CLUSTER_OPERATOR_NAME);
             Promise<ReconciliationState> resultPromise = Promise.promise();
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").<ReconciliationState>executeBlocking(
+            WorkerPools.get(vertx, WorkerPools.Workload.KUBERNETES).<ReconciliationState>executeBlocking(
                 future -> {
                     try {
                         String clusterCaCertName = AbstractModel.clusterCaCertSecretName(name);
@@ -619,7 +995,8 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
                                 ModelUtils.getCertificateValidity(clusterCaConfig),
                                 ModelUtils.getRenewalDays(clusterCaConfig),
                                 clusterCaConfig == null || clusterCaConfig.isGenerateCertificateAuthority(),
-                                clusterCaConfig != null ? clusterCaConfig.getCertificateExpirationPolicy() : null);
+                                clusterCaConfig != null ? clusterCaConfig.getCertificateExpirationPolicy() : null,
+                                ModelUtils.getKeyAlgorithm(clusterCaConfig));
                         clusterCa.createRenewOrReplace(
                                 reconciliation.namespace(), reconciliation.name(), caLabels.toMap(),
                                 clusterCaCertLabels, clusterCaCertAnnotations,
@@ -639,7 +1016,8 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
                                 ModelUtils.getCertificateValidity(clientsCaConfig),
                                 ModelUtils.getRenewalDays(clientsCaConfig),
                                 clientsCaConfig == null || clientsCaConfig.isGenerateCertificateAuthority(),
-                                clientsCaConfig != null ? clientsCaConfig.getCertificateExpirationPolicy() : null);
+                                clientsCaConfig != null ? clientsCaConfig.getCertificateExpirationPolicy() : null,
+                                ModelUtils.getKeyAlgorithm(clientsCaConfig));
                         clientsCa.createRenewOrReplace(reconciliation.namespace(), reconciliation.name(),
                                 caLabels.toMap(), emptyMap(), emptyMap(),
                                 clientsCaConfig != null && !clientsCaConfig.isGenerateSecretOwnerReference() ? null : ownerRef,
@@ -723,7 +1101,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
                         .compose(i -> kafkaSetOperations.getAsync(namespace, KafkaCluster.kafkaClusterName(name)))
                         .compose(sts -> new KafkaRoller(vertx, reconciliation, podOperations, 1_000, operationTimeoutMs,
                             () -> new BackOff(250, 2, 10), sts, clusterCa.caCertSecret(), oldCoSecret, adminClientProvider,
-                            kafkaCluster.getBrokersConfiguration(), kafkaLogging, kafkaCluster.getKafkaVersion())
+                            kafkaCluster.getBrokersConfiguration(), kafkaLogging, kafkaCluster.getKafkaVersion(), maxConcurrentRestarts)
                             .rollingRestart(rollPodAndLogReason))
                         .compose(i -> rollDeploymentIfExists(EntityOperator.entityOperatorName(name), reason.toString()))
                         .compose(i -> rollDeploymentIfExists(KafkaExporter.kafkaExporterName(name), reason.toString()))
@@ -1294,7 +1672,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
             return adminClientSecrets()
                 .compose(compositeFuture -> new KafkaRoller(vertx, reconciliation, podOperations, 1_000, operationTimeoutMs,
                     () -> new BackOff(250, 2, 10), sts, compositeFuture.resultAt(0), compositeFuture.resultAt(1), adminClientProvider,
-                        kafkaCluster.getBrokersConfiguration(), kafkaLogging, kafkaCluster.getKafkaVersion())
+                        kafkaCluster.getBrokersConfiguration(), kafkaLogging, kafkaCluster.getKafkaVersion(), maxConcurrentRestarts)
                     .rollingRestart(podNeedsRestart));
         }
 
@@ -1671,7 +2049,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
         Future<ReconciliationState> zkGenerateCertificates(Supplier<Date> dateSupplier) {
             Promise<ReconciliationState> resultPromise = Promise.promise();
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").<ReconciliationState>executeBlocking(
+            WorkerPools.get(vertx, WorkerPools.Workload.KUBERNETES).<ReconciliationState>executeBlocking(
                 future -> {
                     try {
                         zkCluster.generateCertificates(kafkaAssembly, clusterCa, isMaintenanceTimeWindowsSatisfied(dateSupplier));
@@ -2326,7 +2704,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
 
         Future<ReconciliationState> kafkaGenerateCertificates(Supplier<Date> dateSupplier) {
             Promise<ReconciliationState> resultPromise = Promise.promise();
-            vertx.createSharedWorkerExecutor("kubernetes-ops-pool").<ReconciliationState>executeBlocking(
+            WorkerPools.get(vertx, WorkerPools.Workload.KUBERNETES).<ReconciliationState>executeBlocking(
                 future -> {
                     try {
                         kafkaCluster.generateCertificates(kafkaAssembly,
@@ -9,6 +9,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.strimzi.api.kafka.model.connect.ConnectorPlugin;
 import io.strimzi.operator.common.BackOff;
+import io.strimzi.operator.common.HttpClients;
+import io.strimzi.operator.common.PooledHttpClient;
 import io.strimzi.operator.common.Util;
 import io.strimzi.operator.common.model.OrderedProperties;
 import io.vertx.core.Future;
@@ -17,7 +19,6 @@ import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
-import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import org.apache.logging.log4j.LogManager;
@@ -50,9 +51,11 @@ class KafkaConnectApiImpl implements KafkaConnectApi {
     };
     private final ObjectMapper mapper = new ObjectMapper();
     private final Vertx vertx;
+    private final PooledHttpClient httpClient;
 
     public KafkaConnectApiImpl(Vertx vertx) {
         this.vertx = vertx;
+        this.httpClient = HttpClients.get(vertx, HttpClients.Target.KAFKA_CONNECT);
     }
 
     @Override
@@ -95,25 +98,14 @@ class KafkaConnectApiImpl implements KafkaConnectApi {
     }
 
     /**
-     * Perform the given operation, which completes the promise, using an HTTP client instance,
-     * after which the client is closed and the future for the promise returned.
+     * Perform the given operation, which completes the promise, using the shared HTTP client, whose connections are
+     * kept open for the following requests, and return the future for the promise.
      * @param operation The operation to perform.
      * @param <T> The type of the result
      * @return A future which is completed with the result performed by the operation
      */
     private <T> Future<T> withHttpClient(BiConsumer<HttpClient, Promise<T>> operation) {
-        HttpClient httpClient = vertx.createHttpClient(new HttpClientOptions().setLogActivity(true));
-        Promise<T> promise = Promise.promise();
-        operation.accept(httpClient, promise);
-        return promise.future().compose(
-            result -> {
-                httpClient.close();
-                return Future.succeededFuture(result);
-            },
-            error -> {
-                httpClient.close();
-                return Future.failedFuture(error);
-            });
+        return httpClient.execute(operation);
     }
 
     @Override
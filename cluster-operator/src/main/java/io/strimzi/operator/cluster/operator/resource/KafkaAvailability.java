@@ -18,112 +18,234 @@ import org.apache.kafka.common.config.TopicConfig;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static java.lang.Integer.parseInt;
 
 /**
- * Determines whether the given broker can be rolled without affecting
+ * Determines whether the given broker, or a set of brokers, can be rolled without affecting
  * producers with acks=all publishing to topics with a {@code min.in.sync.replicas}.
+ *
+ * <p>The topics are described once, when the instance is created, and their partitions are indexed by the brokers
+ * hosting their replicas. The {@code min.in.sync.replicas} of each topic is read the first time one of its brokers
+ * is checked. One instance should be used for the whole rolling restart. After a broker is restarted, it should be
+ * {@linkplain #invalidate(int) invalidated}, so that only the topics with replicas on it are described again before
+ * the next check.</p>
  */
 class KafkaAvailability {
 
     private static final Logger log = LogManager.getLogger(KafkaAvailability.class.getName());
 
     private final Admin ac;
-    private final Future<Collection<TopicDescription>> descriptions;
+    private final PartitionIndex partitionIndex = new PartitionIndex();
+    private final Map<String, Integer> minIsrByTopic = new ConcurrentHashMap<>();
+    private final Set<Integer> staleBrokers = ConcurrentHashMap.newKeySet();
+    private volatile Future<Void> indexed;
 
     KafkaAvailability(Admin ac) {
         this.ac = ac;
+        this.indexed = buildIndex();
+    }
+
+    private Future<Void> buildIndex() {
         // 1. Get all topic names
         Future<Set<String>> topicNames = topicNames();
-        // 2. Get topic descriptions
-        descriptions = topicNames.compose(names -> {
+        // 2. Get topic descriptions and index their partitions
+        return topicNames.compose(names -> {
             log.debug("Got {} topic names", names.size());
             log.trace("Topic names {}", names);
             return describeTopics(names);
+        }).map(topicDescriptions -> {
+            log.debug("Got {} topic descriptions", topicDescriptions.size());
+            partitionIndex.reset(topicDescriptions);
+            return null;
+        });
+    }
+
+    /**
+     * Returns a future which completes when the index is up to date. The topics with replicas on the invalidated
+     * brokers are described again. When that fails, for example because a topic was deleted, or when building the
+     * index failed before, the whole index is built again.
+     */
+    private Future<Void> index() {
+        Future<Void> current = indexed;
+        if (current.failed()) {
+            current = buildIndex();
+            indexed = current;
+        }
+
+        return current.compose(ignore -> {
+            Set<Integer> brokers = new HashSet<>(staleBrokers);
+            staleBrokers.removeAll(brokers);
+            Set<String> topics = partitionIndex.topicsOn(brokers);
+
+            if (topics.isEmpty()) {
+                return Future.succeededFuture();
+            }
+
+            log.debug("Describing {} topics with replicas on brokers {} again", topics.size(), brokers);
+            return describeTopics(topics)
+                    .<Void>map(topicDescriptions -> {
+                        partitionIndex.update(topicDescriptions);
+                        return null;
+                    })
+                    .recover(error -> {
+                        log.debug("Error describing the topics with replicas on brokers {} again, all topics will be described", brokers, error);
+                        Future<Void> rebuilt = buildIndex();
+                        indexed = rebuilt;
+                        return rebuilt;
+                    });
         });
     }
 
+    /**
+     * Marks the partitions of the given broker as outdated, for example because the broker was restarted and its
+     * replicas are catching up. They are described again before the next check.
+     */
+    void invalidate(int podId) {
+        staleBrokers.add(podId);
+    }
+
     /**
      * Determine whether the given broker can be rolled without affecting
      * producers with acks=all publishing to topics with a {@code min.in.sync.replicas}.
      */
     Future<Boolean> canRoll(int podId) {
         log.debug("Determining whether broker {} can be rolled", podId);
-        return canRollBroker(descriptions, podId);
+        return index().compose(ignore -> {
+            Map<String, List<TopicPartitionInfo>> partitionsOnGivenBroker = partitionIndex.partitionsOn(Collections.singleton(podId));
+
+            return minIsr(partitionsOnGivenBroker.keySet()).map(minIsrs -> {
+                boolean canRoll = partitionsOnGivenBroker.entrySet().stream().noneMatch(
+                    entry -> wouldAffectAvailability(podId, entry.getKey(), minIsrs.get(entry.getKey()), entry.getValue()));
+                if (!canRoll) {
+                    log.debug("Restart pod {} would remove it from ISR, stalling producers with acks=all", podId);
+                    // The ISR is expected to change before the next check
+                    invalidate(podId);
+                }
+                return canRoll;
+            });
+        }).recover(error -> {
+            log.warn("Error determining whether it is safe to restart pod {}", podId, error);
+            return Future.failedFuture(error);
+        });
     }
 
-    private Future<Boolean> canRollBroker(Future<Collection<TopicDescription>> descriptions, int podId) {
-        Future<Set<TopicDescription>> topicsOnGivenBroker = descriptions
-                .compose(topicDescriptions -> {
-                    log.debug("Got {} topic descriptions", topicDescriptions.size());
-                    return Future.succeededFuture(groupTopicsByBroker(topicDescriptions, podId));
-                }).recover(error -> {
-                    log.warn(error);
+    /**
+     * Determine the largest set of the given brokers which can be rolled at the same time without affecting
+     * producers with acks=all publishing to topics with a {@code min.in.sync.replicas}.
+     * Only brokers from the same rack are rolled together, because the replicas of the partitions are usually
+     * spread across racks.
+     *
+     * @param podIds The brokers which should be rolled.
+     * @param maxBatchSize The maximal number of brokers rolled at the same time.
+     * @return A future which completes with the brokers which can be rolled together.
+     */
+    Future<Set<Integer>> largestSafeBatch(Collection<Integer> podIds, int maxBatchSize) {
+        log.debug("Determining which of the brokers {} can be rolled together", podIds);
+        return index().compose(ignore -> minIsr(partitionIndex.topicsOn(podIds)))
+                .map(minIsrs -> largestSafeBatch(podIds, maxBatchSize, minIsrs))
+                .recover(error -> {
+                    log.warn("Error determining which of the brokers {} can be rolled together", podIds, error);
                     return Future.failedFuture(error);
                 });
+    }
+
+    private Set<Integer> largestSafeBatch(Collection<Integer> podIds, int maxBatchSize, Map<String, Integer> minIsrs) {
+        Map<String, List<Integer>> podsByRack = new TreeMap<>();
+        for (Integer podId : podIds) {
+            podsByRack.computeIfAbsent(partitionIndex.rack(podId), rack -> new ArrayList<>()).add(podId);
+        }
+
+        Set<Integer> largestBatch = Collections.emptySet();
+        for (Map.Entry<String, List<Integer>> rack : podsByRack.entrySet()) {
+            Set<Integer> batch = new TreeSet<>();
+
+            for (Integer podId : rack.getValue()) {
+                if (batch.size() >= maxBatchSize) {
+                    break;
+                }
 
-        // 4. Get topic configs (for those on $broker)
-        Future<Map<String, Config>> topicConfigsOnGivenBroker = topicsOnGivenBroker
-                .compose(td -> topicConfigs(td.stream().map(t -> t.name()).collect(Collectors.toSet())));
-
-        // 5. join
-        return topicConfigsOnGivenBroker.map(topicNameToConfig -> {
-            Collection<TopicDescription> tds = topicsOnGivenBroker.result();
-            boolean canRoll = tds.stream().noneMatch(
-                td -> wouldAffectAvailability(podId, topicNameToConfig, td));
-            if (!canRoll) {
-                log.debug("Restart pod {} would remove it from ISR, stalling producers with acks=all", podId);
+                batch.add(podId);
+                if (partitionIndex.partitionsOn(batch).entrySet().stream()
+                        .anyMatch(entry -> wouldAffectAvailability(batch, entry.getKey(), minIsrs.get(entry.getKey()), entry.getValue()))) {
+                    batch.remove(podId);
+                }
             }
-            return canRoll;
-        }).recover(error -> {
-            log.warn("Error determining whether it is safe to restart pod {}", podId, error);
-            return Future.failedFuture(error);
-        });
+
+            log.debug("Brokers {} in rack {} can be rolled together", batch, rack.getKey());
+            if (batch.size() > largestBatch.size()) {
+                largestBatch = batch;
+            }
+        }
+
+        return largestBatch;
     }
 
-    private boolean wouldAffectAvailability(int broker, Map<String, Config> nameToConfig, TopicDescription td) {
-        Config config = nameToConfig.get(td.name());
-        ConfigEntry minIsrConfig = config.get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
-        int minIsr;
-        if (minIsrConfig != null && minIsrConfig.value() != null) {
-            minIsr = parseInt(minIsrConfig.value());
-            log.debug("{} has {}={}.", td.name(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr);
+    /**
+     * Unlike rolling a single broker, rolling several brokers can take all in-sync replicas of a partition offline.
+     * So at least one in-sync replica has to remain even for topics without {@code min.in.sync.replicas}.
+     */
+    private boolean wouldAffectAvailability(Set<Integer> brokers, String topic, int minIsr, List<TopicPartitionInfo> partitions) {
+        int requiredIsr = Math.max(minIsr, 1);
+
+        for (TopicPartitionInfo pi : partitions) {
+            if (pi.replicas().size() <= requiredIsr) {
+                continue;
+            }
+
+            long remainingIsr = pi.isr().stream().filter(node -> !brokers.contains(node.id())).count();
+            if (remainingIsr < requiredIsr) {
+                log.debug("{}/{} will be underreplicated (|ISR|={} and {}={}) if brokers {} are restarted together.",
+                        topic, pi.partition(), pi.isr().size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, brokers);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean wouldAffectAvailability(int broker, String topic, int minIsr, List<TopicPartitionInfo> partitions) {
+        if (minIsr >= 0) {
+            log.debug("{} has {}={}.", topic, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr);
         } else {
-            minIsr = -1;
-            log.debug("{} lacks {}.", td.name(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
+            log.debug("{} lacks {}.", topic, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
         }
 
-        for (TopicPartitionInfo pi : td.partitions()) {
+        for (TopicPartitionInfo pi : partitions) {
             List<Node> isr = pi.isr();
             if (minIsr >= 0) {
                 if (pi.replicas().size() <= minIsr) {
                     log.debug("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted, but there are only {} replicas.",
-                            td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker,
+                            topic, pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker,
                             pi.replicas().size());
                 } else if (isr.size() < minIsr
                         && contains(pi.replicas(), broker)) {
-                    logIsrReplicas(td, pi, isr);
+                    logIsrReplicas(topic, pi, isr);
                     log.info("{}/{} is already underreplicated (|ISR|={}, {}={}); broker {} has a replica, " +
                                     "so should not be restarted right now (it might be first to catch up).",
-                            td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
+                            topic, pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
                     return true;
                 } else if (isr.size() == minIsr
                         && contains(isr, broker)) {
                     if (minIsr < pi.replicas().size()) {
-                        logIsrReplicas(td, pi, isr);
+                        logIsrReplicas(topic, pi, isr);
                         log.info("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted.",
-                                td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
+                                topic, pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
                         return true;
                     } else {
                         log.debug("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted, but there are only {} replicas.",
-                                td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker,
+                                topic, pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker,
                                 pi.replicas().size());
                     }
                 }
@@ -132,9 +254,9 @@ class KafkaAvailability {
         return false;
     }
 
-    private void logIsrReplicas(TopicDescription td, TopicPartitionInfo pi, List<Node> isr) {
+    private void logIsrReplicas(String topic, TopicPartitionInfo pi, List<Node> isr) {
         if (log.isDebugEnabled()) {
-            log.debug("{}/{} has ISR={}, replicas={}", td.name(), pi.partition(), nodeList(isr), nodeList(pi.replicas()));
+            log.debug("{}/{} has ISR={}, replicas={}", topic, pi.partition(), nodeList(isr), nodeList(pi.replicas()));
         }
     }
 
@@ -146,7 +268,32 @@ class KafkaAvailability {
         return isr.stream().anyMatch(node -> node.id() == broker);
     }
 
+    /**
+     * Returns the {@code min.in.sync.replicas} of the given topics, or -1 for the topics which lack it.
+     * Only the configs of topics which were not needed before are described.
+     */
+    private Future<Map<String, Integer>> minIsr(Collection<String> topicNames) {
+        Set<String> missing = topicNames.stream().filter(name -> !minIsrByTopic.containsKey(name)).collect(Collectors.toSet());
+
+        return topicConfigs(missing).map(topicNameToConfig -> {
+            for (Map.Entry<String, Config> entry : topicNameToConfig.entrySet()) {
+                ConfigEntry minIsrConfig = entry.getValue().get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
+                minIsrByTopic.put(entry.getKey(), minIsrConfig != null && minIsrConfig.value() != null ? parseInt(minIsrConfig.value()) : -1);
+            }
+
+            Map<String, Integer> minIsrs = new HashMap<>(topicNames.size());
+            for (String topicName : topicNames) {
+                minIsrs.put(topicName, minIsrByTopic.getOrDefault(topicName, -1));
+            }
+            return minIsrs;
+        });
+    }
+
     private Future<Map<String, Config>> topicConfigs(Collection<String> topicNames) {
+        if (topicNames.isEmpty()) {
+            return Future.succeededFuture(Collections.emptyMap());
+        }
+
         log.debug("Getting topic configs for {} topics", topicNames.size());
         List<ConfigResource> configs = topicNames.stream()
                 .map((String topicName) -> new ConfigResource(ConfigResource.Type.TOPIC, topicName))
@@ -166,21 +313,6 @@ class KafkaAvailability {
         return promise.future();
     }
 
-    private Set<TopicDescription> groupTopicsByBroker(Collection<TopicDescription> tds, int podId) {
-        Set<TopicDescription> topicPartitionInfos = new HashSet<>();
-        for (TopicDescription td : tds) {
-            log.trace("{}", td);
-            for (TopicPartitionInfo pd : td.partitions()) {
-                for (Node broker : pd.replicas()) {
-                    if (podId == broker.id()) {
-                        topicPartitionInfos.add(td);
-                    }
-                }
-            }
-        }
-        return topicPartitionInfos;
-    }
-
     protected Future<Collection<TopicDescription>> describeTopics(Set<String> names) {
         Promise<Collection<TopicDescription>> descPromise = Promise.promise();
         ac.describeTopics(names).all()
@@ -208,4 +340,78 @@ class KafkaAvailability {
                 });
         return namesPromise.future();
     }
+
+    /**
+     * The partitions of the topics indexed by the brokers hosting their replicas
+     */
+    private static class PartitionIndex {
+        private final Map<String, List<TopicPartitionInfo>> partitionsByTopic = new HashMap<>();
+        private final Map<Integer, Set<String>> topicsByBroker = new HashMap<>();
+        private final Map<Integer, String> racks = new HashMap<>();
+
+        synchronized void reset(Collection<TopicDescription> topicDescriptions) {
+            partitionsByTopic.clear();
+            topicsByBroker.clear();
+            update(topicDescriptions);
+        }
+
+        synchronized void update(Collection<TopicDescription> topicDescriptions) {
+            for (TopicDescription td : topicDescriptions) {
+                List<TopicPartitionInfo> previous = partitionsByTopic.put(td.name(), td.partitions());
+                if (previous != null) {
+                    // The replicas might have been reassigned
+                    for (Integer broker : brokers(previous)) {
+                        topicsByBroker.get(broker).remove(td.name());
+                    }
+                }
+
+                for (TopicPartitionInfo pi : td.partitions()) {
+                    for (Node node : pi.replicas()) {
+                        topicsByBroker.computeIfAbsent(node.id(), broker -> new HashSet<>()).add(td.name());
+                        if (node.hasRack()) {
+                            racks.put(node.id(), node.rack());
+                        }
+                    }
+                }
+            }
+        }
+
+        private static Set<Integer> brokers(List<TopicPartitionInfo> partitions) {
+            Set<Integer> brokers = new HashSet<>();
+            for (TopicPartitionInfo pi : partitions) {
+                for (Node node : pi.replicas()) {
+                    brokers.add(node.id());
+                }
+            }
+            return brokers;
+        }
+
+        synchronized Set<String> topicsOn(Collection<Integer> brokers) {
+            Set<String> topics = new HashSet<>();
+            for (Integer broker : brokers) {
+                topics.addAll(topicsByBroker.getOrDefault(broker, Collections.emptySet()));
+            }
+            return topics;
+        }
+
+        /**
+         * @return The partitions with a replica on any of the given brokers grouped by their topics
+         */
+        synchronized Map<String, List<TopicPartitionInfo>> partitionsOn(Collection<Integer> brokers) {
+            Map<String, List<TopicPartitionInfo>> partitions = new HashMap<>();
+            for (String topic : topicsOn(brokers)) {
+                partitions.put(topic, partitionsByTopic.get(topic).stream()
+                        .filter(pi -> pi.replicas().stream().anyMatch(node -> brokers.contains(node.id())))
+                        .collect(Collectors.toList()));
+            }
+            return partitions;
+        }
+
+        /**
+         * @return The rack of the broker or an empty string if it is not known
+         */
+        synchronized String rack(int broker) {
+            return racks.getOrDefault(broker, "");
+        }
+    }
 }
@@ -93,6 +93,20 @@ import static java.util.Collections.singletonList;
  *
  * <p>Where "impacting availability" is defined by {@link KafkaAvailability}.</p>
  *
+ * <p>When more than one concurrent restart is allowed, the pods which need to be restarted are first rolled in
+ * batches before the algorithm above is used for the rest of the pods:</p>
+ *
+ * <pre>
+ *   0. Skip the batches when any pod is not ready
+ *   1. Take the pods which need to be restarted, except the controller and the stuck pods
+ *   2. While there are at least two such pods:
+ *     3. Find the largest batch of pods from the same rack which can be restarted together
+ *        without "impacting availability" (see {@link KafkaAvailability#largestSafeBatch(Collection, int)})
+ *        If it has less than two pods, continue from 4.
+ *     4. Restart all pods in the batch and wait for all of them to become ready
+ *   5. Continue with the algorithm above. The pods restarted in the batches are only checked for readiness.
+ * </pre>
+ *
  * <p>Note the following important properties of this algorithm:</p>
  * <ul>
  *     <li>if there is a spontaneous change in controller while the rolling restart is happening, any new
@@ -122,7 +136,12 @@ public class KafkaRoller {
     private final String kafkaLogging;
     private final KafkaVersion kafkaVersion;
     private final Reconciliation reconciliation;
+    private final int maxConcurrentRestarts;
+    private final Set<Integer> restartedInBatch = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> reconfiguredTogether = ConcurrentHashMap.newKeySet();
+    private final PodReadinessView podView;
     private Admin allClient;
+    private KafkaAvailability kafkaAvailability;
 
     public KafkaRoller(Vertx vertx, Reconciliation reconciliation, PodOperator podOperations,
             long pollingIntervalMs, long operationTimeoutMs, Supplier<BackOff> backOffSupplier,
@@ -137,6 +156,20 @@ public class KafkaRoller {
                        StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
                        AdminClientProvider adminClientProvider,
                        String kafkaConfig, String kafkaLogging, KafkaVersion kafkaVersion) {
+        this(vertx, reconciliation, podOperations, pollingIntervalMs, operationTimeoutMs, backOffSupplier,
+                sts, clusterCaCertSecret, coKeySecret, adminClientProvider, kafkaConfig, kafkaLogging, kafkaVersion, 1);
+    }
+
+    /**
+     * @param maxConcurrentRestarts The maximal number of pods restarted at the same time. With 1, the pods are
+     *                              restarted one by one.
+     */
+    @SuppressWarnings({"checkstyle:ParameterNumber"})
+    public KafkaRoller(Vertx vertx, Reconciliation reconciliation, PodOperator podOperations,
+                       long pollingIntervalMs, long operationTimeoutMs, Supplier<BackOff> backOffSupplier,
+                       StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
+                       AdminClientProvider adminClientProvider,
+                       String kafkaConfig, String kafkaLogging, KafkaVersion kafkaVersion, int maxConcurrentRestarts) {
         this.namespace = sts.getMetadata().getNamespace();
         this.cluster = Labels.cluster(sts);
         this.numPods = sts.getSpec().getReplicas();
@@ -152,6 +185,9 @@ public class KafkaRoller {
         this.kafkaLogging = kafkaLogging;
         this.kafkaVersion = kafkaVersion;
         this.reconciliation = reconciliation;
+        this.maxConcurrentRestarts = maxConcurrentRestarts;
+        this.podView = new PodReadinessView(vertx, reconciliation, podOperations, namespace,
+                Labels.forStrimziCluster(cluster).withStrimziName(KafkaCluster.kafkaClusterName(cluster)), pollingIntervalMs);
     }
 
     /**
@@ -195,18 +231,28 @@ public class KafkaRoller {
         List<Future> futures = new ArrayList<>(numPods);
         List<Integer> podIds = new ArrayList<>(numPods);
 
+        // The pods are listed once and watched during the rolling update instead of being read one by one
+        podView.start();
+
         for (int podId = 0; podId < numPods; podId++) {
             // Order the podIds unready first otherwise repeated reconciliations might each restart a pod
             // only for it not to become ready and thus drive the cluster to a worse state.
-            podIds.add(podOperations.isReady(namespace, podName(podId)) ? podIds.size() : 0, podId);
+            podIds.add(podView.isReady(podName(podId)) ? podIds.size() : 0, podId);
         }
         log.debug("{}: Initial order for rolling restart {}", reconciliation, podIds);
+        // Runs on the single executor before any of the pods scheduled below is considered
+        singleExecutor.execute(() -> reconfigureTogether(podIds));
+        if (maxConcurrentRestarts > 1) {
+            // Runs on the single executor before any of the pods scheduled below is considered
+            singleExecutor.execute(() -> restartInBatches(podIds));
+        }
         for (Integer podId: podIds) {
             futures.add(schedule(podId, 0, TimeUnit.MILLISECONDS));
         }
         Promise<Void> result = Promise.promise();
         CompositeFuture.join(futures).onComplete(ar -> {
             singleExecutor.shutdown();
+            podView.close();
             try {
                 if (allClient != null) {
                     allClient.close(Duration.ofSeconds(30));
@@ -300,6 +346,139 @@ public class KafkaRoller {
         return ctx.promise.future();
     }
 
+    /**
+     * Restart the pods which need it in batches of pods which can be restarted together.
+     * The remaining pods are left to the one-by-one algorithm. This method blocks.
+     * @param podIds The ids of the pods in the order of the rolling restart.
+     */
+    private void restartInBatches(List<Integer> podIds) {
+        try {
+            if (podIds.stream().anyMatch(podId -> !podView.isReady(podName(podId)))) {
+                log.debug("{}: Some pods are not ready, the pods will be restarted one by one", reconciliation);
+                return;
+            }
+
+            if (!initAdminClient()) {
+                return;
+            }
+
+            int controller = controller(podIds.get(0), operationTimeoutMs, TimeUnit.MILLISECONDS, new RestartContext(backoffSupplier));
+            List<Integer> candidates = new ArrayList<>(podIds.size());
+            for (Integer podId : podIds) {
+                Pod pod = podView.get(podName(podId));
+                if (podId != controller && pod != null && !isPodStuck(pod)) {
+                    List<String> reasons = podNeedsRestart.apply(pod);
+                    if (reasons != null && !reasons.isEmpty()) {
+                        candidates.add(podId);
+                    }
+                }
+            }
+
+            while (candidates.size() > 1) {
+                Set<Integer> batch = await(availability().largestSafeBatch(candidates, maxConcurrentRestarts), 60_000, TimeUnit.MILLISECONDS,
+                    e -> new ForceableProblem("An error while trying to determine the pods which can be restarted together", e));
+
+                if (batch.size() < 2) {
+                    log.debug("{}: No pods from {} can be restarted together", reconciliation, candidates);
+                    break;
+                }
+
+                restartBatchAndAwaitReadiness(batch);
+                candidates.removeAll(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.info("{}: Could not restart pods in batches, the remaining pods will be restarted one by one", reconciliation, e);
+        }
+    }
+
+    /**
+     * Reconfigure the brokers which do not need to be restarted with a single request when their configuration
+     * changed only in options which can be updated dynamically. The configurations of all these brokers are described
+     * with a single request as well. The brokers which cannot be reconfigured this way are left to the one-by-one
+     * algorithm. This method blocks.
+     * @param podIds The ids of the pods in the order of the rolling restart.
+     */
+    private void reconfigureTogether(List<Integer> podIds) {
+        try {
+            if (podIds.stream().anyMatch(podId -> !podView.isReady(podName(podId)))) {
+                log.debug("{}: Some pods are not ready, the brokers will be reconfigured one by one", reconciliation);
+                return;
+            }
+
+            List<Integer> candidates = new ArrayList<>(podIds.size());
+            for (Integer podId : podIds) {
+                Pod pod = podView.get(podName(podId));
+                if (pod != null && !isPodStuck(pod)) {
+                    List<String> reasons = podNeedsRestart.apply(pod);
+                    if (reasons == null || reasons.isEmpty()) {
+                        candidates.add(podId);
+                    }
+                }
+            }
+
+            if (candidates.size() < 2 || !initAdminClient()) {
+                return;
+            }
+
+            Map<ConfigResource, Config> configs = brokerConfigs(candidates);
+            Map<Integer, KafkaBrokerConfigurationDiff> diffs = new HashMap<>(candidates.size());
+            Map<Integer, KafkaBrokerLoggingConfigurationDiff> logDiffs = new HashMap<>(candidates.size());
+            for (Integer podId : candidates) {
+                Config brokerConfig = configs.get(Util.getBrokersConfig(podId));
+                Config brokerLogging = configs.get(Util.getBrokersLogging(podId));
+                if (brokerConfig == null || brokerLogging == null) {
+                    continue;
+                }
+
+                KafkaBrokerConfigurationDiff diff = new KafkaBrokerConfigurationDiff(brokerConfig, kafkaConfig, kafkaVersion, podId);
+                KafkaBrokerLoggingConfigurationDiff logDiff = new KafkaBrokerLoggingConfigurationDiff(brokerLogging, kafkaLogging, podId);
+                if (diff.getDiffSize() > 0 && !diff.canBeUpdatedDynamically()) {
+                    log.debug("{}: Pod {} needs to be restarted, because reconfiguration cannot be done dynamically", reconciliation, podId);
+                } else if (diff.getDiffSize() > 0 || logDiff.getDiffSize() > 0) {
+                    diffs.put(podId, diff);
+                    logDiffs.put(podId, logDiff);
+                } else {
+                    reconfiguredTogether.add(podId);
+                }
+            }
+
+            if (!diffs.isEmpty()) {
+                log.info("{}: Reconfiguring brokers {} together", reconciliation, diffs.keySet());
+                reconfiguredTogether.addAll(dynamicUpdateBrokerConfigs(allClient, diffs, logDiffs));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.info("{}: Could not reconfigure brokers together, the remaining brokers will be reconfigured one by one", reconciliation, e);
+        }
+    }
+
+    private void restartBatchAndAwaitReadiness(Set<Integer> batch) throws InterruptedException, UnforceableProblem, FatalProblem {
+        log.info("{}: Restarting pods {} together", reconciliation, batch);
+        List<Pod> pods = new ArrayList<>(batch.size());
+        List<Future> restarts = new ArrayList<>(batch.size());
+        for (Integer podId : batch) {
+            Pod pod = podView.get(podName(podId));
+            pods.add(pod);
+            podView.restarting(pod);
+            restarts.add(restart(pod));
+            restartedInBatch.add(podId);
+            invalidateAvailability(podId);
+        }
+        await(CompositeFuture.join(restarts), operationTimeoutMs, TimeUnit.MILLISECONDS,
+            e -> new UnforceableProblem("Error while trying to restart pods " + batch, e));
+
+        List<Future> readiness = new ArrayList<>(pods.size());
+        for (Pod pod : pods) {
+            readiness.add(isReady(pod));
+        }
+        await(CompositeFuture.join(readiness), operationTimeoutMs, TimeUnit.MILLISECONDS,
+            e -> new FatalProblem("Error while waiting for restarted pods " + batch + " to become ready", e));
+        log.debug("{}: Pods {} are now ready", reconciliation, batch);
+    }
+
     /** Described how the "restart" (which might actually just be a reconfigure) will be performed. */
     static class RestartPlan {
         private final boolean needsRestart;
@@ -338,9 +517,21 @@ public class KafkaRoller {
     @SuppressWarnings({"checkstyle:CyclomaticComplexity"})
     private void restartIfNecessary(int podId, RestartContext restartContext)
             throws Exception {
+        if (restartedInBatch.contains(podId)) {
+            log.debug("{}: Pod {} was already restarted together with other pods", reconciliation, podId);
+            await(isReady(namespace, podName(podId)), operationTimeoutMs, TimeUnit.MILLISECONDS, e -> new FatalProblem("Error while waiting for restarted pod " + podName(podId) + " to become ready", e));
+            return;
+        }
+
+        if (reconfiguredTogether.contains(podId)) {
+            log.debug("{}: Pod {} was already reconfigured together with other pods", reconciliation, podId);
+            await(isReady(namespace, podName(podId)), operationTimeoutMs, TimeUnit.MILLISECONDS, e -> new FatalProblem("Error while waiting for non-restarted pod " + podName(podId) + " to become ready", e));
+            return;
+        }
+
         Pod pod;
         try {
-            pod = podOperations.get(namespace, KafkaCluster.kafkaPodName(cluster, podId));
+            pod = podView.get(KafkaCluster.kafkaPodName(cluster, podId));
         } catch (KubernetesClientException e) {
             throw new UnforceableProblem("Error getting pod " + podName(podId), e);
         }
@@ -357,6 +548,7 @@ public class KafkaRoller {
                         if (restartPlan.forceRestart || !maybeDynamicUpdateBrokerConfig(podId, restartPlan)) {
                             log.debug("{}: Pod {} can be rolled now", reconciliation, podId);
                             restartAndAwaitReadiness(pod, operationTimeoutMs, TimeUnit.MILLISECONDS);
+                            invalidateAvailability(podId);
                         } else {
                             // TODO do we need some check here that the broker is still OK?
                             awaitReadiness(pod, operationTimeoutMs, TimeUnit.MILLISECONDS);
@@ -380,6 +572,7 @@ public class KafkaRoller {
                 if (canRoll(podId, 60_000, TimeUnit.MILLISECONDS, true)) {
                     log.warn("{}: Pod {} will be force-rolled, due to error: {}", reconciliation, podName(podId), e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
                     restartAndAwaitReadiness(pod, operationTimeoutMs, TimeUnit.MILLISECONDS);
+                    invalidateAvailability(podId);
                 } else {
                     log.warn("{}: Pod {} can't be safely force-rolled; original error: ", reconciliation, podName(podId), e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
                     throw e;
@@ -528,6 +721,57 @@ public class KafkaRoller {
         );
     }
 
+    /**
+     * Returns the configs and the logging of the given brokers, described with a single request.
+     * @param brokerIds The ids of the brokers.
+     * @return The configs and the logging of the brokers by their config resource.
+     */
+    protected Map<ConfigResource, Config> brokerConfigs(List<Integer> brokerIds) throws ForceableProblem, InterruptedException {
+        List<ConfigResource> resources = new ArrayList<>(2 * brokerIds.size());
+        for (Integer brokerId : brokerIds) {
+            resources.add(Util.getBrokersConfig(brokerId));
+            resources.add(Util.getBrokersLogging(brokerId));
+        }
+        return await(Util.kafkaFutureToVertxFuture(vertx, allClient.describeConfigs(resources).all()),
+            30, TimeUnit.SECONDS,
+            error -> new ForceableProblem("Error getting broker configs", error)
+        );
+    }
+
+    /**
+     * Updates the config and the logging of the given brokers with a single request.
+     * @return The ids of the brokers which were updated successfully.
+     */
+    protected Set<Integer> dynamicUpdateBrokerConfigs(Admin ac, Map<Integer, KafkaBrokerConfigurationDiff> configurationDiffs,
+                                                      Map<Integer, KafkaBrokerLoggingConfigurationDiff> logDiffs)
+            throws InterruptedException {
+        Map<ConfigResource, Collection<AlterConfigOp>> updatedConfig = new HashMap<>(2 * configurationDiffs.size());
+        configurationDiffs.forEach((podId, configurationDiff) -> {
+            updatedConfig.put(Util.getBrokersConfig(podId), configurationDiff.getConfigDiff());
+            updatedConfig.put(Util.getBrokersLogging(podId), logDiffs.get(podId).getLoggingDiff());
+        });
+
+        log.debug("{}: Altering configuration of brokers {}", reconciliation, configurationDiffs.keySet());
+        log.trace("{}: Altering configuration of brokers {} with {}", reconciliation, configurationDiffs.keySet(), updatedConfig);
+
+        Map<ConfigResource, KafkaFuture<Void>> results = ac.incrementalAlterConfigs(updatedConfig).values();
+        Set<Integer> updated = new HashSet<>(configurationDiffs.size());
+        for (Integer podId : configurationDiffs.keySet()) {
+            try {
+                await(Util.kafkaFutureToVertxFuture(vertx, results.get(Util.getBrokersConfig(podId))), 30, TimeUnit.SECONDS,
+                    error -> new ForceableProblem("Error doing dynamic update", error));
+                await(Util.kafkaFutureToVertxFuture(vertx, results.get(Util.getBrokersLogging(podId))), 30, TimeUnit.SECONDS,
+                    error -> new ForceableProblem("Error performing dynamic logging update for pod " + podId, error));
+                updated.add(podId);
+            } catch (ForceableProblem e) {
+                log.debug("{}: Broker {} could not be updated dynamically together with other brokers ({})", reconciliation, podId, e);
+            }
+        }
+
+        log.info("{}: Dynamic reconfiguration for brokers {} was successful.", reconciliation, updated);
+        return updated;
+    }
+
     protected void dynamicUpdateBrokerConfig(int podId, Admin ac, KafkaBrokerConfigurationDiff configurationDiff, KafkaBrokerLoggingConfigurationDiff logDiff)
             throws ForceableProblem, InterruptedException {
         Map<ConfigResource, Collection<AlterConfigOp>> updatedConfig = new HashMap<>(2);
@@ -600,7 +844,7 @@ public class KafkaRoller {
     private boolean canRoll(int podId, long timeout, TimeUnit unit, boolean ignoreSslError)
             throws ForceableProblem, InterruptedException {
         try {
-            return await(availability(allClient).canRoll(podId), timeout, unit,
+            return await(availability().canRoll(podId), timeout, unit,
                 t -> new ForceableProblem("An error while trying to determine rollability", t));
         } catch (ForceableProblem e) {
             // If we're not able to connect then roll
@@ -623,6 +867,7 @@ public class KafkaRoller {
             throws InterruptedException, UnforceableProblem, FatalProblem {
         String podName = pod.getMetadata().getName();
         log.debug("{}: Rolling pod {}", reconciliation, podName);
+        podView.restarting(pod);
         await(restart(pod), timeout, unit, e -> new UnforceableProblem("Error while trying to restart pod " + podName + " to become ready", e));
         awaitReadiness(pod, timeout, unit);
     }
@@ -702,6 +947,27 @@ public class KafkaRoller {
         return new KafkaAvailability(ac);
     }
 
+    /**
+     * Returns the KafkaAvailability shared by all checks of this rolling restart, so that the topics are not
+     * described again for each broker.
+     */
+    private KafkaAvailability availability() {
+        if (kafkaAvailability == null) {
+            kafkaAvailability = availability(allClient);
+        }
+        return kafkaAvailability;
+    }
+
+    /**
+     * The replicas of a restarted broker need to catch up, so its partitions have to be described again before the
+     * next availability check.
+     */
+    private void invalidateAvailability(int podId) {
+        if (kafkaAvailability != null) {
+            kafkaAvailability.invalidate(podId);
+        }
+    }
+
     String podName(int podId) {
         return KafkaCluster.kafkaPodName(this.cluster, podId);
     }
@@ -788,7 +1054,7 @@ public class KafkaRoller {
     }
 
     protected Future<Void> isReady(String namespace, String podName) {
-        return podOperations.readiness(namespace, podName, pollingIntervalMs, operationTimeoutMs)
+        return podView.readiness(podName, operationTimeoutMs)
             .recover(error -> {
                 log.warn("{}: Error waiting for pod {}/{} to become ready: {}", reconciliation, namespace, podName, error);
                 return Future.failedFuture(error);
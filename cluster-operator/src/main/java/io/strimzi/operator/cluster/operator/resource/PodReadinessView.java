@@ -0,0 +1,283 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.internal.readiness.Readiness;
+import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.operator.resource.PodOperator;
+import io.strimzi.operator.common.operator.resource.TimeoutException;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * View of the pods of a StatefulSet used during a rolling update. The pods are listed once with a label selector and
+ * the view is then kept up to date by a watch, so that checking the readiness of the pods and waiting for a restarted
+ * pod to become ready does not need an API call for each pod and each poll.
+ *
+ * When the watch cannot be opened or when it is closed with an error, the view falls back to reading the pods from the
+ * Kubernetes API and to polling their readiness.
+ *
+ * A pod which is being restarted is not considered ready until the view sees the new pod (with a different UID), so
+ * that the old pod is not mistaken for the restarted one when the watch event arrives late.
+ */
+class PodReadinessView {
+    private static final Logger log = LogManager.getLogger(PodReadinessView.class);
+
+    private final Vertx vertx;
+    private final Reconciliation reconciliation;
+    private final PodOperator podOperations;
+    private final String namespace;
+    private final Labels selector;
+    private final long pollingIntervalMs;
+
+    // All fields below are guarded by this
+    private final Map<String, Pod> pods = new HashMap<>();
+    private final Set<String> restartedUids = new HashSet<>();
+    private final Map<String, List<Waiter>> waiting = new HashMap<>();
+    private Watch watch;
+    private boolean active = false;
+
+    /**
+     * Readiness check waiting for a watch event
+     */
+    private static class Waiter {
+        final Promise<Void> promise = Promise.promise();
+        final long deadlineMs;
+
+        Waiter(long deadlineMs) {
+            this.deadlineMs = deadlineMs;
+        }
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param reconciliation The reconciliation (for logging).
+     * @param podOperations For operating on the pods.
+     * @param namespace The namespace of the pods.
+     * @param selector The selector of the pods.
+     * @param pollingIntervalMs The polling interval used when the watch is not available.
+     */
+    PodReadinessView(Vertx vertx, Reconciliation reconciliation, PodOperator podOperations, String namespace,
+                     Labels selector, long pollingIntervalMs) {
+        this.vertx = vertx;
+        this.reconciliation = reconciliation;
+        this.podOperations = podOperations;
+        this.namespace = namespace;
+        this.selector = selector;
+        this.pollingIntervalMs = pollingIntervalMs;
+    }
+
+    /**
+     * Opens the watch and lists the pods. This method blocks.
+     */
+    void start() {
+        try {
+            Watch podWatch = podOperations.watch(namespace, selector, new PodWatcher());
+
+            if (podWatch == null) {
+                log.debug("{}: Pods could not be watched, their readiness will be polled", reconciliation);
+                return;
+            }
+
+            List<Pod> listed = podOperations.list(namespace, selector);
+
+            synchronized (this) {
+                watch = podWatch;
+
+                if (listed != null) {
+                    for (Pod pod : listed) {
+                        // Pods updated by the watch in the meantime are not overwritten by the older listed state
+                        pods.putIfAbsent(pod.getMetadata().getName(), pod);
+                    }
+                }
+
+                active = true;
+            }
+        } catch (RuntimeException e) {
+            log.debug("{}: Pods could not be watched, their readiness will be polled", reconciliation, e);
+            close();
+        }
+    }
+
+    /**
+     * Closes the watch. The pending readiness checks continue by polling.
+     */
+    void close() {
+        Watch podWatch;
+
+        synchronized (this) {
+            podWatch = watch;
+            watch = null;
+        }
+
+        if (podWatch != null) {
+            podWatch.close();
+        }
+
+        deactivate();
+    }
+
+    /**
+     * @param podName The name of the pod.
+     *
+     * @return The pod or null if it does not exist
+     */
+    Pod get(String podName) {
+        synchronized (this) {
+            if (active) {
+                return pods.get(podName);
+            }
+        }
+
+        return podOperations.get(namespace, podName);
+    }
+
+    /**
+     * @param podName The name of the pod.
+     *
+     * @return True when the pod exists, is ready and it is not a pod which is being restarted
+     */
+    boolean isReady(String podName) {
+        synchronized (this) {
+            if (active) {
+                return isReady(pods.get(podName));
+            }
+        }
+
+        return podOperations.isReady(namespace, podName);
+    }
+
+    /**
+     * Notes that the pod is going to be restarted. It is not considered ready until it is replaced by a new pod.
+     *
+     * @param pod The pod which is going to be restarted.
+     */
+    synchronized void restarting(Pod pod) {
+        if (pod != null && pod.getMetadata().getUid() != null) {
+            restartedUids.add(pod.getMetadata().getUid());
+        }
+    }
+
+    /**
+     * Waits for the pod to become ready.
+     *
+     * @param podName The name of the pod.
+     * @param timeoutMs The timeout.
+     *
+     * @return A future which completes when the pod is ready or which fails with a {@link TimeoutException}
+     */
+    Future<Void> readiness(String podName, long timeoutMs) {
+        Waiter waiter = new Waiter(System.currentTimeMillis() + timeoutMs);
+
+        synchronized (this) {
+            if (!active) {
+                return podOperations.readiness(namespace, podName, pollingIntervalMs, timeoutMs);
+            } else if (isReady(pods.get(podName))) {
+                return Future.succeededFuture();
+            }
+
+            waiting.computeIfAbsent(podName, name -> new ArrayList<>()).add(waiter);
+        }
+
+        vertx.setTimer(timeoutMs, timerId -> {
+            boolean timedOut;
+
+            synchronized (this) {
+                List<Waiter> waiters = waiting.get(podName);
+                timedOut = waiters != null && waiters.remove(waiter);
+            }
+
+            if (timedOut) {
+                waiter.promise.tryFail(new TimeoutException("Exceeded timeout of " + timeoutMs + "ms while waiting for Pods resource " + podName + " in namespace " + namespace + " to be ready"));
+            }
+        });
+
+        return waiter.promise.future();
+    }
+
+    private boolean isReady(Pod pod) {
+        return pod != null
+                && !restartedUids.contains(pod.getMetadata().getUid())
+                && Readiness.isPodReady(pod);
+    }
+
+    private void updated(Watcher.Action action, Pod pod) {
+        String podName = pod.getMetadata().getName();
+        List<Waiter> ready = null;
+
+        synchronized (this) {
+            if (action == Watcher.Action.DELETED) {
+                pods.remove(podName);
+            } else {
+                pods.put(podName, pod);
+
+                if (isReady(pod)) {
+                    ready = waiting.remove(podName);
+                }
+            }
+        }
+
+        if (ready != null) {
+            log.debug("{}: Pod {} is ready", reconciliation, podName);
+            ready.forEach(waiter -> waiter.promise.tryComplete());
+        }
+    }
+
+    /**
+     * Stops using the watch. The pending readiness checks are continued by polling the Kubernetes API.
+     */
+    private void deactivate() {
+        Map<String, List<Waiter>> pending;
+
+        synchronized (this) {
+            active = false;
+            pending = new HashMap<>(waiting);
+            waiting.clear();
+        }
+
+        pending.forEach((podName, waiters) -> {
+            for (Waiter waiter : waiters) {
+                long remainingMs = Math.max(waiter.deadlineMs - System.currentTimeMillis(), pollingIntervalMs);
+                podOperations.readiness(namespace, podName, pollingIntervalMs, remainingMs).onComplete(res -> {
+                    if (res.succeeded()) {
+                        waiter.promise.tryComplete();
+                    } else {
+                        waiter.promise.tryFail(res.cause());
+                    }
+                });
+            }
+        });
+    }
+
+    private class PodWatcher implements Watcher<Pod> {
+        @Override
+        public void eventReceived(Action action, Pod pod) {
+            updated(action, pod);
+        }
+
+        @Override
+        public void onClose(KubernetesClientException cause) {
+            if (cause != null) {
+                log.debug("{}: Pod watch closed with an error, the readiness of the pods will be polled", reconciliation, cause);
+                deactivate();
+            }
+        }
+    }
+}
@@ -36,6 +36,7 @@ import io.strimzi.operator.common.BackOff;
 import io.strimzi.operator.common.DefaultAdminClientProvider;
 import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.operator.resource.AbstractResourceOperator;
 import io.strimzi.operator.common.operator.resource.BuildConfigOperator;
 import io.strimzi.operator.common.operator.resource.ClusterRoleBindingOperator;
 import io.strimzi.operator.common.operator.resource.ConfigMapOperator;
@@ -57,8 +58,12 @@ import io.strimzi.operator.common.operator.resource.ServiceOperator;
 
 import io.fabric8.openshift.client.OpenShiftClient;
 import io.strimzi.operator.common.operator.resource.StorageClassOperator;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 
+import java.util.Arrays;
+
 @SuppressWarnings("checkstyle:ClassDataAbstractionCoupling")
 public class ResourceOperatorSupplier {
     public final SecretOperator secretOperations;
@@ -94,13 +99,23 @@ public class ResourceOperatorSupplier {
     public AdminClientProvider adminClientProvider;
 
     public ResourceOperatorSupplier(Vertx vertx, KubernetesClient client, PlatformFeaturesAvailability pfa, long operationTimeoutMs) {
+        this(vertx, client, pfa, operationTimeoutMs, new DefaultAdminClientProvider());
+    }
+
+    public ResourceOperatorSupplier(Vertx vertx, KubernetesClient client, PlatformFeaturesAvailability pfa, long operationTimeoutMs,
+                                    AdminClientProvider adminClientProvider) {
+        this(vertx, client, pfa, operationTimeoutMs, adminClientProvider, new MicrometerMetricsProvider());
+    }
+
+    public ResourceOperatorSupplier(Vertx vertx, KubernetesClient client, PlatformFeaturesAvailability pfa, long operationTimeoutMs,
+                                    AdminClientProvider adminClientProvider, MetricsProvider metricsProvider) {
         this(vertx, client,
             new ZookeeperLeaderFinder(vertx, new SecretOperator(vertx, client),
             // Retry up to 3 times (4 attempts), with overall max delay of 35000ms
                 () -> new BackOff(5_000, 2, 4)),
-                    new DefaultAdminClientProvider(),
+                    adminClientProvider,
                     new DefaultZookeeperScalerProvider(),
-                    new MicrometerMetricsProvider(),
+                    metricsProvider,
                     pfa, operationTimeoutMs);
     }
 
@@ -202,5 +217,37 @@ public class ResourceOperatorSupplier {
         this.zkScalerProvider = zkScalerProvider;
         this.metricsProvider = metricsProvider;
         this.adminClientProvider = adminClientProvider;
+
+        for (AbstractResourceOperator<?, ?, ?, ?, ?> operator : Arrays.<AbstractResourceOperator<?, ?, ?, ?, ?>>asList(serviceOperations, routeOperations, zkSetOperations,
+                kafkaSetOperations, configMapOperations, secretOperations, pvcOperations, deploymentOperations,
+                serviceAccountOperations, roleBindingOperations, networkPolicyOperator, podDisruptionBudgetOperator,
+                podOperations, ingressOperations, imagesStreamOperations, buildConfigOperations, deploymentConfigOperations)) {
+            // Some operators are null on platforms which do not support them
+            if (operator != null) {
+                operator.setMetricsProvider(metricsProvider);
+            }
+        }
+    }
+
+    /**
+     * Starts caching the StatefulSets, Pods, Services, ConfigMaps and Secrets in the given namespace, so that the
+     * reconciliations read them from the cache instead of the Kubernetes API.
+     *
+     * @param namespace The namespace or {@link io.strimzi.operator.common.operator.resource.AbstractWatchableResourceOperator#ANY_NAMESPACE}
+     * @param resyncIntervalMs How often are the cached resources listed again
+     *
+     * @return A future which completes when all caches are filled
+     */
+    public CompositeFuture enableResourceCaches(String namespace, long resyncIntervalMs) {
+        // The ZooKeeper and Kafka StatefulSets are kept in one cache, so they are listed and watched only once
+        Future<Void> statefulSets = zkSetOperations.enableCache(namespace, metricsProvider, resyncIntervalMs);
+        kafkaSetOperations.shareCache(zkSetOperations);
+
+        return CompositeFuture.join(
+                statefulSets,
+                podOperations.enableCache(namespace, metricsProvider, resyncIntervalMs),
+                serviceOperations.enableCache(namespace, metricsProvider, resyncIntervalMs),
+                configMapOperations.enableCache(namespace, metricsProvider, resyncIntervalMs),
+                secretOperations.enableCache(namespace, metricsProvider, resyncIntervalMs));
     }
 }
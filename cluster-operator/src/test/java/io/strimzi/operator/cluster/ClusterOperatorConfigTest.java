@@ -9,6 +9,7 @@ import io.fabric8.kubernetes.api.model.LocalObjectReferenceBuilder;
 import io.strimzi.operator.cluster.model.ImagePullPolicy;
 import io.strimzi.operator.cluster.model.KafkaVersion;
 import io.strimzi.operator.common.InvalidConfigurationException;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
 import org.junit.jupiter.api.Test;
 
@@ -68,6 +69,166 @@ public class ClusterOperatorConfigTest {
         assertThat(config.getOperationTimeoutMs(), is(30_000L));
     }
 
+    @Test
+    public void testReconciliationParallelism() {
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).getReconciliationParallelism(),
+                is(ClusterOperatorConfig.DEFAULT_RECONCILIATION_PARALLELISM));
+
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        envVars.put(ClusterOperatorConfig.STRIMZI_RECONCILIATION_PARALLELISM, "5");
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).getReconciliationParallelism(), is(5));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_RECONCILIATION_PARALLELISM, "0");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testResourceCacheEnabled() {
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).isResourceCacheEnabled(), is(false));
+
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        envVars.put(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_ENABLED, "true");
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).isResourceCacheEnabled(), is(true));
+    }
+
+    @Test
+    public void testWorkerPoolSizes() {
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).getWorkerPoolSizes().isEmpty(), is(true));
+
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        envVars.put(ClusterOperatorConfig.STRIMZI_WORKER_POOL_SIZES, "kubernetes=20 kubernetes-async=30");
+        Map<WorkerPools.Workload, Integer> sizes = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).getWorkerPoolSizes();
+        assertThat(sizes.get(WorkerPools.Workload.KUBERNETES), is(20));
+        assertThat(sizes.get(WorkerPools.Workload.KUBERNETES_ASYNC), is(30));
+        assertThat(sizes.containsKey(WorkerPools.Workload.ZOOKEEPER), is(false));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_WORKER_POOL_SIZES, "unknown=5");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_WORKER_POOL_SIZES, "kubernetes=0");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testVirtualThreadsEnabled() {
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).isVirtualThreadsEnabled(), is(false));
+
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        envVars.put(ClusterOperatorConfig.STRIMZI_VIRTUAL_THREADS_ENABLED, "true");
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).isVirtualThreadsEnabled(), is(true));
+    }
+
+    @Test
+    public void testShards() {
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getShardCount(), is(0));
+        assertThat(config.getShardLeaseDurationMs(), is(ClusterOperatorConfig.DEFAULT_SHARD_LEASE_DURATION_MS));
+
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        envVars.put(ClusterOperatorConfig.STRIMZI_SHARD_COUNT, "4");
+        envVars.put(ClusterOperatorConfig.STRIMZI_SHARD_LEASE_DURATION_MS, "10000");
+        envVars.put(ClusterOperatorConfig.STRIMZI_SHARD_IDENTITY, "strimzi-cluster-operator-0");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+
+        assertThat(config.getShardCount(), is(4));
+        assertThat(config.getShardLeaseDurationMs(), is(10_000L));
+        assertThat(config.getShardIdentity(), is("strimzi-cluster-operator-0"));
+    }
+
+    @Test
+    public void testShardsRequireOperatorNamespace() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        envVars.remove(ClusterOperatorConfig.STRIMZI_OPERATOR_NAMESPACE);
+        envVars.put(ClusterOperatorConfig.STRIMZI_SHARD_COUNT, "4");
+
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testKafkaRollerMaxConcurrentRestarts() {
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).getKafkaRollerMaxConcurrentRestarts(), is(1));
+
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        envVars.put(ClusterOperatorConfig.STRIMZI_KAFKA_ROLLER_MAX_CONCURRENT_RESTARTS, "3");
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).getKafkaRollerMaxConcurrentRestarts(), is(3));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_KAFKA_ROLLER_MAX_CONCURRENT_RESTARTS, "0");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testUnchangedFullReconciliationInterval() {
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).getUnchangedFullReconciliationIntervalMs(), is(0L));
+
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        envVars.put(ClusterOperatorConfig.STRIMZI_UNCHANGED_FULL_RECONCILIATION_INTERVAL_MS, "600000");
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).getUnchangedFullReconciliationIntervalMs(), is(600_000L));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_UNCHANGED_FULL_RECONCILIATION_INTERVAL_MS, "-1");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testReconciliationSchedulerConfiguration() {
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getMaxConcurrentReconciliations(), is(0));
+        assertThat(config.getMaxConcurrentReconciliationsPerKind(), is(0));
+        assertThat(config.getPeriodicReconciliationJitterMs(), is(0L));
+
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        envVars.put(ClusterOperatorConfig.STRIMZI_MAX_CONCURRENT_RECONCILIATIONS, "100");
+        envVars.put(ClusterOperatorConfig.STRIMZI_MAX_CONCURRENT_RECONCILIATIONS_PER_KIND, "20");
+        envVars.put(ClusterOperatorConfig.STRIMZI_PERIODIC_RECONCILIATION_JITTER_MS, "10000");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getMaxConcurrentReconciliations(), is(100));
+        assertThat(config.getMaxConcurrentReconciliationsPerKind(), is(20));
+        assertThat(config.getPeriodicReconciliationJitterMs(), is(10_000L));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_MAX_CONCURRENT_RECONCILIATIONS_PER_KIND, "-1");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+
+        // The jitter has to be shorter than the reconciliation interval
+        envVars.put(ClusterOperatorConfig.STRIMZI_MAX_CONCURRENT_RECONCILIATIONS_PER_KIND, "20");
+        envVars.put(ClusterOperatorConfig.STRIMZI_PERIODIC_RECONCILIATION_JITTER_MS, "30000");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testAdminClientIdleTimeout() {
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).getAdminClientIdleTimeoutMs(), is(300_000L));
+
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        envVars.put(ClusterOperatorConfig.STRIMZI_ADMIN_CLIENT_IDLE_TIMEOUT_MS, "0");
+        assertThat(ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()).getAdminClientIdleTimeoutMs(), is(0L));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_ADMIN_CLIENT_IDLE_TIMEOUT_MS, "-1");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testHttpClientPool() {
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getHttpClientMaxPoolSize(), is(5));
+        assertThat(config.getHttpClientIdleTimeoutMs(), is(60_000L));
+        assertThat(config.getHttpClientConnectTimeoutMs(), is(60_000L));
+
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        envVars.put(ClusterOperatorConfig.STRIMZI_HTTP_CLIENT_MAX_POOL_SIZE, "10");
+        envVars.put(ClusterOperatorConfig.STRIMZI_HTTP_CLIENT_IDLE_TIMEOUT_MS, "30000");
+        envVars.put(ClusterOperatorConfig.STRIMZI_HTTP_CLIENT_CONNECT_TIMEOUT_MS, "5000");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getHttpClientMaxPoolSize(), is(10));
+        assertThat(config.getHttpClientIdleTimeoutMs(), is(30_000L));
+        assertThat(config.getHttpClientConnectTimeoutMs(), is(5_000L));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_HTTP_CLIENT_MAX_POOL_SIZE, "0");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_HTTP_CLIENT_MAX_POOL_SIZE, "10");
+        envVars.put(ClusterOperatorConfig.STRIMZI_HTTP_CLIENT_CONNECT_TIMEOUT_MS, "0");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
     @Test
     public void testEnvVars() {
         ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
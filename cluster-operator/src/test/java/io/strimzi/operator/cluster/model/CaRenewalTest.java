@@ -7,19 +7,31 @@ package io.strimzi.operator.cluster.model;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.strimzi.certs.CertAndKey;
+import io.strimzi.certs.OpenSslCertManager;
 import io.strimzi.certs.Subject;
+import io.strimzi.operator.common.PasswordGenerator;
 import io.vertx.junit5.VertxExtension;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
 import java.security.cert.X509Certificate;
+import java.security.spec.PKCS8EncodedKeySpec;
 import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -28,8 +40,6 @@ public class CaRenewalTest {
     @Test
     public void renewalOfStatefulSetCertificatesWithNullSecret() throws IOException {
         Ca mockedCa = new Ca(null, null, null, null, null, null, null, 2, 1, true, null) {
-            private AtomicInteger invocationCount = new AtomicInteger(0);
-
             @Override
             public boolean certRenewed() {
                 return false;
@@ -43,7 +53,8 @@ public class CaRenewalTest {
             @Override
             protected CertAndKey generateSignedCert(Subject subject,
                                                     File csrFile, File keyFile, File certFile, File keyStoreFile) throws IOException {
-                int index = invocationCount.getAndIncrement();
+                // certificates are generated in parallel, so the index is taken from the subject instead of the invocation order
+                String index = subject.commonName();
 
                 return new CertAndKey(
                         ("new-key" + index).getBytes(),
@@ -56,7 +67,11 @@ public class CaRenewalTest {
         };
 
         int replicas = 3;
-        Function<Integer, Subject> subjectFn = i -> new Subject();
+        Function<Integer, Subject> subjectFn = i -> {
+            Subject subject = new Subject();
+            subject.setCommonName(String.valueOf(i));
+            return subject;
+        };
         Function<Integer, String> podNameFn = i -> "pod" + i;
         boolean isMaintenanceTimeWindowsSatisfied = true;
 
@@ -85,8 +100,6 @@ public class CaRenewalTest {
     @Test
     public void renewalOfStatefulSetCertificatesWithCaRenewal() throws IOException {
         Ca mockedCa = new Ca(null, null, null, null, null, null, null, 2, 1, true, null) {
-            private AtomicInteger invocationCount = new AtomicInteger(0);
-
             @Override
             public boolean certRenewed() {
                 return true;
@@ -100,7 +113,8 @@ public class CaRenewalTest {
             @Override
             protected CertAndKey generateSignedCert(Subject subject,
                                                     File csrFile, File keyFile, File certFile, File keyStoreFile) throws IOException {
-                int index = invocationCount.getAndIncrement();
+                // certificates are generated in parallel, so the index is taken from the subject instead of the invocation order
+                String index = subject.commonName();
 
                 return new CertAndKey(
                         ("new-key" + index).getBytes(),
@@ -131,7 +145,11 @@ public class CaRenewalTest {
                 .build();
 
         int replicas = 3;
-        Function<Integer, Subject> subjectFn = i -> new Subject();
+        Function<Integer, Subject> subjectFn = i -> {
+            Subject subject = new Subject();
+            subject.setCommonName(String.valueOf(i));
+            return subject;
+        };
         Function<Integer, String> podNameFn = i -> "pod" + i;
         boolean isMaintenanceTimeWindowsSatisfied = true;
 
@@ -160,8 +178,6 @@ public class CaRenewalTest {
     @Test
     public void renewalOfStatefulSetCertificatesDelayedRenewalInWindow() throws IOException {
         Ca mockedCa = new Ca(null, null, null, null, null, null, null, 2, 1, true, null) {
-            private AtomicInteger invocationCount = new AtomicInteger(0);
-
             @Override
             public boolean certRenewed() {
                 return false;
@@ -185,7 +201,8 @@ public class CaRenewalTest {
             @Override
             protected CertAndKey generateSignedCert(Subject subject,
                                                     File csrFile, File keyFile, File certFile, File keyStoreFile) throws IOException {
-                int index = invocationCount.getAndIncrement();
+                // certificates are generated in parallel, so the index is taken from the subject instead of the invocation order
+                String index = subject.commonName();
 
                 return new CertAndKey(
                         ("new-key" + index).getBytes(),
@@ -216,7 +233,11 @@ public class CaRenewalTest {
                 .build();
 
         int replicas = 3;
-        Function<Integer, Subject> subjectFn = i -> new Subject();
+        Function<Integer, Subject> subjectFn = i -> {
+            Subject subject = new Subject();
+            subject.setCommonName(String.valueOf(i));
+            return subject;
+        };
         Function<Integer, String> podNameFn = i -> "pod" + i;
         boolean isMaintenanceTimeWindowsSatisfied = true;
 
@@ -326,4 +347,55 @@ public class CaRenewalTest {
         assertThat(new String(newCerts.get("pod2").keyStore()), is("old-keystore"));
         assertThat(newCerts.get("pod2").storePassword(), is("old-password"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void generationOfCertificatesForSeveralSubjects() throws IOException, GeneralSecurityException {
+        ClusterCa clusterCa = new ClusterCa(new OpenSslCertManager(), new PasswordGenerator(10, "a", "a"), "my-cluster", null, null);
+        clusterCa.createRenewOrReplace("my-namespace", "my-cluster", emptyMap(), emptyMap(), emptyMap(), null, true);
+
+        int replicas = 4;
+        Map<String, Subject> subjects = new LinkedHashMap<>();
+        for (int i = 0; i < replicas; i++) {
+            Subject subject = new Subject();
+            subject.setOrganizationName("io.strimzi");
+            subject.setCommonName("my-cluster-kafka-" + i);
+            subject.setSubjectAltNames(singletonMap("DNS.1", "my-cluster-kafka-" + i + ".my-cluster-kafka-brokers.my-namespace.svc"));
+            subjects.put("my-cluster-kafka-" + i, subject);
+        }
+
+        // The certificates are generated concurrently, each of them has to belong to its own subject and key
+        Map<String, CertAndKey> certs = clusterCa.generateSignedCerts(subjects);
+
+        assertThat(certs.size(), is(replicas));
+        for (int i = 0; i < replicas; i++) {
+            CertAndKey certAndKey = certs.get("my-cluster-kafka-" + i);
+            X509Certificate cert = Ca.x509Certificate(certAndKey.cert());
+
+            assertThat(cert.getSubjectX500Principal().getName(), is("CN=my-cluster-kafka-" + i + ",O=io.strimzi"));
+            assertThat(clusterCa.getSubjectAltNames(certAndKey.cert()), is(singletonList("my-cluster-kafka-" + i + ".my-cluster-kafka-brokers.my-namespace.svc")));
+            assertThat(signedWith(certAndKey.key(), cert), is(true));
+        }
+    }
+
+    /**
+     * Checks that the certificate belongs to the PEM encoded private key by verifying a signature made with the key
+     */
+    private static boolean signedWith(byte[] pemKey, X509Certificate cert) throws GeneralSecurityException {
+        String keyAlgorithm = cert.getPublicKey().getAlgorithm();
+        String signatureAlgorithm = "SHA256with" + ("EC".equals(keyAlgorithm) ? "ECDSA" : keyAlgorithm);
+        String base64Key = new String(pemKey, StandardCharsets.US_ASCII)
+                .replaceAll("-----(BEGIN|END) PRIVATE KEY-----", "")
+                .replaceAll("\\s", "");
+        PrivateKey key = KeyFactory.getInstance(keyAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(base64Key)));
+        byte[] data = cert.getSubjectX500Principal().getEncoded();
+
+        Signature signature = Signature.getInstance(signatureAlgorithm);
+        signature.initSign(key);
+        signature.update(data);
+        byte[] signed = signature.sign();
+
+        signature.initVerify(cert.getPublicKey());
+        signature.update(data);
+        return signature.verify(signed);
+    }
+}
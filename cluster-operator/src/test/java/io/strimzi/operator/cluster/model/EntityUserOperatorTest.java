@@ -10,6 +10,7 @@ import io.fabric8.kubernetes.api.model.EnvVar;
 import io.fabric8.kubernetes.api.model.EnvVarBuilder;
 import io.fabric8.kubernetes.api.model.rbac.RoleBinding;
 import io.strimzi.api.kafka.model.CertificateAuthority;
+import io.strimzi.api.kafka.model.CertificateKeyAlgorithm;
 import io.strimzi.api.kafka.model.EntityOperatorSpec;
 import io.strimzi.api.kafka.model.EntityOperatorSpecBuilder;
 import io.strimzi.api.kafka.model.EntityUserOperatorSpec;
@@ -21,6 +22,7 @@ import io.strimzi.api.kafka.model.KafkaBuilder;
 import io.strimzi.api.kafka.model.Probe;
 import io.strimzi.api.kafka.model.SystemProperty;
 import io.strimzi.api.kafka.model.SystemPropertyBuilder;
+import io.strimzi.certs.KeyAlgorithm;
 import io.strimzi.operator.cluster.ResourceUtils;
 import org.junit.jupiter.api.Test;
 
@@ -297,6 +299,31 @@ public class EntityUserOperatorTest {
         assertThat(Integer.parseInt(envvar.stream().filter(a -> a.getName().equals(EntityUserOperator.ENV_VAR_CLIENTS_CA_RENEWAL)).findFirst().get().getValue()), is(renewal));
     }
 
+    @Test
+    public void testEntityUserOperatorEnvVarKeyAlgorithm() {
+        Kafka kafkaAssembly = new KafkaBuilder(ResourceUtils.createKafka(namespace, cluster, replicas,
+                image, healthDelay, healthTimeout, singletonMap("animal", "wombat"), jmxMetricsConfig, singletonMap("foo", "bar"), emptyMap()))
+                .editSpec()
+                .withNewClientsCa()
+                .withKeyAlgorithm(CertificateKeyAlgorithm.EC)
+                .endClientsCa()
+                .withNewEntityOperator()
+                .withNewUserOperator()
+                .endUserOperator()
+                .endEntityOperator()
+                .endSpec()
+                .build();
+
+        EntityUserOperator f = EntityUserOperator.fromCrd(kafkaAssembly);
+        assertThat(f.getClientsCaKeyAlgorithm(), is(KeyAlgorithm.EC));
+        List<EnvVar> envvar = f.getEnvVars();
+        assertThat(envvar.stream().filter(a -> a.getName().equals(EntityUserOperator.ENV_VAR_CLIENTS_CA_KEY_ALGORITHM)).findFirst().get().getValue(), is("ec"));
+
+        // without the key algorithm configured, the environment variable is not set
+        assertThat(entityUserOperator.getClientsCaKeyAlgorithm(), is(nullValue()));
+        assertThat(entityUserOperator.getEnvVars().stream().anyMatch(a -> a.getName().equals(EntityUserOperator.ENV_VAR_CLIENTS_CA_KEY_ALGORITHM)), is(false));
+    }
+
     @Test
     public void testRoleBinding()   {
         RoleBinding binding = entityUserOperator.generateRoleBinding(namespace, uoWatchedNamespace);
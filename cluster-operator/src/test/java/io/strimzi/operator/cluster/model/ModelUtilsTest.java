@@ -16,6 +16,8 @@ import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.api.model.Toleration;
 import io.fabric8.kubernetes.api.model.TolerationBuilder;
 import io.fabric8.kubernetes.api.model.networking.v1.NetworkPolicyPeer;
+import io.strimzi.api.kafka.model.CertificateAuthorityBuilder;
+import io.strimzi.api.kafka.model.CertificateKeyAlgorithm;
 import io.strimzi.api.kafka.model.Kafka;
 import io.strimzi.api.kafka.model.KafkaBuilder;
 import io.strimzi.api.kafka.model.KafkaConnect;
@@ -31,6 +33,7 @@ import io.strimzi.api.kafka.model.template.PodDisruptionBudgetTemplate;
 import io.strimzi.api.kafka.model.template.PodDisruptionBudgetTemplateBuilder;
 import io.strimzi.api.kafka.model.template.PodTemplate;
 import io.strimzi.api.kafka.model.template.PodTemplateBuilder;
+import io.strimzi.certs.KeyAlgorithm;
 import io.strimzi.operator.cluster.KafkaVersionTestUtils;
 import io.strimzi.operator.common.model.Labels;
 import org.junit.jupiter.api.Test;
@@ -421,4 +424,12 @@ public class ModelUtilsTest {
         ModelUtils.setClusterOperatorNetworkPolicyNamespaceSelector(peer, "my-ns", "my-operator-ns", nsLabels);
         assertThat(peer.getNamespaceSelector().getMatchLabels(), is(nsLabels.toMap()));
     }
+
+    @Test
+    public void testGetKeyAlgorithm()  {
+        assertThat(ModelUtils.getKeyAlgorithm(null), is(KeyAlgorithm.RSA));
+        assertThat(ModelUtils.getKeyAlgorithm(new CertificateAuthorityBuilder().build()), is(KeyAlgorithm.RSA));
+        assertThat(ModelUtils.getKeyAlgorithm(new CertificateAuthorityBuilder().withKeyAlgorithm(CertificateKeyAlgorithm.RSA).build()), is(KeyAlgorithm.RSA));
+        assertThat(ModelUtils.getKeyAlgorithm(new CertificateAuthorityBuilder().withKeyAlgorithm(CertificateKeyAlgorithm.EC).build()), is(KeyAlgorithm.EC));
+    }
 }
@@ -0,0 +1,330 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.assembly;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.strimzi.api.kafka.model.CertSecretSourceBuilder;
+import io.strimzi.api.kafka.model.ExternalLoggingBuilder;
+import io.strimzi.api.kafka.model.GenericSecretSourceBuilder;
+import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.api.kafka.model.KafkaAuthorizationKeycloakBuilder;
+import io.strimzi.api.kafka.model.KafkaBuilder;
+import io.strimzi.api.kafka.model.listener.KafkaListenerAuthenticationOAuthBuilder;
+import io.strimzi.api.kafka.model.listener.arraylistener.KafkaListenerType;
+import io.strimzi.api.kafka.model.status.ConditionBuilder;
+import io.strimzi.api.kafka.model.status.KafkaStatus;
+import io.strimzi.operator.KubernetesVersion;
+import io.strimzi.operator.PlatformFeaturesAvailability;
+import io.strimzi.operator.cluster.ClusterOperatorConfig;
+import io.strimzi.operator.cluster.ResourceUtils;
+import io.strimzi.operator.cluster.model.KafkaVersion;
+import io.strimzi.operator.cluster.operator.resource.ResourceOperatorSupplier;
+import io.strimzi.operator.common.PasswordGenerator;
+import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.operator.MockCertManager;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests of the fingerprint of the Kafka clusters which allows the reconciliations of unchanged and ready clusters
+ * to skip the full reconciliation
+ */
+@ExtendWith(VertxExtension.class)
+public class KafkaAssemblyOperatorFingerprintTest {
+    private static final String NAMESPACE = "test";
+    private static final String NAME = "my-kafka";
+
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    private static KafkaBuilder kafka(long generation) {
+        return new KafkaBuilder()
+                .withNewMetadata()
+                    .withName(NAME)
+                    .withNamespace(NAMESPACE)
+                    .withGeneration(generation)
+                .endMetadata()
+                .withNewSpec()
+                    .withNewKafka()
+                        .withReplicas(3)
+                        .withNewEphemeralStorage()
+                        .endEphemeralStorage()
+                    .endKafka()
+                    .withNewZookeeper()
+                        .withReplicas(3)
+                        .withNewEphemeralStorage()
+                        .endEphemeralStorage()
+                    .endZookeeper()
+                .endSpec();
+    }
+
+    private static Kafka readyKafka(long generation) {
+        return kafka(generation)
+                .withNewStatus()
+                    .withObservedGeneration(generation)
+                    .withConditions(new ConditionBuilder().withType("Ready").withStatus("True").build())
+                .endStatus()
+                .build();
+    }
+
+    private static StatefulSet readyStatefulSet() {
+        return new StatefulSetBuilder()
+                .withNewSpec()
+                    .withReplicas(3)
+                .endSpec()
+                .withNewStatus()
+                    .withReadyReplicas(3)
+                .endStatus()
+                .build();
+    }
+
+    private static Deployment readyDeployment() {
+        return new DeploymentBuilder()
+                .withNewMetadata()
+                    .withName(NAME + "-entity-operator")
+                    .withGeneration(1L)
+                .endMetadata()
+                .withNewSpec()
+                    .withReplicas(1)
+                .endSpec()
+                .withNewStatus()
+                    .withObservedGeneration(1L)
+                    .withReadyReplicas(1)
+                .endStatus()
+                .build();
+    }
+
+    private static Pod pod(boolean ready) {
+        return new PodBuilder()
+                .withNewMetadata()
+                    .withName(NAME + "-kafka-0")
+                .endMetadata()
+                .withNewStatus()
+                    .addNewCondition()
+                        .withType("Ready")
+                        .withStatus(ready ? "True" : "False")
+                    .endCondition()
+                .endStatus()
+                .build();
+    }
+
+    private static Secret secretWithInvalidCertificate() {
+        return new SecretBuilder()
+                .withNewMetadata()
+                    .withName(NAME + "-kafka-brokers")
+                    .withResourceVersion("1")
+                .endMetadata()
+                .addToData("my-cluster-kafka-0.crt", Base64.getEncoder().encodeToString("not a certificate".getBytes(StandardCharsets.US_ASCII)))
+                .build();
+    }
+
+    /**
+     * @return Configuration which enables skipping the full reconciliation of unchanged clusters
+     */
+    private static ClusterOperatorConfig config() {
+        return new ClusterOperatorConfig(singleton(NAMESPACE), 60_000, 1L, false,
+                new KafkaVersion.Lookup(emptyMap(), emptyMap(), emptyMap(), emptyMap(), emptyMap()), null, null, null, null,
+                ClusterOperatorConfig.DEFAULT_RECONCILIATION_PARALLELISM, ClusterOperatorConfig.DEFAULT_RESOURCE_CACHE_ENABLED,
+                emptyMap(), ClusterOperatorConfig.DEFAULT_VIRTUAL_THREADS_ENABLED, ClusterOperatorConfig.DEFAULT_SHARD_COUNT,
+                ClusterOperatorConfig.DEFAULT_SHARD_LEASE_DURATION_MS, null,
+                ClusterOperatorConfig.DEFAULT_KAFKA_ROLLER_MAX_CONCURRENT_RESTARTS, 600_000L,
+                ClusterOperatorConfig.DEFAULT_MAX_CONCURRENT_RECONCILIATIONS, ClusterOperatorConfig.DEFAULT_MAX_CONCURRENT_RECONCILIATIONS_PER_KIND,
+                ClusterOperatorConfig.DEFAULT_PERIODIC_RECONCILIATION_JITTER_MS, ClusterOperatorConfig.DEFAULT_ADMIN_CLIENT_IDLE_TIMEOUT_MS,
+                ClusterOperatorConfig.DEFAULT_HTTP_CLIENT_MAX_POOL_SIZE, ClusterOperatorConfig.DEFAULT_HTTP_CLIENT_IDLE_TIMEOUT_MS,
+                ClusterOperatorConfig.DEFAULT_HTTP_CLIENT_CONNECT_TIMEOUT_MS);
+    }
+
+    /**
+     * Mocks the resources owned by the cluster. The Pods, Deployments and Secrets are read from the given references,
+     * so that the test can change them between the reconciliations.
+     */
+    private static ResourceOperatorSupplier supplierWithOwnedResources(AtomicReference<Pod> pod,
+                                                                       AtomicReference<List<Deployment>> deployments,
+                                                                       AtomicReference<List<Secret>> secrets) {
+        ResourceOperatorSupplier supplier = ResourceUtils.supplierWithMocks(false);
+        when(supplier.secretOperations.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
+        when(supplier.secretOperations.listAsync(anyString(), any(Labels.class))).thenAnswer(i -> Future.succeededFuture(secrets.get()));
+        when(supplier.deploymentOperations.listAsync(anyString(), any(Labels.class))).thenAnswer(i -> Future.succeededFuture(deployments.get()));
+        when(supplier.zkSetOperations.listAsync(anyString(), any(Labels.class))).thenReturn(Future.succeededFuture(emptyList()));
+        when(supplier.serviceOperations.listAsync(anyString(), any(Labels.class))).thenReturn(Future.succeededFuture(emptyList()));
+        when(supplier.ingressOperations.listAsync(anyString(), any(Labels.class))).thenReturn(Future.succeededFuture(emptyList()));
+        when(supplier.networkPolicyOperator.listAsync(anyString(), any(Labels.class))).thenReturn(Future.succeededFuture(emptyList()));
+        when(supplier.podDisruptionBudgetOperator.listAsync(anyString(), any(Labels.class))).thenReturn(Future.succeededFuture(emptyList()));
+        when(supplier.configMapOperations.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
+        when(supplier.zkSetOperations.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture(readyStatefulSet()));
+        when(supplier.kafkaSetOperations.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture(readyStatefulSet()));
+        when(supplier.podOperations.listAsync(anyString(), any(Labels.class))).thenAnswer(i -> Future.succeededFuture(singletonList(pod.get())));
+
+        return supplier;
+    }
+
+    private static KafkaAssemblyOperator operator(ResourceOperatorSupplier supplier, ClusterOperatorConfig config, AtomicInteger fullReconciliations) {
+        return new KafkaAssemblyOperator(vertx, new PlatformFeaturesAvailability(false, KubernetesVersion.V1_9), new MockCertManager(),
+                new PasswordGenerator(10, "a", "a"), supplier, config) {
+            @Override
+            Future<KafkaStatus> fullCreateOrUpdate(Reconciliation reconciliation, Kafka kafkaAssembly) {
+                fullReconciliations.incrementAndGet();
+                return Future.succeededFuture(kafkaAssembly.getStatus());
+            }
+        };
+    }
+
+    @Test
+    public void testFullReconciliationIsSkippedForUnchangedAndReadyCluster(VertxTestContext context) {
+        Kafka kafka = readyKafka(1L);
+        Kafka changedKafka = readyKafka(2L);
+
+        AtomicReference<Pod> pod = new AtomicReference<>(pod(true));
+        AtomicReference<List<Deployment>> deployments = new AtomicReference<>(singletonList(readyDeployment()));
+        AtomicReference<List<Secret>> secrets = new AtomicReference<>(emptyList());
+        AtomicInteger fullReconciliations = new AtomicInteger(0);
+
+        KafkaAssemblyOperator op = operator(supplierWithOwnedResources(pod, deployments, secrets), config(), fullReconciliations);
+        Reconciliation reconciliation = new Reconciliation("test-trigger", Kafka.RESOURCE_KIND, NAMESPACE, NAME);
+
+        Checkpoint async = context.checkpoint();
+
+        op.createOrUpdate(reconciliation, kafka)
+                .compose(status -> op.createOrUpdate(reconciliation, kafka))
+                .onComplete(context.succeeding(status -> context.verify(() -> {
+                    // The first reconciliation is always a full one, the second one is skipped
+                    assertThat(fullReconciliations.get(), is(1));
+                    assertThat(status.getConditions().get(0).getType(), is("Ready"));
+                })))
+                .compose(status -> op.createOrUpdate(reconciliation, changedKafka))
+                .onComplete(context.succeeding(status -> context.verify(() -> {
+                    // Changed generation triggers a full reconciliation
+                    assertThat(fullReconciliations.get(), is(2));
+                    pod.set(pod(false));
+                })))
+                .compose(status -> op.createOrUpdate(reconciliation, changedKafka))
+                .onComplete(context.succeeding(status -> context.verify(() -> {
+                    // Pod which is not ready triggers a full reconciliation
+                    assertThat(fullReconciliations.get(), is(3));
+                    pod.set(pod(true));
+                })))
+                .compose(status -> op.createOrUpdate(reconciliation, changedKafka))
+                .onComplete(context.succeeding(status -> context.verify(() -> {
+                    assertThat(fullReconciliations.get(), is(3));
+                    deployments.set(emptyList());
+                })))
+                .compose(status -> op.createOrUpdate(reconciliation, changedKafka))
+                .onComplete(context.succeeding(status -> context.verify(() -> {
+                    // Deleted Entity Operator Deployment triggers a full reconciliation
+                    assertThat(fullReconciliations.get(), is(4));
+                    secrets.set(singletonList(secretWithInvalidCertificate()));
+                })))
+                .compose(status -> op.createOrUpdate(reconciliation, changedKafka))
+                .compose(status -> op.createOrUpdate(reconciliation, changedKafka))
+                .onComplete(context.succeeding(status -> context.verify(() -> {
+                    // Certificate which has to be renewed triggers a full reconciliation every time
+                    assertThat(fullReconciliations.get(), is(6));
+                    async.flag();
+                })));
+    }
+
+    @Test
+    public void testFingerprintCoversReferencedSecretsAndConfigMaps(VertxTestContext context) {
+        Kafka kafka = kafka(1L)
+                .editSpec()
+                    .editKafka()
+                        .withNewListeners()
+                            .addNewGenericKafkaListener()
+                                .withName("plain")
+                                .withPort(9092)
+                                .withType(KafkaListenerType.INTERNAL)
+                                .withTls(false)
+                                .withAuth(new KafkaListenerAuthenticationOAuthBuilder()
+                                        .withClientId("my-kafka-id")
+                                        .withClientSecret(new GenericSecretSourceBuilder().withSecretName("my-oauth-secret").withKey("client-secret").build())
+                                        .build())
+                            .endGenericKafkaListener()
+                        .endListeners()
+                        .withAuthorization(new KafkaAuthorizationKeycloakBuilder()
+                                .withTokenEndpointUri("http://token-endpoint-uri")
+                                .withClientId("my-client-id")
+                                .withTlsTrustedCertificates(new CertSecretSourceBuilder().withSecretName("my-keycloak-ca").withCertificate("ca.crt").build())
+                                .build())
+                        .withLogging(new ExternalLoggingBuilder().withName("my-logging").build())
+                    .endKafka()
+                .endSpec()
+                .build();
+
+        Map<String, String> secretVersions = new HashMap<>();
+        secretVersions.put("my-oauth-secret", "1");
+
+        ResourceOperatorSupplier supplier = ResourceUtils.supplierWithMocks(false);
+        when(supplier.secretOperations.getAsync(anyString(), anyString())).thenAnswer(i -> {
+            String version = secretVersions.get(i.<String>getArgument(1));
+            return Future.succeededFuture(version != null ? new SecretBuilder().withNewMetadata().withResourceVersion(version).endMetadata().build() : null);
+        });
+        when(supplier.configMapOperations.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
+
+        KafkaAssemblyOperator op = operator(supplier, ResourceUtils.dummyClusterOperatorConfig(), new AtomicInteger(0));
+
+        Checkpoint async = context.checkpoint();
+
+        op.fingerprint(kafka)
+                .compose(fingerprint -> {
+                    // Rotated OAuth client secret changes the fingerprint
+                    secretVersions.put("my-oauth-secret", "2");
+                    return op.fingerprint(kafka).map(changed -> {
+                        context.verify(() -> assertThat(changed, is(not(fingerprint))));
+                        return changed;
+                    });
+                })
+                .onComplete(context.succeeding(fingerprint -> context.verify(() -> {
+                    verify(supplier.secretOperations, atLeastOnce()).getAsync(NAMESPACE, "my-oauth-secret");
+                    verify(supplier.secretOperations, atLeastOnce()).getAsync(NAMESPACE, "my-keycloak-ca");
+                    verify(supplier.configMapOperations, atLeastOnce()).getAsync(NAMESPACE, "my-logging");
+                    async.flag();
+                })));
+    }
+}
@@ -29,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -36,12 +37,15 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(VertxExtension.class)
@@ -148,6 +152,14 @@ public class KafkaAvailabilityTest {
             return this;
         }
 
+        KSB addBroker(String rack, int... ids) {
+            for (int id : ids) {
+                brokers.computeIfAbsent(id, i -> new BSB(i));
+                nodes.put(id, new Node(id, "localhost", 1234 + id, rack));
+            }
+            return this;
+        }
+
         static <T> KafkaFuture<T> failedFuture(Throwable t) {
             KafkaFutureImpl kafkaFuture = new KafkaFutureImpl();
             kafkaFuture.completeExceptionally(t);
@@ -639,4 +651,105 @@ public class KafkaAvailabilityTest {
             }
         }
     }
+
+    private KSB rackAwareCluster(int... isrOfLastPartition) {
+        return new KSB()
+            .addBroker("rack-a", 0, 3)
+            .addBroker("rack-b", 1, 4)
+            .addBroker("rack-c", 2, 5)
+            .addNewTopic("A", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .addNewPartition(0)
+                    .replicaOn(0, 1, 2)
+                    .leader(0)
+                    .isr(0, 1, 2)
+                .endPartition()
+                .addNewPartition(1)
+                    .replicaOn(3, 4, 5)
+                    .leader(4)
+                    .isr(isrOfLastPartition)
+                .endPartition()
+            .endTopic()
+            .addNewTopic("B", false)
+                .addNewPartition(0)
+                    .replicaOn(0, 4)
+                    .leader(0)
+                    .isr(0, 4)
+                .endPartition()
+            .endTopic();
+    }
+
+    @Test
+    public void testLargestSafeBatchIsOneRack(VertxTestContext context) {
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(rackAwareCluster(3, 4, 5).ac());
+
+        Checkpoint a = context.checkpoint(2);
+        kafkaAvailability.largestSafeBatch(Arrays.asList(0, 1, 2, 3, 4, 5), 6).onComplete(context.succeeding(batch -> context.verify(() -> {
+            assertThat(batch, is(new HashSet<>(Arrays.asList(0, 3))));
+            a.flag();
+        })));
+        kafkaAvailability.largestSafeBatch(Arrays.asList(0, 1, 2, 3, 4, 5), 1).onComplete(context.succeeding(batch -> context.verify(() -> {
+            assertThat(batch, is(new HashSet<>(Arrays.asList(0))));
+            a.flag();
+        })));
+    }
+
+    @Test
+    public void testLargestSafeBatchAvoidsUnderreplicatedPartitions(VertxTestContext context) {
+        // Partition A/1 is at min.insync.replicas, so neither broker 3 nor 4 can be restarted
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(rackAwareCluster(4, 3).ac());
+
+        Checkpoint a = context.checkpoint();
+        kafkaAvailability.largestSafeBatch(Arrays.asList(0, 1, 2, 3, 4, 5), 6).onComplete(context.succeeding(batch -> context.verify(() -> {
+            assertThat(batch, is(new HashSet<>(Arrays.asList(2, 5))));
+            a.flag();
+        })));
+    }
+
+    @Test
+    public void testTopicsAreDescribedOnlyForInvalidatedBrokers(VertxTestContext context) {
+        KSB ksb = new KSB()
+            .addNewTopic("A", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .addNewPartition(0)
+                    .replicaOn(0, 1, 2)
+                    .leader(0)
+                    .isr(0, 1, 2)
+                .endPartition()
+            .endTopic()
+            .addNewTopic("B", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .addNewPartition(0)
+                    .replicaOn(2, 3, 4)
+                    .leader(3)
+                    .isr(2, 3, 4)
+                .endPartition()
+            .endTopic();
+        Admin ac = ksb.ac();
+
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ac);
+
+        Checkpoint a = context.checkpoint();
+        kafkaAvailability.canRoll(0)
+            .compose(canRoll -> kafkaAvailability.canRoll(1))
+            .compose(canRoll -> kafkaAvailability.canRoll(2))
+            .compose(canRoll -> kafkaAvailability.canRoll(3))
+            .compose(canRoll -> {
+                context.verify(() -> {
+                    verify(ac, times(1)).describeTopics(any());
+                    verify(ac, times(1)).describeConfigs(any());
+                });
+
+                kafkaAvailability.invalidate(4);
+                return kafkaAvailability.canRoll(0);
+            })
+            .onComplete(context.succeeding(canRoll -> context.verify(() -> {
+                assertTrue(canRoll);
+                // Only the topic with a replica on the invalidated broker is described again
+                verify(ac, times(1)).describeTopics(Collections.singleton("B"));
+                verify(ac, times(2)).describeTopics(any());
+                verify(ac, times(1)).describeConfigs(any());
+                a.flag();
+            })));
+    }
 }
@@ -7,10 +7,15 @@ package io.strimzi.operator.cluster.operator.resource;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -23,8 +28,11 @@ import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
 import io.strimzi.operator.cluster.KafkaVersionTestUtils;
+import io.strimzi.operator.cluster.model.KafkaCluster;
 import io.strimzi.operator.common.BackOff;
+import io.strimzi.operator.common.DefaultAdminClientProvider;
 import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.Util;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.PodOperator;
 import io.strimzi.operator.common.operator.resource.TimeoutException;
@@ -36,7 +44,9 @@ import io.vertx.junit5.VertxTestContext;
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
 import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.config.ConfigResource;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.AfterAll;
@@ -440,6 +450,69 @@ public class KafkaRollerTest {
             asList(0, 1, 4));
     }
 
+    @Test
+    public void testRollInBatches(VertxTestContext testContext) {
+        // Number of restarted pods when the readiness of each restarted pod is checked for the first time
+        Map<Integer, Integer> restartsBeforeReadiness = new ConcurrentHashMap<>();
+        PodOperator podOps = mockPodOps(podId -> {
+            if (restarted.contains(KafkaCluster.kafkaPodName(clusterName(), podId))) {
+                restartsBeforeReadiness.putIfAbsent(podId, restarted.size());
+            }
+            return succeededFuture();
+        });
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+                noException(), null, noException(), noException(), noException(),
+            brokerId -> succeededFuture(true), 2, 2);
+
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> singletonList("roll"))
+            .onComplete(testContext.succeeding(v -> {
+                testContext.verify(() -> {
+                    // Pods 0 and 1 and then pods 3 and 4 are restarted together, the controller is restarted last
+                    assertThat(restarted(), is(asList(0, 1, 3, 4, 2)));
+                    assertThat(restartsBeforeReadiness.get(0), is(2));
+                    assertThat(restartsBeforeReadiness.get(1), is(2));
+                    assertThat(restartsBeforeReadiness.get(3), is(4));
+                    assertThat(restartsBeforeReadiness.get(4), is(4));
+                    assertThat(restartsBeforeReadiness.get(2), is(5));
+                });
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            }));
+    }
+
+    @Test
+    public void testReconfigureBrokersTogether(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        AtomicInteger alterFailures = new AtomicInteger(1);
+        // The logging of all brokers differs from the desired logging, broker 3 fails to be updated together with the others
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+            noException(), null, noException(),
+            podId -> podId == 3 && alterFailures.getAndDecrement() > 0 ? new KafkaRoller.ForceableProblem("could not alter config exception") : null,
+            noException(),
+            brokerId -> succeededFuture(true), 2) {
+            @Override
+            protected Config brokerLogging(int brokerId) {
+                return new Config(singletonList(new ConfigEntry("root", "INFO")));
+            }
+        };
+
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> podName2Number(pod.getMetadata().getName()) == 4 ? singletonList("roll") : emptyList())
+            .onComplete(testContext.succeeding(v -> {
+                testContext.verify(() -> {
+                    // Brokers 0 to 3 are reconfigured with a single request, broker 3 which failed is then reconfigured on its own
+                    assertThat(kafkaRoller.updatedTogether, is(singletonList(new HashSet<>(asList(0, 1, 2, 3)))));
+                    assertThat(kafkaRoller.updatedOneByOne, is(singletonList(3)));
+                    assertThat(restarted(), is(singletonList(4)));
+                });
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            }));
+    }
+
     private TestingKafkaRoller rollerWithControllers(StatefulSet sts, PodOperator podOps, int... controllers) {
         return new TestingKafkaRoller(sts, null, null, podOps,
                 noException(), null, noException(), noException(), noException(),
@@ -573,6 +646,8 @@ public class KafkaRollerTest {
         private final Function<Integer, ForceableProblem> alterConfigsException;
         private final Function<Integer, ForceableProblem> getConfigsException;
         private final int[] controllers;
+        private final List<Integer> updatedOneByOne = new CopyOnWriteArrayList<>();
+        private final List<Set<Integer>> updatedTogether = new CopyOnWriteArrayList<>();
 
         private TestingKafkaRoller(StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
                                    PodOperator podOps,
@@ -583,9 +658,24 @@ public class KafkaRollerTest {
                                    Function<Integer, ForceableProblem> getConfigsException,
                                    Function<Integer, Future<Boolean>> canRollFn,
                                   int... controllers) {
+            this(sts, clusterCaCertSecret, coKeySecret, podOps, acOpenException, acCloseException, controllerException,
+                    alterConfigsException, getConfigsException, canRollFn, 1, controllers);
+        }
+
+        private TestingKafkaRoller(StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
+                                   PodOperator podOps,
+                                   Function<List<Integer>, RuntimeException> acOpenException,
+                                   Throwable acCloseException,
+                                   Function<Integer, Throwable> controllerException,
+                                   Function<Integer, ForceableProblem> alterConfigsException,
+                                   Function<Integer, ForceableProblem> getConfigsException,
+                                   Function<Integer, Future<Boolean>> canRollFn,
+                                   int maxConcurrentRestarts,
+                                   int... controllers) {
             super(KafkaRollerTest.vertx, new Reconciliation("test", "Kafka", stsNamespace(), clusterName()), podOps, 500, 1000,
                 () -> new BackOff(10L, 2, 4),
-                sts, clusterCaCertSecret, coKeySecret, "", "", KafkaVersionTestUtils.getLatestVersion());
+                sts, clusterCaCertSecret, coKeySecret, new DefaultAdminClientProvider(), "", "", KafkaVersionTestUtils.getLatestVersion(),
+                maxConcurrentRestarts);
             this.controllers = controllers;
             this.controllerCall = 0;
             Objects.requireNonNull(acOpenException);
@@ -669,12 +759,32 @@ public class KafkaRollerTest {
             return new Config(emptyList());
         }
 
+        @Override
+        protected Map<ConfigResource, Config> brokerConfigs(List<Integer> brokerIds) throws ForceableProblem, InterruptedException {
+            Map<ConfigResource, Config> configs = new HashMap<>();
+            for (Integer brokerId : brokerIds) {
+                configs.put(Util.getBrokersConfig(brokerId), brokerConfig(brokerId));
+                configs.put(Util.getBrokersLogging(brokerId), brokerLogging(brokerId));
+            }
+            return configs;
+        }
+
         @Override
         protected void dynamicUpdateBrokerConfig(int podId, Admin ac, KafkaBrokerConfigurationDiff configurationDiff, KafkaBrokerLoggingConfigurationDiff logDiff) throws ForceableProblem, InterruptedException {
             ForceableProblem problem = alterConfigsException.apply(podId);
             if (problem != null) {
                 throw problem;
             }
+            updatedOneByOne.add(podId);
+        }
+
+        @Override
+        protected Set<Integer> dynamicUpdateBrokerConfigs(Admin ac, Map<Integer, KafkaBrokerConfigurationDiff> configurationDiffs, Map<Integer, KafkaBrokerLoggingConfigurationDiff> logDiffs) {
+            Set<Integer> updated = configurationDiffs.keySet().stream()
+                    .filter(podId -> alterConfigsException.apply(podId) == null)
+                    .collect(Collectors.toSet());
+            updatedTogether.add(new HashSet<>(configurationDiffs.keySet()));
+            return updated;
         }
 
         @Override
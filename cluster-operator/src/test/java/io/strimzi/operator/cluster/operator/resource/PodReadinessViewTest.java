@@ -0,0 +1,152 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodConditionBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.operator.resource.PodOperator;
+import io.strimzi.operator.common.operator.resource.TimeoutException;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(VertxExtension.class)
+public class PodReadinessViewTest {
+    private static final String NAMESPACE = "my-namespace";
+    private static final Labels SELECTOR = Labels.forStrimziCluster("my-cluster").withStrimziName("my-cluster-kafka");
+
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    private static Pod pod(String name, String uid, boolean ready) {
+        return new PodBuilder()
+                .withNewMetadata()
+                    .withName(name)
+                    .withNamespace(NAMESPACE)
+                    .withUid(uid)
+                .endMetadata()
+                .withNewStatus()
+                    .withConditions(new PodConditionBuilder().withType("Ready").withStatus(ready ? "True" : "False").build())
+                .endStatus()
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Watcher<Pod>> watcherCaptor() {
+        return ArgumentCaptor.forClass(Watcher.class);
+    }
+
+    @Test
+    public void testReadinessIsServedFromTheWatch(VertxTestContext context) {
+        PodOperator podOps = mock(PodOperator.class);
+        ArgumentCaptor<Watcher<Pod>> watcher = watcherCaptor();
+        when(podOps.watch(eq(NAMESPACE), eq(SELECTOR), watcher.capture())).thenReturn(mock(Watch.class));
+        when(podOps.list(NAMESPACE, SELECTOR)).thenReturn(asList(pod("pod-0", "uid-0", true), pod("pod-1", "uid-1", false)));
+
+        PodReadinessView view = new PodReadinessView(vertx, new Reconciliation("test", "Kafka", NAMESPACE, "my-cluster"),
+                podOps, NAMESPACE, SELECTOR, 1_000);
+        view.start();
+
+        assertThat(view.isReady("pod-0"), is(true));
+        assertThat(view.isReady("pod-1"), is(false));
+        assertThat(view.get("pod-1").getMetadata().getUid(), is("uid-1"));
+
+        // The old pod is not ready once it is being restarted, the restarted pod is reported by the watch
+        view.restarting(pod("pod-0", "uid-0", true));
+        assertThat(view.isReady("pod-0"), is(false));
+
+        Future<Void> readiness = view.readiness("pod-0", 10_000);
+        watcher.getValue().eventReceived(Watcher.Action.MODIFIED, pod("pod-0", "uid-0", true));
+        assertThat(readiness.isComplete(), is(false));
+        watcher.getValue().eventReceived(Watcher.Action.DELETED, pod("pod-0", "uid-0", true));
+        watcher.getValue().eventReceived(Watcher.Action.ADDED, pod("pod-0", "uid-2", false));
+        assertThat(readiness.isComplete(), is(false));
+        watcher.getValue().eventReceived(Watcher.Action.MODIFIED, pod("pod-0", "uid-2", true));
+        assertThat(readiness.succeeded(), is(true));
+
+        // None of the pods was read or polled one by one
+        verify(podOps, never()).get(anyString(), anyString());
+        verify(podOps, never()).isReady(anyString(), anyString());
+        verify(podOps, never()).readiness(anyString(), anyString(), anyLong(), anyLong());
+
+        Checkpoint async = context.checkpoint();
+        view.readiness("pod-1", 100).onComplete(context.failing(e -> context.verify(() -> {
+            assertThat(e, instanceOf(TimeoutException.class));
+            view.close();
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testReadinessIsPolledWhenTheWatchIsClosed() {
+        PodOperator podOps = mock(PodOperator.class);
+        ArgumentCaptor<Watcher<Pod>> watcher = watcherCaptor();
+        when(podOps.watch(eq(NAMESPACE), eq(SELECTOR), watcher.capture())).thenReturn(mock(Watch.class));
+        when(podOps.list(NAMESPACE, SELECTOR)).thenReturn(asList(pod("pod-0", "uid-0", false)));
+        when(podOps.readiness(eq(NAMESPACE), eq("pod-0"), anyLong(), anyLong())).thenReturn(Future.succeededFuture());
+        when(podOps.isReady(NAMESPACE, "pod-0")).thenReturn(true);
+
+        PodReadinessView view = new PodReadinessView(vertx, new Reconciliation("test", "Kafka", NAMESPACE, "my-cluster"),
+                podOps, NAMESPACE, SELECTOR, 1_000);
+        view.start();
+
+        Future<Void> readiness = view.readiness("pod-0", 10_000);
+        assertThat(readiness.isComplete(), is(false));
+
+        // The pending readiness check continues by polling
+        watcher.getValue().onClose(new KubernetesClientException("Watch failed"));
+        assertThat(readiness.succeeded(), is(true));
+        assertThat(view.isReady("pod-0"), is(true));
+    }
+
+    @Test
+    public void testReadinessIsPolledWithoutWatch() {
+        PodOperator podOps = mock(PodOperator.class);
+        when(podOps.watch(anyString(), any(Labels.class), any())).thenThrow(new KubernetesClientException("Forbidden"));
+        when(podOps.readiness(eq(NAMESPACE), eq("pod-0"), anyLong(), anyLong())).thenReturn(Future.succeededFuture());
+
+        PodReadinessView view = new PodReadinessView(vertx, new Reconciliation("test", "Kafka", NAMESPACE, "my-cluster"),
+                podOps, NAMESPACE, SELECTOR, 1_000);
+        view.start();
+
+        assertThat(view.readiness("pod-0", 10_000).succeeded(), is(true));
+        verify(podOps, never()).list(anyString(), any(Labels.class));
+    }
+}
@@ -176,6 +176,12 @@ class StatefulSetMockBuilder extends MockBuilder<StatefulSet, StatefulSetList, D
                                 .endOwnerReference()
                             .endMetadata()
                             .withNewSpecLike(sts.getSpec().getTemplate().getSpec()).endSpec()
+                            .withNewStatus()
+                                .addNewCondition()
+                                    .withType("Ready")
+                                    .withStatus("True")
+                                .endCondition()
+                            .endStatus()
                             .build();
     }
 
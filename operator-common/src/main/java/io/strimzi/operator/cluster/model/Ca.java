@@ -10,6 +10,7 @@ import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.strimzi.api.kafka.model.CertificateExpirationPolicy;
 import io.strimzi.certs.CertAndKey;
 import io.strimzi.certs.CertManager;
+import io.strimzi.certs.KeyAlgorithm;
 import io.strimzi.certs.SecretCertProvider;
 import io.strimzi.certs.Subject;
 import io.strimzi.operator.common.Annotations;
@@ -42,8 +43,15 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -97,6 +105,13 @@ public abstract class Ca {
     public static final String ANNO_STRIMZI_IO_CLIENTS_CA_CERT_GENERATION = Annotations.STRIMZI_DOMAIN + "clients-ca-cert-generation";
     public static final int INIT_GENERATION = 0;
 
+    /**
+     * Maximum number of certificates generated concurrently. Certificate generation is CPU bound (key generation and
+     * signing happen in forked openssl processes), so there is no point in going beyond the number of available CPUs.
+     */
+    private static final int CERT_GENERATION_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final ThreadPoolExecutor CERT_GENERATION_EXECUTOR = certGenerationExecutor(CERT_GENERATION_THREADS);
+
     private final PasswordGenerator passwordGenerator;
 
     /**
@@ -190,11 +205,21 @@ public abstract class Ca {
     private RenewalType renewalType;
     private boolean caCertsRemoved;
     private final CertificateExpirationPolicy policy;
+    protected final KeyAlgorithm keyAlgorithm;
 
     public Ca(CertManager certManager, PasswordGenerator passwordGenerator, String commonName,
               String caCertSecretName, Secret caCertSecret,
               String caKeySecretName, Secret caKeySecret,
               int validityDays, int renewalDays, boolean generateCa, CertificateExpirationPolicy policy) {
+        this(certManager, passwordGenerator, commonName, caCertSecretName, caCertSecret, caKeySecretName, caKeySecret,
+                validityDays, renewalDays, generateCa, policy, null);
+    }
+
+    public Ca(CertManager certManager, PasswordGenerator passwordGenerator, String commonName,
+              String caCertSecretName, Secret caCertSecret,
+              String caKeySecretName, Secret caKeySecret,
+              int validityDays, int renewalDays, boolean generateCa, CertificateExpirationPolicy policy,
+              KeyAlgorithm keyAlgorithm) {
         this.commonName = commonName;
         this.caCertSecret = caCertSecret;
         this.caCertSecretName = caCertSecretName;
@@ -206,6 +231,7 @@ public abstract class Ca {
         this.renewalDays = renewalDays;
         this.generateCa = generateCa;
         this.policy = policy == null ? CertificateExpirationPolicy.RENEW_CERTIFICATE : policy;
+        this.keyAlgorithm = keyAlgorithm == null ? KeyAlgorithm.RSA : keyAlgorithm;
         this.renewalType = RenewalType.NOOP;
     }
 
@@ -215,6 +241,18 @@ public abstract class Ca {
         }
     }
 
+    private static ThreadPoolExecutor certGenerationExecutor(int threads) {
+        AtomicInteger threadCount = new AtomicInteger(0);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "cert-generation-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Certificates are generated only occasionally (scale up, renewals), so don't keep idle threads around
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
      * Returns the given {@code cert} and {@code key} values from the given {@code Secret} as a {@code CertAndKey},
      * or null if the given {@code secret} is null.
@@ -279,7 +317,23 @@ public abstract class Ca {
                                             File csrFile, File keyFile, File certFile, File keyStoreFile) throws IOException {
         log.debug("Generating certificate {} with SAN {}, signed by CA {}", subject, subject.subjectAltNames(), this);
 
-        certManager.generateCsr(keyFile, csrFile, subject);
+        certManager.generateCsr(keyFile, csrFile, subject, keyAlgorithm);
+
+        return signCsr(subject, csrFile, keyFile, certFile, keyStoreFile);
+    }
+
+    /*test*/ CertAndKey generateSignedCertWithExistingKey(Subject subject, byte[] key,
+                                                           File csrFile, File keyFile, File certFile, File keyStoreFile) throws IOException {
+        log.debug("Generating certificate {} with SAN {} for an existing key, signed by CA {}", subject, subject.subjectAltNames(), this);
+
+        Files.write(keyFile.toPath(), key);
+        certManager.generateCsrWithExistingKey(keyFile, csrFile, subject);
+
+        return signCsr(subject, csrFile, keyFile, certFile, keyStoreFile);
+    }
+
+    private CertAndKey signCsr(Subject subject,
+                               File csrFile, File keyFile, File certFile, File keyStoreFile) throws IOException {
         certManager.generateCert(csrFile, currentCaKey(), currentCaCertBytes(),
                 certFile, subject, validityDays);
 
@@ -312,11 +366,19 @@ public abstract class Ca {
      * @throws IOException If the cert could not be generated.
      */
     public CertAndKey generateSignedCert(String commonName, String organization) throws IOException {
-        File csrFile = File.createTempFile("tls", "csr");
-        File keyFile = File.createTempFile("tls", "key");
-        File certFile = File.createTempFile("tls", "cert");
-        File keyStoreFile = File.createTempFile("tls", "p12");
+        return generateSignedCert(commonName, organization, null);
+    }
 
+    /**
+     * Generates a certificate signed by this CA for an already existing private key
+     * @param commonName The CN of the certificate to be generated.
+     * @param organization The O of the certificate to be generated. May be null.
+     * @param key The PEM encoded private key for which the certificate should be generated. When null, a new private
+     *            key is generated.
+     * @return The CertAndKey
+     * @throws IOException If the cert could not be generated.
+     */
+    public CertAndKey generateSignedCert(String commonName, String organization, byte[] key) throws IOException {
         Subject subject = new Subject();
 
         if (organization != null) {
@@ -325,14 +387,88 @@ public abstract class Ca {
 
         subject.setCommonName(commonName);
 
-        CertAndKey result = generateSignedCert(subject,
-                csrFile, keyFile, certFile, keyStoreFile);
+        return generateSignedCertWithTempFiles(subject, key);
+    }
 
-        delete(csrFile);
-        delete(keyFile);
-        delete(certFile);
-        delete(keyStoreFile);
-        return result;
+    /**
+     * Generates a certificate signed by this CA using its own set of temporary files, so that it can be safely called
+     * concurrently.
+     *
+     * @param subject The subject of the certificate to be generated.
+     * @param key The PEM encoded private key for which the certificate should be generated. When null, a new private
+     *            key is generated.
+     * @return The CertAndKey
+     * @throws IOException If the cert could not be generated.
+     */
+    private CertAndKey generateSignedCertWithTempFiles(Subject subject, byte[] key) throws IOException {
+        File csrFile = File.createTempFile("tls", "csr");
+        File keyFile = File.createTempFile("tls", "key");
+        File certFile = File.createTempFile("tls", "cert");
+        File keyStoreFile = File.createTempFile("tls", "p12");
+
+        try {
+            if (key != null) {
+                return generateSignedCertWithExistingKey(subject, key,
+                        csrFile, keyFile, certFile, keyStoreFile);
+            } else {
+                return generateSignedCert(subject,
+                        csrFile, keyFile, certFile, keyStoreFile);
+            }
+        } finally {
+            delete(csrFile);
+            delete(keyFile);
+            delete(certFile);
+            delete(keyStoreFile);
+        }
+    }
+
+    /**
+     * Generates certificates signed by this CA for all the given subjects. The certificates are generated in parallel
+     * on a bounded pool, so generating many certificates takes roughly as long as generating the slowest one.
+     *
+     * @param subjects Map with the subjects of the certificates to generate, keyed by the name under which the
+     *                 generated certificate should be returned (e.g. the pod name).
+     * @return Map with the generated certificates
+     * @throws IOException If any of the certificates could not be generated.
+     */
+    /*test*/ Map<String, CertAndKey> generateSignedCerts(Map<String, Subject> subjects) throws IOException {
+        Map<String, CertAndKey> certs = new HashMap<>(subjects.size());
+
+        if (subjects.size() == 1) {
+            // No need to hand over to another thread
+            for (Map.Entry<String, Subject> entry : subjects.entrySet()) {
+                certs.put(entry.getKey(), generateSignedCertWithTempFiles(entry.getValue(), null));
+            }
+
+            return certs;
+        }
+
+        Map<String, Future<CertAndKey>> futures = new LinkedHashMap<>(subjects.size());
+        for (Map.Entry<String, Subject> entry : subjects.entrySet()) {
+            Subject subject = entry.getValue();
+            futures.put(entry.getKey(), CERT_GENERATION_EXECUTOR.submit(() -> generateSignedCertWithTempFiles(subject, null)));
+        }
+
+        try {
+            for (Map.Entry<String, Future<CertAndKey>> entry : futures.entrySet()) {
+                certs.put(entry.getKey(), entry.getValue().get());
+            }
+        } catch (InterruptedException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating certificates", e);
+        } catch (ExecutionException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else {
+                throw new IOException("Failed to generate certificates", e.getCause());
+            }
+        }
+
+        return certs;
     }
 
     /**
@@ -352,13 +488,10 @@ public abstract class Ca {
             replicasInSecret = (int) secret.getData().keySet().stream().filter(k -> k.contains(".crt")).count();
         }
 
-        File brokerCsrFile = File.createTempFile("tls", "broker-csr");
-        File brokerKeyFile = File.createTempFile("tls", "broker-key");
-        File brokerCertFile = File.createTempFile("tls", "broker-cert");
-        File brokerKeyStoreFile = File.createTempFile("tls", "broker-p12");
-
         int replicasInNewSecret = Math.min(replicasInSecret, replicas);
-        Map<String, CertAndKey> certs = new HashMap<>(replicasInNewSecret);
+        Map<String, CertAndKey> certs = new HashMap<>(replicas);
+        // the certificates which need to be (re)generated are collected and generated in parallel at the end
+        Map<String, Subject> subjectsToGenerate = new LinkedHashMap<>();
         // copying the minimum number of certificates already existing in the secret
         // scale up -> it will copy all certificates
         // scale down -> it will copy just the requested number of replicas
@@ -400,8 +533,7 @@ public abstract class Ca {
             if (!reasons.isEmpty())  {
                 log.debug("Certificate for pod {} need to be regenerated because: {}", podName, String.join(", ", reasons));
 
-                CertAndKey newCertAndKey = generateSignedCert(subject, brokerCsrFile, brokerKeyFile, brokerCertFile, brokerKeyStoreFile);
-                certs.put(podName, newCertAndKey);
+                subjectsToGenerate.put(podName, subject);
             }   else {
                 certs.put(podName, certAndKey);
             }
@@ -414,14 +546,12 @@ public abstract class Ca {
             String podName = podNameFn.apply(i);
 
             log.debug("Certificate for {} to generate", podName);
-            CertAndKey k = generateSignedCert(subjectFn.apply(i),
-                    brokerCsrFile, brokerKeyFile, brokerCertFile, brokerKeyStoreFile);
-            certs.put(podName, k);
+            subjectsToGenerate.put(podName, subjectFn.apply(i));
+        }
+
+        if (!subjectsToGenerate.isEmpty()) {
+            certs.putAll(generateSignedCerts(subjectsToGenerate));
         }
-        delete(brokerCsrFile);
-        delete(brokerKeyFile);
-        delete(brokerCertFile);
-        delete(brokerKeyStoreFile);
 
         return certs;
     }
@@ -701,6 +831,13 @@ public abstract class Ca {
         return caKeySecret;
     }
 
+    /**
+     * @return the algorithm used for newly generated private keys.
+     */
+    public KeyAlgorithm keyAlgorithm() {
+        return keyAlgorithm;
+    }
+
     /**
      * @return The current CA certificate as bytes.
      */
@@ -908,7 +1045,7 @@ public abstract class Ca {
                         trustStorePassword = passwordGenerator.generate();
                     }
                     try {
-                        certManager.generateSelfSignedCert(keyFile, certFile, subject, validityDays);
+                        certManager.generateSelfSignedCert(keyFile, certFile, subject, validityDays, keyAlgorithm);
                         certManager.addCertToTrustStore(certFile, CA_CRT, trustStoreFile, trustStorePassword);
                         CertAndKey ca = new CertAndKey(
                                 Files.readAllBytes(keyFile.toPath()),
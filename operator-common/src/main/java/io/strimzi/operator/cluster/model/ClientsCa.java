@@ -7,16 +7,25 @@ package io.strimzi.operator.cluster.model;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.strimzi.api.kafka.model.CertificateExpirationPolicy;
 import io.strimzi.certs.CertManager;
+import io.strimzi.certs.KeyAlgorithm;
 import io.strimzi.operator.common.PasswordGenerator;
 
 public class ClientsCa extends Ca {
     public ClientsCa(CertManager certManager, PasswordGenerator passwordGenerator, String caCertSecretName, Secret clientsCaCert,
                      String caSecretKeyName, Secret clientsCaKey,
                      int validityDays, int renewalDays, boolean generateCa, CertificateExpirationPolicy policy) {
+        this(certManager, passwordGenerator, caCertSecretName, clientsCaCert, caSecretKeyName, clientsCaKey,
+                validityDays, renewalDays, generateCa, policy, null);
+    }
+
+    public ClientsCa(CertManager certManager, PasswordGenerator passwordGenerator, String caCertSecretName, Secret clientsCaCert,
+                     String caSecretKeyName, Secret clientsCaKey,
+                     int validityDays, int renewalDays, boolean generateCa, CertificateExpirationPolicy policy,
+                     KeyAlgorithm keyAlgorithm) {
         super(certManager, passwordGenerator, "clients-ca",
                 caCertSecretName, forceRenewal(clientsCaCert, clientsCaKey, "clients-ca.key"),
                 caSecretKeyName, adapt060ClientsCaSecret(clientsCaKey),
-                validityDays, renewalDays, generateCa, policy);
+                validityDays, renewalDays, generateCa, policy, keyAlgorithm);
     }
 
     /**
@@ -34,14 +34,17 @@ import io.vertx.core.shareddata.Lock;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.net.HttpURLConnection;
 import java.util.Map;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -74,6 +77,8 @@ public abstract class AbstractOperator<
 
     protected static final int LOCK_TIMEOUT_MS = 10000;
     public static final String METRICS_PREFIX = "strimzi.";
+    private static final String RESOURCE_STATE_METRIC = METRICS_PREFIX + "resource.state";
+    private static final String RESOURCE_STATE_DESCRIPTION = "Current state of the resource: 1 ready, 0 fail";
 
     protected final Vertx vertx;
     protected final O resourceOperator;
@@ -87,13 +92,29 @@ public abstract class AbstractOperator<
     private final Counter lockedReconciliationsCounter;
     private final AtomicInteger resourceCounter;
     private final Timer reconciliationsTimer;
-    private final Map<Tags, AtomicInteger> resourcesStateCounter;
+    private final Map<NamespaceAndName, ResourceStateGauge> resourcesStateCounter;
+    private final ReconciliationWorkQueue workQueue;
+    private final Map<String, AtomicReference<String>> watchResourceVersions = new ConcurrentHashMap<>();
+    private volatile ShardManager shardManager;
+    private volatile ReconciliationScheduler scheduler;
 
     public AbstractOperator(Vertx vertx, String kind, O resourceOperator, MetricsProvider metrics) {
+        this(vertx, kind, resourceOperator, metrics, ReconciliationWorkQueue.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param kind The kind of the reconciled resources.
+     * @param resourceOperator For operating on the reconciled resources.
+     * @param metrics The metrics provider.
+     * @param reconciliationParallelism The maximum number of queued reconciliations running at the same time.
+     */
+    public AbstractOperator(Vertx vertx, String kind, O resourceOperator, MetricsProvider metrics, int reconciliationParallelism) {
         this.vertx = vertx;
         this.kind = kind;
         this.resourceOperator = resourceOperator;
         this.metrics = metrics;
+        this.workQueue = new ReconciliationWorkQueue(vertx, kind, this::reconcile, reconciliationParallelism);
 
         // Setup metrics
         Tags metricTags = Tags.of(Tag.of("kind", kind()));
@@ -181,11 +202,22 @@ public abstract class AbstractOperator<
         String namespace = reconciliation.namespace();
         String name = reconciliation.name();
 
+        // The shard of the resource might have moved to another replica while the reconciliation was queued
+        ShardManager shardManager = this.shardManager;
+        if (shardManager != null && !shardManager.startReconciliation(namespace, name)) {
+            log.info("{}: {} {} belongs to a shard owned by another replica and will not be reconciled", reconciliation, kind, name);
+            return Future.succeededFuture();
+        }
+
         reconciliationsCounter.increment();
         Timer.Sample reconciliationTimerSample = Timer.start(metrics.meterRegistry());
 
-        Future<Void> handler = withLock(reconciliation, LOCK_TIMEOUT_MS, () -> {
-            T cr = resourceOperator.get(namespace, name);
+        // Whether the resource exists is known from the reconciliation itself, so the resource state metric can be
+        // updated without getting the resource again. It stays null when the resource could not be read.
+        AtomicReference<Boolean> resourceExists = new AtomicReference<>();
+
+        Future<Void> handler = withLock(reconciliation, LOCK_TIMEOUT_MS, () -> getResource(namespace, name).compose(cr -> {
+            resourceExists.set(cr != null);
 
             if (cr != null) {
                 Promise<Void> createOrUpdate = Promise.promise();
@@ -262,23 +294,109 @@ public abstract class AbstractOperator<
                     return Future.failedFuture(deleteResult);
                 });
             }
-        });
+        }));
 
         Promise<Void> result = Promise.promise();
         handler.onComplete(reconcileResult -> {
-            handleResult(reconciliation, reconcileResult, reconciliationTimerSample);
+            if (shardManager != null) {
+                shardManager.finishReconciliation(namespace, name);
+            }
+
+            handleResult(reconciliation, reconcileResult, reconciliationTimerSample, resourceExists.get());
             result.handle(reconcileResult);
         });
 
         return result.future();
     }
 
+    /**
+     * Gets the custom resource on a worker thread, so that a slow Kubernetes API server does not block the event
+     * loop shared by all operators.
+     *
+     * @param namespace Namespace of the custom resource
+     * @param name Name of the custom resource
+     *
+     * @return A future which completes with the custom resource or with null if it does not exist
+     */
+    private Future<T> getResource(String namespace, String name) {
+        return async(vertx, () -> resourceOperator.get(namespace, name));
+    }
+
+    /**
+     * Queues the reconciliation. Reconciliations of the same resource are never running at the same time and
+     * the reconciliations requested while one is queued or running are merged into a single one, so they do not wait
+     * for the lock. Failed reconciliations are retried with an exponential back-off. Periodic reconciliations are
+     * deferred by a random delay when the reconciliation scheduler uses a jitter.
+     * @param reconciliation The reconciliation.
+     * @return A Future which is completed with the result of the reconciliation covering this request.
+     */
+    @Override
+    public Future<Void> enqueue(Reconciliation reconciliation) {
+        if (!isOwned(reconciliation.namespace(), reconciliation.name())) {
+            log.debug("{}: {} {} belongs to a shard owned by another replica and will not be reconciled", reconciliation, kind, reconciliation.name());
+            return Future.succeededFuture();
+        }
+
+        ReconciliationScheduler scheduler = this.scheduler;
+        long delayMs = scheduler != null ? scheduler.delayMs(reconciliation) : 0;
+
+        if (delayMs > 0) {
+            log.debug("{}: Periodic reconciliation is deferred by {} ms", reconciliation, delayMs);
+        }
+
+        return workQueue.enqueue(reconciliation, delayMs);
+    }
+
+    /**
+     * Sets the shard manager used to decide which resources are reconciled by this replica of the operator. Without
+     * the shard manager, all resources are reconciled.
+     *
+     * @param shardManager The shard manager.
+     */
+    public void setShardManager(ShardManager shardManager) {
+        this.shardManager = shardManager;
+    }
+
+    /**
+     * Sets the scheduler which limits the reconciliations running at the same time across all operators and spreads
+     * the periodic reconciliations over time. Without the scheduler, only the parallelism of the work queue of this
+     * operator applies.
+     *
+     * @param scheduler The reconciliation scheduler.
+     */
+    public void setReconciliationScheduler(ReconciliationScheduler scheduler) {
+        this.scheduler = scheduler;
+        workQueue.setScheduler(scheduler);
+    }
+
+    /**
+     * @param namespace Namespace of the resource.
+     * @param name Name of the resource.
+     *
+     * @return True if the resource should be reconciled by this replica of the operator
+     */
+    public boolean isOwned(String namespace, String name) {
+        ShardManager shardManager = this.shardManager;
+        return shardManager == null || shardManager.isOwned(namespace, name);
+    }
+
     private void addWarningsToStatus(Status status, Set<Condition> unknownAndDeprecatedConditions)   {
         if (status != null)  {
-            status.addConditions(unknownAndDeprecatedConditions);
+            // The status might be reused from the previous reconciliation and already contain the warnings
+            for (Condition warning : unknownAndDeprecatedConditions) {
+                if (status.getConditions() == null || status.getConditions().stream().noneMatch(condition -> isSameCondition(condition, warning))) {
+                    status.addCondition(warning);
+                }
+            }
         }
     }
 
+    private static boolean isSameCondition(Condition first, Condition second) {
+        return Objects.equals(first.getType(), second.getType())
+                && Objects.equals(first.getReason(), second.getReason())
+                && Objects.equals(first.getMessage(), second.getMessage());
+    }
+
     /**
      * Updates the Status field of the Kafka CR. It diffs the desired status against the current status and calls
      * the update only when there is any difference in non-timestamp fields.
@@ -405,6 +523,7 @@ public abstract class AbstractOperator<
                 .map(resourceList ->
                         resourceList.stream()
                                 .map(resource -> new NamespaceAndName(resource.getMetadata().getNamespace(), resource.getMetadata().getName()))
+                                .filter(resource -> isOwned(resource.getNamespace(), resource.getName()))
                                 .collect(Collectors.toSet()));
     }
 
@@ -418,7 +537,8 @@ public abstract class AbstractOperator<
     }
 
     /**
-     * Create Kubernetes watch.
+     * Create Kubernetes watch. If a watch in the same namespace was closed before, the new watch resumes from the
+     * last resourceVersion it received.
      *
      * @param namespace Namespace where to watch for users.
      * @param onClose Callback called when the watch is closed.
@@ -426,15 +546,36 @@ public abstract class AbstractOperator<
      * @return A future which completes when the watcher has been created.
      */
     public Future<Watch> createWatch(String namespace, Consumer<KubernetesClientException> onClose) {
-        return async(vertx, () -> resourceOperator.watch(namespace, selector(), new OperatorWatcher<>(this, namespace, onClose)));
+        AtomicReference<String> resourceVersion = watchResourceVersions.computeIfAbsent(namespace, ignore -> new AtomicReference<>());
+        return async(vertx, () -> resourceOperator.watch(namespace, selector(), resourceVersion.get(),
+                new OperatorWatcher<>(this, namespace, resourceVersion, onClose)));
     }
 
+    /**
+     * Creates the callback which recreates the watch when it is closed with an error. The new watch resumes from the
+     * last seen resourceVersion, so the events missed in between are delivered without reconciling all resources.
+     * Only when the resourceVersion is too old (HTTP 410 Gone), the watch starts from scratch and its initial ADDED
+     * events trigger the reconciliation of all existing resources.
+     *
+     * @param namespace Namespace of the watch.
+     *
+     * @return The callback
+     */
     public Consumer<KubernetesClientException> recreateWatch(String namespace) {
         Consumer<KubernetesClientException> kubernetesClientExceptionConsumer = new Consumer<KubernetesClientException>() {
             @Override
             public void accept(KubernetesClientException e) {
                 if (e != null) {
-                    log.error("Watcher closed with exception in namespace {}", namespace, e);
+                    AtomicReference<String> resourceVersion = watchResourceVersions.computeIfAbsent(namespace, ignore -> new AtomicReference<>());
+
+                    if (e.getCode() == HttpURLConnection.HTTP_GONE) {
+                        log.warn("Watcher in namespace {} cannot resume from resourceVersion {} which is too old. All resources will be listed again.",
+                                namespace, resourceVersion.get());
+                        resourceVersion.set(null);
+                    } else {
+                        log.error("Watcher closed with exception in namespace {}. Resuming from resourceVersion {}", namespace, resourceVersion.get(), e);
+                    }
+
                     createWatch(namespace, this);
                 } else {
                     log.info("Watcher closed in namespace {}", namespace);
@@ -445,29 +586,33 @@ public abstract class AbstractOperator<
     }
 
     /**
-     * Log the reconciliation outcome.
+     * Log the reconciliation outcome and update the resource state metric.
+     *
+     * @param resourceExists Whether the reconciled resource exists or null if it is not known
      */
-    private void handleResult(Reconciliation reconciliation, AsyncResult<Void> result, Timer.Sample reconciliationTimerSample) {
+    private void handleResult(Reconciliation reconciliation, AsyncResult<Void> result, Timer.Sample reconciliationTimerSample, Boolean resourceExists) {
+        String stepsSummary = reconciliation.stepsSummary() != null ? " (" + reconciliation.stepsSummary() + ")" : "";
+
         if (result.succeeded()) {
-            updateResourceState(reconciliation, true);
             successfulReconciliationsCounter.increment();
             reconciliationTimerSample.stop(reconciliationsTimer);
-            log.info("{}: reconciled", reconciliation);
+            log.info("{}: reconciled{}", reconciliation, stepsSummary);
+            updateResourceState(reconciliation, resourceExists, true);
         } else {
             Throwable cause = result.cause();
 
             if (cause instanceof InvalidConfigParameterException) {
-                updateResourceState(reconciliation, false);
                 failedReconciliationsCounter.increment();
                 reconciliationTimerSample.stop(reconciliationsTimer);
                 log.warn("{}: Failed to reconcile {}", reconciliation, cause.getMessage());
+                updateResourceState(reconciliation, resourceExists, false);
             } else if (cause instanceof UnableToAcquireLockException) {
                 lockedReconciliationsCounter.increment();
             } else  {
-                updateResourceState(reconciliation, false);
                 failedReconciliationsCounter.increment();
                 reconciliationTimerSample.stop(reconciliationsTimer);
-                log.warn("{}: Failed to reconcile", reconciliation, cause);
+                log.warn("{}: Failed to reconcile{}", reconciliation, stepsSummary, cause);
+                updateResourceState(reconciliation, resourceExists, false);
             }
         }
     }
@@ -482,36 +627,53 @@ public abstract class AbstractOperator<
 
     /**
      * Updates the resource state metric for the provided reconciliation which brings kind, name and namespace
-     * of the custom resource.
+     * of the custom resource. The gauges are indexed by the resource, so the update does not depend on the number of
+     * meters in the registry.
      *
      * @param reconciliation reconciliation to use to update the resource state metric
+     * @param resourceExists true if the resource exists, false if it was deleted and null if it is not known
      * @param ready if reconcile was successful and the resource is ready
      */
-    private void updateResourceState(Reconciliation reconciliation, boolean ready) {
-        Tags metricTags = Tags.of(
-                Tag.of("kind", reconciliation.kind()),
-                Tag.of("name", reconciliation.name()),
-                Tag.of("resource-namespace", reconciliation.namespace()));
-
-        T cr = resourceOperator.get(reconciliation.namespace(), reconciliation.name());
-        if (cr != null) {
-            resourcesStateCounter.computeIfAbsent(metricTags, tags ->
-                    metrics.gauge(METRICS_PREFIX + "resource.state", "Current state of the resource: 1 ready, 0 fail", tags)
-            );
-            resourcesStateCounter.get(metricTags).set(ready ? 1 : 0);
-            log.debug("{}: Updated metric " + METRICS_PREFIX + "resource.state{} = {}", reconciliation, metricTags, ready ? 1 : 0);
+    private void updateResourceState(Reconciliation reconciliation, Boolean resourceExists, boolean ready) {
+        NamespaceAndName resource = new NamespaceAndName(reconciliation.namespace(), reconciliation.name());
+
+        if (Boolean.TRUE.equals(resourceExists)) {
+            ResourceStateGauge gauge = resourcesStateCounter.computeIfAbsent(resource, ignore -> new ResourceStateGauge(reconciliation));
+            gauge.value.set(ready ? 1 : 0);
+            log.debug("{}: Updated metric " + RESOURCE_STATE_METRIC + "{} = {}", reconciliation, gauge.id.getTags(), ready ? 1 : 0);
+        } else if (Boolean.FALSE.equals(resourceExists)) {
+            ResourceStateGauge gauge = resourcesStateCounter.remove(resource);
+
+            if (gauge != null) {
+                metrics.meterRegistry().remove(gauge.id);
+                ReconciliationGraph.removeMetrics(metrics, reconciliation);
+                log.debug("{}: Removed metric " + RESOURCE_STATE_METRIC + "{}", reconciliation, gauge.id.getTags());
+            }
         } else {
-            Optional<Meter> gauge = metrics.meterRegistry().getMeters()
-                    .stream()
-                    .filter(meter -> meter.getId().getName().equals(METRICS_PREFIX + "resource.state") &&
-                            meter.getId().getTags().equals(metricTags.stream().collect(Collectors.toList()))
-                    ).findFirst();
-
-            if (gauge.isPresent()) {
-                metrics.meterRegistry().remove(gauge.get().getId());
-                resourcesStateCounter.remove(metricTags);
-                log.debug("{}: Removed metric " + METRICS_PREFIX + "resource.state{}", reconciliation, metricTags);
+            // The resource could not be read, so only the state of an already known resource is updated
+            ResourceStateGauge gauge = resourcesStateCounter.get(resource);
+
+            if (gauge != null) {
+                gauge.value.set(ready ? 1 : 0);
             }
         }
     }
+
+    /**
+     * The resource state gauge together with its ID used to remove it from the registry
+     */
+    private class ResourceStateGauge {
+        private final Meter.Id id;
+        private final AtomicInteger value;
+
+        ResourceStateGauge(Reconciliation reconciliation) {
+            Tags tags = Tags.of(
+                    Tag.of("kind", reconciliation.kind()),
+                    Tag.of("name", reconciliation.name()),
+                    Tag.of("resource-namespace", reconciliation.namespace()));
+
+            this.value = metrics.gauge(RESOURCE_STATE_METRIC, RESOURCE_STATE_DESCRIPTION, tags);
+            this.id = new Meter.Id(RESOURCE_STATE_METRIC, tags, null, RESOURCE_STATE_DESCRIPTION, Meter.Type.GAUGE);
+        }
+    }
 }
@@ -0,0 +1,343 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.errors.AuthenticationException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * AdminClientProvider which reuses the Kafka Admin clients instead of creating a new one for each use. Creating an
+ * Admin client means a TLS handshake, a metadata bootstrap and a new network thread, so the operator keeps the clients
+ * open and shares them between the reconciliations.
+ *
+ * The clients are cached by the bootstrap address and a hash of the credentials (the cluster CA certificate and the
+ * client key and certificate). The returned instances are leases of the shared client: closing them releases the
+ * lease but keeps the shared client open. A shared client without leases is closed once it was not used for the idle
+ * timeout, see {@link #evictIdle()}.
+ *
+ * When a client is requested for a bootstrap address with different credentials (for example after the certificates
+ * were renewed), the clients with the old credentials are not handed out anymore and they are closed once all their
+ * leases are released. The same happens to a client whose requests failed with an authentication error or a timeout,
+ * so the following requests use a new client instead of a broken connection.
+ *
+ * The clients are created outside of the cache lock, so a slow connection to one cluster does not block the
+ * reconciliations of the other clusters.
+ */
+public class CachingAdminClientProvider implements AdminClientProvider {
+    private static final Logger LOGGER = LogManager.getLogger(CachingAdminClientProvider.class);
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final AdminClientProvider delegate;
+    private final long idleTimeoutMs;
+
+    // Guarded by this
+    private final Map<String, CachedAdminClient> clients = new HashMap<>();
+
+    /**
+     * Shared Admin client with the number of its leases. The client is created by the first lease.
+     */
+    private static class CachedAdminClient {
+        final String key;
+        final String bootstrapHostnames;
+        // Guarded by the CachingAdminClientProvider
+        int leases = 0;
+        long idleSinceMs = System.currentTimeMillis();
+        boolean retired = false;
+        // Guarded by this
+        private Admin admin;
+        private RuntimeException failure;
+
+        CachedAdminClient(String key, String bootstrapHostnames) {
+            this.key = key;
+            this.bootstrapHostnames = bootstrapHostnames;
+        }
+
+        /**
+         * Returns the client and creates it if it does not exist yet. The other leases of the same client wait until
+         * it is created. When the creation failed, they fail with the same error.
+         */
+        synchronized Admin admin(Supplier<Admin> creator) {
+            if (admin == null) {
+                if (failure != null) {
+                    throw failure;
+                }
+
+                try {
+                    admin = creator.get();
+                } catch (RuntimeException e) {
+                    failure = e;
+                    throw e;
+                }
+            }
+
+            return admin;
+        }
+
+        synchronized Admin admin() {
+            return admin;
+        }
+    }
+
+    /**
+     * @param delegate The provider which creates the Admin clients.
+     * @param idleTimeoutMs How long a client without leases is kept open.
+     */
+    public CachingAdminClientProvider(AdminClientProvider delegate, long idleTimeoutMs) {
+        this.delegate = delegate;
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    /**
+     * Returns a lease of the cached Admin client for the given bootstrap address and credentials. A new client is
+     * created when there is none yet. The returned instance has to be closed once it is not needed anymore.
+     */
+    @Override
+    public Admin createAdminClient(String bootstrapHostnames, Secret clusterCaCertSecret, Secret keyCertSecret, String keyCertName) {
+        String key = bootstrapHostnames + "#" + credentialsHash(clusterCaCertSecret, keyCertSecret, keyCertName);
+        List<CachedAdminClient> toClose = new ArrayList<>();
+        CachedAdminClient client;
+
+        synchronized (this) {
+            client = clients.get(key);
+
+            if (client == null) {
+                // The clients for the same brokers with other credentials were created before the certificates changed
+                retire(cached -> cached.bootstrapHostnames.equals(bootstrapHostnames), toClose);
+
+                client = new CachedAdminClient(key, bootstrapHostnames);
+                clients.put(key, client);
+            }
+
+            client.leases++;
+        }
+
+        close(toClose);
+
+        Admin admin;
+        try {
+            admin = client.admin(() -> {
+                LOGGER.debug("Creating a shared AdminClient for {}", bootstrapHostnames);
+                return delegate.createAdminClient(bootstrapHostnames, clusterCaCertSecret, keyCertSecret, keyCertName);
+            });
+        } catch (RuntimeException e) {
+            invalidate(client);
+            release(client);
+            throw e;
+        }
+
+        return lease(client, admin);
+    }
+
+    /**
+     * Closes the clients which have no leases and were not used for the idle timeout. This method blocks.
+     */
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        List<CachedAdminClient> toClose = new ArrayList<>();
+
+        synchronized (this) {
+            retire(cached -> cached.leases == 0 && now - cached.idleSinceMs >= idleTimeoutMs, toClose);
+        }
+
+        close(toClose);
+    }
+
+    /**
+     * Closes all cached clients. The clients which are still in use are closed when their last lease is released.
+     * The clients requested afterwards are cached again. This method blocks.
+     */
+    public void close() {
+        List<CachedAdminClient> toClose = new ArrayList<>();
+
+        synchronized (this) {
+            retire(cached -> true, toClose);
+        }
+
+        close(toClose);
+    }
+
+    /**
+     * @return The number of cached clients
+     */
+    public synchronized int size() {
+        return clients.size();
+    }
+
+    /**
+     * Removes the matching clients from the cache. The clients without leases are added to the list of clients to
+     * close, the other ones are closed when their last lease is released. Has to be called while holding the lock.
+     */
+    private void retire(Predicate<CachedAdminClient> predicate, List<CachedAdminClient> toClose) {
+        Iterator<CachedAdminClient> iterator = clients.values().iterator();
+
+        while (iterator.hasNext()) {
+            CachedAdminClient cached = iterator.next();
+
+            if (predicate.test(cached)) {
+                iterator.remove();
+                cached.retired = true;
+
+                if (cached.leases == 0) {
+                    toClose.add(cached);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a client whose requests failed from the cache, unless it was already replaced by another client.
+     */
+    private void invalidate(CachedAdminClient client) {
+        boolean close = false;
+
+        synchronized (this) {
+            if (clients.get(client.key) == client) {
+                LOGGER.debug("Evicting the shared AdminClient for {}", client.bootstrapHostnames);
+                clients.remove(client.key);
+                client.retired = true;
+                close = client.leases == 0;
+            }
+        }
+
+        if (close) {
+            close(Collections.singletonList(client));
+        }
+    }
+
+    private void release(CachedAdminClient client) {
+        boolean close;
+
+        synchronized (this) {
+            client.leases--;
+            client.idleSinceMs = System.currentTimeMillis();
+            close = client.retired && client.leases == 0;
+        }
+
+        if (close) {
+            close(Collections.singletonList(client));
+        }
+    }
+
+    private static void close(List<CachedAdminClient> toClose) {
+        for (CachedAdminClient cached : toClose) {
+            Admin admin = cached.admin();
+
+            if (admin == null) {
+                // The client was never created
+                continue;
+            }
+
+            LOGGER.debug("Closing the shared AdminClient for {}", cached.bootstrapHostnames);
+
+            try {
+                admin.close(CLOSE_TIMEOUT);
+            } catch (RuntimeException e) {
+                LOGGER.debug("Failed to close the shared AdminClient for {}", cached.bootstrapHostnames, e);
+            }
+        }
+    }
+
+    /**
+     * Returns an Admin instance which delegates to the shared client and releases the lease when it is closed. The
+     * client is evicted from the cache when a request fails with an error which the client does not recover from.
+     */
+    private Admin lease(CachedAdminClient client, Admin admin) {
+        AtomicBoolean released = new AtomicBoolean(false);
+
+        return (Admin) Proxy.newProxyInstance(Admin.class.getClassLoader(), new Class<?>[] {Admin.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    if (released.compareAndSet(false, true)) {
+                        release(client);
+                    }
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    try {
+                        Object result = method.invoke(admin, args);
+                        watch(client, result);
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        if (isFatal(e.getCause())) {
+                            invalidate(client);
+                        }
+                        throw e.getCause();
+                    }
+            }
+        });
+    }
+
+    /**
+     * Evicts the client when one of the futures of the request result fails with a fatal error. The Admin methods
+     * return result classes which expose the futures through methods without parameters.
+     */
+    private void watch(CachedAdminClient client, Object result) {
+        if (result instanceof KafkaFuture) {
+            ((KafkaFuture<?>) result).whenComplete((ignored, error) -> {
+                if (error != null && isFatal(error)) {
+                    invalidate(client);
+                }
+            });
+        } else if (result != null && result.getClass().getName().startsWith(Admin.class.getPackage().getName())) {
+            for (Method method : result.getClass().getMethods()) {
+                if (method.getParameterCount() == 0 && KafkaFuture.class.isAssignableFrom(method.getReturnType())) {
+                    try {
+                        watch(client, method.invoke(result));
+                    } catch (ReflectiveOperationException | RuntimeException e) {
+                        LOGGER.debug("Failed to get the futures of {}", result.getClass().getName(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return True if the error means that the client cannot be used anymore, for example because the credentials
+     * are not valid anymore or the brokers cannot be reached
+     */
+    /*test*/ static boolean isFatal(Throwable error) {
+        Throwable cause = error;
+
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        return cause instanceof AuthenticationException || cause instanceof TimeoutException;
+    }
+
+    private static String credentialsHash(Secret clusterCaCertSecret, Secret keyCertSecret, String keyCertName) {
+        return Util.stringHash(data(clusterCaCertSecret) + "#" + data(keyCertSecret) + "#" + keyCertName);
+    }
+
+    private static Map<String, String> data(Secret secret) {
+        return secret != null && secret.getData() != null ? new TreeMap<>(secret.getData()) : null;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Vertx;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the event loop was blocked. A periodic timer is scheduled on the event loop of the context from
+ * which {@link #start()} is called, and the time by which it fires too late is recorded in the
+ * {@code strimzi.event.loop.blocked} metric. Any blocking call running on the event loop (e.g. a synchronous call
+ * to the Kubernetes API) delays the timer and shows up in this metric.
+ */
+public class EventLoopMonitor {
+    public static final String METRIC_NAME = AbstractOperator.METRICS_PREFIX + "event.loop.blocked";
+    public static final long DEFAULT_INTERVAL_MS = 1_000L;
+
+    private final Vertx vertx;
+    private final MetricsProvider metrics;
+    private final long intervalMs;
+
+    private Timer blockedTimer;
+    private long lastTick;
+    private long timerId = -1;
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param metrics The metrics provider.
+     * @param intervalMs How often the event loop is checked.
+     */
+    public EventLoopMonitor(Vertx vertx, MetricsProvider metrics, long intervalMs) {
+        this.vertx = vertx;
+        this.metrics = metrics;
+        this.intervalMs = intervalMs;
+    }
+
+    /**
+     * Starts monitoring the event loop of the current Vert.x context. This should be called from the start method of
+     * a verticle.
+     */
+    public void start() {
+        lastTick = System.nanoTime();
+        timerId = vertx.setPeriodic(intervalMs, id -> tick(System.nanoTime()));
+    }
+
+    /**
+     * Stops monitoring the event loop
+     */
+    public void stop() {
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+    }
+
+    private void tick(long now) {
+        if (blockedTimer == null) {
+            // The timer always fires on the same event loop thread
+            blockedTimer = metrics.timer(METRIC_NAME,
+                    "Time by which the event loop was blocked and delayed the tasks scheduled on it",
+                    Tags.of(Tag.of("thread", Thread.currentThread().getName())));
+        }
+
+        long blockedNs = now - lastTick - TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        lastTick = now;
+
+        // Periodic timers run at fixed rate, so the tick after a delayed one can fire early
+        blockedTimer.record(Math.max(0, blockedNs), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.shareddata.LocalMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Registry of the HTTP clients used for the calls to the REST APIs of the operands. Each type of REST API (see
+ * {@link Target}) uses one shared client with keep-alive connections instead of opening a new connection for each
+ * request. The shared client keeps a separate connection pool for each host and port, so the connections to one
+ * Kafka Connect cluster or Cruise Control instance are reused by the following requests to the same instance.
+ * The clients are configured once when the operator starts using
+ * {@link #configure(Vertx, int, long, long, MetricsProvider)}. Clients which were not configured are created with the
+ * default settings and without metrics on first use.
+ */
+public class HttpClients {
+    private static final Logger LOGGER = LogManager.getLogger(HttpClients.class);
+    private static final String CLIENTS_MAP = "strimzi.http.clients";
+
+    /**
+     * Default maximal number of connections to one host
+     */
+    public static final int DEFAULT_MAX_POOL_SIZE = HttpClientOptions.DEFAULT_MAX_POOL_SIZE;
+
+    /**
+     * Default time for which an unused connection is kept open in the pool
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = 60_000;
+
+    /**
+     * Default timeout for opening a new connection
+     */
+    public static final long DEFAULT_CONNECT_TIMEOUT_MS = HttpClientOptions.DEFAULT_CONNECT_TIMEOUT;
+
+    /**
+     * Types of REST APIs with their own HTTP client
+     */
+    public enum Target {
+        /**
+         * Kafka Connect REST API used by the KafkaConnect, KafkaConnectS2I and KafkaMirrorMaker2 operators
+         */
+        KAFKA_CONNECT("kafka-connect", true),
+
+        /**
+         * Cruise Control REST API used by the KafkaRebalance operator
+         */
+        CRUISE_CONTROL("cruise-control", false);
+
+        private final String name;
+        private final boolean logActivity;
+
+        Target(String name, boolean logActivity) {
+            this.name = name;
+            this.logActivity = logActivity;
+        }
+
+        /**
+         * @return True if the network activity of the client should be logged
+         */
+        public boolean logActivity() {
+            return logActivity;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private HttpClients() { }
+
+    /**
+     * Creates the HTTP clients with the configured connection pools. Clients which are already in use keep their
+     * configuration.
+     *
+     * @param vertx The Vertx instance.
+     * @param maxPoolSize The maximal number of connections to one host.
+     * @param idleTimeoutMs How long unused connections are kept open in the pool.
+     * @param connectTimeoutMs The timeout for opening a new connection.
+     * @param metrics The metrics provider used to instrument the clients.
+     */
+    public static void configure(Vertx vertx, int maxPoolSize, long idleTimeoutMs, long connectTimeoutMs, MetricsProvider metrics) {
+        LocalMap<String, PooledHttpClient> clients = clients(vertx);
+
+        for (Target target : Target.values()) {
+            if (clients.get(target.toString()) != null
+                    || clients.putIfAbsent(target.toString(), new PooledHttpClient(vertx, target, maxPoolSize, idleTimeoutMs, connectTimeoutMs, metrics)) != null) {
+                LOGGER.warn("HTTP client {} is already in use and cannot be configured", target);
+            } else {
+                LOGGER.info("Configured HTTP client {} with up to {} connections per host", target, maxPoolSize);
+            }
+        }
+    }
+
+    /**
+     * Gets the shared HTTP client for the given REST API.
+     *
+     * @param vertx The Vertx instance.
+     * @param target The type of the REST API.
+     *
+     * @return The HTTP client
+     */
+    public static PooledHttpClient get(Vertx vertx, Target target) {
+        LocalMap<String, PooledHttpClient> clients = clients(vertx);
+        PooledHttpClient client = clients.get(target.toString());
+
+        if (client == null) {
+            client = new PooledHttpClient(vertx, target, DEFAULT_MAX_POOL_SIZE, DEFAULT_IDLE_TIMEOUT_MS, DEFAULT_CONNECT_TIMEOUT_MS, null);
+            PooledHttpClient existing = clients.putIfAbsent(target.toString(), client);
+
+            if (existing != null) {
+                client = existing;
+            }
+        }
+
+        return client;
+    }
+
+    private static LocalMap<String, PooledHttpClient> clients(Vertx vertx) {
+        return vertx.sharedData().getLocalMap(CLIENTS_MAP);
+    }
+}
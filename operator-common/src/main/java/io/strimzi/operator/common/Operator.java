@@ -42,6 +42,17 @@ public interface Operator {
      */
     Future<Void> reconcile(Reconciliation reconciliation);
 
+    /**
+     * Queue the reconciliation of the resource identified by the given reconciliation. Operators which queue the
+     * reconciliations can merge it with other reconciliations of the same resource. By default, the resource is
+     * reconciled immediately.
+     * @param reconciliation The resource.
+     * @return A Future which is completed once the resource has been reconciled.
+     */
+    default Future<Void> enqueue(Reconciliation reconciliation) {
+        return reconcile(reconciliation);
+    }
+
     /**
      * Triggers the asynchronous reconciliation of all resources which this operator consumes.
      * The resources to reconcile are identified by {@link #allResourceNames(String)}.
@@ -67,7 +78,7 @@ public interface Operator {
 
             for (NamespaceAndName resourceRef : desiredNames) {
                 Reconciliation reconciliation = new Reconciliation(trigger, kind(), resourceRef.getNamespace(), resourceRef.getName());
-                futures.add(reconcile(reconciliation));
+                futures.add(enqueue(reconciliation));
             }
             CompositeFuture.join(futures).map((Void) null).onComplete(handler);
         } else {
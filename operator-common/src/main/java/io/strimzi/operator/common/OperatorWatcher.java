@@ -10,43 +10,58 @@ import io.fabric8.kubernetes.client.Watcher;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 /**
  * The fabric8 Watcher used to trigger reconciliation of an {@link Operator}.
+ * The watcher remembers the resourceVersion of the last received event (including bookmarks), so that a new watch
+ * can resume from it after this one is closed instead of starting from scratch.
  * @param <T> The resource type
  */
 class OperatorWatcher<T extends HasMetadata> implements Watcher<T> {
     private final String namespace;
+    private final AtomicReference<String> resourceVersion;
     private final Consumer<KubernetesClientException> onClose;
     private Operator operator;
     private static final Logger log = LogManager.getLogger(OperatorWatcher.class);
 
-    OperatorWatcher(Operator operator, String namespace, Consumer<KubernetesClientException> onClose) {
+    OperatorWatcher(Operator operator, String namespace, AtomicReference<String> resourceVersion, Consumer<KubernetesClientException> onClose) {
         this.namespace = namespace;
+        this.resourceVersion = resourceVersion;
         this.onClose = onClose;
         this.operator = operator;
     }
 
     @Override
     public void eventReceived(Action action, T resource) {
+        if (resource == null || resource.getMetadata() == null) {
+            log.warn("Received {} event without a resource for {} in namespace {}", action, operator.kind(), namespace);
+            return;
+        }
+
         String name = resource.getMetadata().getName();
         String namespace = resource.getMetadata().getNamespace();
+
+        if (resource.getMetadata().getResourceVersion() != null) {
+            resourceVersion.set(resource.getMetadata().getResourceVersion());
+        }
+
         switch (action) {
             case ADDED:
             case DELETED:
             case MODIFIED:
                 Reconciliation reconciliation = new Reconciliation("watch", operator.kind(), namespace, name);
                 log.info("{}: {} {} in namespace {} was {}", reconciliation, operator.kind(), name, namespace, action);
-                operator.reconcile(reconciliation);
+                operator.enqueue(reconciliation);
                 break;
             case ERROR:
-                log.error("Failed {} {} in namespace{} ", operator.kind(), name, namespace);
-                operator.reconcileAll("watch error", namespace, ignored -> { });
+                // The watch is resumed from the last resourceVersion when it is closed, so no full reconciliation is needed
+                log.error("Failed {} {} in namespace {}", operator.kind(), name, namespace);
                 break;
             default:
-                log.error("Unknown action: {} in namespace {}", name, namespace);
-                operator.reconcileAll("watch unknown", namespace, ignored -> { });
+                // Bookmarks only move the resourceVersion used to resume the watch
+                log.debug("{} event for {} in namespace {} at resourceVersion {}", action, operator.kind(), this.namespace, resourceVersion.get());
         }
     }
 
@@ -0,0 +1,146 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static io.strimzi.operator.common.AbstractOperator.METRICS_PREFIX;
+
+/**
+ * Shared HTTP client with keep-alive connections used for one type of REST API. The clients are obtained from
+ * {@link HttpClients#get(Vertx, HttpClients.Target)}. The underlying Vert.x client keeps a pool of connections for each
+ * host and port, the connections are reused by the following requests and closed once they were not used for the idle
+ * timeout. When metrics are enabled, the client exposes the number of requests in progress and the duration and
+ * failures of the requests.
+ */
+public class PooledHttpClient implements Shareable {
+    /*test*/ static final String ACTIVE_METRIC = METRICS_PREFIX + "http.client.requests.active";
+    /*test*/ static final String REQUESTS_METRIC = METRICS_PREFIX + "http.client.requests";
+    /*test*/ static final String FAILED_METRIC = METRICS_PREFIX + "http.client.requests.failed";
+
+    private final Vertx vertx;
+    private final HttpClients.Target target;
+    private final int maxPoolSize;
+    private final long idleTimeoutMs;
+    private final long connectTimeoutMs;
+    private final AtomicInteger active;
+    private final Timer requestsTimer;
+    private final Counter failedCounter;
+
+    private volatile HttpClient client;
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param target The type of REST API called with this client.
+     * @param maxPoolSize The maximal number of connections to one host.
+     * @param idleTimeoutMs How long unused connections are kept open in the pool.
+     * @param connectTimeoutMs The timeout for opening a new connection.
+     * @param metrics The metrics provider or null if the client should not be instrumented.
+     */
+    PooledHttpClient(Vertx vertx, HttpClients.Target target, int maxPoolSize, long idleTimeoutMs, long connectTimeoutMs, MetricsProvider metrics) {
+        this.vertx = vertx;
+        this.target = target;
+        this.maxPoolSize = maxPoolSize;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.connectTimeoutMs = connectTimeoutMs;
+
+        if (metrics != null) {
+            Tags tags = Tags.of(Tag.of("client", target.toString()));
+            this.active = metrics.gauge(ACTIVE_METRIC, "Number of HTTP requests in progress", tags);
+            this.requestsTimer = metrics.timer(REQUESTS_METRIC, "Time the HTTP requests took including the wait for a pooled connection", tags);
+            this.failedCounter = metrics.counter(FAILED_METRIC, "Number of failed HTTP requests", tags);
+        } else {
+            this.active = new AtomicInteger(0);
+            this.requestsTimer = null;
+            this.failedCounter = null;
+        }
+    }
+
+    /**
+     * @return The shared Vert.x HTTP client. It must not be closed by the callers.
+     */
+    public HttpClient client() {
+        if (client == null) {
+            synchronized (this) {
+                if (client == null) {
+                    client = vertx.createHttpClient(new HttpClientOptions()
+                            .setLogActivity(target.logActivity())
+                            .setKeepAlive(true)
+                            .setMaxPoolSize(maxPoolSize)
+                            .setKeepAliveTimeout((int) TimeUnit.MILLISECONDS.toSeconds(idleTimeoutMs + 999))
+                            .setConnectTimeout((int) connectTimeoutMs));
+                }
+            }
+        }
+
+        return client;
+    }
+
+    /**
+     * Performs a request with the shared client. The operation completes the promise once the response was handled.
+     *
+     * @param operation The operation which sends the request and handles the response.
+     * @param <T> The type of the result.
+     *
+     * @return A future which completes with the result of the operation
+     */
+    public <T> Future<T> execute(BiConsumer<HttpClient, Promise<T>> operation) {
+        Promise<T> promise = Promise.promise();
+        long started = System.nanoTime();
+        active.incrementAndGet();
+
+        try {
+            operation.accept(client(), promise);
+        } catch (RuntimeException e) {
+            promise.tryFail(e);
+        }
+
+        return promise.future().onComplete(res -> {
+            active.decrementAndGet();
+
+            if (requestsTimer != null) {
+                requestsTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+
+            if (res.failed() && failedCounter != null) {
+                failedCounter.increment();
+            }
+        });
+    }
+
+    /**
+     * @return The type of REST API called with this client
+     */
+    public HttpClients.Target target() {
+        return target;
+    }
+
+    /**
+     * @return The maximal number of connections to one host
+     */
+    public int maxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * @return The number of requests in progress
+     */
+    public int active() {
+        return active.get();
+    }
+}
@@ -22,6 +22,7 @@ public class Reconciliation {
     private final String namespace;
     private final String name;
     private final int id;
+    private volatile String stepsSummary;
 
     public Reconciliation(String trigger, String kind, String namespace, String assemblyName) {
         this.trigger = trigger;
@@ -31,6 +32,10 @@ public class Reconciliation {
         this.id = IDS.getAndIncrement();
     }
 
+    public String trigger() {
+        return trigger;
+    }
+
     public String kind() {
         return kind;
     }
@@ -43,6 +48,24 @@ public class Reconciliation {
         return name;
     }
 
+    /**
+     * @return The summary of the reconciliation steps (such as the slowest steps) which is added to the log message
+     * with the outcome of the reconciliation or null if there is none
+     */
+    public String stepsSummary() {
+        return stepsSummary;
+    }
+
+    /**
+     * Sets the summary of the reconciliation steps which is added to the log message with the outcome of the
+     * reconciliation.
+     *
+     * @param stepsSummary The summary
+     */
+    public void setStepsSummary(String stepsSummary) {
+        this.stepsSummary = stepsSummary;
+    }
+
     public String toString() {
         return "Reconciliation #" + id + "(" + trigger + ") " + kind() + "(" + namespace() + "/" + name() + ")";
     }
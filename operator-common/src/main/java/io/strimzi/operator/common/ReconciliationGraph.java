@@ -0,0 +1,319 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.search.Search;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static io.strimzi.operator.common.AbstractOperator.METRICS_PREFIX;
+
+/**
+ * Runs the steps of a reconciliation as a directed acyclic graph. Every step declares the steps it depends on and it
+ * is started as soon as all of them succeeded, so that independent steps run concurrently instead of one after
+ * another. The dependencies have to be declared before the step which depends on them, which keeps the graph acyclic.
+ *
+ * All steps are started and completed on the Vert.x context which executed the graph. They can therefore share
+ * mutable reconciliation state in the same way as the steps of a chain of composed futures. When a step fails, no
+ * further steps are started and the graph fails with the cause of the first failure once the running steps completed.
+ *
+ * The time spent in each step is recorded, so that the critical path of the reconciliation (the chain of steps
+ * which determined its duration) can be logged and analyzed. When a metrics provider is used, the durations are also
+ * recorded in a timer per resource and step and the slowest steps are added to the log message with the outcome of
+ * the reconciliation (see {@link Reconciliation#stepsSummary()}).
+ *
+ * A graph can be executed only once.
+ *
+ * @param <S> The type of the reconciliation state passed to the steps
+ */
+public class ReconciliationGraph<S> {
+    private static final Logger log = LogManager.getLogger(ReconciliationGraph.class);
+
+    /*test*/ static final String STEP_METRIC = METRICS_PREFIX + "reconciliations.step.duration";
+    private static final String STEP_METRIC_DESCRIPTION = "The time the individual steps of the reconciliation take to complete";
+    private static final int SLOWEST_STEPS = 3;
+
+    private final Reconciliation reconciliation;
+    private final MetricsProvider metrics;
+    private final Tags metricTags;
+    private final Map<String, Step<S>> steps = new LinkedHashMap<>();
+
+    // All fields below are accessed only from the context executing the graph
+    private Context context;
+    private S state;
+    private Promise<S> result;
+    private int running = 0;
+    private Throwable failure;
+    private long startedNs;
+
+    private enum Status {
+        PENDING, RUNNING, SUCCEEDED, FAILED
+    }
+
+    /**
+     * Single step of the graph
+     */
+    private static class Step<S> {
+        final String name;
+        final Function<S, Future<S>> action;
+        final List<Step<S>> dependencies;
+        Status status = Status.PENDING;
+        long startedNs;
+        long finishedNs;
+
+        Step(String name, Function<S, Future<S>> action, List<Step<S>> dependencies) {
+            this.name = name;
+            this.action = action;
+            this.dependencies = dependencies;
+        }
+
+        long durationMs() {
+            return TimeUnit.NANOSECONDS.toMillis(finishedNs - startedNs);
+        }
+    }
+
+    /**
+     * @param reconciliation The reconciliation (for logging).
+     */
+    public ReconciliationGraph(Reconciliation reconciliation) {
+        this(reconciliation, null);
+    }
+
+    /**
+     * @param reconciliation The reconciliation.
+     * @param metrics The metrics provider used to record the durations of the steps or null.
+     */
+    public ReconciliationGraph(Reconciliation reconciliation, MetricsProvider metrics) {
+        this.reconciliation = reconciliation;
+        this.metrics = metrics;
+        this.metricTags = resourceTags(reconciliation);
+    }
+
+    private static Tags resourceTags(Reconciliation reconciliation) {
+        return Tags.of(
+                Tag.of("kind", reconciliation.kind()),
+                Tag.of("name", reconciliation.name()),
+                Tag.of("resource-namespace", reconciliation.namespace()));
+    }
+
+    /**
+     * Removes the step duration metrics of a resource. It should be called when the resource is deleted.
+     *
+     * @param metrics The metrics provider.
+     * @param reconciliation The reconciliation of the deleted resource.
+     */
+    public static void removeMetrics(MetricsProvider metrics, Reconciliation reconciliation) {
+        MeterRegistry registry = metrics.meterRegistry();
+        Search search = registry.find(STEP_METRIC);
+
+        if (search != null) {
+            for (Meter meter : search.tags(resourceTags(reconciliation)).meters()) {
+                registry.remove(meter);
+            }
+        }
+    }
+
+    /**
+     * Adds a step to the graph.
+     *
+     * @param name The unique name of the step.
+     * @param action The step. It is called with the reconciliation state once all dependencies succeeded.
+     * @param dependencies The names of the steps which have to succeed before this step is started. They have to be
+     *                     already added to the graph. Steps without dependencies are started right away.
+     *
+     * @return This graph
+     *
+     * @throws IllegalArgumentException When a step with the same name already exists or when a dependency is unknown
+     */
+    public ReconciliationGraph<S> step(String name, Function<S, Future<S>> action, String... dependencies) {
+        if (steps.containsKey(name)) {
+            throw new IllegalArgumentException("Step " + name + " is defined more than once");
+        }
+
+        List<Step<S>> dependencySteps = new ArrayList<>(dependencies.length);
+        for (String dependency : dependencies) {
+            Step<S> dependencyStep = steps.get(dependency);
+
+            if (dependencyStep == null) {
+                throw new IllegalArgumentException("Step " + name + " depends on unknown step " + dependency);
+            }
+
+            dependencySteps.add(dependencyStep);
+        }
+
+        steps.put(name, new Step<>(name, action, dependencySteps));
+        return this;
+    }
+
+    /**
+     * Executes the steps of the graph.
+     *
+     * @param vertx The Vertx instance.
+     * @param state The reconciliation state passed to all steps.
+     *
+     * @return A future which completes with the reconciliation state once all steps succeeded or which fails with
+     * the cause of the first failed step
+     */
+    public Future<S> execute(Vertx vertx, S state) {
+        if (result != null) {
+            throw new IllegalStateException("The reconciliation graph was already executed");
+        }
+
+        this.context = vertx.getOrCreateContext();
+        this.state = state;
+        this.result = Promise.promise();
+        this.startedNs = System.nanoTime();
+
+        context.runOnContext(v -> startReadySteps());
+
+        return result.future();
+    }
+
+    private void startReadySteps() {
+        if (failure == null) {
+            for (Step<S> step : steps.values()) {
+                if (step.status == Status.PENDING
+                        && step.dependencies.stream().allMatch(dependency -> dependency.status == Status.SUCCEEDED)) {
+                    step.status = Status.RUNNING;
+                    running++;
+                    context.runOnContext(v -> start(step));
+                }
+            }
+        }
+
+        if (running == 0) {
+            reconciliation.setStepsSummary(slowestStepsSummary());
+
+            if (log.isDebugEnabled()) {
+                long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNs);
+                log.debug("{}: Reconciliation steps finished in {}ms, critical path: {}", reconciliation, durationMs, criticalPathDescription());
+            }
+
+            if (failure != null) {
+                result.fail(failure);
+            } else {
+                result.complete(state);
+            }
+        }
+    }
+
+    private void start(Step<S> step) {
+        log.trace("{}: Starting step {}", reconciliation, step.name);
+        step.startedNs = System.nanoTime();
+
+        Future<S> stepResult;
+        try {
+            stepResult = step.action.apply(state);
+        } catch (Throwable t) {
+            stepResult = Future.failedFuture(t);
+        }
+
+        stepResult.onComplete(res -> context.runOnContext(v -> finished(step, res)));
+    }
+
+    private void finished(Step<S> step, AsyncResult<S> res) {
+        step.finishedNs = System.nanoTime();
+        running--;
+
+        if (metrics != null) {
+            metrics.timer(STEP_METRIC, STEP_METRIC_DESCRIPTION, metricTags.and("step", step.name))
+                    .record(step.finishedNs - step.startedNs, TimeUnit.NANOSECONDS);
+        }
+
+        if (res.succeeded()) {
+            log.trace("{}: Step {} succeeded after {}ms", reconciliation, step.name, step.durationMs());
+            step.status = Status.SUCCEEDED;
+        } else {
+            log.debug("{}: Step {} failed after {}ms", reconciliation, step.name, step.durationMs(), res.cause());
+            step.status = Status.FAILED;
+
+            if (failure == null) {
+                failure = res.cause();
+            }
+        }
+
+        startReadySteps();
+    }
+
+    /**
+     * @return The durations of the finished steps in milliseconds, in the order in which the steps were added
+     */
+    public Map<String, Long> durations() {
+        Map<String, Long> durations = new LinkedHashMap<>();
+
+        for (Step<S> step : steps.values()) {
+            if (step.status == Status.SUCCEEDED || step.status == Status.FAILED) {
+                durations.put(step.name, step.durationMs());
+            }
+        }
+
+        return durations;
+    }
+
+    /**
+     * Finds the critical path of the executed graph. It starts with the step which finished last and follows the
+     * dependency which finished last, since that is the one which delayed the start of the step.
+     *
+     * @return The names of the steps on the critical path, starting with the first step
+     */
+    public List<String> criticalPath() {
+        List<String> path = new ArrayList<>();
+        Step<S> step = lastFinished(new ArrayList<>(steps.values()));
+
+        while (step != null) {
+            path.add(step.name);
+            step = lastFinished(step.dependencies);
+        }
+
+        Collections.reverse(path);
+        return path;
+    }
+
+    private Step<S> lastFinished(List<Step<S>> candidates) {
+        Step<S> last = null;
+
+        for (Step<S> candidate : candidates) {
+            if ((candidate.status == Status.SUCCEEDED || candidate.status == Status.FAILED)
+                    && (last == null || candidate.finishedNs - last.finishedNs > 0)) {
+                last = candidate;
+            }
+        }
+
+        return last;
+    }
+
+    private String criticalPathDescription() {
+        return criticalPath().stream()
+                .map(name -> name + " (" + steps.get(name).durationMs() + "ms)")
+                .collect(Collectors.joining(" -> "));
+    }
+
+    private String slowestStepsSummary() {
+        return "slowest steps: " + durations().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(SLOWEST_STEPS)
+                .map(entry -> entry.getKey() + " " + entry.getValue() + "ms")
+                .collect(Collectors.joining(", "));
+    }
+}
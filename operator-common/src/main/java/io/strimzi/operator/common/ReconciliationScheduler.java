@@ -0,0 +1,228 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static io.strimzi.operator.common.AbstractOperator.METRICS_PREFIX;
+
+/**
+ * Limits the number of reconciliations running at the same time across all operators sharing the scheduler. Each
+ * operator still limits its own reconciliations using its {@link ReconciliationWorkQueue}, the scheduler adds a limit
+ * for each kind and a limit for all kinds together on top of it.
+ *
+ * When the limits are reached, the reconciliations wait for a free slot. The free slots are handed out to the kinds
+ * in a round-robin order, so that a kind with many waiting reconciliations (for example hundreds of KafkaConnect
+ * resources after a periodic reconciliation) does not delay the reconciliations of the other kinds.
+ *
+ * The scheduler also spreads the periodic reconciliations over a jitter interval, so that the resources are not all
+ * queued at the same moment when the periodic reconciliation is triggered. The work queues defer the periodic
+ * reconciliations by the delay returned from {@link #delayMs(Reconciliation)}.
+ */
+public class ReconciliationScheduler {
+    private static final Logger log = LogManager.getLogger(ReconciliationScheduler.class);
+
+    /**
+     * Trigger of the periodic reconciliations which are spread over the jitter interval
+     */
+    public static final String PERIODIC_TRIGGER = "timer";
+
+    /*test*/ static final String WAITING_METRIC = METRICS_PREFIX + "reconciliations.waiting";
+
+    private final int maxConcurrentReconciliations;
+    private final int maxConcurrentReconciliationsPerKind;
+    private final long periodicJitterMs;
+    private final MetricsProvider metrics;
+
+    // All fields below are guarded by this
+    private final Map<String, Deque<Promise<Void>>> waiting = new HashMap<>();
+    // Kinds with waiting reconciliations in the order in which they get the next free slot
+    private final Deque<String> kinds = new ArrayDeque<>();
+    private final Map<String, Integer> runningByKind = new HashMap<>();
+    private final Map<String, AtomicInteger> waitingGauges = new HashMap<>();
+    private int running = 0;
+
+    /**
+     * @param maxConcurrentReconciliations The maximum number of reconciliations of all kinds running at the same
+     *                                     time or 0 for no limit.
+     * @param maxConcurrentReconciliationsPerKind The maximum number of reconciliations of a single kind running at
+     *                                            the same time or 0 for no limit.
+     * @param periodicJitterMs The interval over which the periodic reconciliations are spread or 0 to start them
+     *                         right away.
+     * @param metrics The metrics provider or null if the number of waiting reconciliations should not be exposed.
+     */
+    public ReconciliationScheduler(int maxConcurrentReconciliations, int maxConcurrentReconciliationsPerKind,
+                                   long periodicJitterMs, MetricsProvider metrics) {
+        if (maxConcurrentReconciliations < 0 || maxConcurrentReconciliationsPerKind < 0 || periodicJitterMs < 0) {
+            throw new IllegalArgumentException("The limits and the jitter of the reconciliation scheduler must not be negative");
+        }
+
+        this.maxConcurrentReconciliations = maxConcurrentReconciliations;
+        this.maxConcurrentReconciliationsPerKind = maxConcurrentReconciliationsPerKind;
+        this.periodicJitterMs = periodicJitterMs;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Runs the reconciliation once there is a free slot for its kind.
+     *
+     * @param kind The kind of the reconciled resource.
+     * @param reconciliation Starts the reconciliation.
+     * @param <T> The type of the result of the reconciliation.
+     *
+     * @return A future which completes with the result of the reconciliation
+     */
+    public <T> Future<T> execute(String kind, Supplier<Future<T>> reconciliation) {
+        return acquire(kind).compose(ignore -> {
+            Future<T> result;
+
+            try {
+                result = reconciliation.get();
+            } catch (Throwable t) {
+                result = Future.failedFuture(t);
+            }
+
+            return result.onComplete(res -> release(kind));
+        });
+    }
+
+    /**
+     * @param reconciliation The reconciliation.
+     *
+     * @return The delay in milliseconds before the reconciliation should be queued. It is a random delay within the
+     * jitter interval for periodic reconciliations and 0 for all other reconciliations.
+     */
+    public long delayMs(Reconciliation reconciliation) {
+        if (periodicJitterMs > 0 && PERIODIC_TRIGGER.equals(reconciliation.trigger())) {
+            return ThreadLocalRandom.current().nextLong(periodicJitterMs);
+        }
+
+        return 0;
+    }
+
+    /**
+     * @return The number of running reconciliations of all kinds
+     */
+    public synchronized int running() {
+        return running;
+    }
+
+    /**
+     * @param kind The kind of the reconciled resources.
+     *
+     * @return The number of reconciliations of the given kind which wait for a free slot
+     */
+    public synchronized int waiting(String kind) {
+        Deque<Promise<Void>> queue = waiting.get(kind);
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Waits for a free slot for a reconciliation of the given kind. The slot has to be released using
+     * {@link #release(String)} once the reconciliation completes.
+     *
+     * @param kind The kind of the reconciled resource.
+     *
+     * @return A future which completes once the slot was granted
+     */
+    public Future<Void> acquire(String kind) {
+        Promise<Void> promise = Promise.promise();
+
+        synchronized (this) {
+            Deque<Promise<Void>> queue = waiting.get(kind);
+
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                waiting.put(kind, queue);
+                kinds.add(kind);
+            }
+
+            queue.add(promise);
+            waitingGauge(kind).set(queue.size());
+        }
+
+        grant();
+        return promise.future();
+    }
+
+    /**
+     * Releases a slot granted using {@link #acquire(String)}.
+     *
+     * @param kind The kind of the reconciled resource.
+     */
+    public void release(String kind) {
+        synchronized (this) {
+            running--;
+            runningByKind.merge(kind, -1, Integer::sum);
+        }
+
+        grant();
+    }
+
+    /**
+     * Hands out the free slots to the waiting reconciliations. The kinds take turns, a kind which reached its own
+     * limit is skipped.
+     */
+    private void grant() {
+        List<Promise<Void>> granted = new ArrayList<>();
+
+        synchronized (this) {
+            int candidates = kinds.size();
+
+            while (candidates > 0 && (maxConcurrentReconciliations == 0 || running < maxConcurrentReconciliations)) {
+                String kind = kinds.poll();
+                candidates--;
+
+                if (maxConcurrentReconciliationsPerKind > 0
+                        && runningByKind.getOrDefault(kind, 0) >= maxConcurrentReconciliationsPerKind) {
+                    kinds.add(kind);
+                    continue;
+                }
+
+                Deque<Promise<Void>> queue = waiting.get(kind);
+                granted.add(queue.poll());
+                running++;
+                runningByKind.merge(kind, 1, Integer::sum);
+                waitingGauge(kind).set(queue.size());
+
+                if (queue.isEmpty()) {
+                    waiting.remove(kind);
+                } else {
+                    kinds.add(kind);
+                }
+
+                candidates = kinds.size();
+            }
+
+            if (!kinds.isEmpty() && log.isDebugEnabled()) {
+                log.debug("{} reconciliations are running, reconciliations of kinds {} are waiting for a free slot", running, kinds);
+            }
+        }
+
+        // The reconciliations are started outside of the lock
+        granted.forEach(Promise::complete);
+    }
+
+    private AtomicInteger waitingGauge(String kind) {
+        return waitingGauges.computeIfAbsent(kind, k -> metrics != null
+                ? metrics.gauge(WAITING_METRIC, "Number of reconciliations waiting for a free slot in the reconciliation scheduler", Tags.of(Tag.of("kind", k)))
+                : new AtomicInteger(0));
+    }
+}
@@ -0,0 +1,468 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.strimzi.operator.cluster.model.InvalidResourceException;
+import io.strimzi.operator.common.model.NamespaceAndName;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Queue of the reconciliations of one operator. The reconciliations are de-duplicated by the namespace and name of
+ * the resource:
+ *
+ * <ul>
+ * <li>A reconciliation of a resource which is already queued is merged with the queued one.
+ * <li>A reconciliation of a resource which is currently being reconciled marks the resource as dirty. The resource is
+ *     queued again once the running reconciliation completes, so that no event is lost while it is running.
+ * <li>At most {@code parallelism} reconciliations are running at the same time.
+ * <li>A failed reconciliation is queued again after an exponentially growing delay, until it succeeds or until
+ *     another reconciliation of the same resource is queued.
+ * <li>A reconciliation can be deferred until a not-before time. Deferred reconciliations are tracked like the queued
+ *     ones, so the following requests are merged with them, and a single timer moves them to the queue when they are
+ *     due. A reconciliation which is not deferred replaces the deferred one right away.
+ * </ul>
+ *
+ * When a {@link ReconciliationScheduler} is set, a queued reconciliation is taken from the queue only once the
+ * scheduler granted it a slot. Until then it stays in the queue and is merged with the following requests.
+ *
+ * Resources which are not queued, not deferred, not running and not waiting for a retry are not tracked by the queue.
+ */
+public class ReconciliationWorkQueue {
+    private static final Logger log = LogManager.getLogger(ReconciliationWorkQueue.class);
+
+    public static final int DEFAULT_PARALLELISM = 50;
+    public static final long DEFAULT_INITIAL_RETRY_DELAY_MS = 5_000L;
+    public static final long DEFAULT_MAX_RETRY_DELAY_MS = 300_000L;
+
+    private final Vertx vertx;
+    private final String kind;
+    private final Function<Reconciliation, Future<Void>> reconciler;
+    private final int parallelism;
+    private final long initialRetryDelayMs;
+    private final long maxRetryDelayMs;
+
+    private volatile ReconciliationScheduler scheduler;
+
+    // All fields below are guarded by this
+    private final Map<NamespaceAndName, Item> items = new HashMap<>();
+    private final Deque<NamespaceAndName> queue = new ArrayDeque<>();
+    // Deferred reconciliations ordered by their not-before time. Entries of items which are not deferred anymore are
+    // skipped when they are due.
+    private final PriorityQueue<Deferred> deferred = new PriorityQueue<>(Comparator.comparingLong((Deferred d) -> d.notBeforeNs));
+    private long deferredTimerId = -1;
+    private long deferredTimerDueNs;
+    private int running = 0;
+    // Slots requested from the reconciliation scheduler and not granted yet
+    private int requested = 0;
+
+    /**
+     * State of a single resource
+     */
+    private static class Item {
+        Reconciliation reconciliation;
+        Promise<Void> promise;
+        boolean queued = false;
+        boolean running = false;
+        boolean deferred = false;
+        long notBeforeNs;
+        // Reconciliation requested while this resource was being reconciled
+        Reconciliation dirty;
+        Promise<Void> dirtyPromise;
+        int failures = 0;
+        long retryTimerId = -1;
+    }
+
+    /**
+     * Deferred reconciliation of a resource
+     */
+    private static class Deferred {
+        final NamespaceAndName key;
+        final long notBeforeNs;
+
+        Deferred(NamespaceAndName key, long notBeforeNs) {
+            this.key = key;
+            this.notBeforeNs = notBeforeNs;
+        }
+    }
+
+    /**
+     * Reconciliation taken from the queue
+     */
+    private static class Started {
+        final NamespaceAndName key;
+        final Item item;
+        final Reconciliation reconciliation;
+        final Promise<Void> promise;
+
+        Started(NamespaceAndName key, Item item, Reconciliation reconciliation, Promise<Void> promise) {
+            this.key = key;
+            this.item = item;
+            this.reconciliation = reconciliation;
+            this.promise = promise;
+        }
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param kind The kind of the reconciled resources (for logging).
+     * @param reconciler Function doing the actual reconciliation.
+     * @param parallelism The maximum number of reconciliations running at the same time.
+     */
+    public ReconciliationWorkQueue(Vertx vertx, String kind, Function<Reconciliation, Future<Void>> reconciler, int parallelism) {
+        this(vertx, kind, reconciler, parallelism, DEFAULT_INITIAL_RETRY_DELAY_MS, DEFAULT_MAX_RETRY_DELAY_MS);
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param kind The kind of the reconciled resources (for logging).
+     * @param reconciler Function doing the actual reconciliation.
+     * @param parallelism The maximum number of reconciliations running at the same time.
+     * @param initialRetryDelayMs The delay before the first retry of a failed reconciliation.
+     * @param maxRetryDelayMs The maximum delay before retrying a failed reconciliation.
+     */
+    public ReconciliationWorkQueue(Vertx vertx, String kind, Function<Reconciliation, Future<Void>> reconciler, int parallelism,
+                                   long initialRetryDelayMs, long maxRetryDelayMs) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism has to be greater than 0");
+        }
+
+        this.vertx = vertx;
+        this.kind = kind;
+        this.reconciler = reconciler;
+        this.parallelism = parallelism;
+        this.initialRetryDelayMs = initialRetryDelayMs;
+        this.maxRetryDelayMs = maxRetryDelayMs;
+    }
+
+    /**
+     * Sets the scheduler which grants the slots to the reconciliations across all operators. The reconciliations
+     * take a slot of the scheduler before they are taken from the queue.
+     *
+     * @param scheduler The reconciliation scheduler.
+     */
+    public void setScheduler(ReconciliationScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Queues the reconciliation of a resource.
+     *
+     * @param reconciliation The reconciliation
+     *
+     * @return A future which completes with the result of the reconciliation which covers this request. When the
+     * request was merged with another one, this is the result of the merged reconciliation.
+     */
+    public Future<Void> enqueue(Reconciliation reconciliation) {
+        return enqueue(reconciliation, 0);
+    }
+
+    /**
+     * Queues the reconciliation of a resource once the delay elapses. When the resource is already tracked by the
+     * queue, the reconciliation is merged with the tracked one right away instead.
+     *
+     * @param reconciliation The reconciliation
+     * @param delayMs The delay in milliseconds before the reconciliation is queued or 0 to queue it right away.
+     *
+     * @return A future which completes with the result of the reconciliation which covers this request. When the
+     * request was merged with another one, this is the result of the merged reconciliation.
+     */
+    public Future<Void> enqueue(Reconciliation reconciliation, long delayMs) {
+        NamespaceAndName key = new NamespaceAndName(reconciliation.namespace(), reconciliation.name());
+        Future<Void> result;
+
+        synchronized (this) {
+            Item item = items.get(key);
+
+            if (item != null && item.deferred && delayMs > 0) {
+                log.debug("{}: {} {} in namespace {} is already deferred", reconciliation, kind, key.getName(), key.getNamespace());
+                return item.promise.future();
+            } else if (item == null && delayMs > 0) {
+                item = new Item();
+                items.put(key, item);
+                item.reconciliation = reconciliation;
+                item.promise = Promise.promise();
+                item.deferred = true;
+                item.notBeforeNs = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+                deferred.add(new Deferred(key, item.notBeforeNs));
+                scheduleDeferred();
+                return item.promise.future();
+            } else if (item == null) {
+                item = new Item();
+                items.put(key, item);
+            }
+
+            if (item.running) {
+                log.debug("{}: {} {} in namespace {} is being reconciled, it will be reconciled again afterwards",
+                        reconciliation, kind, key.getName(), key.getNamespace());
+                item.dirty = reconciliation;
+
+                if (item.dirtyPromise == null) {
+                    item.dirtyPromise = Promise.promise();
+                }
+
+                result = item.dirtyPromise.future();
+            } else {
+                if (item.queued) {
+                    log.debug("{}: {} {} in namespace {} is already queued", reconciliation, kind, key.getName(), key.getNamespace());
+                } else {
+                    cancelRetry(item);
+                    item.deferred = false;
+                    item.queued = true;
+                    queue.add(key);
+                }
+
+                item.reconciliation = reconciliation;
+
+                if (item.promise == null) {
+                    item.promise = Promise.promise();
+                }
+
+                result = item.promise.future();
+            }
+        }
+
+        dispatch();
+        return result;
+    }
+
+    /**
+     * @return The number of reconciliations waiting for a free worker
+     */
+    public synchronized int queued() {
+        return queue.size();
+    }
+
+    /**
+     * @return The number of running reconciliations
+     */
+    public synchronized int running() {
+        return running;
+    }
+
+    /**
+     * @return The number of reconciliations deferred until their not-before time
+     */
+    public synchronized int deferred() {
+        return (int) items.values().stream().filter(item -> item.deferred).count();
+    }
+
+    /**
+     * Starts queued reconciliations while there are free workers. With a reconciliation scheduler, a slot is
+     * requested for each queued reconciliation first and the reconciliation is taken from the queue once it is granted.
+     */
+    private void dispatch() {
+        while (true) {
+            ReconciliationScheduler scheduler = this.scheduler;
+            Started started = null;
+
+            synchronized (this) {
+                if (running + requested >= parallelism || queue.size() <= requested) {
+                    return;
+                }
+
+                if (scheduler != null) {
+                    requested++;
+                } else {
+                    started = take();
+                }
+            }
+
+            if (scheduler != null) {
+                scheduler.acquire(kind).onComplete(ignore -> granted(scheduler));
+            } else {
+                start(started, null);
+            }
+        }
+    }
+
+    private void granted(ReconciliationScheduler scheduler) {
+        Started started;
+
+        synchronized (this) {
+            requested--;
+            started = queue.isEmpty() ? null : take();
+        }
+
+        if (started != null) {
+            start(started, scheduler);
+        } else {
+            scheduler.release(kind);
+        }
+
+        dispatch();
+    }
+
+    /**
+     * Takes the next reconciliation from the queue. Has to be called with the lock held.
+     */
+    private Started take() {
+        NamespaceAndName key = queue.poll();
+        Item item = items.get(key);
+        Started started = new Started(key, item, item.reconciliation, item.promise);
+
+        item.queued = false;
+        item.running = true;
+        item.reconciliation = null;
+        item.promise = null;
+        running++;
+
+        return started;
+    }
+
+    private void start(Started started, ReconciliationScheduler scheduler) {
+        Future<Void> reconciled;
+        try {
+            reconciled = reconciler.apply(started.reconciliation);
+        } catch (Throwable t) {
+            reconciled = Future.failedFuture(t);
+        }
+
+        reconciled.onComplete(res -> {
+            if (scheduler != null) {
+                scheduler.release(kind);
+            }
+
+            completed(started.key, started.item, started.reconciliation, started.promise, res);
+        });
+    }
+
+    /**
+     * Arms the timer for the earliest deferred reconciliation unless it is already armed for it. Has to be called with
+     * the lock held.
+     */
+    private void scheduleDeferred() {
+        Deferred next = deferred.peek();
+
+        if (next == null || (deferredTimerId != -1 && deferredTimerDueNs - next.notBeforeNs <= 0)) {
+            return;
+        }
+
+        if (deferredTimerId != -1) {
+            vertx.cancelTimer(deferredTimerId);
+        }
+
+        long delayMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(next.notBeforeNs - System.nanoTime()));
+        deferredTimerDueNs = next.notBeforeNs;
+        deferredTimerId = vertx.setTimer(delayMs, timerId -> queueDeferred(timerId));
+    }
+
+    /**
+     * Moves the deferred reconciliations which are due to the queue
+     */
+    private void queueDeferred(long timerId) {
+        synchronized (this) {
+            if (deferredTimerId != timerId) {
+                return;
+            }
+
+            deferredTimerId = -1;
+            long now = System.nanoTime();
+
+            while (!deferred.isEmpty() && deferred.peek().notBeforeNs - now <= 0) {
+                Deferred due = deferred.poll();
+                Item item = items.get(due.key);
+
+                if (item != null && item.deferred && item.notBeforeNs == due.notBeforeNs) {
+                    item.deferred = false;
+                    item.queued = true;
+                    queue.add(due.key);
+                }
+            }
+
+            scheduleDeferred();
+        }
+
+        dispatch();
+    }
+
+    private void completed(NamespaceAndName key, Item item, Reconciliation reconciliation, Promise<Void> promise, AsyncResult<Void> res) {
+        synchronized (this) {
+            running--;
+            item.running = false;
+
+            if (res.succeeded()) {
+                item.failures = 0;
+            } else if (isRetriable(res.cause())) {
+                item.failures++;
+            }
+
+            if (item.dirty != null) {
+                item.reconciliation = item.dirty;
+                item.promise = item.dirtyPromise;
+                item.dirty = null;
+                item.dirtyPromise = null;
+                item.queued = true;
+                queue.add(key);
+            } else if (res.failed() && isRetriable(res.cause())) {
+                long delay = retryDelay(item.failures);
+                log.info("{}: Reconciliation failed, retrying in {} ms", reconciliation, delay);
+                item.retryTimerId = vertx.setTimer(delay, timerId -> retry(key, timerId));
+            } else {
+                items.remove(key);
+            }
+        }
+
+        promise.handle(res);
+        dispatch();
+    }
+
+    private void retry(NamespaceAndName key, long timerId) {
+        synchronized (this) {
+            Item item = items.get(key);
+
+            if (item == null || item.retryTimerId != timerId) {
+                // The retry was cancelled in the meantime
+                return;
+            }
+
+            item.retryTimerId = -1;
+            item.reconciliation = new Reconciliation("retry", kind, key.getNamespace(), key.getName());
+            item.promise = Promise.promise();
+            item.queued = true;
+            queue.add(key);
+        }
+
+        dispatch();
+    }
+
+    private void cancelRetry(Item item) {
+        if (item.retryTimerId != -1) {
+            vertx.cancelTimer(item.retryTimerId);
+            item.retryTimerId = -1;
+        }
+    }
+
+    /*test*/ long retryDelay(int failures) {
+        long delay = initialRetryDelayMs;
+
+        for (int i = 1; i < failures && delay < maxRetryDelayMs; i++) {
+            delay *= 2;
+        }
+
+        return Math.min(delay, maxRetryDelayMs);
+    }
+
+    /**
+     * Invalid resources are not retried. They are reconciled again when they are changed.
+     */
+    private static boolean isRetriable(Throwable cause) {
+        return !(cause instanceof InvalidResourceException)
+                && !(cause instanceof InvalidConfigParameterException);
+    }
+}
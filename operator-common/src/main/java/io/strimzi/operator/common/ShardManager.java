@@ -0,0 +1,545 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.fabric8.kubernetes.api.model.MicroTime;
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseBuilder;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.model.NamespaceAndName;
+import io.strimzi.operator.common.operator.resource.LeaseOperator;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.strimzi.operator.common.AbstractOperator.METRICS_PREFIX;
+
+/**
+ * Splits the reconciled resources between several replicas of an operator. Each resource belongs to one of the shards
+ * based on a consistent hash of its namespace and name. Each shard has a {@code Lease} in the namespace of the
+ * operator and only the replica holding the lease reconciles the resources of the shard.
+ *
+ * The replicas periodically renew the leases they hold. The leases which are not renewed within the lease duration
+ * (for example because the replica died) are taken over by the other replicas. Each replica holds at most its fair
+ * share of the shards, so when a new replica joins, the others release some of their shards. The live replicas are
+ * found using a membership lease of each replica. The expiry of the leases is based on the local time when a change
+ * of the lease was observed, so it does not depend on the clocks of the replicas being in sync.
+ *
+ * The reconciliations are fenced by the shard ownership: they are started using
+ * {@link #startReconciliation(String, String)} and finished using {@link #finishReconciliation(String, String)}. A
+ * shard which should be released is drained first. No new reconciliations of its resources are started, but the
+ * lease is kept and renewed until the running reconciliations finish, so two replicas never reconcile the same
+ * resource at the same time.
+ */
+public class ShardManager {
+    private static final Logger LOGGER = LogManager.getLogger(ShardManager.class);
+
+    /*test*/ static final String OWNED_SHARDS_METRIC = METRICS_PREFIX + "shards.owned";
+    private static final String MEMBER_OF_LABEL = Labels.STRIMZI_DOMAIN + "shard-replica-of";
+    private static final Map<String, String> SHARD_LABELS = Collections.singletonMap(Labels.KUBERNETES_PART_OF_LABEL, Labels.APPLICATION_NAME);
+    private static final DateTimeFormatter MICRO_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSXXX");
+
+    private final Vertx vertx;
+    private final LeaseOperator leaseOperator;
+    private final String namespace;
+    private final String leasePrefix;
+    private final String identity;
+    private final int shardCount;
+    private final long leaseDurationMs;
+    private final AtomicInteger ownedShardsGauge;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    // Local time (System.nanoTime) until which the shards held by this replica are owned
+    private volatile Map<Integer, Long> ownedUntil = Collections.emptyMap();
+    // Resource version of each lease and the local time when it was seen to change
+    private final Map<String, String> observedVersions = new HashMap<>();
+    private final Map<String, Long> observedTimes = new HashMap<>();
+    // Number of running reconciliations of each shard and the shards being drained. Guarded by the running map.
+    private final Map<Integer, Integer> running = new HashMap<>();
+    private final Set<Integer> draining = new HashSet<>();
+
+    private Context context;
+    private volatile boolean stopped = false;
+    private long timerId = -1;
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param leaseOperator For operating on the leases.
+     * @param namespace The namespace of the leases.
+     * @param leasePrefix The prefix of the lease names. The leases are named {@code <prefix>-<shard>}.
+     * @param identity The identity of this replica (for example the name of its pod).
+     * @param shardCount The number of shards.
+     * @param leaseDurationMs How long a lease is held without being renewed.
+     * @param metrics The metrics provider or null if the number of owned shards should not be exposed.
+     */
+    public ShardManager(Vertx vertx, LeaseOperator leaseOperator, String namespace, String leasePrefix, String identity,
+                        int shardCount, long leaseDurationMs, MetricsProvider metrics) {
+        this.vertx = vertx;
+        this.leaseOperator = leaseOperator;
+        this.namespace = namespace;
+        this.leasePrefix = leasePrefix;
+        this.identity = identity;
+        this.shardCount = shardCount;
+        this.leaseDurationMs = leaseDurationMs;
+        this.ownedShardsGauge = metrics != null
+                ? metrics.gauge(OWNED_SHARDS_METRIC, "Number of shards of the reconciled resources owned by this replica", Tags.of(Tag.of("identity", identity)))
+                : new AtomicInteger(0);
+    }
+
+    /**
+     * Finds the shard of a resource. The shards are assigned using jump consistent hashing, so only the resources of
+     * the added or removed shards move when the number of shards changes.
+     *
+     * @param namespace Namespace of the resource.
+     * @param name Name of the resource.
+     * @param shardCount The number of shards.
+     *
+     * @return The shard of the resource
+     */
+    public static int shardFor(String namespace, String name, int shardCount) {
+        long key = fnv1a64(namespace + "/" + name);
+        long b = -1;
+        long j = 0;
+
+        while (j < shardCount) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+
+        return (int) b;
+    }
+
+    private static long fnv1a64(String value) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+
+        return hash;
+    }
+
+    /**
+     * @param resource The namespace and name of the resource.
+     *
+     * @return True if this replica currently owns the shard of the resource and should reconcile it
+     */
+    public boolean isOwned(NamespaceAndName resource) {
+        return isOwned(resource.getNamespace(), resource.getName());
+    }
+
+    /**
+     * @param namespace Namespace of the resource.
+     * @param name Name of the resource.
+     *
+     * @return True if this replica currently owns the shard of the resource and should reconcile it
+     */
+    public boolean isOwned(String namespace, String name) {
+        Long until = ownedUntil.get(shardFor(namespace, name, shardCount));
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    /**
+     * @return The shards currently owned by this replica
+     */
+    public Set<Integer> ownedShards() {
+        long now = System.nanoTime();
+        Set<Integer> owned = new TreeSet<>();
+
+        for (Map.Entry<Integer, Long> shard : ownedUntil.entrySet()) {
+            if (shard.getValue() - now > 0) {
+                owned.add(shard.getKey());
+            }
+        }
+
+        return owned;
+    }
+
+    /**
+     * Starts a reconciliation of a resource if this replica owns its shard. The shard is not released to other
+     * replicas until the reconciliation is finished using {@link #finishReconciliation(String, String)}.
+     *
+     * @param namespace Namespace of the resource.
+     * @param name Name of the resource.
+     *
+     * @return True if the reconciliation can run. False if the shard is owned by another replica or is being released.
+     */
+    public boolean startReconciliation(String namespace, String name) {
+        int shard = shardFor(namespace, name, shardCount);
+
+        synchronized (running) {
+            if (draining.contains(shard) || !isOwned(namespace, name)) {
+                return false;
+            }
+
+            running.merge(shard, 1, Integer::sum);
+            return true;
+        }
+    }
+
+    /**
+     * Finishes a reconciliation started using {@link #startReconciliation(String, String)}.
+     *
+     * @param namespace Namespace of the resource.
+     * @param name Name of the resource.
+     */
+    public void finishReconciliation(String namespace, String name) {
+        int shard = shardFor(namespace, name, shardCount);
+
+        synchronized (running) {
+            running.computeIfPresent(shard, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * @param shard The shard.
+     *
+     * @return The number of running reconciliations of the resources of the shard
+     */
+    /*test*/ int runningReconciliations(int shard) {
+        synchronized (running) {
+            return running.getOrDefault(shard, 0);
+        }
+    }
+
+    /**
+     * Adds a listener which is called when this replica acquires new shards. The listeners should reconcile the
+     * resources of the operator, since the events about them might have been ignored while the shards belonged to
+     * another replica.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts acquiring and renewing the leases.
+     *
+     * @return A future which completes after the first attempt to acquire the leases
+     */
+    public Future<Void> start() {
+        LOGGER.info("Starting shard manager {} with {} shards in namespace {}", identity, shardCount, namespace);
+        context = vertx.getOrCreateContext();
+        return updateLeases();
+    }
+
+    /**
+     * Stops renewing the leases and releases the leases held by this replica, so that the other replicas can take
+     * them over without waiting for them to expire.
+     *
+     * @return A future which completes when the leases were released
+     */
+    public Future<Void> stop() {
+        stopped = true;
+        vertx.cancelTimer(timerId);
+
+        Set<Integer> owned = ownedShards();
+        ownedUntil = Collections.emptyMap();
+        ownedShardsGauge.set(0);
+
+        return WorkerPools.get(vertx, WorkerPools.Workload.KUBERNETES).executeBlocking(promise -> {
+            for (int shard : owned) {
+                Lease lease = leaseOperator.get(namespace, leaseName(shard));
+
+                if (isHeld(lease)) {
+                    release(lease);
+                }
+            }
+
+            Lease member = leaseOperator.get(namespace, memberLeaseName());
+            if (isHeld(member)) {
+                release(member);
+            }
+
+            promise.complete();
+        }, true);
+    }
+
+    private Future<Void> updateLeases() {
+        Promise<Void> result = Promise.promise();
+
+        WorkerPools.get(vertx, WorkerPools.Workload.KUBERNETES).<Void>executeBlocking(
+            promise -> {
+                updateLeasesBlocking();
+                promise.complete();
+            },
+            true,
+            res -> {
+                if (res.failed()) {
+                    LOGGER.warn("Failed to update the shard leases", res.cause());
+                }
+
+                if (!stopped) {
+                    timerId = vertx.setTimer(Math.max(1, leaseDurationMs / 3), ignore -> updateLeases());
+                }
+
+                result.complete();
+            });
+
+        return result.future();
+    }
+
+    /**
+     * Reads all leases, renews or releases the leases of this replica and acquires the free or expired leases up to
+     * the fair share of this replica. Runs on a worker thread.
+     */
+    /*test*/ void updateLeasesBlocking() {
+        long now = System.nanoTime();
+        int replicas = updateMembership(now);
+        int fairShare = (shardCount + replicas - 1) / replicas;
+
+        Map<Integer, Lease> leases = new HashMap<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            Lease lease = leaseOperator.get(namespace, leaseName(shard));
+            leases.put(shard, lease);
+            observe(leaseName(shard), lease, now);
+        }
+
+        Map<Integer, Long> newOwnedUntil = new HashMap<>();
+        long until = now + TimeUnit.MILLISECONDS.toNanos(leaseDurationMs);
+
+        // Renew the leases of this replica, but drain and release those above the fair share
+        Set<Integer> newDraining = new HashSet<>();
+        for (Map.Entry<Integer, Lease> entry : leases.entrySet()) {
+            int shard = entry.getKey();
+            Lease lease = entry.getValue();
+
+            if (isHeld(lease)) {
+                if (newOwnedUntil.size() >= fairShare) {
+                    int runningReconciliations;
+                    synchronized (running) {
+                        // No new reconciliations are started from now on
+                        draining.add(shard);
+                        runningReconciliations = running.getOrDefault(shard, 0);
+                    }
+
+                    if (runningReconciliations > 0) {
+                        LOGGER.info("Replica {} waits for {} running reconciliations before releasing shard {}", identity, runningReconciliations, shard);
+                        if (renew(lease) != null) {
+                            newDraining.add(shard);
+                        }
+                    } else {
+                        LOGGER.info("Replica {} releases shard {} to other replicas", identity, shard);
+                        release(lease);
+                    }
+                } else if (renew(lease) != null) {
+                    newOwnedUntil.put(shard, until);
+                }
+            }
+        }
+
+        // Acquire free or expired leases
+        for (Map.Entry<Integer, Lease> entry : leases.entrySet()) {
+            int shard = entry.getKey();
+            Lease lease = entry.getValue();
+
+            if (newOwnedUntil.size() < fairShare
+                    && !newOwnedUntil.containsKey(shard)
+                    && isFree(leaseName(shard), lease, now)
+                    && acquire(leaseName(shard), SHARD_LABELS, lease) != null) {
+                LOGGER.info("Replica {} acquired shard {}", identity, shard);
+                newOwnedUntil.put(shard, until);
+            }
+        }
+
+        Set<Integer> previous = ownedShards();
+        synchronized (running) {
+            ownedUntil = Collections.unmodifiableMap(newOwnedUntil);
+            draining.retainAll(newDraining);
+        }
+        ownedShardsGauge.set(newOwnedUntil.size());
+
+        if (!previous.equals(newOwnedUntil.keySet())) {
+            LOGGER.info("Replica {} owns shards {} of {}", identity, new TreeSet<>(newOwnedUntil.keySet()), shardCount);
+        }
+
+        if (!previous.containsAll(newOwnedUntil.keySet())) {
+            notifyListeners();
+        }
+    }
+
+    /**
+     * Renews the membership lease of this replica and counts the live replicas using the membership leases. The
+     * membership leases let the replicas without any shard claim their share from the other replicas.
+     *
+     * @return The number of live replicas including this one
+     */
+    private int updateMembership(long now) {
+        String memberName = memberLeaseName();
+        Lease own = leaseOperator.get(namespace, memberName);
+
+        if (isHeld(own)) {
+            renew(own);
+        } else {
+            acquire(memberName, memberLabels(), own);
+        }
+
+        int replicas = 1;
+        for (Lease member : leaseOperator.list(namespace, Labels.fromMap(memberLabels()))) {
+            String name = member.getMetadata().getName();
+            observe(name, member, now);
+
+            if (!memberName.equals(name) && !isFree(name, member, now)) {
+                replicas++;
+            }
+        }
+
+        return replicas;
+    }
+
+    private void observe(String name, Lease lease, long now) {
+        String version = lease != null ? lease.getMetadata().getResourceVersion() : null;
+
+        if (version == null || !version.equals(observedVersions.get(name))) {
+            observedVersions.put(name, version);
+            observedTimes.put(name, now);
+        }
+    }
+
+    private boolean isHeld(Lease lease) {
+        return lease != null && lease.getSpec() != null && identity.equals(lease.getSpec().getHolderIdentity());
+    }
+
+    /**
+     * A lease is free when it does not exist, when nobody holds it or when it was not renewed within its duration as
+     * observed locally
+     */
+    private boolean isFree(String name, Lease lease, long now) {
+        String holder = lease != null && lease.getSpec() != null ? lease.getSpec().getHolderIdentity() : null;
+
+        if (holder == null || holder.isEmpty()) {
+            return true;
+        } else if (identity.equals(holder)) {
+            return false;
+        }
+
+        Integer durationSeconds = lease.getSpec().getLeaseDurationSeconds();
+        long durationNs = TimeUnit.SECONDS.toNanos(durationSeconds != null ? durationSeconds : TimeUnit.MILLISECONDS.toSeconds(leaseDurationMs));
+
+        return now - observedTimes.getOrDefault(name, now) > durationNs;
+    }
+
+    private Lease acquire(String name, Map<String, String> labels, Lease current) {
+        String now = microTimeNow();
+
+        if (current == null) {
+            Lease lease = new LeaseBuilder()
+                    .withNewMetadata()
+                        .withName(name)
+                        .withNamespace(namespace)
+                        .withLabels(labels)
+                    .endMetadata()
+                    .withNewSpec()
+                        .withHolderIdentity(identity)
+                        .withLeaseDurationSeconds(leaseDurationSeconds())
+                        .withAcquireTime(new MicroTime(now))
+                        .withRenewTime(new MicroTime(now))
+                        .withLeaseTransitions(0)
+                    .endSpec()
+                    .build();
+
+            return leaseOperator.tryCreate(namespace, lease);
+        } else {
+            Integer transitions = current.getSpec() != null ? current.getSpec().getLeaseTransitions() : null;
+            Lease lease = new LeaseBuilder(current)
+                    .editOrNewSpec()
+                        .withHolderIdentity(identity)
+                        .withLeaseDurationSeconds(leaseDurationSeconds())
+                        .withAcquireTime(new MicroTime(now))
+                        .withRenewTime(new MicroTime(now))
+                        .withLeaseTransitions(transitions != null ? transitions + 1 : 1)
+                    .endSpec()
+                    .build();
+
+            return leaseOperator.tryReplace(namespace, lease);
+        }
+    }
+
+    private Lease renew(Lease current) {
+        Lease lease = new LeaseBuilder(current)
+                .editSpec()
+                    .withRenewTime(new MicroTime(microTimeNow()))
+                .endSpec()
+                .build();
+
+        return leaseOperator.tryReplace(namespace, lease);
+    }
+
+    private void release(Lease current) {
+        Lease lease = new LeaseBuilder(current)
+                .editSpec()
+                    .withHolderIdentity(null)
+                .endSpec()
+                .build();
+
+        leaseOperator.tryReplace(namespace, lease);
+    }
+
+    private void notifyListeners() {
+        Runnable notify = () -> {
+            for (Runnable listener : listeners) {
+                listener.run();
+            }
+        };
+
+        if (context != null) {
+            context.runOnContext(ignore -> notify.run());
+        } else {
+            notify.run();
+        }
+    }
+
+    private int leaseDurationSeconds() {
+        return (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(leaseDurationMs));
+    }
+
+    private static String microTimeNow() {
+        return ZonedDateTime.now(ZoneOffset.UTC).format(MICRO_TIME_FORMAT);
+    }
+
+    /*test*/ String leaseName(int shard) {
+        return leasePrefix + "-" + shard;
+    }
+
+    private String memberLeaseName() {
+        return leasePrefix + "-replica-" + identity;
+    }
+
+    private Map<String, String> memberLabels() {
+        Map<String, String> labels = new HashMap<>(SHARD_LABELS);
+        labels.put(MEMBER_OF_LABEL, leasePrefix);
+        return labels;
+    }
+
+    /**
+     * @return The number of shards
+     */
+    public int shardCount() {
+        return shardCount;
+    }
+}
@@ -5,12 +5,14 @@
 package io.strimzi.operator.common;
 
 import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.client.Watch;
 import io.strimzi.operator.cluster.model.InvalidResourceException;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.model.OrderedProperties;
+import io.strimzi.operator.common.operator.resource.ResourceSupport;
 import io.strimzi.operator.common.operator.resource.TimeoutException;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
-import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.apache.kafka.common.KafkaFuture;
@@ -37,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
+import java.util.function.BiFunction;
 import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -45,9 +48,15 @@ import java.util.stream.Collectors;
 public class Util {
     private static final Logger LOGGER = LogManager.getLogger(Util.class);
 
+    /**
+     * How often {@link #waitFor(Vertx, String, String, long, long, BooleanSupplier, Predicate, BiFunction)} polls
+     * while it is notified about the changes by a watch
+     */
+    public static final long WATCHED_POLL_INTERVAL_MS = 30_000L;
+
     public static <T> Future<T> async(Vertx vertx, Supplier<T> supplier) {
         Promise<T> result = Promise.promise();
-        vertx.executeBlocking(
+        WorkerPools.executeBlocking(vertx,
             future -> {
                 try {
                     future.complete(supplier.get());
@@ -89,55 +98,192 @@ public class Util {
      */
     public static Future<Void> waitFor(Vertx vertx, String logContext, String logState, long pollIntervalMs, long timeoutMs, BooleanSupplier completed,
                                        Predicate<Throwable> failOnError) {
-        Promise<Void> promise = Promise.promise();
+        return waitFor(vertx, logContext, logState, pollIntervalMs, timeoutMs, completed, failOnError, null);
+    }
+
+    /**
+     * Invoke the given {@code completed} supplier on a pooled thread whenever the watch created by {@code watchFunction}
+     * signals a change, until it returns true or {@code timeoutMs} milliseconds have elapsed. The watch function is
+     * called with two callbacks: the first one has to be called for every watch event and the second one when the
+     * watch is closed. While the watch is open, {@code completed} is polled only every
+     * {@link #WATCHED_POLL_INTERVAL_MS} milliseconds as a safety net. When the watch cannot be created or is closed,
+     * {@code completed} is polled every {@code pollIntervalMs} milliseconds as if there was no watch. The watch is
+     * created only when the first check does not complete the wait.
+     * @param vertx The vertx instance.
+     * @param logContext A string used for context in logging.
+     * @param logState The state we are waiting for use in log messages
+     * @param pollIntervalMs The poll interval in milliseconds.
+     * @param timeoutMs The timeout, in milliseconds.
+     * @param completed Determines when the wait is complete by returning true.
+     * @param failOnError Determine whether a given error thrown by {@code completed},
+     *                    should result in the immediate completion of the returned Future.
+     * @param watchFunction Creates the watch which signals changes which might complete the wait. It is called on a
+     *                      pooled thread. When null or when it returns null, only polling is used.
+     * @return A future that completes when the given {@code completed} indicates readiness.
+     */
+    @SuppressWarnings({"checkstyle:ParameterNumber"})
+    public static Future<Void> waitFor(Vertx vertx, String logContext, String logState, long pollIntervalMs, long timeoutMs, BooleanSupplier completed,
+                                       Predicate<Throwable> failOnError, BiFunction<Runnable, Runnable, Watch> watchFunction) {
         LOGGER.debug("Waiting for {} to get {}", logContext, logState);
-        long deadline = System.currentTimeMillis() + timeoutMs;
-        Handler<Long> handler = new Handler<Long>() {
-            @Override
-            public void handle(Long timerId) {
-                vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
-                    future -> {
-                        try {
-                            if (completed.getAsBoolean())   {
-                                future.complete();
-                            } else {
-                                LOGGER.trace("{} is not {}", logContext, logState);
-                                future.fail("Not " + logState + " yet");
-                            }
-                        } catch (Throwable e) {
-                            LOGGER.warn("Caught exception while waiting for {} to get {}", logContext, logState, e);
-                            future.fail(e);
+        return new Waiter(vertx, logContext, logState, pollIntervalMs, timeoutMs, completed, failOnError, watchFunction).start();
+    }
+
+    /**
+     * Checks the state awaited by {@link #waitFor(Vertx, String, String, long, long, BooleanSupplier, Predicate, BiFunction)}.
+     * All the fields except the watch fields are accessed only from the Vert.x context which started the wait.
+     */
+    private static class Waiter {
+        private final Vertx vertx;
+        private final Context context;
+        private final String logContext;
+        private final String logState;
+        private final long pollIntervalMs;
+        private final long timeoutMs;
+        private final BooleanSupplier completed;
+        private final Predicate<Throwable> failOnError;
+        private final BiFunction<Runnable, Runnable, Watch> watchFunction;
+        private final long deadline;
+        private final Promise<Void> promise = Promise.promise();
+
+        private volatile Watch watch;
+        // Set when the watch is closed. It is never reset, so that a close signalled while the watch is being created
+        // is not lost.
+        private volatile boolean watchClosed = false;
+        private volatile boolean watchStarted = false;
+        private boolean checking = false;
+        private boolean recheck = false;
+        private long timerId = -1;
+
+        @SuppressWarnings({"checkstyle:ParameterNumber"})
+        Waiter(Vertx vertx, String logContext, String logState, long pollIntervalMs, long timeoutMs, BooleanSupplier completed,
+               Predicate<Throwable> failOnError, BiFunction<Runnable, Runnable, Watch> watchFunction) {
+            this.vertx = vertx;
+            this.context = vertx.getOrCreateContext();
+            this.logContext = logContext;
+            this.logState = logState;
+            this.pollIntervalMs = pollIntervalMs;
+            this.timeoutMs = timeoutMs;
+            this.completed = completed;
+            this.failOnError = failOnError;
+            this.watchFunction = watchFunction;
+            this.deadline = System.currentTimeMillis() + timeoutMs;
+        }
+
+        Future<Void> start() {
+            context.runOnContext(ignore -> check());
+            return promise.future();
+        }
+
+        /**
+         * Checks the awaited state unless a check is already running. Events received during a running check trigger
+         * one more check once it finishes, so that no change is missed.
+         */
+        private void check() {
+            if (promise.future().isComplete()) {
+                return;
+            } else if (checking) {
+                recheck = true;
+                return;
+            }
+
+            if (timerId != -1) {
+                vertx.cancelTimer(timerId);
+                timerId = -1;
+            }
+
+            checking = true;
+            WorkerPools.get(vertx, WorkerPools.Workload.KUBERNETES).<Void>executeBlocking(
+                future -> {
+                    try {
+                        if (completed.getAsBoolean())   {
+                            future.complete();
+                        } else if (watchFunction != null && !watchStarted && startWatch() && completed.getAsBoolean()) {
+                            // The watch is created only once a check did not succeed. The state is checked again once
+                            // the watch is open, so that no change after the previous check is missed.
+                            future.complete();
+                        } else {
+                            LOGGER.trace("{} is not {}", logContext, logState);
+                            future.fail("Not " + logState + " yet");
                         }
-                    },
-                    true,
-                    res -> {
-                        if (res.succeeded()) {
-                            LOGGER.debug("{} is {}", logContext, logState);
-                            promise.complete();
+                    } catch (Throwable e) {
+                        LOGGER.warn("Caught exception while waiting for {} to get {}", logContext, logState, e);
+                        future.fail(e);
+                    }
+                },
+                true,
+                res -> {
+                    checking = false;
+
+                    if (res.succeeded()) {
+                        LOGGER.debug("{} is {}", logContext, logState);
+                        complete(null);
+                    } else if (failOnError.test(res.cause())) {
+                        complete(res.cause());
+                    } else {
+                        long timeLeft = deadline - System.currentTimeMillis();
+                        if (timeLeft <= 0) {
+                            String exceptionMessage = String.format("Exceeded timeout of %dms while waiting for %s to be %s", timeoutMs, logContext, logState);
+                            LOGGER.error(exceptionMessage);
+                            complete(new TimeoutException(exceptionMessage));
+                        } else if (recheck) {
+                            recheck = false;
+                            check();
                         } else {
-                            if (failOnError.test(res.cause())) {
-                                promise.fail(res.cause());
-                            } else {
-                                long timeLeft = deadline - System.currentTimeMillis();
-                                if (timeLeft <= 0) {
-                                    String exceptionMessage = String.format("Exceeded timeout of %dms while waiting for %s to be %s", timeoutMs, logContext, logState);
-                                    LOGGER.error(exceptionMessage);
-                                    promise.fail(new TimeoutException(exceptionMessage));
-                                } else {
-                                    // Schedule ourselves to run again
-                                    vertx.setTimer(Math.min(pollIntervalMs, timeLeft), this);
-                                }
-                            }
+                            // Schedule ourselves to run again
+                            long interval = isWatchOpen() ? Math.max(pollIntervalMs, WATCHED_POLL_INTERVAL_MS) : pollIntervalMs;
+                            timerId = vertx.setTimer(Math.min(interval, timeLeft), id -> {
+                                timerId = -1;
+                                check();
+                            });
                         }
                     }
-                );
+                }
+            );
+        }
+
+        private boolean isWatchOpen() {
+            return watch != null && !watchClosed;
+        }
+
+        /**
+         * @return True if the watch was created
+         */
+        private boolean startWatch() {
+            watchStarted = true;
+
+            try {
+                watch = watchFunction.apply(
+                    () -> context.runOnContext(ignore -> check()),
+                    () -> {
+                        watchClosed = true;
+                        context.runOnContext(ignore -> check());
+                    });
+            } catch (Throwable e) {
+                LOGGER.debug("Failed to watch {}, falling back to polling", logContext, e);
             }
-        };
 
-        // Call the handler ourselves the first time
-        handler.handle(null);
+            return watch != null;
+        }
+
+        private void complete(Throwable cause) {
+            Watch watch = this.watch;
+            watchClosed = true;
 
-        return promise.future();
+            if (watch != null) {
+                // Closing the watch can block, so it is done on a worker thread
+                new ResourceSupport(vertx).closeOnWorkerThread(watch).onComplete(res -> {
+                    if (res.failed()) {
+                        LOGGER.debug("Failed to close the watch of {}", logContext, res.cause());
+                    }
+                });
+            }
+
+            if (cause == null) {
+                promise.complete();
+            } else {
+                promise.fail(cause);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,104 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executes blocking code on virtual threads instead of worker pools. Virtual threads are available only in Java 21
+ * and newer. The operators are built for older Java versions, so the virtual threads are created using reflection
+ * and {@link #isSupported()} returns false on older JVMs.
+ */
+public class VirtualThreads {
+    private static final Logger LOGGER = LogManager.getLogger(VirtualThreads.class);
+    private static final String ORDERED_TASKS_KEY = "strimzi.virtual.threads.ordered";
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private VirtualThreads() { }
+
+    private static ExecutorService createExecutor() {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "strimzi-virtual-", 0L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Virtual threads are not supported by this JVM", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return True if the JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return EXECUTOR != null;
+    }
+
+    /**
+     * Executes the blocking code on a new virtual thread. The semantics are the same as for
+     * {@link Vertx#executeBlocking(Handler, boolean, Handler)}: the result handler is called on the context of the
+     * caller and ordered calls from the same context run one after another.
+     *
+     * @param vertx The Vertx instance.
+     * @param blockingCodeHandler The blocking code.
+     * @param ordered true if the calls from the same context should be executed in order.
+     * @param resultHandler The handler called on the original context with the result.
+     * @param <T> The type of the result.
+     */
+    public static <T> void executeBlocking(Vertx vertx, Handler<Promise<T>> blockingCodeHandler, boolean ordered, Handler<AsyncResult<T>> resultHandler) {
+        if (EXECUTOR == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM");
+        }
+
+        Context context = vertx.getOrCreateContext();
+        Promise<T> promise = Promise.promise();
+        promise.future().onComplete(res -> context.runOnContext(ignore -> resultHandler.handle(res)));
+
+        Runnable task = () -> {
+            try {
+                blockingCodeHandler.handle(promise);
+            } catch (Throwable t) {
+                promise.tryFail(t);
+            }
+        };
+
+        if (ordered) {
+            // The next ordered task of the context starts when the previous one returns
+            Future<Void> previous = context.get(ORDERED_TASKS_KEY);
+            Promise<Void> done = Promise.promise();
+            context.put(ORDERED_TASKS_KEY, done.future());
+
+            Runnable orderedTask = () -> {
+                try {
+                    task.run();
+                } finally {
+                    done.complete();
+                }
+            };
+
+            if (previous == null || previous.isComplete()) {
+                EXECUTOR.execute(orderedTask);
+            } else {
+                previous.onComplete(ignore -> EXECUTOR.execute(orderedTask));
+            }
+        } else {
+            EXECUTOR.execute(task);
+        }
+    }
+}
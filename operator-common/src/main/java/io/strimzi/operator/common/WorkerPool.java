@@ -0,0 +1,190 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.strimzi.operator.common.AbstractOperator.METRICS_PREFIX;
+
+/**
+ * Bounded pool of worker threads used for one type of blocking calls. The pools are obtained from
+ * {@link WorkerPools#get(Vertx, WorkerPools.Workload)}. When metrics are enabled, the pool exposes the number of
+ * queued and running tasks, the time the tasks waited for a thread and the time they ran. When virtual threads are
+ * enabled, the tasks run on new virtual threads instead (see {@link VirtualThreads}) and the size of the pool is
+ * ignored.
+ */
+public class WorkerPool implements Shareable {
+    /*test*/ static final String QUEUED_METRIC = METRICS_PREFIX + "worker.pool.queued";
+    /*test*/ static final String ACTIVE_METRIC = METRICS_PREFIX + "worker.pool.active";
+    /*test*/ static final String SIZE_METRIC = METRICS_PREFIX + "worker.pool.size";
+    /*test*/ static final String WAIT_METRIC = METRICS_PREFIX + "worker.pool.wait";
+    /*test*/ static final String EXECUTION_METRIC = METRICS_PREFIX + "worker.pool.execution";
+
+    private static final long MAX_EXECUTE_TIME_NS = TimeUnit.SECONDS.toNanos(120);
+
+    private final Vertx vertx;
+    private final WorkerPools.Workload workload;
+    private final int size;
+    private final boolean virtualThreads;
+    private final AtomicInteger queued;
+    private final AtomicInteger active;
+    private final Timer waitTimer;
+    private final Timer executionTimer;
+
+    private volatile WorkerExecutor executor;
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param workload The type of blocking calls executed by this pool.
+     * @param size The number of threads in the pool.
+     * @param virtualThreads true to run the tasks on virtual threads instead of the pool.
+     * @param metrics The metrics provider or null if the pool should not be instrumented.
+     */
+    WorkerPool(Vertx vertx, WorkerPools.Workload workload, int size, boolean virtualThreads, MetricsProvider metrics) {
+        this.vertx = vertx;
+        this.workload = workload;
+        this.size = size;
+        this.virtualThreads = virtualThreads;
+
+        if (metrics != null) {
+            Tags tags = Tags.of(Tag.of("pool", workload.toString()));
+            this.queued = metrics.gauge(QUEUED_METRIC, "Number of blocking tasks waiting for a worker thread", tags);
+            this.active = metrics.gauge(ACTIVE_METRIC, "Number of worker threads running blocking tasks", tags);
+            metrics.gauge(SIZE_METRIC, "Number of threads in the worker pool", tags).set(size);
+            this.waitTimer = metrics.timer(WAIT_METRIC, "Time the blocking tasks waited for a worker thread", tags);
+            this.executionTimer = metrics.timer(EXECUTION_METRIC, "Time the blocking tasks were running on a worker thread", tags);
+        } else {
+            this.queued = new AtomicInteger(0);
+            this.active = new AtomicInteger(0);
+            this.waitTimer = null;
+            this.executionTimer = null;
+        }
+    }
+
+    private WorkerExecutor executor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    executor = vertx.createSharedWorkerExecutor(workload.poolName(), size, MAX_EXECUTE_TIME_NS);
+                }
+            }
+        }
+
+        return executor;
+    }
+
+    /**
+     * Executes the blocking code on a thread of this pool. See
+     * {@link WorkerExecutor#executeBlocking(Handler, boolean, Handler)} for details.
+     *
+     * @param blockingCodeHandler The blocking code.
+     * @param ordered true if the calls from the same context should be executed in order.
+     * @param resultHandler The handler called on the original context with the result.
+     * @param <T> The type of the result.
+     */
+    public <T> void executeBlocking(Handler<Promise<T>> blockingCodeHandler, boolean ordered, Handler<AsyncResult<T>> resultHandler) {
+        long submitted = System.nanoTime();
+        queued.incrementAndGet();
+
+        Handler<Promise<T>> instrumentedHandler = promise -> {
+            long started = System.nanoTime();
+            queued.decrementAndGet();
+            active.incrementAndGet();
+            record(waitTimer, started - submitted);
+
+            try {
+                blockingCodeHandler.handle(promise);
+            } finally {
+                active.decrementAndGet();
+                record(executionTimer, System.nanoTime() - started);
+            }
+        };
+
+        if (virtualThreads) {
+            VirtualThreads.executeBlocking(vertx, instrumentedHandler, ordered, resultHandler);
+        } else {
+            executor().executeBlocking(instrumentedHandler, ordered, resultHandler);
+        }
+    }
+
+    /**
+     * Executes the blocking code on a thread of this pool. The calls from the same context are executed in order.
+     *
+     * @param blockingCodeHandler The blocking code.
+     * @param resultHandler The handler called on the original context with the result.
+     * @param <T> The type of the result.
+     */
+    public <T> void executeBlocking(Handler<Promise<T>> blockingCodeHandler, Handler<AsyncResult<T>> resultHandler) {
+        executeBlocking(blockingCodeHandler, true, resultHandler);
+    }
+
+    /**
+     * Executes the blocking code on a thread of this pool.
+     *
+     * @param blockingCodeHandler The blocking code.
+     * @param ordered true if the calls from the same context should be executed in order.
+     * @param <T> The type of the result.
+     *
+     * @return A future which completes with the result of the blocking code.
+     */
+    public <T> Future<T> executeBlocking(Handler<Promise<T>> blockingCodeHandler, boolean ordered) {
+        Promise<T> result = Promise.promise();
+        executeBlocking(blockingCodeHandler, ordered, result);
+        return result.future();
+    }
+
+    private static void record(Timer timer, long durationNs) {
+        if (timer != null) {
+            timer.record(durationNs, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @return The type of blocking calls executed by this pool
+     */
+    public WorkerPools.Workload workload() {
+        return workload;
+    }
+
+    /**
+     * @return The number of threads in this pool
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return True if the tasks run on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * @return The number of tasks waiting for a thread
+     */
+    public int queued() {
+        return queued.get();
+    }
+
+    /**
+     * @return The number of tasks currently running
+     */
+    public int active() {
+        return active.get();
+    }
+}
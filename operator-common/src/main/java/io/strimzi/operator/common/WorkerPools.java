@@ -0,0 +1,223 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registry of the worker pools used for blocking calls. Each type of blocking calls (see {@link Workload}) uses its
+ * own bounded pool, so that for example slow ZooKeeper calls do not delay the calls to the Kubernetes API.
+ * The pools are configured once when the operator starts using {@link #configure(Vertx, Map, boolean, MetricsProvider)}.
+ * Pools which were not configured are created with their default size and without metrics on first use.
+ * Optionally, the blocking I/O calls can run on virtual threads instead of the pools (see {@link VirtualThreads}).
+ */
+public class WorkerPools {
+    private static final Logger LOGGER = LogManager.getLogger(WorkerPools.class);
+    private static final String POOLS_MAP = "strimzi.worker.pools";
+    private static final String MODE_MAP = "strimzi.worker.pools.mode";
+    private static final String VIRTUAL_THREADS_KEY = "virtual-threads";
+
+    /**
+     * Types of blocking calls with their own worker pool
+     */
+    public enum Workload {
+        /**
+         * Synchronous calls to the Kubernetes API made by the resource operators
+         */
+        KUBERNETES("kubernetes", "kubernetes-ops-pool", 10, true),
+
+        /**
+         * Asynchronous Kubernetes operations of the resource operators (gets, lists, deletes and closing of watches)
+         */
+        KUBERNETES_ASYNC("kubernetes-async", "kubernetes-ops-tool", 20, true),
+
+        /**
+         * Calls to ZooKeeper
+         */
+        ZOOKEEPER("zookeeper", "zookeeper-ops-pool", 10, true),
+
+        /**
+         * Calls to the Kafka Admin API
+         */
+        KAFKA_ADMIN("kafka-admin", "kafka-admin-ops-pool", 10, true),
+
+        /**
+         * Generation of private keys. This is CPU intensive, so it never runs on virtual threads.
+         */
+        PRIVATE_KEYS("private-keys", "private-key-pool", 1, false);
+
+        private final String configName;
+        private final String poolName;
+        private final int defaultSize;
+        private final boolean blockingIo;
+
+        Workload(String configName, String poolName, int defaultSize, boolean blockingIo) {
+            this.configName = configName;
+            this.poolName = poolName;
+            this.defaultSize = defaultSize;
+            this.blockingIo = blockingIo;
+        }
+
+        /**
+         * @return The name of the Vert.x worker pool
+         */
+        public String poolName() {
+            return poolName;
+        }
+
+        /**
+         * @return The number of threads used when the size of the pool is not configured
+         */
+        public int defaultSize() {
+            return defaultSize;
+        }
+
+        /**
+         * Finds the workload by its name used in the configuration
+         *
+         * @param configName The name of the workload used in the configuration (e.g. zookeeper)
+         *
+         * @return The workload
+         */
+        public static Workload forName(String configName) {
+            for (Workload workload : values()) {
+                if (workload.configName.equals(configName.toLowerCase(Locale.ENGLISH))) {
+                    return workload;
+                }
+            }
+
+            throw new IllegalArgumentException("Unknown worker pool " + configName);
+        }
+
+        @Override
+        public String toString() {
+            return configName;
+        }
+    }
+
+    private WorkerPools() { }
+
+    /**
+     * Creates the worker pools with the configured sizes. Pools which are already in use keep their configuration.
+     *
+     * @param vertx The Vertx instance.
+     * @param sizes The number of threads of the pools. Pools which are not in the map use their default size.
+     * @param virtualThreads true to run the blocking I/O calls on virtual threads when the JVM supports them.
+     * @param metrics The metrics provider used to instrument the pools.
+     */
+    public static void configure(Vertx vertx, Map<Workload, Integer> sizes, boolean virtualThreads, MetricsProvider metrics) {
+        if (virtualThreads && !VirtualThreads.isSupported()) {
+            LOGGER.warn("Virtual threads are not supported by this JVM (Java 21 or newer is required). The worker pools will be used instead.");
+            virtualThreads = false;
+        }
+
+        vertx.sharedData().<String, Boolean>getLocalMap(MODE_MAP).put(VIRTUAL_THREADS_KEY, virtualThreads);
+        LocalMap<String, WorkerPool> pools = pools(vertx);
+
+        for (Workload workload : Workload.values()) {
+            int size = sizes.getOrDefault(workload, workload.defaultSize());
+            boolean virtual = virtualThreads && workload.blockingIo;
+
+            if (pools.get(workload.poolName()) != null
+                    || pools.putIfAbsent(workload.poolName(), new WorkerPool(vertx, workload, size, virtual, metrics)) != null) {
+                LOGGER.warn("Worker pool {} is already in use and cannot be configured", workload);
+            } else if (virtual) {
+                LOGGER.info("Configured worker pool {} to use virtual threads", workload);
+            } else {
+                LOGGER.info("Configured worker pool {} with {} threads", workload, size);
+            }
+        }
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     *
+     * @return True if the blocking I/O calls run on virtual threads
+     */
+    public static boolean isVirtualThreadsEnabled(Vertx vertx) {
+        return Boolean.TRUE.equals(vertx.sharedData().<String, Boolean>getLocalMap(MODE_MAP).get(VIRTUAL_THREADS_KEY));
+    }
+
+    /**
+     * Executes blocking code which does not belong to any specific worker pool. It runs on a virtual thread when
+     * virtual threads are enabled and on the default Vert.x worker pool otherwise.
+     *
+     * @param vertx The Vertx instance.
+     * @param blockingCodeHandler The blocking code.
+     * @param resultHandler The handler called on the original context with the result.
+     * @param <T> The type of the result.
+     */
+    public static <T> void executeBlocking(Vertx vertx, Handler<Promise<T>> blockingCodeHandler, Handler<AsyncResult<T>> resultHandler) {
+        if (isVirtualThreadsEnabled(vertx)) {
+            VirtualThreads.executeBlocking(vertx, blockingCodeHandler, true, resultHandler);
+        } else {
+            vertx.executeBlocking(blockingCodeHandler, resultHandler);
+        }
+    }
+
+    /**
+     * Gets the worker pool for the given type of blocking calls.
+     *
+     * @param vertx The Vertx instance.
+     * @param workload The type of the blocking calls.
+     *
+     * @return The worker pool
+     */
+    public static WorkerPool get(Vertx vertx, Workload workload) {
+        LocalMap<String, WorkerPool> pools = pools(vertx);
+        WorkerPool pool = pools.get(workload.poolName());
+
+        if (pool == null) {
+            pool = new WorkerPool(vertx, workload, workload.defaultSize(), false, null);
+            WorkerPool existing = pools.putIfAbsent(workload.poolName(), pool);
+
+            if (existing != null) {
+                pool = existing;
+            }
+        }
+
+        return pool;
+    }
+
+    private static LocalMap<String, WorkerPool> pools(Vertx vertx) {
+        return vertx.sharedData().getLocalMap(POOLS_MAP);
+    }
+
+    /**
+     * Parses the sizes of the worker pools from a string such as {@code kubernetes=20 zookeeper=5}.
+     *
+     * @param sizes The string with the sizes or null.
+     *
+     * @return The map with the sizes of the configured pools
+     *
+     * @throws RuntimeException When the string is not valid, contains unknown pools or invalid sizes
+     */
+    public static Map<Workload, Integer> parsePoolSizes(String sizes) {
+        Map<Workload, Integer> result = new HashMap<>();
+
+        for (Map.Entry<String, String> entry : Util.parseMap(sizes).entrySet()) {
+            int size = Integer.parseInt(entry.getValue());
+
+            if (size <= 0) {
+                throw new IllegalArgumentException("Size of worker pool " + entry.getKey() + " must be greater than 0");
+            }
+
+            result.put(Workload.forName(entry.getKey()), size);
+        }
+
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -4,12 +4,15 @@
  */
 package io.strimzi.operator.common.operator.resource;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.fabric8.kubernetes.api.model.DeletionPropagation;
 import io.fabric8.kubernetes.api.model.Doneable;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.LabelSelector;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
@@ -17,8 +20,15 @@ import io.fabric8.kubernetes.client.dsl.FilterWatchListMultiDeletable;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.model.NamespaceAndName;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
@@ -30,8 +40,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
 
+import static io.strimzi.operator.common.AbstractOperator.METRICS_PREFIX;
+
 /**
  * Abstract resource creation, for a generic resource type {@code R}.
  * This class applies the template method pattern, first checking whether the resource exists,
@@ -48,11 +61,24 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient,
         D extends Doneable<T>,
         R extends Resource<T, D>> {
 
+    private static final ObjectMapper FINGERPRINT_MAPPER = Serialization.jsonMapper().copy()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    /**
+     * The last patches are forgotten when the resource was not reconciled for this time. This removes the entries of
+     * resources which were deleted outside of the operator or are in namespaces which are not watched anymore.
+     */
+    /*test*/ static final long LAST_PATCH_EXPIRY_MS = 3_600_000L;
+
     protected final Logger log = LogManager.getLogger(getClass());
     protected final Vertx vertx;
     protected final C client;
     protected final String resourceKind;
     protected final ResourceSupport resourceSupport;
+    private volatile ResourceCache<T> cache;
+    private final Map<NamespaceAndName, LastPatch> lastPatches = new ConcurrentHashMap<>();
+    private volatile long lastPatchesPrunedMs = System.currentTimeMillis();
+    private volatile Counter avoidedPatchesCounter;
 
     /**
      * Constructor.
@@ -69,6 +95,93 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient,
 
     protected abstract MixedOperation<T, L, D, R> operation();
 
+    /**
+     * Registers the metrics of this resource operator.
+     *
+     * @param metrics The metrics provider
+     */
+    public void setMetricsProvider(MetricsProvider metrics) {
+        this.avoidedPatchesCounter = metrics.counter(METRICS_PREFIX + "resources.patches.avoided",
+                "Number of patches of Kubernetes resources which were skipped because nothing changed since the last patch",
+                Tags.of(Tag.of("kind", resourceKind)));
+    }
+
+    /**
+     * Starts caching the resources in the given namespace. Once the resources are cached, {@link #get(String, String)},
+     * {@link #getAsync(String, String)}, {@link #list(String, Labels)} and {@link #listAsync(String, Labels)} are
+     * served from the cache instead of calling the Kubernetes API. See {@link ResourceCache} for details.
+     *
+     * @param namespace The namespace or {@link AbstractWatchableResourceOperator#ANY_NAMESPACE}
+     * @param metrics The metrics provider used for the cache hit and miss metrics
+     * @param resyncIntervalMs How often are the cached resources listed again
+     *
+     * @return A future which completes when the resources were listed and are being watched
+     */
+    public Future<Void> enableCache(String namespace, MetricsProvider metrics, long resyncIntervalMs) {
+        synchronized (this) {
+            if (cache == null) {
+                cache = new ResourceCache<>(vertx, resourceKind, Labels.STRIMZI_CLUSTER_LABEL, metrics, this::watchForCache,
+                        this::listForCache, resyncIntervalMs);
+            }
+        }
+
+        return cache.watch(namespace);
+    }
+
+    /**
+     * Serves the reads of this operator from the cache of another operator for the same kind of resources, so that
+     * the resources are listed and watched only once. The cache has to be enabled on the other operator first.
+     *
+     * @param other The operator whose cache should be shared
+     */
+    public void shareCache(AbstractResourceOperator<?, T, ?, ?, ?> other) {
+        ResourceCache<T> cache = other.cache;
+
+        if (cache == null) {
+            throw new IllegalStateException("The cache of the " + other.resourceKind + " operator is not enabled");
+        }
+
+        this.cache = cache;
+    }
+
+    /**
+     * Only the resources with the strimzi.io/cluster label are cached, the other resources in the namespace are not
+     * kept in memory.
+     */
+    private Watch watchForCache(String namespace, Watcher<T> watcher) {
+        if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace)) {
+            return operation().inAnyNamespace().withLabel(Labels.STRIMZI_CLUSTER_LABEL).watch(watcher);
+        } else {
+            return operation().inNamespace(namespace).withLabel(Labels.STRIMZI_CLUSTER_LABEL).watch(watcher);
+        }
+    }
+
+    private List<T> listForCache(String namespace) {
+        if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace)) {
+            return operation().inAnyNamespace().withLabel(Labels.STRIMZI_CLUSTER_LABEL).list().getItems();
+        } else {
+            return operation().inNamespace(namespace).withLabel(Labels.STRIMZI_CLUSTER_LABEL).list().getItems();
+        }
+    }
+
+    private T getCached(String namespace, String name) {
+        ResourceCache<T> cache = this.cache;
+        return cache != null ? cache.get(namespace, name) : null;
+    }
+
+    private List<T> listCached(String namespace, Labels selector) {
+        ResourceCache<T> cache = this.cache;
+        return cache != null ? cache.list(namespace, selector) : null;
+    }
+
+    private void updateCache(String namespace, String name, ReconcileResult<T> result) {
+        ResourceCache<T> cache = this.cache;
+
+        if (cache != null) {
+            cache.update(namespace, name, result.resourceOpt().orElse(null));
+        }
+    }
+
     /**
      * Asynchronously create or update the given {@code resource} depending on whether it already exists,
      * returning a future for the outcome.
@@ -99,9 +212,9 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient,
         }
 
         Promise<ReconcileResult<T>> promise = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
+        WorkerPools.get(vertx, WorkerPools.Workload.KUBERNETES).executeBlocking(
             future -> {
-                T current = operation().inNamespace(namespace).withName(name).get();
+                T current = get(namespace, name);
                 if (desired != null) {
                     if (current == null) {
                         log.debug("{} {}/{} does not exist, creating it", resourceKind, namespace, name);
@@ -114,9 +227,11 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient,
                     if (current != null) {
                         // Deletion is desired
                         log.debug("{} {}/{} exist, deleting it", resourceKind, namespace, name);
+                        lastPatches.remove(new NamespaceAndName(namespace, name));
                         internalDelete(namespace, name).onComplete(future);
                     } else {
                         log.debug("{} {}/{} does not exist, noop", resourceKind, namespace, name);
+                        lastPatches.remove(new NamespaceAndName(namespace, name));
                         future.complete(ReconcileResult.noop(null));
                     }
                 }
@@ -125,7 +240,11 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient,
             false,
             promise
         );
-        return promise.future();
+        return promise.future()
+                .map(result -> {
+                    updateCache(namespace, name, result);
+                    return result;
+                });
     }
 
     /**
@@ -187,16 +306,117 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient,
     }
 
     protected Future<ReconcileResult<T>> internalPatch(String namespace, String name, T current, T desired, boolean cascading) {
+        NamespaceAndName key = new NamespaceAndName(namespace, name);
+        String fingerprint = fingerprint(desired);
+
+        if (fingerprint != null && isUnchangedSinceLastPatch(key, current, fingerprint)) {
+            log.debug("{} {} in namespace {} has not been patched because neither the desired nor the current resource changed since the last patch", resourceKind, name, namespace);
+            avoidedPatch();
+            return Future.succeededFuture(ReconcileResult.noop(current));
+        }
+
         try {
             T result = operation().inNamespace(namespace).withName(name).withPropagationPolicy(cascading ? DeletionPropagation.FOREGROUND : DeletionPropagation.ORPHAN).patch(desired);
             log.debug("{} {} in namespace {} has been patched", resourceKind, name, namespace);
+            rememberPatch(key, result, fingerprint);
             return Future.succeededFuture(wasChanged(current, result) ? ReconcileResult.patched(result) : ReconcileResult.noop(result));
         } catch (Exception e) {
             log.debug("Caught exception while patching {} {} in namespace {}", resourceKind, name, namespace, e);
+            lastPatches.remove(key);
             return Future.failedFuture(e);
         }
     }
 
+    /**
+     * Computes the fingerprint of the desired resource. The map entries are ordered, so that equal resources have the
+     * same fingerprint.
+     *
+     * @param desired The desired resource
+     *
+     * @return The fingerprint or null if it could not be computed
+     */
+    /*test*/ String fingerprint(T desired) {
+        try {
+            return Util.stringHash(FINGERPRINT_MAPPER.writeValueAsString(desired));
+        } catch (Exception e) {
+            log.debug("Failed to compute the fingerprint of {} {}", resourceKind, desired.getMetadata().getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * The patch can be skipped when the same desired resource was already patched and the resource was not changed
+     * by anyone since then. Any change to the current resource (including status updates) changes its resource
+     * version, so the operator never skips patches reverting manual changes.
+     */
+    private boolean isUnchangedSinceLastPatch(NamespaceAndName key, T current, String fingerprint) {
+        LastPatch lastPatch = lastPatches.get(key);
+
+        if (lastPatch != null
+                && current.getMetadata() != null
+                && current.getMetadata().getResourceVersion() != null
+                && lastPatch.fingerprint.equals(fingerprint)
+                && lastPatch.resourceVersion.equals(current.getMetadata().getResourceVersion())) {
+            lastPatch.usedMs = System.currentTimeMillis();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private void rememberPatch(NamespaceAndName key, T result, String fingerprint) {
+        if (fingerprint != null
+                && result != null
+                && result.getMetadata() != null
+                && result.getMetadata().getResourceVersion() != null) {
+            lastPatches.put(key, new LastPatch(fingerprint, result.getMetadata().getResourceVersion()));
+        } else {
+            lastPatches.remove(key);
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastPatchesPrunedMs >= LAST_PATCH_EXPIRY_MS / 4) {
+            pruneLastPatches(now);
+        }
+    }
+
+    /**
+     * Forgets the last patches of the resources which were not reconciled for {@link #LAST_PATCH_EXPIRY_MS}. Forgetting
+     * a last patch only means that the next reconciliation of the resource patches it again.
+     *
+     * @param nowMs The current time
+     */
+    /*test*/ void pruneLastPatches(long nowMs) {
+        lastPatchesPrunedMs = nowMs;
+        lastPatches.values().removeIf(lastPatch -> nowMs - lastPatch.usedMs >= LAST_PATCH_EXPIRY_MS);
+    }
+
+    /*test*/ int lastPatchesSize() {
+        return lastPatches.size();
+    }
+
+    private void avoidedPatch() {
+        Counter counter = avoidedPatchesCounter;
+
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Fingerprint of the last patched desired resource and the resource version of the resource after the patch
+     */
+    private static class LastPatch {
+        final String fingerprint;
+        final String resourceVersion;
+        volatile long usedMs = System.currentTimeMillis();
+
+        LastPatch(String fingerprint, String resourceVersion) {
+            this.fingerprint = fingerprint;
+            this.resourceVersion = resourceVersion;
+        }
+    }
+
     protected boolean wasChanged(T oldVersion, T newVersion) {
         if (oldVersion != null
                 && oldVersion.getMetadata() != null
@@ -230,6 +450,12 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient,
      * @return The resource, or null if it doesn't exist.
      */
     public T get(String namespace, String name) {
+        T cached = getCached(namespace, name);
+
+        if (cached != null) {
+            return cached;
+        }
+
         return operation().inNamespace(namespace).withName(name).get();
     }
 
@@ -240,6 +466,12 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient,
      * @return A Future for the result.
      */
     public Future<T> getAsync(String namespace, String name) {
+        T cached = getCached(namespace, name);
+
+        if (cached != null) {
+            return Future.succeededFuture(cached);
+        }
+
         return resourceSupport.getAsync(operation().inNamespace(namespace).withName(name));
     }
 
@@ -250,6 +482,12 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient,
      * @return A list of matching resources.
      */
     public List<T> list(String namespace, Labels selector) {
+        List<T> cached = listCached(namespace, selector);
+
+        if (cached != null) {
+            return cached;
+        }
+
         if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace))  {
             return listInAnyNamespace(selector);
         } else {
@@ -297,6 +535,12 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient,
      * @return A Future with a list of matching resources.
      */
     public Future<List<T>> listAsync(String namespace, Labels selector) {
+        List<T> cached = listCached(namespace, selector);
+
+        if (cached != null) {
+            return Future.succeededFuture(cached);
+        }
+
         FilterWatchListDeletable<T, L, Boolean, Watch> x;
 
         if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace))  {
@@ -344,7 +588,8 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient,
 
     /**
      * Returns a future that completes when the resource identified by the given {@code namespace} and {@code name}
-     * is ready.
+     * is ready. The resource is watched and the predicate is tested whenever the resource changes. Polling with the
+     * given interval is used only when the watch cannot be created or is closed.
      *
      * @param namespace The namespace.
      * @param name The resource name.
@@ -361,6 +606,32 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient,
             logState,
             pollIntervalMs,
             timeoutMs,
-            () -> predicate.test(namespace, name));
+            () -> predicate.test(namespace, name),
+            error -> false,
+            (changed, closed) -> watchForWait(namespace, name, changed, closed));
+    }
+
+    /**
+     * Watches a single resource for {@link #waitFor(String, String, String, long, long, BiPredicate)}.
+     *
+     * @param namespace The namespace.
+     * @param name The resource name.
+     * @param changed Called for every event of the resource
+     * @param closed Called when the watch is closed
+     * @return The watch
+     */
+    protected Watch watchForWait(String namespace, String name, Runnable changed, Runnable closed) {
+        return operation().inNamespace(namespace).withName(name).watch(new Watcher<T>() {
+            @Override
+            public void eventReceived(Action action, T resource) {
+                log.trace("{} {} in namespace {} changed ({}) while waiting for it", resourceKind, name, namespace, action);
+                changed.run();
+            }
+
+            @Override
+            public void onClose(KubernetesClientException cause) {
+                closed.run();
+            }
+        });
     }
 }
@@ -8,6 +8,8 @@ import io.fabric8.kubernetes.api.model.Doneable;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
@@ -54,12 +56,42 @@ public abstract class AbstractWatchableResourceOperator<
         }
     }
 
+    public Watch watch(String namespace, String name, Watcher<T> watcher) {
+        return operation().inNamespace(namespace).withName(name).watch(watcher);
+    }
+
     public Watch watch(String namespace, Optional<LabelSelector> selector, Watcher<T> watcher) {
+        return watch(namespace, selector, null, watcher);
+    }
+
+    /**
+     * Watches the resources starting from the given resourceVersion. When the resourceVersion is set, the watch
+     * receives only the changes made after it and bookmark events which keep the resourceVersion up to date.
+     * Without it, the watch starts with an ADDED event for each existing resource.
+     * If the resourceVersion is too old, the watch is closed with the HTTP 410 Gone error.
+     *
+     * @param namespace The namespace or {@link #ANY_NAMESPACE}.
+     * @param selector The label selector.
+     * @param resourceVersion The resourceVersion to resume the watch from or null.
+     * @param watcher The watcher.
+     *
+     * @return The watch
+     */
+    public Watch watch(String namespace, Optional<LabelSelector> selector, String resourceVersion, Watcher<T> watcher) {
         FilterWatchListDeletable<T, L, Boolean, Watch> operation
                 = ANY_NAMESPACE.equals(namespace) ? operation().inAnyNamespace() : operation().inNamespace(namespace);
         if (selector.isPresent()) {
             operation = operation.withLabelSelector(selector.get());
         }
-        return operation.watch(watcher);
+
+        if (resourceVersion != null) {
+            ListOptions options = new ListOptionsBuilder()
+                    .withResourceVersion(resourceVersion)
+                    .withAllowWatchBookmarks(true)
+                    .build();
+            return operation.watch(options, watcher);
+        } else {
+            return operation.watch(watcher);
+        }
     }
 }
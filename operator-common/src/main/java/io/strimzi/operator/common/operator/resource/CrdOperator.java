@@ -19,6 +19,7 @@ import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
 import io.fabric8.kubernetes.client.dsl.base.OperationSupport;
 import io.fabric8.kubernetes.client.utils.Serialization;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.WorkerPools;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
@@ -104,7 +105,7 @@ public class CrdOperator<C extends KubernetesClient,
     public Future<T> patchAsync(T resource, boolean cascading) {
         Promise<T> blockingPromise = Promise.promise();
 
-        vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(future -> {
+        WorkerPools.get(vertx, WorkerPools.Workload.KUBERNETES).executeBlocking(future -> {
             String namespace = resource.getMetadata().getNamespace();
             String name = resource.getMetadata().getName();
             try {
@@ -123,7 +124,7 @@ public class CrdOperator<C extends KubernetesClient,
     public Future<T> updateStatusAsync(T resource) {
         Promise<T> blockingPromise = Promise.promise();
 
-        vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(future -> {
+        WorkerPools.get(vertx, WorkerPools.Workload.KUBERNETES).executeBlocking(future -> {
             try {
 
                 OkHttpClient client = this.client.adapt(OkHttpClient.class);
@@ -0,0 +1,80 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import io.fabric8.kubernetes.api.model.coordination.v1.DoneableLease;
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.vertx.core.Vertx;
+
+/**
+ * Operations for {@code Lease}s. Besides the usual operations, it supports creating and replacing the leases only
+ * when nobody else changed them in the meantime, which is used to decide about the ownership of the leases.
+ */
+public class LeaseOperator extends AbstractResourceOperator<KubernetesClient, Lease, LeaseList, DoneableLease, Resource<Lease, DoneableLease>> {
+    private static final int HTTP_CONFLICT = 409;
+
+    /**
+     * Constructor
+     * @param vertx The Vertx instance
+     * @param client The Kubernetes client
+     */
+    public LeaseOperator(Vertx vertx, KubernetesClient client) {
+        super(vertx, client, "Lease");
+    }
+
+    @Override
+    protected MixedOperation<Lease, LeaseList, DoneableLease, Resource<Lease, DoneableLease>> operation() {
+        return client.leases();
+    }
+
+    /**
+     * Synchronously creates the lease unless it already exists.
+     *
+     * @param namespace The namespace of the lease.
+     * @param lease The lease.
+     *
+     * @return The created lease or null if the lease already exists
+     */
+    public Lease tryCreate(String namespace, Lease lease) {
+        try {
+            return operation().inNamespace(namespace).create(lease);
+        } catch (KubernetesClientException e) {
+            if (e.getCode() == HTTP_CONFLICT) {
+                log.debug("{} {} in namespace {} was created by someone else", resourceKind, lease.getMetadata().getName(), namespace);
+                return null;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Synchronously replaces the lease unless it was changed since the resource version of the provided lease.
+     *
+     * @param namespace The namespace of the lease.
+     * @param lease The lease with the resource version of the lease it replaces.
+     *
+     * @return The replaced lease or null if the lease was changed in the meantime
+     */
+    public Lease tryReplace(String namespace, Lease lease) {
+        try {
+            return operation().inNamespace(namespace).withName(lease.getMetadata().getName())
+                    .lockResourceVersion(lease.getMetadata().getResourceVersion())
+                    .replace(lease);
+        } catch (KubernetesClientException e) {
+            if (e.getCode() == HTTP_CONFLICT) {
+                log.debug("{} {} in namespace {} was changed by someone else", resourceKind, lease.getMetadata().getName(), namespace);
+                return null;
+            }
+
+            throw e;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.PodResource;
+import io.strimzi.operator.common.model.Labels;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
@@ -49,6 +50,17 @@ public class PodOperator extends AbstractReadyResourceOperator<KubernetesClient,
         return operation().inNamespace(namespace).withName(name).watch(watcher);
     }
 
+    /**
+     * Watch the pods matching the given {@code selector} in the given {@code namespace} using the given {@code watcher}.
+     * @param namespace The namespace
+     * @param selector The label selector
+     * @param watcher The watcher
+     * @return The watch
+     */
+    public Watch watch(String namespace, Labels selector, Watcher<Pod> watcher) {
+        return operation().inNamespace(namespace).withLabels(selector.toMap()).watch(watcher);
+    }
+
     /**
      * Asynchronously delete the given pod, return a Future which completes when the Pod has been recreated.
      * Note: The pod might not be "ready" when the returned Future completes.
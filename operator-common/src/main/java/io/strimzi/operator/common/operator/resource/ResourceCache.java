@@ -0,0 +1,494 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.model.Labels;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static io.strimzi.operator.common.AbstractOperator.METRICS_PREFIX;
+
+/**
+ * Watch-backed in-memory store of the resources of one kind, indexed by namespace and by the value of one label (the
+ * index label). The resources of a namespace are listed when the namespace is added to the cache and kept up to date by
+ * watching them. The cache is used by the {@link AbstractResourceOperator} to serve reads without calling the
+ * Kubernetes API.
+ *
+ * Only the resources which have the index label are cached, the watch and list functions are expected to select only
+ * these resources. This keeps unrelated resources (for example the Secrets and Pods of other applications running in
+ * the same namespace) out of the memory of the operator. Reads of the other resources go to the Kubernetes API. Lists
+ * are served from the cache only when their selector contains the index label, and then only the resources with the
+ * same value of the index label are matched against the selector.
+ *
+ * To make sure the cache does not serve stale data:
+ *
+ * <ul>
+ * <li>A namespace is served from the cache only while its watch is open and its resources were listed. When the watch
+ *     is closed with an error, the reads go to the Kubernetes API until the watch is recreated and the resources
+ *     are listed again.
+ * <li>The resources are listed again every {@code resyncIntervalMs} to repair any missed event.
+ * <li>Resources changed by the operator are updated in the cache with the state returned by the Kubernetes API, so
+ *     that the change is visible before the watch event arrives.
+ * <li>Resources which are not in the cache are read from the Kubernetes API, so that a resource created by the
+ *     operator is visible even before its watch event arrives.
+ * </ul>
+ *
+ * The cached resources are copied before they are returned, so that callers can modify them. Thanks to the index,
+ * only the resources matching the selector are copied.
+ *
+ * @param <T> The Kubernetes resource type.
+ */
+public class ResourceCache<T extends HasMetadata> {
+    private static final Logger log = LogManager.getLogger(ResourceCache.class);
+
+    public static final long DEFAULT_RESYNC_INTERVAL_MS = 300_000L;
+    /*test*/ static final long RESTART_DELAY_MS = 5_000L;
+
+    private final Vertx vertx;
+    private final String resourceKind;
+    private final String indexLabel;
+    private final BiFunction<String, Watcher<T>, Watch> watchFunction;
+    private final Function<String, List<T>> listFunction;
+    private final long resyncIntervalMs;
+    private final Counter hits;
+    private final Counter misses;
+
+    // Namespace -> name -> resource
+    private final Map<String, Map<String, T>> resources = new ConcurrentHashMap<>();
+    // Namespace -> value of the index label -> names of the resources. Updated together with the resources while
+    // holding the lock on this cache.
+    private final Map<String, Map<String, Set<String>>> index = new ConcurrentHashMap<>();
+    private final List<NamespaceWatcher> watchers = new CopyOnWriteArrayList<>();
+    private volatile boolean closed = false;
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param resourceKind The kind of the cached resources (for logging and metrics).
+     * @param indexLabel The label which the cached resources have and by which they are indexed.
+     * @param metrics The metrics provider for the hit and miss counters.
+     * @param watchFunction Watches the resources with the index label in the namespace passed as the first argument.
+     * @param listFunction Lists the resources with the index label in the namespace passed as the argument.
+     * @param resyncIntervalMs How often the cached resources are listed again.
+     */
+    public ResourceCache(Vertx vertx, String resourceKind, String indexLabel, MetricsProvider metrics,
+                         BiFunction<String, Watcher<T>, Watch> watchFunction, Function<String, List<T>> listFunction,
+                         long resyncIntervalMs) {
+        this.vertx = vertx;
+        this.resourceKind = resourceKind;
+        this.indexLabel = indexLabel;
+        this.watchFunction = watchFunction;
+        this.listFunction = listFunction;
+        this.resyncIntervalMs = resyncIntervalMs;
+
+        Tags tags = Tags.of(Tag.of("kind", resourceKind));
+        this.hits = metrics.counter(METRICS_PREFIX + "resource.cache.hits",
+                "Number of reads of Kubernetes resources served from the cache",
+                tags);
+        this.misses = metrics.counter(METRICS_PREFIX + "resource.cache.misses",
+                "Number of reads of Kubernetes resources which were not served from the cache",
+                tags);
+    }
+
+    /**
+     * Starts caching the resources in the given namespace.
+     *
+     * @param namespace The namespace or {@link AbstractWatchableResourceOperator#ANY_NAMESPACE} for all namespaces
+     *
+     * @return A future which completes when the resources were listed and are being watched
+     */
+    public Future<Void> watch(String namespace) {
+        NamespaceWatcher watcher = new NamespaceWatcher(namespace);
+        watchers.add(watcher);
+        watcher.resyncTimer = vertx.setPeriodic(resyncIntervalMs, id -> watcher.resync());
+
+        return watcher.start()
+                .onComplete(res -> {
+                    if (res.failed()) {
+                        watcher.retryRestart(res.cause());
+                    }
+                });
+    }
+
+    /**
+     * Gets a resource from the cache.
+     *
+     * @param namespace Namespace of the resource
+     * @param name Name of the resource
+     *
+     * @return A copy of the cached resource or null if it is not cached and has to be read from the Kubernetes API
+     */
+    public T get(String namespace, String name) {
+        T resource = isSynced(namespace) ? resources.getOrDefault(namespace, Collections.emptyMap()).get(name) : null;
+
+        if (resource != null) {
+            hits.increment();
+            return copy(resource);
+        } else {
+            misses.increment();
+            return null;
+        }
+    }
+
+    /**
+     * Lists the resources from the cache.
+     *
+     * @param namespace Namespace of the resources or {@link AbstractWatchableResourceOperator#ANY_NAMESPACE}
+     * @param selector Labels which the resources need to have or null to list all resources
+     *
+     * @return Copies of the cached resources or null if the namespace is not cached or the selector does not contain
+     * the index label and the resources have to be listed using the Kubernetes API
+     */
+    public List<T> list(String namespace, Labels selector) {
+        Map<String, String> labels = selector != null ? selector.toMap() : Collections.emptyMap();
+        String indexValue = labels.get(indexLabel);
+
+        if (indexValue == null || !isSynced(namespace)) {
+            misses.increment();
+            return null;
+        }
+
+        List<T> matching = new ArrayList<>();
+
+        synchronized (this) {
+            for (Map.Entry<String, Map<String, Set<String>>> entry : index.entrySet()) {
+                if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace) || namespace.equals(entry.getKey())) {
+                    Map<String, T> inNamespace = resources.getOrDefault(entry.getKey(), Collections.emptyMap());
+
+                    for (String name : entry.getValue().getOrDefault(indexValue, Collections.emptySet())) {
+                        T resource = inNamespace.get(name);
+
+                        if (resource != null && matches(resource, labels)) {
+                            matching.add(resource);
+                        }
+                    }
+                }
+            }
+        }
+
+        hits.increment();
+        return matching.stream().map(this::copy).collect(Collectors.toList());
+    }
+
+    /**
+     * Updates the cache with a resource which was created, patched or deleted by the operator. This makes the change
+     * visible to the next read even before the watch event arrives.
+     *
+     * @param namespace Namespace of the resource
+     * @param name Name of the resource
+     * @param resource The resource returned by the Kubernetes API or null if the resource was deleted. Resources
+     *                 without resource version or without the index label are not cached.
+     */
+    public void update(String namespace, String name, T resource) {
+        if (!isSynced(namespace)) {
+            return;
+        }
+
+        if (resource != null && resource.getMetadata().getResourceVersion() != null && indexValue(resource) != null) {
+            put(resource);
+        } else {
+            // Deleted or not returned by the Kubernetes API => read it from the API the next time
+            remove(namespace, name);
+        }
+
+        // The change takes precedence over the result of a running list
+        for (NamespaceWatcher watcher : watchers) {
+            if (watcher.listing) {
+                watcher.changedWhileListing.add(namespace + "/" + name);
+            }
+        }
+    }
+
+    /**
+     * Cached resources are never replaced by older versions, e.g. when a watch event arrives after the operator
+     * updated the cache with the result of its own change. Resource versions should be treated as opaque, so the
+     * comparison is done only when both are numbers (which is the case for the resources stored in etcd).
+     */
+    /*test*/ static boolean isNewer(HasMetadata cached, HasMetadata updated) {
+        try {
+            return Long.parseLong(cached.getMetadata().getResourceVersion()) > Long.parseLong(updated.getMetadata().getResourceVersion());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stops watching the resources and clears the cache
+     */
+    public void close() {
+        closed = true;
+
+        for (NamespaceWatcher watcher : watchers) {
+            watcher.close();
+        }
+
+        watchers.clear();
+
+        synchronized (this) {
+            resources.clear();
+            index.clear();
+        }
+    }
+
+    /**
+     * @param namespace Namespace or {@link AbstractWatchableResourceOperator#ANY_NAMESPACE}
+     *
+     * @return True if the resources in the namespace are cached and up to date
+     */
+    public boolean isSynced(String namespace) {
+        for (NamespaceWatcher watcher : watchers) {
+            if (watcher.synced
+                    && (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(watcher.namespace) || watcher.namespace.equals(namespace))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean matches(HasMetadata resource, Map<String, String> labels) {
+        Map<String, String> resourceLabels = resource.getMetadata().getLabels();
+
+        if (labels.isEmpty()) {
+            return true;
+        } else if (resourceLabels == null) {
+            return false;
+        } else {
+            return resourceLabels.entrySet().containsAll(labels.entrySet());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T copy(T resource) {
+        return (T) Serialization.jsonMapper().convertValue(resource, resource.getClass());
+    }
+
+    private String indexValue(HasMetadata resource) {
+        Map<String, String> labels = resource.getMetadata().getLabels();
+        return labels != null ? labels.get(indexLabel) : null;
+    }
+
+    private synchronized void put(T resource) {
+        String namespace = resource.getMetadata().getNamespace();
+        String name = resource.getMetadata().getName();
+
+        if (indexValue(resource) == null) {
+            // The index label was removed, the resource is not cached anymore
+            remove(namespace, name);
+            return;
+        }
+
+        Map<String, T> inNamespace = resources.computeIfAbsent(namespace, ns -> new ConcurrentHashMap<>());
+        T cached = inNamespace.get(name);
+
+        if (cached == null || !isNewer(cached, resource)) {
+            unindex(namespace, name, cached);
+            inNamespace.put(name, resource);
+            index.computeIfAbsent(namespace, ns -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(indexValue(resource), value -> ConcurrentHashMap.newKeySet())
+                    .add(name);
+        }
+    }
+
+    private synchronized void remove(String namespace, String name) {
+        Map<String, T> inNamespace = resources.get(namespace);
+
+        if (inNamespace != null) {
+            unindex(namespace, name, inNamespace.remove(name));
+        }
+    }
+
+    private void unindex(String namespace, String name, T cached) {
+        Map<String, Set<String>> inNamespace = index.get(namespace);
+
+        if (cached != null && inNamespace != null) {
+            Set<String> names = inNamespace.get(indexValue(cached));
+
+            if (names != null) {
+                names.remove(name);
+
+                if (names.isEmpty()) {
+                    inNamespace.remove(indexValue(cached));
+                }
+            }
+        }
+    }
+
+    /**
+     * Watches the resources in one namespace or in all namespaces. When the watch is closed because of an error, it
+     * is recreated and the resources are listed again.
+     */
+    private class NamespaceWatcher implements Watcher<T> {
+        private final String namespace;
+
+        // Resources changed by watch events while the resources are being listed. These take precedence over the
+        // listed resources.
+        private final Set<String> changedWhileListing = ConcurrentHashMap.newKeySet();
+        private volatile boolean listing = false;
+        private volatile boolean synced = false;
+        private volatile Watch watch;
+        private long resyncTimer = -1;
+
+        NamespaceWatcher(String namespace) {
+            this.namespace = namespace;
+        }
+
+        /**
+         * The watch is created before listing the resources, so that no change is missed between listing and watching.
+         */
+        Future<Void> start() {
+            return Util.async(vertx, () -> watchFunction.apply(namespace, this))
+                    .compose(w -> {
+                        watch = w;
+                        return list();
+                    })
+                    .map(v -> {
+                        synced = true;
+                        return v;
+                    });
+        }
+
+        Future<Void> list() {
+            listing = true;
+            changedWhileListing.clear();
+
+            return Util.async(vertx, () -> listFunction.apply(namespace))
+                    .map(listed -> {
+                        sync(listed);
+                        log.debug("Cached {} {} resources in namespace {}", listed.size(), resourceKind, namespace);
+                        return (Void) null;
+                    })
+                    .recover(error -> {
+                        listing = false;
+                        changedWhileListing.clear();
+                        return Future.failedFuture(error);
+                    });
+        }
+
+        void resync() {
+            if (synced) {
+                list().onComplete(res -> {
+                    if (res.failed()) {
+                        log.warn("Failed to resync the cache of {} resources in namespace {}", resourceKind, namespace, res.cause());
+                    }
+                });
+            }
+        }
+
+        private void sync(List<T> listed) {
+            Set<String> listedKeys = listed.stream()
+                    .map(ResourceCache::key)
+                    .collect(Collectors.toSet());
+
+            synchronized (ResourceCache.this) {
+                for (T resource : listed) {
+                    if (!changedWhileListing.contains(key(resource))) {
+                        put(resource);
+                    }
+                }
+
+                // Remove the resources which were deleted while the watch was not running or whose event was missed
+                for (Map.Entry<String, Map<String, T>> entry : resources.entrySet()) {
+                    if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace) || namespace.equals(entry.getKey())) {
+                        List<T> deleted = entry.getValue().values().stream()
+                                .filter(resource -> !listedKeys.contains(key(resource)) && !changedWhileListing.contains(key(resource)))
+                                .collect(Collectors.toList());
+
+                        for (T resource : deleted) {
+                            remove(entry.getKey(), resource.getMetadata().getName());
+                        }
+                    }
+                }
+            }
+
+            listing = false;
+            changedWhileListing.clear();
+        }
+
+        @Override
+        public void eventReceived(Action action, T resource) {
+            switch (action) {
+                case ADDED:
+                case MODIFIED:
+                    put(resource);
+                    break;
+                case DELETED:
+                    remove(resource.getMetadata().getNamespace(), resource.getMetadata().getName());
+                    break;
+                default:
+                    log.warn("Unexpected {} event for {} {} in namespace {}", action, resourceKind,
+                            resource.getMetadata().getName(), resource.getMetadata().getNamespace());
+                    return;
+            }
+
+            if (listing) {
+                changedWhileListing.add(key(resource));
+            }
+        }
+
+        @Override
+        public void onClose(KubernetesClientException e) {
+            if (e != null && !closed) {
+                log.warn("Watch for {} resources in namespace {} closed with exception, recreating it", resourceKind, namespace, e);
+                synced = false;
+                restart();
+            }
+        }
+
+        private void restart() {
+            start().onComplete(res -> {
+                if (res.failed()) {
+                    retryRestart(res.cause());
+                }
+            });
+        }
+
+        void retryRestart(Throwable cause) {
+            if (!closed) {
+                log.warn("Failed to watch {} resources in namespace {}, retrying in {} ms",
+                        resourceKind, namespace, RESTART_DELAY_MS, cause);
+                vertx.setTimer(RESTART_DELAY_MS, ignore -> restart());
+            }
+        }
+
+        void close() {
+            synced = false;
+
+            if (resyncTimer != -1) {
+                vertx.cancelTimer(resyncTimer);
+            }
+
+            if (watch != null) {
+                watch.close();
+            }
+        }
+    }
+
+    private static String key(HasMetadata resource) {
+        return resource.getMetadata().getNamespace() + "/" + resource.getMetadata().getName();
+    }
+}
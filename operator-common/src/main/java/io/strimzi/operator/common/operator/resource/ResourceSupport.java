@@ -13,6 +13,7 @@ import io.fabric8.kubernetes.client.dsl.Deletable;
 import io.fabric8.kubernetes.client.dsl.Gettable;
 import io.fabric8.kubernetes.client.dsl.Listable;
 import io.fabric8.kubernetes.client.dsl.Watchable;
+import io.strimzi.operator.common.WorkerPools;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
@@ -32,7 +33,7 @@ public class ResourceSupport {
 
     private final Vertx vertx;
 
-    ResourceSupport(Vertx vertx) {
+    public ResourceSupport(Vertx vertx) {
         this.vertx = vertx;
     }
 
@@ -57,7 +58,7 @@ public class ResourceSupport {
 
     private <T> Future<T> executeBlocking(Handler<Promise<T>> blockingCodeHandler) {
         Promise<T> result = Promise.promise();
-        vertx.createSharedWorkerExecutor("kubernetes-ops-tool")
+        WorkerPools.get(vertx, WorkerPools.Workload.KUBERNETES_ASYNC)
                 .executeBlocking(blockingCodeHandler, true, result);
         return result.future();
     }
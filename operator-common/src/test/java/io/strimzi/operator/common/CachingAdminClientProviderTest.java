@@ -0,0 +1,227 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.DescribeClusterResult;
+import org.apache.kafka.common.errors.SslAuthenticationException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingAdminClientProviderTest {
+    private static final String BOOTSTRAP = "my-cluster-kafka-bootstrap:9091";
+
+    /**
+     * Provider which creates a new mock Admin client for each call and remembers them
+     */
+    private static class MockAdminClientProvider implements AdminClientProvider {
+        final List<Admin> created = new ArrayList<>();
+
+        @Override
+        public Admin createAdminClient(String bootstrapHostnames, Secret clusterCaCertSecret, Secret keyCertSecret, String keyCertName) {
+            Admin admin = mock(Admin.class);
+            when(admin.describeCluster()).thenReturn(mock(DescribeClusterResult.class));
+            created.add(admin);
+            return admin;
+        }
+    }
+
+    private static Secret secret(String data) {
+        return new SecretBuilder()
+                .withNewMetadata()
+                    .withName("my-cluster-cluster-ca-cert")
+                .endMetadata()
+                .withData(singletonMap("ca.crt", data))
+                .build();
+    }
+
+    @Test
+    public void testClientsAreReused() {
+        MockAdminClientProvider delegate = new MockAdminClientProvider();
+        CachingAdminClientProvider provider = new CachingAdminClientProvider(delegate, 60_000);
+
+        Admin first = provider.createAdminClient(BOOTSTRAP, secret("cert"), null, null);
+        first.describeCluster();
+        first.close(Duration.ofSeconds(30));
+
+        Admin second = provider.createAdminClient(BOOTSTRAP, secret("cert"), null, null);
+        second.describeCluster();
+        second.close();
+
+        // Both leases use the same client which stays open
+        assertThat(delegate.created.size(), is(1));
+        verify(delegate.created.get(0), times(2)).describeCluster();
+        verify(delegate.created.get(0), never()).close(any(Duration.class));
+
+        // Another bootstrap address gets its own client
+        provider.createAdminClient("my-cluster-kafka-0.my-cluster-kafka-brokers:9091", secret("cert"), null, null).close();
+        assertThat(delegate.created.size(), is(2));
+        assertThat(provider.size(), is(2));
+        assertThat(first, is(not(sameInstance(second))));
+    }
+
+    @Test
+    public void testClientsWithOldCredentialsAreClosed() {
+        MockAdminClientProvider delegate = new MockAdminClientProvider();
+        CachingAdminClientProvider provider = new CachingAdminClientProvider(delegate, 60_000);
+
+        Admin old = provider.createAdminClient(BOOTSTRAP, secret("old-cert"), null, null);
+
+        // The certificate was renewed while the old client is still in use
+        provider.createAdminClient(BOOTSTRAP, secret("new-cert"), null, null).close();
+        assertThat(delegate.created.size(), is(2));
+        assertThat(provider.size(), is(1));
+        verify(delegate.created.get(0), never()).close(any(Duration.class));
+
+        // The old client is closed when its last lease is released, closing the lease again has no effect
+        old.close();
+        old.close();
+        verify(delegate.created.get(0), times(1)).close(any(Duration.class));
+        verify(delegate.created.get(1), never()).close(any(Duration.class));
+    }
+
+    @Test
+    public void testIdleClientsAreEvicted() throws InterruptedException {
+        MockAdminClientProvider delegate = new MockAdminClientProvider();
+        CachingAdminClientProvider provider = new CachingAdminClientProvider(delegate, 50);
+
+        Admin inUse = provider.createAdminClient(BOOTSTRAP, null, null, null);
+        provider.createAdminClient("other-cluster-kafka-bootstrap:9091", null, null, null).close();
+
+        Thread.sleep(100);
+        provider.evictIdle();
+
+        // Only the client without leases is closed
+        assertThat(provider.size(), is(1));
+        verify(delegate.created.get(0), never()).close(any(Duration.class));
+        verify(delegate.created.get(1), times(1)).close(any(Duration.class));
+
+        inUse.close();
+        Thread.sleep(100);
+        provider.evictIdle();
+        assertThat(provider.size(), is(0));
+        verify(delegate.created.get(0), times(1)).close(any(Duration.class));
+    }
+
+    @Test
+    public void testFailedCreationIsNotCached() {
+        AdminClientProvider delegate = mock(AdminClientProvider.class);
+        when(delegate.createAdminClient(anyString(), any(), any(), any())).thenThrow(new RuntimeException("Failed"));
+        CachingAdminClientProvider provider = new CachingAdminClientProvider(delegate, 60_000);
+
+        assertThrows(RuntimeException.class, () -> provider.createAdminClient(BOOTSTRAP, null, null, null));
+
+        assertThat(provider.size(), is(0));
+    }
+
+    @Test
+    public void testClientsFailingWithFatalErrorsAreEvicted() {
+        MockAdminClientProvider delegate = new MockAdminClientProvider();
+        CachingAdminClientProvider provider = new CachingAdminClientProvider(delegate, 60_000);
+
+        Admin first = provider.createAdminClient(BOOTSTRAP, secret("cert"), null, null);
+        DescribeClusterResult result = mock(DescribeClusterResult.class);
+        KafkaFutureImpl<String> clusterId = new KafkaFutureImpl<>();
+        when(result.clusterId()).thenReturn(clusterId);
+        when(delegate.created.get(0).describeCluster()).thenReturn(result);
+
+        first.describeCluster();
+        assertThat(provider.size(), is(1));
+
+        // The broker certificate was renewed by another CA, the client is not handed out anymore but stays open for its lease
+        clusterId.completeExceptionally(new SslAuthenticationException("Failed"));
+        assertThat(provider.size(), is(0));
+        verify(delegate.created.get(0), never()).close(any(Duration.class));
+
+        Admin second = provider.createAdminClient(BOOTSTRAP, secret("cert"), null, null);
+        assertThat(delegate.created.size(), is(2));
+
+        first.close();
+        verify(delegate.created.get(0), times(1)).close(any(Duration.class));
+
+        // Errors of the requests themselves keep the client
+        when(delegate.created.get(1).describeCluster()).thenThrow(new UnknownTopicOrPartitionException("Failed"));
+        assertThrows(UnknownTopicOrPartitionException.class, second::describeCluster);
+        second.close();
+        assertThat(provider.size(), is(1));
+        verify(delegate.created.get(1), never()).close(any(Duration.class));
+
+        assertThat(CachingAdminClientProvider.isFatal(new ExecutionException(new TimeoutException("Timed out"))), is(true));
+        assertThat(CachingAdminClientProvider.isFatal(new ExecutionException(new UnknownTopicOrPartitionException("Failed"))), is(false));
+    }
+
+    @Test
+    public void testClientsAreCreatedOutsideOfTheLock() throws InterruptedException {
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        AdminClientProvider delegate = (bootstrapHostnames, clusterCaCertSecret, keyCertSecret, keyCertName) -> {
+            if (BOOTSTRAP.equals(bootstrapHostnames)) {
+                creating.countDown();
+
+                try {
+                    proceed.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            return mock(Admin.class);
+        };
+        CachingAdminClientProvider provider = new CachingAdminClientProvider(delegate, 60_000);
+
+        Thread slow = new Thread(() -> provider.createAdminClient(BOOTSTRAP, null, null, null).close());
+        slow.start();
+        creating.await();
+
+        // The client for another cluster does not wait for the slow one
+        provider.createAdminClient("other-cluster-kafka-bootstrap:9091", null, null, null).close();
+        assertThat(provider.size(), is(2));
+
+        proceed.countDown();
+        slow.join();
+        assertThat(provider.size(), is(2));
+    }
+
+    @Test
+    public void testCloseClosesAllClients() {
+        MockAdminClientProvider delegate = new MockAdminClientProvider();
+        CachingAdminClientProvider provider = new CachingAdminClientProvider(delegate, 60_000);
+
+        Admin inUse = provider.createAdminClient(BOOTSTRAP, null, null, null);
+        provider.createAdminClient("other-cluster-kafka-bootstrap:9091", null, null, null).close();
+
+        provider.close();
+        assertThat(provider.size(), is(0));
+        verify(delegate.created.get(0), never()).close(any(Duration.class));
+        verify(delegate.created.get(1), times(1)).close(any(Duration.class));
+
+        inUse.close();
+        verify(delegate.created.get(0), times(1)).close(any(Duration.class));
+    }
+}
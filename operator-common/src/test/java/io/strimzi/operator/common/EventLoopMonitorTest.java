@@ -0,0 +1,73 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.VertxPrometheusOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+@ExtendWith(VertxExtension.class)
+public class EventLoopMonitorTest {
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+                new MicrometerMetricsOptions()
+                        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+                        .setEnabled(true)
+        ));
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    @Test
+    public void testBlockedEventLoopIsRecorded(VertxTestContext context) {
+        MetricsProvider metrics = new MicrometerMetricsProvider();
+        MeterRegistry registry = metrics.meterRegistry();
+        EventLoopMonitor monitor = new EventLoopMonitor(vertx, metrics, 100);
+
+        Checkpoint async = context.checkpoint();
+        vertx.runOnContext(ignore -> {
+            monitor.start();
+
+            // Block the event loop for longer than the monitoring interval
+            vertx.setTimer(150, id -> {
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            vertx.setTimer(1_000, id -> context.verify(() -> {
+                monitor.stop();
+
+                Timer timer = registry.get(EventLoopMonitor.METRIC_NAME).timer();
+                assertThat(timer.max(TimeUnit.MILLISECONDS), greaterThanOrEqualTo(300.0));
+
+                async.flag();
+            }));
+        });
+    }
+}
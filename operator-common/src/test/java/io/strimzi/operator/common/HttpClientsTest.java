@@ -0,0 +1,125 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpServer;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.VertxPrometheusOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@ExtendWith(VertxExtension.class)
+public class HttpClientsTest {
+    private static Vertx vertxWithMetrics() {
+        return Vertx.vertx(new VertxOptions().setMetricsOptions(
+                new MicrometerMetricsOptions()
+                        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+                        .setEnabled(true)
+        ));
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Future<Integer> get(PooledHttpClient client, int port) {
+        return client.execute((httpClient, result) -> httpClient.get(port, "localhost", "/", response -> {
+            response.exceptionHandler(result::tryFail);
+            response.bodyHandler(buffer -> result.complete(response.statusCode()));
+        }).exceptionHandler(result::tryFail).end());
+    }
+
+    @Test
+    public void testConnectionsAreReusedAndLimited(VertxTestContext context) {
+        Vertx vertx = vertxWithMetrics();
+        MetricsProvider metrics = new MicrometerMetricsProvider();
+        MeterRegistry registry = metrics.meterRegistry();
+
+        HttpClients.configure(vertx, 2, 60_000, 10_000, metrics);
+        PooledHttpClient client = HttpClients.get(vertx, HttpClients.Target.KAFKA_CONNECT);
+        long requestsBefore = registry.get(PooledHttpClient.REQUESTS_METRIC).tag("client", "kafka-connect").timer().count();
+
+        // The responses are delayed, so the parallel requests need more than one connection
+        AtomicInteger connections = new AtomicInteger(0);
+        HttpServer server = vertx.createHttpServer()
+                .connectionHandler(connection -> connections.incrementAndGet())
+                .requestHandler(request -> vertx.setTimer(100, timerId -> request.response().setStatusCode(200).end()));
+
+        Checkpoint async = context.checkpoint();
+        server.listen(0, context.succeeding(s -> {
+            int port = s.actualPort();
+
+            // The requests one after another use the same kept-alive connection
+            get(client, port)
+                    .compose(status -> get(client, port))
+                    .compose(status -> get(client, port))
+                    .compose(status -> {
+                        context.verify(() -> assertThat(connections.get(), is(1)));
+
+                        // The parallel requests open at most the maximal number of connections and wait for them
+                        List<Future> futures = new ArrayList<>();
+                        for (int i = 0; i < 4; i++) {
+                            futures.add(get(client, port));
+                        }
+                        context.verify(() -> assertThat(client.active(), is(4)));
+
+                        return CompositeFuture.join(futures);
+                    })
+                    .onComplete(context.succeeding(results -> context.verify(() -> {
+                        for (int i = 0; i < results.size(); i++) {
+                            assertThat(results.<Integer>resultAt(i), is(200));
+                        }
+                        assertThat(connections.get(), is(2));
+                        assertThat(client.active(), is(0));
+                        assertThat(registry.get(PooledHttpClient.REQUESTS_METRIC).tag("client", "kafka-connect").timer().count(), is(requestsBefore + 7));
+
+                        vertx.close();
+                        async.flag();
+                    })));
+        }));
+    }
+
+    @Test
+    public void testFailedRequestsAreCounted(VertxTestContext context) {
+        Vertx vertx = vertxWithMetrics();
+        MetricsProvider metrics = new MicrometerMetricsProvider();
+        MeterRegistry registry = metrics.meterRegistry();
+
+        HttpClients.configure(vertx, 2, 60_000, 10_000, metrics);
+        PooledHttpClient client = HttpClients.get(vertx, HttpClients.Target.CRUISE_CONTROL);
+        double failedBefore = registry.get(PooledHttpClient.FAILED_METRIC).tag("client", "cruise-control").counter().count();
+
+        Checkpoint async = context.checkpoint();
+        vertx.createHttpServer().requestHandler(request -> request.response().end()).listen(0, context.succeeding(s -> {
+            int port = s.actualPort();
+
+            // Nothing listens on the port anymore, so the connection is refused
+            s.close(context.succeeding(closed -> get(client, port)
+                    .recover(error -> client.<Integer>execute((httpClient, result) -> {
+                        throw new RuntimeException("Failed");
+                    }))
+                    .onComplete(context.failing(e -> context.verify(() -> {
+                        assertThat(e.getMessage(), is("Failed"));
+                        assertThat(client.active(), is(0));
+                        assertThat(registry.get(PooledHttpClient.FAILED_METRIC).tag("client", "cruise-control").counter().count(), is(failedBefore + 2));
+
+                        vertx.close();
+                        async.flag();
+                    })))));
+        }));
+    }
+}
@@ -33,6 +33,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Collections.emptySet;
 import static org.hamcrest.CoreMatchers.is;
@@ -269,6 +271,86 @@ public class OperatorMetricsTest {
                 })));
     }
 
+    @Test
+    public void testResourceStateIsRemovedWhenResourceIsDeleted(VertxTestContext context)  {
+        MetricsProvider metrics = createCleanMetricsProvider();
+
+        AtomicBoolean exists = new AtomicBoolean(true);
+        AtomicInteger gets = new AtomicInteger(0);
+        AbstractWatchableStatusedResourceOperator existingResourceOperator = resourceOperatorWithExistingResource();
+
+        AbstractWatchableStatusedResourceOperator resourceOperator = new AbstractWatchableStatusedResourceOperator(vertx, null, "TestResource") {
+            @Override
+            protected MixedOperation operation() {
+                return null;
+            }
+
+            @Override
+            public HasMetadata get(String namespace, String name) {
+                gets.incrementAndGet();
+                return exists.get() ? existingResourceOperator.get(namespace, name) : null;
+            }
+
+            @Override
+            public Future updateStatusAsync(HasMetadata resource) {
+                return null;
+            }
+        };
+
+        AbstractOperator operator = new AbstractOperator(vertx, "TestResource", resourceOperator, metrics) {
+            @Override
+            protected Future createOrUpdate(Reconciliation reconciliation, CustomResource resource) {
+                return Future.succeededFuture();
+            }
+
+            public Set<Condition> validate(CustomResource resource) {
+                return emptySet();
+            }
+
+            @Override
+            protected Future<Boolean> delete(Reconciliation reconciliation) {
+                return Future.succeededFuture(Boolean.TRUE);
+            }
+
+            @Override
+            protected Status createStatus() {
+                return new Status() { };
+            }
+        };
+
+        Reconciliation reconciliation = new Reconciliation("test", "TestResource", "my-namespace", "my-resource");
+        MeterRegistry registry = metrics.meterRegistry();
+
+        Checkpoint async = context.checkpoint();
+        operator.reconcile(reconciliation)
+                .compose(v -> {
+                    context.verify(() -> {
+                        assertThat(gets.get(), is(1));
+                        assertThat(registry.get(AbstractOperator.METRICS_PREFIX + "resource.state")
+                                .tag("kind", "TestResource")
+                                .tag("name", "my-resource")
+                                .tag("resource-namespace", "my-namespace")
+                                .gauge().value(), is(1.0));
+                    });
+
+                    exists.set(false);
+                    return operator.reconcile(reconciliation);
+                })
+                .onComplete(context.succeeding(v -> context.verify(() -> {
+                    // The state metric is updated without getting the resource again
+                    assertThat(gets.get(), is(2));
+                    assertThrows(MeterNotFoundException.class, () -> {
+                        registry.get(AbstractOperator.METRICS_PREFIX + "resource.state")
+                                .tag("kind", "TestResource")
+                                .tag("name", "my-resource")
+                                .tag("resource-namespace", "my-namespace")
+                                .gauge();
+                    });
+
+                    async.flag();
+                })));
+    }
+
     @Test
     public void testReconcileAll(VertxTestContext context)  {
         MetricsProvider metrics = createCleanMetricsProvider();
@@ -0,0 +1,103 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watcher;
+import io.strimzi.api.kafka.model.status.Condition;
+import io.strimzi.api.kafka.model.status.Status;
+import io.strimzi.operator.common.operator.resource.AbstractWatchableStatusedResourceOperator;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.VertxPrometheusOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Set;
+
+import static java.util.Collections.emptySet;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OperatorWatcherTest {
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+                new MicrometerMetricsOptions()
+                        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+                        .setEnabled(true)
+        ));
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testWatchResumesFromLastResourceVersion() {
+        AbstractWatchableStatusedResourceOperator resourceOperator = mock(AbstractWatchableStatusedResourceOperator.class);
+        when(resourceOperator.getAsync(anyString(), anyString())).thenReturn(Future.succeededFuture());
+
+        AbstractOperator operator = new AbstractOperator(vertx, "TestResource", resourceOperator, new MicrometerMetricsProvider()) {
+            @Override
+            protected Future createOrUpdate(Reconciliation reconciliation, CustomResource resource) {
+                return Future.succeededFuture();
+            }
+
+            public Set<Condition> validate(CustomResource resource) {
+                return emptySet();
+            }
+
+            @Override
+            protected Future<Boolean> delete(Reconciliation reconciliation) {
+                return Future.succeededFuture(Boolean.TRUE);
+            }
+
+            @Override
+            protected Status createStatus() {
+                return new Status() { };
+            }
+        };
+
+        // The first watch starts from scratch
+        operator.createWatch("my-namespace", operator.recreateWatch("my-namespace"));
+        ArgumentCaptor<Watcher> watcher = ArgumentCaptor.forClass(Watcher.class);
+        verify(resourceOperator, timeout(10_000)).watch(eq("my-namespace"), any(), isNull(), watcher.capture());
+
+        CustomResource resource = mock(CustomResource.class);
+        when(resource.getMetadata()).thenReturn(new ObjectMetaBuilder()
+                .withNamespace("my-namespace")
+                .withName("my-resource")
+                .withResourceVersion("1000")
+                .build());
+        watcher.getValue().eventReceived(Watcher.Action.MODIFIED, resource);
+
+        // The watch closed by an error resumes from the last event
+        watcher.getValue().onClose(new KubernetesClientException("Connection reset", 500, null));
+        verify(resourceOperator, timeout(10_000)).watch(eq("my-namespace"), any(), eq("1000"), watcher.capture());
+
+        // The watch which cannot resume starts from scratch again
+        watcher.getValue().onClose(new KubernetesClientException("Too old resource version", 410, null));
+        verify(resourceOperator, timeout(10_000).times(2)).watch(eq("my-namespace"), any(), isNull(), any());
+        verify(resourceOperator, times(1)).watch(eq("my-namespace"), any(), eq("1000"), any());
+    }
+}
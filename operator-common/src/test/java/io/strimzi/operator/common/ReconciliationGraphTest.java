@@ -0,0 +1,147 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.VertxPrometheusOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(VertxExtension.class)
+public class ReconciliationGraphTest {
+    private static final Reconciliation RECONCILIATION = new Reconciliation("test", "TestResource", "my-namespace", "my-resource");
+
+    protected static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+                new MicrometerMetricsOptions()
+                        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+                        .setEnabled(true)
+        ));
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    /**
+     * Step which completes after the given delay and records when it started and finished
+     */
+    private static Future<List<String>> delayed(List<String> events, String name, long delayMs) {
+        Promise<List<String>> promise = Promise.promise();
+        events.add("start " + name);
+
+        vertx.setTimer(delayMs, timerId -> {
+            events.add("end " + name);
+            promise.complete(events);
+        });
+
+        return promise.future();
+    }
+
+    @Test
+    public void testIndependentStepsRunConcurrently(VertxTestContext context) {
+        List<String> events = new CopyOnWriteArrayList<>();
+
+        ReconciliationGraph<List<String>> graph = new ReconciliationGraph<List<String>>(RECONCILIATION)
+                .step("first", state -> delayed(state, "first", 10))
+                .step("slow", state -> delayed(state, "slow", 200), "first")
+                .step("fast", state -> delayed(state, "fast", 10), "first")
+                .step("last", state -> delayed(state, "last", 10), "slow", "fast");
+
+        Checkpoint async = context.checkpoint();
+        graph.execute(vertx, events).onComplete(context.succeeding(state -> context.verify(() -> {
+            assertThat(events, is(Arrays.asList("start first", "end first", "start slow", "start fast", "end fast",
+                    "end slow", "start last", "end last")));
+            assertThat(graph.durations().keySet(), is(new LinkedHashSet<>(Arrays.asList("first", "slow", "fast", "last"))));
+            assertThat(graph.durations().get("slow") >= 200, is(true));
+            assertThat(graph.criticalPath(), is(Arrays.asList("first", "slow", "last")));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testFailedStepStopsTheGraph(VertxTestContext context) {
+        List<String> events = new CopyOnWriteArrayList<>();
+        RuntimeException failure = new RuntimeException("Step failed");
+
+        ReconciliationGraph<List<String>> graph = new ReconciliationGraph<List<String>>(RECONCILIATION)
+                .step("first", state -> delayed(state, "first", 10))
+                .step("failing", state -> {
+                    throw failure;
+                }, "first")
+                .step("running", state -> delayed(state, "running", 100), "first")
+                .step("skipped", state -> delayed(state, "skipped", 10), "failing")
+                .step("notStarted", state -> delayed(state, "notStarted", 10), "running");
+
+        Checkpoint async = context.checkpoint();
+        graph.execute(vertx, events).onComplete(context.failing(cause -> context.verify(() -> {
+            assertThat(cause, is(failure));
+            // The steps which were already running are allowed to finish before the graph fails
+            assertThat(events, is(Arrays.asList("start first", "end first", "start running", "end running")));
+            assertThat(graph.durations().keySet(), is(new LinkedHashSet<>(Arrays.asList("first", "failing", "running"))));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testStepDurationsAreRecorded(VertxTestContext context) {
+        List<String> events = new CopyOnWriteArrayList<>();
+        Reconciliation reconciliation = new Reconciliation("test", "TestResource", "my-namespace", "my-cluster");
+        MetricsProvider metrics = new MicrometerMetricsProvider();
+        MeterRegistry registry = metrics.meterRegistry();
+
+        ReconciliationGraph<List<String>> graph = new ReconciliationGraph<List<String>>(reconciliation, metrics)
+                .step("first", state -> delayed(state, "first", 10))
+                .step("second", state -> delayed(state, "second", 100), "first")
+                .step("third", state -> delayed(state, "third", 10), "first")
+                .step("fourth", state -> delayed(state, "fourth", 50), "second", "third");
+
+        Checkpoint async = context.checkpoint();
+        graph.execute(vertx, events).onComplete(context.succeeding(state -> context.verify(() -> {
+            assertThat(registry.get(ReconciliationGraph.STEP_METRIC).tag("name", "my-cluster").tag("step", "second").timer().count(), is(1L));
+            assertThat(registry.get(ReconciliationGraph.STEP_METRIC).tag("name", "my-cluster").tag("step", "second").timer().totalTime(TimeUnit.MILLISECONDS) >= 100, is(true));
+            assertThat(registry.get(ReconciliationGraph.STEP_METRIC).tag("name", "my-cluster").timers().size(), is(4));
+            assertThat(reconciliation.stepsSummary().matches("slowest steps: second \\d+ms, fourth \\d+ms, (first|third) \\d+ms"), is(true));
+
+            ReconciliationGraph.removeMetrics(metrics, reconciliation);
+            assertThat(registry.find(ReconciliationGraph.STEP_METRIC).tag("name", "my-cluster").timer(), is(nullValue()));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testStepsMustBeDeclaredBeforeTheirDependents() {
+        ReconciliationGraph<List<String>> graph = new ReconciliationGraph<List<String>>(RECONCILIATION)
+                .step("first", Future::succeededFuture);
+
+        assertThrows(IllegalArgumentException.class, () -> graph.step("second", Future::succeededFuture, "unknown"));
+        assertThrows(IllegalArgumentException.class, () -> graph.step("first", Future::succeededFuture));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ReconciliationSchedulerTest {
+    /**
+     * Reconciliations which complete only when the test completes their promises
+     */
+    private static class ManualReconciliations {
+        final List<String> started = new CopyOnWriteArrayList<>();
+        final Map<String, Promise<Void>> promises = new ConcurrentHashMap<>();
+
+        Future<Void> execute(ReconciliationScheduler scheduler, String kind, String name) {
+            return scheduler.execute(kind, () -> {
+                Promise<Void> promise = Promise.promise();
+                started.add(name);
+                promises.put(name, promise);
+                return promise.future();
+            });
+        }
+    }
+
+    @Test
+    public void testTotalAndPerKindLimits() {
+        ReconciliationScheduler scheduler = new ReconciliationScheduler(3, 2, 0, null);
+        ManualReconciliations reconciliations = new ManualReconciliations();
+
+        reconciliations.execute(scheduler, "KafkaConnect", "connect-1");
+        reconciliations.execute(scheduler, "KafkaConnect", "connect-2");
+        reconciliations.execute(scheduler, "KafkaConnect", "connect-3");
+        reconciliations.execute(scheduler, "Kafka", "kafka-1");
+        reconciliations.execute(scheduler, "Kafka", "kafka-2");
+
+        // The third KafkaConnect reconciliation waits for the per-kind limit, the second Kafka one for the total limit
+        assertThat(reconciliations.started, is(asList("connect-1", "connect-2", "kafka-1")));
+        assertThat(scheduler.running(), is(3));
+        assertThat(scheduler.waiting("KafkaConnect"), is(1));
+        assertThat(scheduler.waiting("Kafka"), is(1));
+
+        reconciliations.promises.get("connect-1").complete();
+        assertThat(reconciliations.started, is(asList("connect-1", "connect-2", "kafka-1", "connect-3")));
+
+        reconciliations.promises.get("kafka-1").complete();
+        assertThat(reconciliations.started, is(asList("connect-1", "connect-2", "kafka-1", "connect-3", "kafka-2")));
+        assertThat(scheduler.waiting("KafkaConnect"), is(0));
+        assertThat(scheduler.waiting("Kafka"), is(0));
+    }
+
+    @Test
+    public void testFreeSlotsAreSharedBetweenKinds() {
+        ReconciliationScheduler scheduler = new ReconciliationScheduler(1, 0, 0, null);
+        ManualReconciliations reconciliations = new ManualReconciliations();
+
+        reconciliations.execute(scheduler, "KafkaConnect", "connect-0");
+        for (int i = 1; i <= 3; i++) {
+            reconciliations.execute(scheduler, "KafkaConnect", "connect-" + i);
+        }
+        reconciliations.execute(scheduler, "KafkaBridge", "bridge-1");
+        reconciliations.execute(scheduler, "KafkaBridge", "bridge-2");
+
+        List<String> expected = asList("connect-0", "connect-1", "bridge-1", "connect-2", "bridge-2", "connect-3");
+        for (int i = 0; i < expected.size() - 1; i++) {
+            reconciliations.promises.get(expected.get(i)).complete();
+        }
+
+        // The kinds take turns even though the KafkaConnect reconciliations were queued first
+        assertThat(reconciliations.started, is(expected));
+    }
+
+    @Test
+    public void testFailedReconciliationReleasesTheSlot() {
+        ReconciliationScheduler scheduler = new ReconciliationScheduler(1, 0, 0, null);
+        List<Future<Void>> results = new ArrayList<>();
+
+        results.add(scheduler.execute("Kafka", () -> {
+            throw new RuntimeException("Failed");
+        }));
+        results.add(scheduler.execute("Kafka", Future::succeededFuture));
+
+        assertThat(results.get(0).failed(), is(true));
+        assertThat(results.get(1).succeeded(), is(true));
+        assertThat(scheduler.running(), is(0));
+    }
+
+    @Test
+    public void testOnlyPeriodicReconciliationsAreDelayed() {
+        ReconciliationScheduler scheduler = new ReconciliationScheduler(0, 0, 1_000, null);
+
+        for (int i = 0; i < 100; i++) {
+            long delayMs = scheduler.delayMs(new Reconciliation(ReconciliationScheduler.PERIODIC_TRIGGER, "Kafka", "namespace", "name"));
+            assertThat(delayMs >= 0 && delayMs < 1_000, is(true));
+        }
+
+        assertThat(scheduler.delayMs(new Reconciliation("watch", "Kafka", "namespace", "name")), is(0L));
+        assertThat(new ReconciliationScheduler(0, 0, 0, null).delayMs(new Reconciliation(ReconciliationScheduler.PERIODIC_TRIGGER, "Kafka", "namespace", "name")), is(0L));
+        assertThrows(IllegalArgumentException.class, () -> new ReconciliationScheduler(-1, 0, 0, null));
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.strimzi.operator.cluster.model.InvalidResourceException;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@ExtendWith(VertxExtension.class)
+public class ReconciliationWorkQueueTest {
+    private static final String NAMESPACE = "my-namespace";
+
+    protected static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    private static Reconciliation reconciliation(String name) {
+        return new Reconciliation("test", "TestResource", NAMESPACE, name);
+    }
+
+    /**
+     * Reconciler which completes the reconciliations only when the test completes their promises
+     */
+    private static class ManualReconciler {
+        final List<Reconciliation> started = new CopyOnWriteArrayList<>();
+        final List<Promise<Void>> promises = new CopyOnWriteArrayList<>();
+
+        Future<Void> reconcile(Reconciliation reconciliation) {
+            Promise<Void> promise = Promise.promise();
+            started.add(reconciliation);
+            promises.add(promise);
+            return promise.future();
+        }
+    }
+
+    @Test
+    public void testQueuedReconciliationsAreMerged(VertxTestContext context) {
+        ManualReconciler reconciler = new ManualReconciler();
+        ReconciliationWorkQueue queue = new ReconciliationWorkQueue(vertx, "TestResource", reconciler::reconcile, 1);
+
+        // The single worker is busy with foo, so the reconciliations of bar are queued
+        queue.enqueue(reconciliation("foo"));
+        Future<Void> bar1 = queue.enqueue(reconciliation("bar"));
+        Future<Void> bar2 = queue.enqueue(reconciliation("bar"));
+        Future<Void> bar3 = queue.enqueue(reconciliation("bar"));
+
+        assertThat(reconciler.started.size(), is(1));
+        assertThat(queue.queued(), is(1));
+        assertThat(queue.running(), is(1));
+
+        reconciler.promises.get(0).complete();
+        assertThat(reconciler.started.size(), is(2));
+        assertThat(reconciler.started.get(1).name(), is("bar"));
+
+        reconciler.promises.get(1).complete();
+
+        Checkpoint async = context.checkpoint();
+        bar1.compose(v -> bar2).compose(v -> bar3).onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(reconciler.started.size(), is(2));
+            assertThat(queue.queued(), is(0));
+            assertThat(queue.running(), is(0));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testReconciliationRequestedWhileRunningIsNotLost(VertxTestContext context) {
+        ManualReconciler reconciler = new ManualReconciler();
+        ReconciliationWorkQueue queue = new ReconciliationWorkQueue(vertx, "TestResource", reconciler::reconcile, 10);
+
+        Future<Void> first = queue.enqueue(reconciliation("foo"));
+        assertThat(reconciler.started.size(), is(1));
+
+        // The same resource is never reconciled concurrently, the events are merged into one more reconciliation
+        Future<Void> second = queue.enqueue(reconciliation("foo"));
+        Future<Void> third = queue.enqueue(reconciliation("foo"));
+        assertThat(reconciler.started.size(), is(1));
+
+        reconciler.promises.get(0).complete();
+        assertThat(first.succeeded(), is(true));
+        assertThat(reconciler.started.size(), is(2));
+
+        reconciler.promises.get(1).complete();
+
+        Checkpoint async = context.checkpoint();
+        second.compose(v -> third).onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(reconciler.started.size(), is(2));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testParallelismIsLimited(VertxTestContext context) {
+        ManualReconciler reconciler = new ManualReconciler();
+        ReconciliationWorkQueue queue = new ReconciliationWorkQueue(vertx, "TestResource", reconciler::reconcile, 2);
+
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(reconciliation("resource-" + i));
+        }
+
+        context.verify(() -> {
+            assertThat(queue.running(), is(2));
+            assertThat(queue.queued(), is(3));
+
+            reconciler.promises.get(0).complete();
+            assertThat(queue.running(), is(2));
+            assertThat(queue.queued(), is(2));
+            assertThat(reconciler.started.get(2).name(), is("resource-2"));
+        });
+
+        context.completeNow();
+    }
+
+    @Test
+    public void testFailedReconciliationIsRetried(VertxTestContext context) {
+        AtomicInteger attempts = new AtomicInteger();
+        Checkpoint async = context.checkpoint();
+
+        ReconciliationWorkQueue queue = new ReconciliationWorkQueue(vertx, "TestResource", reconciliation -> {
+            if (attempts.incrementAndGet() < 3) {
+                return Future.failedFuture(new RuntimeException("Failed"));
+            } else {
+                context.verify(() -> assertThat(reconciliation.toString().contains("(retry)"), is(true)));
+                async.flag();
+                return Future.succeededFuture();
+            }
+        }, 1, 10, 100);
+
+        queue.enqueue(reconciliation("foo")).onComplete(context.failing(e -> { }));
+    }
+
+    @Test
+    public void testInvalidResourceIsNotRetried(VertxTestContext context) {
+        AtomicInteger attempts = new AtomicInteger();
+
+        ReconciliationWorkQueue queue = new ReconciliationWorkQueue(vertx, "TestResource", reconciliation -> {
+            attempts.incrementAndGet();
+            return Future.failedFuture(new InvalidResourceException("Invalid"));
+        }, 1, 10, 100);
+
+        Checkpoint async = context.checkpoint();
+        queue.enqueue(reconciliation("foo")).onComplete(context.failing(e -> {
+            vertx.setTimer(200, ignore -> context.verify(() -> {
+                assertThat(attempts.get(), is(1));
+                async.flag();
+            }));
+        }));
+    }
+
+    @Test
+    public void testRetryDelay() {
+        ReconciliationWorkQueue queue = new ReconciliationWorkQueue(vertx, "TestResource", reconciliation -> Future.succeededFuture(), 1, 1_000, 10_000);
+
+        assertThat(queue.retryDelay(1), is(1_000L));
+        assertThat(queue.retryDelay(2), is(2_000L));
+        assertThat(queue.retryDelay(3), is(4_000L));
+        assertThat(queue.retryDelay(4), is(8_000L));
+        assertThat(queue.retryDelay(5), is(10_000L));
+        assertThat(queue.retryDelay(100), is(10_000L));
+    }
+
+    @Test
+    public void testDeferredReconciliationsAreMergedBeforeTheyAreQueued(VertxTestContext context) {
+        ManualReconciler reconciler = new ManualReconciler();
+        ReconciliationWorkQueue queue = new ReconciliationWorkQueue(vertx, "TestResource", reconciler::reconcile, 10);
+
+        Future<Void> first = queue.enqueue(reconciliation("foo"), 200);
+        Future<Void> second = queue.enqueue(reconciliation("foo"), 100);
+        queue.enqueue(reconciliation("bar"), 100);
+        Future<Void> immediate = queue.enqueue(reconciliation("baz"));
+
+        context.verify(() -> {
+            assertThat(second, is(first));
+            assertThat(queue.deferred(), is(2));
+            assertThat(queue.running(), is(1));
+            assertThat(reconciler.started.size(), is(1));
+        });
+
+        // A reconciliation which is not deferred replaces the deferred one right away
+        queue.enqueue(reconciliation("bar"));
+        context.verify(() -> {
+            assertThat(queue.deferred(), is(1));
+            assertThat(reconciler.started.size(), is(2));
+        });
+
+        Checkpoint async = context.checkpoint();
+        vertx.setTimer(500, ignore -> context.verify(() -> {
+            assertThat(queue.deferred(), is(0));
+            assertThat(reconciler.started.size(), is(3));
+            assertThat(reconciler.started.get(2).name(), is("foo"));
+            reconciler.promises.forEach(Promise::complete);
+            assertThat(immediate.succeeded(), is(true));
+            assertThat(first.succeeded(), is(true));
+            async.flag();
+        }));
+    }
+
+    @Test
+    public void testReconciliationsWaitingForTheSchedulerStayQueued(VertxTestContext context) {
+        ManualReconciler reconciler = new ManualReconciler();
+        ReconciliationScheduler scheduler = new ReconciliationScheduler(1, 0, 0, null);
+        ReconciliationWorkQueue queue = new ReconciliationWorkQueue(vertx, "TestResource", reconciler::reconcile, 10);
+        queue.setScheduler(scheduler);
+
+        queue.enqueue(reconciliation("foo"));
+        Future<Void> bar = queue.enqueue(reconciliation("bar"));
+
+        context.verify(() -> {
+            assertThat(scheduler.running(), is(1));
+            assertThat(queue.running(), is(1));
+            assertThat(queue.queued(), is(1));
+
+            // The waiting reconciliation is still merged with the following requests
+            assertThat(queue.enqueue(reconciliation("bar")), is(bar));
+            assertThat(queue.queued(), is(1));
+
+            reconciler.promises.get(0).complete();
+            assertThat(scheduler.running(), is(1));
+            assertThat(queue.running(), is(1));
+            assertThat(queue.queued(), is(0));
+            assertThat(reconciler.started.get(1).name(), is("bar"));
+
+            reconciler.promises.get(1).complete();
+            assertThat(scheduler.running(), is(0));
+            assertThat(bar.succeeded(), is(true));
+        });
+
+        context.completeNow();
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseBuilder;
+import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.operator.resource.LeaseOperator;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ShardManagerTest {
+    private static final String NAMESPACE = "operator-namespace";
+
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    /**
+     * Lease operator which keeps the leases in memory and rejects changes of outdated leases like the Kubernetes API
+     */
+    private static LeaseOperator leaseOperator(Map<String, Lease> leases) {
+        AtomicInteger versions = new AtomicInteger(0);
+        LeaseOperator leaseOperator = mock(LeaseOperator.class);
+
+        when(leaseOperator.get(anyString(), anyString())).thenAnswer(invocation -> leases.get(invocation.<String>getArgument(1)));
+        when(leaseOperator.list(anyString(), any(Labels.class))).thenAnswer(invocation -> {
+            Map<String, String> selector = invocation.<Labels>getArgument(1).toMap();
+            return leases.values().stream()
+                    .filter(lease -> lease.getMetadata().getLabels().entrySet().containsAll(selector.entrySet()))
+                    .collect(Collectors.toList());
+        });
+        when(leaseOperator.tryCreate(anyString(), any())).thenAnswer(invocation -> {
+            Lease lease = new LeaseBuilder(invocation.<Lease>getArgument(1))
+                    .editMetadata()
+                        .withResourceVersion(String.valueOf(versions.incrementAndGet()))
+                    .endMetadata()
+                    .build();
+            return leases.putIfAbsent(lease.getMetadata().getName(), lease) == null ? lease : null;
+        });
+        when(leaseOperator.tryReplace(anyString(), any())).thenAnswer(invocation -> {
+            Lease desired = invocation.getArgument(1);
+            Lease lease = new LeaseBuilder(desired)
+                    .editMetadata()
+                        .withResourceVersion(String.valueOf(versions.incrementAndGet()))
+                    .endMetadata()
+                    .build();
+            Lease current = leases.get(desired.getMetadata().getName());
+
+            return current != null && current.getMetadata().getResourceVersion().equals(desired.getMetadata().getResourceVersion())
+                    && leases.replace(lease.getMetadata().getName(), current, lease) ? lease : null;
+        });
+
+        return leaseOperator;
+    }
+
+    @Test
+    public void testShardForIsStableAndBalanced() {
+        int[] counts = new int[4];
+
+        for (int i = 0; i < 4000; i++) {
+            int shard = ShardManager.shardFor("namespace", "resource-" + i, 4);
+            assertThat(ShardManager.shardFor("namespace", "resource-" + i, 4), is(shard));
+            counts[shard]++;
+
+            // Adding a shard moves the resources only to the new shard
+            int shardAfterScaleUp = ShardManager.shardFor("namespace", "resource-" + i, 5);
+            assertThat(shardAfterScaleUp == shard || shardAfterScaleUp == 4, is(true));
+        }
+
+        for (int count : counts) {
+            assertThat(count > 800 && count < 1200, is(true));
+        }
+
+        assertThat(ShardManager.shardFor("namespace", "resource", 1), is(0));
+    }
+
+    @Test
+    public void testShardsAreSplitBetweenReplicas() {
+        Map<String, Lease> leases = new ConcurrentHashMap<>();
+        LeaseOperator leaseOperator = leaseOperator(leases);
+
+        ShardManager first = new ShardManager(vertx, leaseOperator, NAMESPACE, "shard", "first", 4, 60_000, null);
+        AtomicInteger firstAcquisitions = new AtomicInteger(0);
+        first.addListener(firstAcquisitions::incrementAndGet);
+
+        first.updateLeasesBlocking();
+        assertThat(first.ownedShards().size(), is(4));
+        assertThat(first.isOwned("namespace", "resource"), is(true));
+        assertThat(leases.get(first.leaseName(0)).getSpec().getHolderIdentity(), is("first"));
+
+        // The second replica sees the first one and the first one releases half of its shards
+        ShardManager second = new ShardManager(vertx, leaseOperator, NAMESPACE, "shard", "second", 4, 60_000, null);
+        second.updateLeasesBlocking();
+        assertThat(second.ownedShards().size(), is(0));
+        first.updateLeasesBlocking();
+        assertThat(first.ownedShards().size(), is(2));
+        second.updateLeasesBlocking();
+        assertThat(second.ownedShards().size(), is(2));
+
+        Set<Integer> allShards = new HashSet<>(first.ownedShards());
+        allShards.addAll(second.ownedShards());
+        assertThat(allShards.size(), is(4));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(first.isOwned("namespace", "resource-" + i) != second.isOwned("namespace", "resource-" + i), is(true));
+        }
+    }
+
+    @Test
+    public void testExpiredShardsAreTakenOver() throws InterruptedException {
+        Map<String, Lease> leases = new ConcurrentHashMap<>();
+        LeaseOperator leaseOperator = leaseOperator(leases);
+
+        ShardManager first = new ShardManager(vertx, leaseOperator, NAMESPACE, "shard", "first", 2, 1_000, null);
+        ShardManager second = new ShardManager(vertx, leaseOperator, NAMESPACE, "shard", "second", 2, 1_000, null);
+
+        first.updateLeasesBlocking();
+        second.updateLeasesBlocking();
+        assertThat(first.ownedShards().size(), is(2));
+        assertThat(second.ownedShards().size(), is(0));
+
+        // The first replica stops renewing its leases
+        Thread.sleep(1_500);
+        assertThat(first.ownedShards().size(), is(0));
+
+        second.updateLeasesBlocking();
+        assertThat(second.ownedShards().size(), is(2));
+        assertThat(leases.get(second.leaseName(0)).getSpec().getHolderIdentity(), is("second"));
+        assertThat(leases.get(second.leaseName(0)).getSpec().getLeaseTransitions(), is(1));
+    }
+
+    @Test
+    public void testShardIsHandedOverOnlyAfterRunningReconciliationsFinish() {
+        Map<String, Lease> leases = new ConcurrentHashMap<>();
+        LeaseOperator leaseOperator = leaseOperator(leases);
+
+        ShardManager first = new ShardManager(vertx, leaseOperator, NAMESPACE, "shard", "first", 2, 60_000, null);
+        first.updateLeasesBlocking();
+        assertThat(first.ownedShards().size(), is(2));
+
+        // Resources of the shard which the first replica releases when the second one joins
+        String running = null;
+        String queued = null;
+        for (int i = 0; queued == null; i++) {
+            if (ShardManager.shardFor("namespace", "resource-" + i, 2) == 1) {
+                if (running == null) {
+                    running = "resource-" + i;
+                } else {
+                    queued = "resource-" + i;
+                }
+            }
+        }
+
+        assertThat(first.startReconciliation("namespace", running), is(true));
+        assertThat(first.runningReconciliations(1), is(1));
+
+        // The second replica joins in the middle of the reconciliation
+        ShardManager second = new ShardManager(vertx, leaseOperator, NAMESPACE, "shard", "second", 2, 60_000, null);
+        second.updateLeasesBlocking();
+        first.updateLeasesBlocking();
+
+        // The first replica does not start new reconciliations of the shard, but keeps its lease
+        assertThat(first.ownedShards(), is(Collections.singleton(0)));
+        assertThat(first.isOwned("namespace", queued), is(false));
+        assertThat(first.startReconciliation("namespace", queued), is(false));
+        assertThat(leases.get(first.leaseName(1)).getSpec().getHolderIdentity(), is("first"));
+
+        second.updateLeasesBlocking();
+        assertThat(second.ownedShards().size(), is(0));
+        assertThat(second.startReconciliation("namespace", running), is(false));
+
+        // The lease is still renewed while the reconciliation runs
+        first.updateLeasesBlocking();
+        assertThat(leases.get(first.leaseName(1)).getSpec().getHolderIdentity(), is("first"));
+
+        // Once the reconciliation finishes, the shard is released and taken over
+        first.finishReconciliation("namespace", running);
+        assertThat(first.runningReconciliations(1), is(0));
+        first.updateLeasesBlocking();
+        assertThat(leases.get(first.leaseName(1)).getSpec().getHolderIdentity(), is(nullValue()));
+
+        second.updateLeasesBlocking();
+        assertThat(second.ownedShards(), is(Collections.singleton(1)));
+        assertThat(second.startReconciliation("namespace", running), is(true));
+        assertThat(first.startReconciliation("namespace", running), is(false));
+    }
+}
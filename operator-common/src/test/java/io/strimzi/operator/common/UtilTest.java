@@ -4,21 +4,50 @@
  */
 package io.strimzi.operator.common;
 
+import io.fabric8.kubernetes.client.Watch;
 import io.strimzi.operator.cluster.model.InvalidResourceException;
 import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.operator.resource.TimeoutException;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static io.strimzi.operator.common.Util.parseMap;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 
+@ExtendWith(VertxExtension.class)
 public class UtilTest {
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
     @Test
     public void testParseMap() {
         String stringMap = "key1=value1\n" +
@@ -136,4 +165,106 @@ public class UtilTest {
         String result = Util.expandVars(input);
         assertThat(result, is(expectedOutput));
     }
+
+    @Test
+    public void testWaitForCompletesOnWatchEvent(VertxTestContext context) {
+        AtomicBoolean ready = new AtomicBoolean(false);
+        AtomicInteger checks = new AtomicInteger();
+        AtomicReference<Runnable> changed = new AtomicReference<>();
+        Watch watch = mock(Watch.class);
+
+        long start = System.currentTimeMillis();
+        Checkpoint async = context.checkpoint();
+
+        // The poll interval is longer than the test timeout, so only the watch event can complete the wait
+        Util.waitFor(vertx, "test", "ready", 60_000, 120_000,
+            () -> {
+                checks.incrementAndGet();
+                return ready.get();
+            },
+            error -> false,
+            (onChange, onClose) -> {
+                changed.set(onChange);
+                return watch;
+            }).onComplete(context.succeeding(v -> context.verify(() -> {
+                // The first check, the check after opening the watch and the check after the event
+                assertThat(checks.get(), is(3));
+                assertThat(System.currentTimeMillis() - start < 10_000, is(true));
+                verify(watch, timeout(5_000)).close();
+                async.flag();
+            })));
+
+        vertx.setTimer(200, id -> {
+            ready.set(true);
+            new Thread(() -> changed.get().run()).start();
+        });
+    }
+
+    @Test
+    public void testWaitForPollsWhenWatchIsClosed(VertxTestContext context) {
+        AtomicInteger checks = new AtomicInteger();
+        AtomicReference<Runnable> closed = new AtomicReference<>();
+
+        Checkpoint async = context.checkpoint();
+
+        Util.waitFor(vertx, "test", "ready", 50, 120_000,
+            () -> checks.incrementAndGet() > 5,
+            error -> false,
+            (onChange, onClose) -> {
+                closed.set(onClose);
+                return mock(Watch.class);
+            }).onComplete(context.succeeding(v -> async.flag()));
+
+        // The waiter falls back to polling with the poll interval once the watch is closed
+        vertx.setTimer(200, id -> closed.get().run());
+    }
+
+    @Test
+    public void testWaitForDoesNotWatchWhenAlreadyCompleted(VertxTestContext context) {
+        AtomicInteger watches = new AtomicInteger();
+
+        Checkpoint async = context.checkpoint();
+
+        Util.waitFor(vertx, "test", "ready", 50, 120_000,
+            () -> true,
+            error -> false,
+            (onChange, onClose) -> {
+                watches.incrementAndGet();
+                return mock(Watch.class);
+            }).onComplete(context.succeeding(v -> context.verify(() -> {
+                assertThat(watches.get(), is(0));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testWaitForPollsWhenWatchIsClosedWhileBeingCreated(VertxTestContext context) {
+        AtomicInteger checks = new AtomicInteger();
+        long start = System.currentTimeMillis();
+
+        Checkpoint async = context.checkpoint();
+
+        // The watch is closed before the watch function returns, the waiter still has to poll with the poll interval
+        Util.waitFor(vertx, "test", "ready", 50, 120_000,
+            () -> checks.incrementAndGet() > 5,
+            error -> false,
+            (onChange, onClose) -> {
+                onClose.run();
+                return mock(Watch.class);
+            }).onComplete(context.succeeding(v -> context.verify(() -> {
+                assertThat(System.currentTimeMillis() - start < Util.WATCHED_POLL_INTERVAL_MS, is(true));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testWaitForTimesOut(VertxTestContext context) {
+        Checkpoint async = context.checkpoint();
+
+        Util.waitFor(vertx, "test", "ready", 50, 200, () -> false, error -> false, (onChange, onClose) -> null)
+            .onComplete(context.failing(e -> context.verify(() -> {
+                assertThat(e, instanceOf(TimeoutException.class));
+                async.flag();
+            })));
+    }
 }
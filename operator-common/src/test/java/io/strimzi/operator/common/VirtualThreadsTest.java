@@ -0,0 +1,95 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.Collections.emptyMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@ExtendWith(VertxExtension.class)
+public class VirtualThreadsTest {
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    @Test
+    public void testOrderedTasksRunInOrderOnVirtualThreads(VertxTestContext context) {
+        assumeTrue(VirtualThreads.isSupported(), "Virtual threads are not supported by this JVM");
+
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        Checkpoint async = context.checkpoint(3);
+
+        vertx.runOnContext(ignore -> {
+            for (int i = 0; i < 3; i++) {
+                int task = i;
+                VirtualThreads.<Integer>executeBlocking(vertx, promise -> {
+                    try {
+                        // The first tasks take longer, so they would finish last without the ordering
+                        Thread.sleep(100 - task * 40);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    context.verify(() -> assertThat(Thread.currentThread().getName(), startsWith("strimzi-virtual-")));
+                    executed.add(task);
+                    promise.complete(task);
+                }, true, context.succeeding(result -> context.verify(() -> {
+                    assertThat(Vertx.currentContext() != null, is(true));
+                    assertThat(executed.get(result), is(result));
+                    async.flag();
+                })));
+            }
+        });
+    }
+
+    @Test
+    public void testExceptionsFailTheResult(VertxTestContext context) {
+        assumeTrue(VirtualThreads.isSupported(), "Virtual threads are not supported by this JVM");
+
+        Checkpoint async = context.checkpoint();
+        VirtualThreads.<Void>executeBlocking(vertx, promise -> {
+            throw new RuntimeException("failed");
+        }, false, context.failing(e -> context.verify(() -> {
+            assertThat(e.getMessage(), is("failed"));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testPoolsAreUsedWhenVirtualThreadsAreNotSupported() {
+        Vertx vertx = Vertx.vertx();
+
+        try {
+            WorkerPools.configure(vertx, emptyMap(), true, null);
+
+            assertThat(WorkerPools.isVirtualThreadsEnabled(vertx), is(VirtualThreads.isSupported()));
+            assertThat(WorkerPools.get(vertx, WorkerPools.Workload.KUBERNETES).isVirtualThreads(), is(VirtualThreads.isSupported()));
+            assertThat(WorkerPools.get(vertx, WorkerPools.Workload.PRIVATE_KEYS).isVirtualThreads(), is(false));
+        } finally {
+            vertx.close();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.VertxPrometheusOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(VertxExtension.class)
+public class WorkerPoolsTest {
+    @Test
+    public void testPoolsAreConfiguredAndInstrumented(VertxTestContext context) {
+        Vertx vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+                new MicrometerMetricsOptions()
+                        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+                        .setEnabled(true)
+        ));
+        MetricsProvider metrics = new MicrometerMetricsProvider();
+        MeterRegistry registry = metrics.meterRegistry();
+
+        WorkerPools.configure(vertx, singletonMap(WorkerPools.Workload.ZOOKEEPER, 1), false, metrics);
+
+        WorkerPool pool = WorkerPools.get(vertx, WorkerPools.Workload.ZOOKEEPER);
+        assertThat(pool.size(), is(1));
+        assertThat(WorkerPools.get(vertx, WorkerPools.Workload.ZOOKEEPER), is(sameInstance(pool)));
+        assertThat(WorkerPools.get(vertx, WorkerPools.Workload.KUBERNETES).size(), is(WorkerPools.Workload.KUBERNETES.defaultSize()));
+
+        // The first task blocks the only thread of the pool, so the second one has to wait
+        CountDownLatch latch = new CountDownLatch(1);
+        Future<Void> first = pool.executeBlocking(promise -> {
+            try {
+                latch.await(10, TimeUnit.SECONDS);
+                promise.complete();
+            } catch (InterruptedException e) {
+                promise.fail(e);
+            }
+        }, false);
+        Future<Void> second = pool.executeBlocking(promise -> promise.complete(), false);
+
+        Checkpoint async = context.checkpoint();
+        vertx.setTimer(200, id -> {
+            context.verify(() -> {
+                assertThat(pool.active(), is(1));
+                assertThat(pool.queued(), is(1));
+                assertThat(registry.get(WorkerPool.QUEUED_METRIC).tag("pool", "zookeeper").gauge().value(), is(1.0));
+                assertThat(registry.get(WorkerPool.SIZE_METRIC).tag("pool", "zookeeper").gauge().value(), is(1.0));
+            });
+            latch.countDown();
+
+            first.compose(v -> second).onComplete(context.succeeding(v -> context.verify(() -> {
+                assertThat(pool.active(), is(0));
+                assertThat(pool.queued(), is(0));
+                assertThat(registry.get(WorkerPool.WAIT_METRIC).tag("pool", "zookeeper").timer().count(), is(2L));
+                assertThat(registry.get(WorkerPool.WAIT_METRIC).tag("pool", "zookeeper").timer().max(TimeUnit.MILLISECONDS) >= 100, is(true));
+                assertThat(registry.get(WorkerPool.EXECUTION_METRIC).tag("pool", "zookeeper").timer().count(), is(2L));
+
+                vertx.close();
+                async.flag();
+            })));
+        });
+    }
+
+    @Test
+    public void testParsePoolSizes() {
+        Map<WorkerPools.Workload, Integer> sizes = WorkerPools.parsePoolSizes("kubernetes=20, zookeeper=5 kafka-admin=3 private-keys=2 kubernetes-async=40");
+
+        assertThat(sizes.size(), is(5));
+        assertThat(sizes.get(WorkerPools.Workload.KUBERNETES), is(20));
+        assertThat(sizes.get(WorkerPools.Workload.ZOOKEEPER), is(5));
+        assertThat(sizes.get(WorkerPools.Workload.KAFKA_ADMIN), is(3));
+        assertThat(sizes.get(WorkerPools.Workload.PRIVATE_KEYS), is(2));
+        assertThat(sizes.get(WorkerPools.Workload.KUBERNETES_ASYNC), is(40));
+
+        assertThat(WorkerPools.parsePoolSizes(null).isEmpty(), is(true));
+        assertThrows(IllegalArgumentException.class, () -> WorkerPools.parsePoolSizes("unknown=5"));
+        assertThrows(IllegalArgumentException.class, () -> WorkerPools.parsePoolSizes("kubernetes=0"));
+        assertThrows(IllegalArgumentException.class, () -> WorkerPools.parsePoolSizes("kubernetes=many"));
+    }
+}
@@ -5,6 +5,7 @@
 package io.strimzi.operator.common.operator;
 
 import io.strimzi.certs.CertManager;
+import io.strimzi.certs.KeyAlgorithm;
 import io.strimzi.certs.Subject;
 
 import java.io.ByteArrayOutputStream;
@@ -191,6 +192,11 @@ public class MockCertManager implements CertManager {
         write(certFile, CLUSTER_CERT);
     }
 
+    @Override
+    public void generateSelfSignedCert(File keyFile, File certFile, Subject sbj, int days, KeyAlgorithm keyAlgorithm) throws IOException {
+        generateSelfSignedCert(keyFile, certFile, sbj, days);
+    }
+
     /**
      * Generate a self-signed certificate
      *
@@ -253,6 +259,26 @@ public class MockCertManager implements CertManager {
         write(csrFile, "csr file");
     }
 
+    @Override
+    public void generateCsr(File keyFile, File csrFile, Subject sbj, KeyAlgorithm keyAlgorithm) throws IOException {
+        generateCsr(keyFile, csrFile, sbj);
+    }
+
+    @Override
+    public void generateKey(File keyFile) throws IOException {
+        write(keyFile, "key file");
+    }
+
+    @Override
+    public void generateKey(File keyFile, KeyAlgorithm keyAlgorithm) throws IOException {
+        generateKey(keyFile);
+    }
+
+    @Override
+    public void generateCsrWithExistingKey(File keyFile, File csrFile, Subject sbj) throws IOException {
+        write(csrFile, "csr file");
+    }
+
     /**
      * Generate a certificate signed by a Certificate Authority
      *
@@ -28,6 +28,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import static org.hamcrest.CoreMatchers.endsWith;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
@@ -119,6 +120,14 @@ public abstract class AbstractResourceOperatorTest<C extends KubernetesClient, T
         })));
     }
 
+    @Test
+    public void testSharingCacheWhichIsNotEnabledThrows() {
+        C mockClient = mock(clientType());
+        AbstractResourceOperator<C, T, L, D, R> op = createResourceOperations(vertx, mockClient);
+
+        assertThrows(IllegalStateException.class, () -> op.shareCache(createResourceOperations(vertx, mockClient)));
+    }
+
     @Test
     public void testExistenceCheckThrows(VertxTestContext context) {
         T resource = resource();
@@ -0,0 +1,263 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.model.Labels;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.VertxPrometheusOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(VertxExtension.class)
+public class ResourceCacheTest {
+    private static final String NAMESPACE = "namespace";
+
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+                new MicrometerMetricsOptions()
+                        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+                        .setEnabled(true)
+        ));
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    private static ConfigMap configMap(String name, String resourceVersion, String app) {
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                    .withName(name)
+                    .withNamespace(NAMESPACE)
+                    .withResourceVersion(resourceVersion)
+                    .withLabels(singletonMap("app", app))
+                .endMetadata()
+                .withData(singletonMap("version", resourceVersion))
+                .build();
+    }
+
+    /**
+     * Kubernetes API which the cache lists and watches
+     */
+    private static class MockApi {
+        final AtomicReference<Watcher<ConfigMap>> watcher = new AtomicReference<>();
+        final AtomicInteger watches = new AtomicInteger();
+        final AtomicInteger lists = new AtomicInteger();
+        final List<ConfigMap> configMaps = new CopyOnWriteArrayList<>();
+
+        ResourceCache<ConfigMap> cache(MetricsProvider metrics, long resyncIntervalMs) {
+            return new ResourceCache<>(vertx, "ConfigMap", "app", metrics,
+                (namespace, w) -> {
+                    watches.incrementAndGet();
+                    watcher.set(w);
+                    return mock(Watch.class);
+                },
+                namespace -> {
+                    lists.incrementAndGet();
+                    return configMaps;
+                },
+                resyncIntervalMs);
+        }
+    }
+
+    @Test
+    public void testReadsAreServedFromCache(VertxTestContext context) {
+        MockApi api = new MockApi();
+        api.configMaps.addAll(asList(configMap("cm1", "1", "foo"), configMap("cm2", "2", "bar")));
+
+        MetricsProvider metrics = new MicrometerMetricsProvider();
+        ResourceCache<ConfigMap> cache = api.cache(metrics, 60_000);
+
+        assertThat(cache.get(NAMESPACE, "cm1"), is(nullValue()));
+        assertThat(cache.list(NAMESPACE, Labels.fromMap(singletonMap("app", "foo"))), is(nullValue()));
+
+        Checkpoint async = context.checkpoint();
+        cache.watch(NAMESPACE).onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(cache.isSynced(NAMESPACE), is(true));
+            assertThat(cache.isSynced("other-namespace"), is(false));
+            assertThat(cache.isSynced(AbstractWatchableResourceOperator.ANY_NAMESPACE), is(false));
+
+            assertThat(cache.get(NAMESPACE, "cm1").getData().get("version"), is("1"));
+            assertThat(cache.list(NAMESPACE, Labels.fromMap(singletonMap("app", "foo"))).size(), is(1));
+            assertThat(cache.list(NAMESPACE, Labels.fromMap(singletonMap("app", "bar"))).size(), is(1));
+            assertThat(cache.list(NAMESPACE, Labels.fromMap(singletonMap("app", "bar"))).get(0).getMetadata().getName(), is("cm2"));
+
+            // Callers get copies
+            cache.get(NAMESPACE, "cm1").getData().put("version", "changed");
+            assertThat(cache.get(NAMESPACE, "cm1").getData().get("version"), is("1"));
+
+            // Watch events update the cache
+            api.watcher.get().eventReceived(Watcher.Action.MODIFIED, configMap("cm1", "3", "foo"));
+            assertThat(cache.get(NAMESPACE, "cm1").getData().get("version"), is("3"));
+            api.watcher.get().eventReceived(Watcher.Action.DELETED, configMap("cm2", "4", "bar"));
+            assertThat(cache.get(NAMESPACE, "cm2"), is(nullValue()));
+            assertThat(cache.list(NAMESPACE, Labels.fromMap(singletonMap("app", "bar"))).size(), is(0));
+
+            assertThat(metrics.meterRegistry().get("strimzi.resource.cache.misses").tag("kind", "ConfigMap").counter().count() >= 3, is(true));
+            assertThat(metrics.meterRegistry().get("strimzi.resource.cache.hits").tag("kind", "ConfigMap").counter().count() >= 7, is(true));
+
+            cache.close();
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testListsUseTheLabelIndex(VertxTestContext context) {
+        MockApi api = new MockApi();
+        api.configMaps.addAll(asList(configMap("cm1", "1", "foo"), configMap("cm2", "2", "foo"), configMap("cm3", "3", "bar")));
+
+        ResourceCache<ConfigMap> cache = api.cache(new MicrometerMetricsProvider(), 60_000);
+
+        Checkpoint async = context.checkpoint();
+        cache.watch(NAMESPACE).onComplete(context.succeeding(v -> context.verify(() -> {
+            // Lists without the index label in the selector go to the Kubernetes API
+            assertThat(cache.list(NAMESPACE, null), is(nullValue()));
+            assertThat(cache.list(NAMESPACE, Labels.fromMap(singletonMap("other", "foo"))), is(nullValue()));
+
+            Map<String, String> selector = new HashMap<>();
+            selector.put("app", "foo");
+            selector.put("tier", "backend");
+            assertThat(cache.list(NAMESPACE, Labels.fromMap(singletonMap("app", "foo"))).size(), is(2));
+            assertThat(cache.list(NAMESPACE, Labels.fromMap(selector)).size(), is(0));
+
+            // A resource moved to another value of the index label is re-indexed
+            api.watcher.get().eventReceived(Watcher.Action.MODIFIED, configMap("cm2", "4", "bar"));
+            assertThat(cache.list(NAMESPACE, Labels.fromMap(singletonMap("app", "foo"))).size(), is(1));
+            assertThat(cache.list(NAMESPACE, Labels.fromMap(singletonMap("app", "bar"))).size(), is(2));
+
+            // A resource which lost the index label is not cached anymore
+            ConfigMap unlabelled = configMap("cm3", "5", "bar");
+            unlabelled.getMetadata().setLabels(null);
+            cache.update(NAMESPACE, "cm3", unlabelled);
+            assertThat(cache.get(NAMESPACE, "cm3"), is(nullValue()));
+            assertThat(cache.list(NAMESPACE, Labels.fromMap(singletonMap("app", "bar"))).size(), is(1));
+
+            cache.close();
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testOperatorUpdatesAreNotOverwrittenByOlderEvents(VertxTestContext context) {
+        MockApi api = new MockApi();
+        api.configMaps.add(configMap("cm1", "1", "foo"));
+
+        ResourceCache<ConfigMap> cache = api.cache(new MicrometerMetricsProvider(), 60_000);
+
+        Checkpoint async = context.checkpoint();
+        cache.watch(NAMESPACE).onComplete(context.succeeding(v -> context.verify(() -> {
+            cache.update(NAMESPACE, "cm1", configMap("cm1", "5", "foo"));
+            assertThat(cache.get(NAMESPACE, "cm1").getData().get("version"), is("5"));
+
+            // Delayed event from before the update
+            api.watcher.get().eventReceived(Watcher.Action.MODIFIED, configMap("cm1", "4", "foo"));
+            assertThat(cache.get(NAMESPACE, "cm1").getData().get("version"), is("5"));
+
+            // Resources without resource version are not cached
+            cache.update(NAMESPACE, "cm1", configMap("cm1", null, "foo"));
+            assertThat(cache.get(NAMESPACE, "cm1"), is(nullValue()));
+
+            cache.update(NAMESPACE, "cm2", configMap("cm2", "6", "foo"));
+            assertThat(cache.get(NAMESPACE, "cm2").getData().get("version"), is("6"));
+            cache.update(NAMESPACE, "cm2", null);
+            assertThat(cache.get(NAMESPACE, "cm2"), is(nullValue()));
+
+            cache.close();
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testCacheIsNotUsedWhileWatchIsRecreated(VertxTestContext context) {
+        MockApi api = new MockApi();
+        api.configMaps.add(configMap("cm1", "1", "foo"));
+
+        ResourceCache<ConfigMap> cache = api.cache(new MicrometerMetricsProvider(), 60_000);
+
+        Checkpoint async = context.checkpoint();
+        cache.watch(NAMESPACE).onComplete(context.succeeding(v -> {
+            // cm1 is deleted and the event is lost while the watch is broken
+            api.configMaps.clear();
+            api.configMaps.add(configMap("cm2", "2", "foo"));
+            api.watcher.get().onClose(new KubernetesClientException("Watch failed"));
+
+            context.verify(() -> assertThat(cache.get(NAMESPACE, "cm1"), is(nullValue())));
+
+            vertx.setTimer(500, ignore -> context.verify(() -> {
+                assertThat(api.watches.get(), is(2));
+                assertThat(api.lists.get(), is(2));
+                assertThat(cache.isSynced(NAMESPACE), is(true));
+                assertThat(cache.get(NAMESPACE, "cm1"), is(nullValue()));
+                assertThat(cache.get(NAMESPACE, "cm2").getData().get("version"), is("2"));
+
+                cache.close();
+                async.flag();
+            }));
+        }));
+    }
+
+    @Test
+    public void testResyncRemovesMissedDeletions(VertxTestContext context) {
+        MockApi api = new MockApi();
+        api.configMaps.addAll(asList(configMap("cm1", "1", "foo"), configMap("cm2", "2", "foo")));
+
+        ResourceCache<ConfigMap> cache = api.cache(new MicrometerMetricsProvider(), 100);
+
+        Checkpoint async = context.checkpoint();
+        cache.watch(NAMESPACE).onComplete(context.succeeding(v -> {
+            api.configMaps.remove(1);
+
+            vertx.setTimer(500, ignore -> context.verify(() -> {
+                assertThat(api.lists.get() > 1, is(true));
+                assertThat(cache.get(NAMESPACE, "cm1").getData().get("version"), is("1"));
+                assertThat(cache.get(NAMESPACE, "cm2"), is(nullValue()));
+
+                cache.close();
+                async.flag();
+            }));
+        }));
+    }
+
+    @Test
+    public void testIsNewer() {
+        assertThat(ResourceCache.isNewer(configMap("cm", "2", "foo"), configMap("cm", "1", "foo")), is(true));
+        assertThat(ResourceCache.isNewer(configMap("cm", "1", "foo"), configMap("cm", "2", "foo")), is(false));
+        assertThat(ResourceCache.isNewer(configMap("cm", "1", "foo"), configMap("cm", "1", "foo")), is(false));
+        assertThat(ResourceCache.isNewer(configMap("cm", "abc", "foo"), configMap("cm", "1", "foo")), is(false));
+        assertThat(ResourceCache.isNewer(configMap("cm", null, "foo"), configMap("cm", "1", "foo")), is(false));
+    }
+}
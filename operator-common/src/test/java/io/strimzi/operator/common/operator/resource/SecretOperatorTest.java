@@ -10,10 +10,22 @@ import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.api.model.SecretList;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
 
 import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class SecretOperatorTest extends AbstractResourceOperatorTest<KubernetesClient, Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> {
@@ -50,4 +62,95 @@ public class SecretOperatorTest extends AbstractResourceOperatorTest<KubernetesC
     protected AbstractResourceOperator<KubernetesClient, Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> createResourceOperations(Vertx vertx, KubernetesClient mockClient) {
         return new SecretOperator(vertx, mockClient);
     }
+
+    @Test
+    public void testUnchangedResourceIsNotPatchedAgain(VertxTestContext context) {
+        Secret current = new SecretBuilder(resource())
+                .editMetadata()
+                    .withResourceVersion("1")
+                .endMetadata()
+                .build();
+
+        Resource mockResource = mock(resourceType());
+        when(mockResource.get()).thenReturn(current);
+        when(mockResource.withPropagationPolicy(any())).thenReturn(mockResource);
+        when(mockResource.patch(any())).thenReturn(current);
+
+        NonNamespaceOperation mockNameable = mock(NonNamespaceOperation.class);
+        when(mockNameable.withName(anyString())).thenReturn(mockResource);
+
+        MixedOperation mockSecrets = mock(MixedOperation.class);
+        when(mockSecrets.inNamespace(anyString())).thenReturn(mockNameable);
+
+        KubernetesClient mockClient = mock(clientType());
+        mocker(mockClient, mockSecrets);
+
+        AbstractResourceOperator<KubernetesClient, Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> op = createResourceOperations(vertx, mockClient);
+
+        Checkpoint async = context.checkpoint();
+        op.reconcile(NAMESPACE, RESOURCE_NAME, resource())
+            .compose(rr -> op.reconcile(NAMESPACE, RESOURCE_NAME, resource()))
+            .onComplete(context.succeeding(rr -> context.verify(() -> {
+                assertThat(rr, instanceOf(ReconcileResult.Noop.class));
+                verify(mockResource, times(1)).patch(any());
+            })))
+            .compose(rr -> {
+                // Resource changed by someone else is patched
+                when(mockResource.get()).thenReturn(new SecretBuilder(current).editMetadata().withResourceVersion("2").endMetadata().build());
+                return op.reconcile(NAMESPACE, RESOURCE_NAME, resource());
+            })
+            .compose(rr -> {
+                // Changed desired resource is patched
+                Secret changed = new SecretBuilder(resource()).withData(singletonMap("FOO", "BAZ")).build();
+                return op.reconcile(NAMESPACE, RESOURCE_NAME, changed);
+            })
+            .onComplete(context.succeeding(rr -> context.verify(() -> {
+                verify(mockResource, times(3)).patch(any());
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testLastPatchesOfResourcesWhichAreNotReconciledAnymoreExpire(VertxTestContext context) {
+        Secret current = new SecretBuilder(resource())
+                .editMetadata()
+                    .withResourceVersion("1")
+                .endMetadata()
+                .build();
+
+        Resource mockResource = mock(resourceType());
+        when(mockResource.get()).thenReturn(current);
+        when(mockResource.withPropagationPolicy(any())).thenReturn(mockResource);
+        when(mockResource.patch(any())).thenReturn(current);
+
+        NonNamespaceOperation mockNameable = mock(NonNamespaceOperation.class);
+        when(mockNameable.withName(anyString())).thenReturn(mockResource);
+
+        MixedOperation mockSecrets = mock(MixedOperation.class);
+        when(mockSecrets.inNamespace(anyString())).thenReturn(mockNameable);
+
+        KubernetesClient mockClient = mock(clientType());
+        mocker(mockClient, mockSecrets);
+
+        AbstractResourceOperator<KubernetesClient, Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> op = createResourceOperations(vertx, mockClient);
+
+        Checkpoint async = context.checkpoint();
+        op.reconcile(NAMESPACE, RESOURCE_NAME, resource())
+            .onComplete(context.succeeding(rr -> context.verify(() -> {
+                assertThat(op.lastPatchesSize(), is(1));
+
+                // Still used
+                op.pruneLastPatches(System.currentTimeMillis() + AbstractResourceOperator.LAST_PATCH_EXPIRY_MS / 2);
+                assertThat(op.lastPatchesSize(), is(1));
+
+                // Not reconciled for the expiry time, e.g. deleted outside of the operator
+                op.pruneLastPatches(System.currentTimeMillis() + AbstractResourceOperator.LAST_PATCH_EXPIRY_MS);
+                assertThat(op.lastPatchesSize(), is(0));
+            })))
+            .compose(rr -> op.reconcile(NAMESPACE, RESOURCE_NAME, resource()))
+            .onComplete(context.succeeding(rr -> context.verify(() -> {
+                verify(mockResource, times(2)).patch(any());
+                async.flag();
+            })));
+    }
 }
@@ -4,6 +4,8 @@
  */
 package io.strimzi.operator.topic;
 
+import io.strimzi.operator.common.WorkerPools;
+
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -67,6 +69,16 @@ public class Config {
         }
     };
 
+    /**
+     * The sizes of the worker pools.
+     */
+    private static final Type<? extends Map<WorkerPools.Workload, Integer>> POOL_SIZES = new Type<Map<WorkerPools.Workload, Integer>>() {
+        @Override
+        public Map<WorkerPools.Workload, Integer> parse(String s) {
+            return WorkerPools.parsePoolSizes(s);
+        }
+    };
+
     static class Value<T> {
         public final String key;
         public final String defaultValue;
@@ -100,6 +112,7 @@ public class Config {
     public static final String TC_REASSIGN_VERIFY_INTERVAL_MS = "STRIMZI_REASSIGN_VERIFY_INTERVAL_MS";
     public static final String TC_TOPIC_METADATA_MAX_ATTEMPTS = "STRIMZI_TOPIC_METADATA_MAX_ATTEMPTS";
     public static final String TC_TOPICS_PATH = "STRIMZI_TOPICS_PATH";
+    public static final String TC_WORKER_POOL_SIZES = "STRIMZI_WORKER_POOL_SIZES";
 
     public static final String TC_TLS_ENABLED = "STRIMZI_TLS_ENABLED";
     public static final String TC_TLS_TRUSTSTORE_LOCATION = "STRIMZI_TRUSTSTORE_LOCATION";
@@ -146,6 +159,9 @@ public class Config {
     /** The path to the Zookeeper node that stores the topic state in ZooKeeper. */
     public static final Value<String> TOPICS_PATH = new Value<>(TC_TOPICS_PATH, STRING, "/strimzi/topics");
 
+    /** The number of threads of the worker pools used for blocking calls, for example {@code zookeeper=20}. */
+    public static final Value<Map<WorkerPools.Workload, Integer>> WORKER_POOL_SIZES = new Value<>(TC_WORKER_POOL_SIZES, POOL_SIZES, "");
+
     /** If the connection with Kafka has to be encrypted by TLS protocol */
     public static final Value<String> TLS_ENABLED = new Value<>(TC_TLS_ENABLED, STRING, "false");
     /** The truststore with CA certificate for Kafka broker/server authentication */
@@ -172,6 +188,7 @@ public class Config {
         addConfigValue(configValues, REASSIGN_VERIFY_INTERVAL_MS);
         addConfigValue(configValues, TOPIC_METADATA_MAX_ATTEMPTS);
         addConfigValue(configValues, TOPICS_PATH);
+        addConfigValue(configValues, WORKER_POOL_SIZES);
         addConfigValue(configValues, TLS_ENABLED);
         addConfigValue(configValues, TLS_TRUSTSTORE_LOCATION);
         addConfigValue(configValues, TLS_TRUSTSTORE_PASSWORD);
@@ -4,6 +4,7 @@
  */
 package io.strimzi.operator.topic;
 
+import io.strimzi.operator.common.WorkerPools;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
@@ -75,4 +76,16 @@ public class ConfigTest {
         Config c = new Config(map);
         assertThat(c.get(Config.TOPIC_METADATA_MAX_ATTEMPTS).intValue(), is(3));
     }
+
+    @Test
+    public void testWorkerPoolSizes() {
+        Map<String, String> map = new HashMap<>(MANDATORY);
+        assertThat(new Config(map).get(Config.WORKER_POOL_SIZES).isEmpty(), is(true));
+
+        map.put(Config.TC_WORKER_POOL_SIZES, "zookeeper=20");
+        assertThat(new Config(map).get(Config.WORKER_POOL_SIZES).get(WorkerPools.Workload.ZOOKEEPER), is(20));
+
+        map.put(Config.TC_WORKER_POOL_SIZES, "zookeeper=0");
+        assertThrows(IllegalArgumentException.class, () -> new Config(map));
+    }
 }
@@ -15,13 +15,18 @@ import io.strimzi.api.kafka.model.KafkaUser;
 import io.strimzi.certs.OpenSslCertManager;
 import io.strimzi.operator.common.AdminClientProvider;
 import io.strimzi.operator.common.DefaultAdminClientProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.WorkerPools;
+import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.CrdOperator;
 import io.strimzi.operator.common.operator.resource.SecretOperator;
 import io.strimzi.operator.user.operator.KafkaUserOperator;
 import io.strimzi.operator.user.operator.KafkaUserQuotasOperator;
+import io.strimzi.operator.user.operator.PrivateKeyPool;
 import io.strimzi.operator.user.operator.ScramShaCredentials;
 import io.strimzi.operator.user.operator.ScramShaCredentialsOperator;
+import io.strimzi.operator.user.operator.SecretCache;
 import io.strimzi.operator.user.operator.SimpleAclOperator;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
@@ -77,21 +82,32 @@ public class Main {
         String dnsCacheTtl = System.getenv("STRIMZI_DNS_CACHE_TTL") == null ? "30" : System.getenv("STRIMZI_DNS_CACHE_TTL");
         Security.setProperty("networkaddress.cache.ttl", dnsCacheTtl);
 
+        WorkerPools.configure(vertx, config.getWorkerPoolSizes(), config.isVirtualThreadsEnabled(), new MicrometerMetricsProvider());
+
         OpenSslCertManager certManager = new OpenSslCertManager();
         SecretOperator secretOperations = new SecretOperator(vertx, client);
         CrdOperator<KubernetesClient, KafkaUser, KafkaUserList, DoneableKafkaUser> crdOperations = new CrdOperator<>(vertx, client, KafkaUser.class, KafkaUserList.class, DoneableKafkaUser.class, Crds.kafkaUser());
+        SecretCache secretCache = new SecretCache(vertx, secretOperations);
         return createAdminClient(adminClientProvider, config, secretOperations)
+                .compose(adminClient -> startSecretCache(secretCache, config).map(adminClient))
                 .compose(adminClient -> {
                     SimpleAclOperator aclOperations = new SimpleAclOperator(vertx, adminClient);
                     ScramShaCredentials scramShaCredentials = new ScramShaCredentials(config.getZookeperConnect(), (int) config.getZookeeperSessionTimeoutMs());
                     ScramShaCredentialsOperator scramShaCredentialsOperator = new ScramShaCredentialsOperator(vertx, scramShaCredentials);
                     KafkaUserQuotasOperator quotasOperator = new KafkaUserQuotasOperator(vertx, config.getZookeperConnect(), (int) config.getZookeeperSessionTimeoutMs());
 
+                    PrivateKeyPool privateKeyPool = null;
+                    if (config.getPrivateKeyPoolSize() > 0) {
+                        privateKeyPool = new PrivateKeyPool(vertx, certManager, config.getPrivateKeyPoolSize(), config.getPrivateKeyPoolRefillRate(),
+                                UserOperatorConfig.getClientsCaKeyAlgorithm());
+                        privateKeyPool.start();
+                    }
+
                     KafkaUserOperator kafkaUserOperations = new KafkaUserOperator(vertx,
                             certManager, crdOperations,
                             config.getLabels(),
                             secretOperations, scramShaCredentialsOperator, quotasOperator, aclOperations, config.getCaCertSecretName(), config.getCaKeySecretName(), config.getCaNamespace(),
-                            config.getSecretPrefix());
+                            config.getSecretPrefix(), privateKeyPool, secretCache, config.getReconciliationParallelism());
 
                     Promise<String> promise = Promise.promise();
                     UserOperator operator = new UserOperator(config.getNamespace(),
@@ -112,6 +128,18 @@ public class Main {
                 });
     }
 
+    /**
+     * Starts caching the clients CA Secrets and the user Secrets, so that they do not need to be read from the
+     * Kubernetes API in every reconciliation.
+     */
+    private static Future<Void> startSecretCache(SecretCache secretCache, UserOperatorConfig config) {
+        return CompositeFuture.join(
+                secretCache.watch(config.getCaNamespace(), config.getCaCertSecretName()),
+                secretCache.watch(config.getCaNamespace(), config.getCaKeySecretName()),
+                secretCache.watch(config.getNamespace(), Labels.forStrimziKind(KafkaUser.RESOURCE_KIND)))
+                .map((Void) null);
+    }
+
     private static Future<Admin> createAdminClient(AdminClientProvider adminClientProvider, UserOperatorConfig config, SecretOperator secretOperations) {
         Promise<Admin> promise = Promise.promise();
 
@@ -6,6 +6,8 @@ package io.strimzi.operator.user;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.Watch;
+import io.strimzi.operator.common.EventLoopMonitor;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.strimzi.operator.user.operator.KafkaUserOperator;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Future;
@@ -14,7 +16,6 @@ import io.vertx.core.http.HttpServer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.concurrent.TimeUnit;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
 import io.vertx.micrometer.backends.BackendRegistries;
 
@@ -36,6 +37,7 @@ public class UserOperator extends AbstractVerticle {
 
     private Watch watch;
     private long reconcileTimer;
+    private EventLoopMonitor eventLoopMonitor;
 
     public UserOperator(String namespace,
                         UserOperatorConfig config,
@@ -53,8 +55,8 @@ public class UserOperator extends AbstractVerticle {
     public void start(Promise<Void> start) {
         log.info("Starting UserOperator for namespace {}", namespace);
 
-        // Configure the executor here, but it is used only in other places
-        getVertx().createSharedWorkerExecutor("kubernetes-ops-pool", 10, TimeUnit.SECONDS.toNanos(120));
+        eventLoopMonitor = new EventLoopMonitor(vertx, new MicrometerMetricsProvider(), EventLoopMonitor.DEFAULT_INTERVAL_MS);
+        eventLoopMonitor.start();
 
         kafkaUserOperator.createWatch(namespace, kafkaUserOperator.recreateWatch(namespace))
             .compose(w -> {
@@ -76,6 +78,7 @@ public class UserOperator extends AbstractVerticle {
     public void stop(Promise<Void> stop) {
         log.info("Stopping UserOperator for namespace {}", namespace);
         vertx.cancelTimer(reconcileTimer);
+        eventLoopMonitor.stop();
 
         if (watch != null) {
             watch.close();
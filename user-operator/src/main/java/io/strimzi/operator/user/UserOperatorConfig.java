@@ -5,9 +5,13 @@
 package io.strimzi.operator.user;
 
 import io.strimzi.api.kafka.model.CertificateAuthority;
+import io.strimzi.certs.KeyAlgorithm;
 import io.strimzi.operator.common.InvalidConfigurationException;
+import io.strimzi.operator.common.ReconciliationWorkQueue;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
 
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -28,13 +32,23 @@ public class UserOperatorConfig {
     public static final String STRIMZI_ZOOKEEPER_SESSION_TIMEOUT_MS = "STRIMZI_ZOOKEEPER_SESSION_TIMEOUT_MS";
     public static final String STRIMZI_CLIENTS_CA_VALIDITY = "STRIMZI_CA_VALIDITY";
     public static final String STRIMZI_CLIENTS_CA_RENEWAL = "STRIMZI_CA_RENEWAL";
+    public static final String STRIMZI_CLIENTS_CA_KEY_ALGORITHM = "STRIMZI_CA_KEY_ALGORITHM";
     public static final String STRIMZI_SECRET_PREFIX = "STRIMZI_SECRET_PREFIX";
+    public static final String STRIMZI_PRIVATE_KEY_POOL_SIZE = "STRIMZI_PRIVATE_KEY_POOL_SIZE";
+    public static final String STRIMZI_PRIVATE_KEY_POOL_REFILL_RATE = "STRIMZI_PRIVATE_KEY_POOL_REFILL_RATE";
+    public static final String STRIMZI_RECONCILIATION_PARALLELISM = "STRIMZI_RECONCILIATION_PARALLELISM";
+    public static final String STRIMZI_WORKER_POOL_SIZES = "STRIMZI_WORKER_POOL_SIZES";
+    public static final String STRIMZI_VIRTUAL_THREADS_ENABLED = "STRIMZI_VIRTUAL_THREADS_ENABLED";
 
     public static final long DEFAULT_FULL_RECONCILIATION_INTERVAL_MS = 120_000;
     public static final String DEFAULT_KAFKA_BOOTSTRAP_SERVERS = "localhost:9091";
     public static final String DEFAULT_ZOOKEEPER_CONNECT = "localhost:2181";
     public static final long DEFAULT_ZOOKEEPER_SESSION_TIMEOUT_MS = 6_000;
     public static final String DEFAULT_SECRET_PREFIX = "";
+    public static final int DEFAULT_PRIVATE_KEY_POOL_SIZE = 0;
+    public static final int DEFAULT_PRIVATE_KEY_POOL_REFILL_RATE = 5;
+    public static final int DEFAULT_RECONCILIATION_PARALLELISM = ReconciliationWorkQueue.DEFAULT_PARALLELISM;
+    public static final boolean DEFAULT_VIRTUAL_THREADS_ENABLED = false;
 
     private final String namespace;
     private final long reconciliationIntervalMs;
@@ -48,6 +62,11 @@ public class UserOperatorConfig {
     private final String eoKeySecretName;
     private final String caNamespace;
     private final String secretPrefix;
+    private final int privateKeyPoolSize;
+    private final int privateKeyPoolRefillRate;
+    private final int reconciliationParallelism;
+    private final Map<WorkerPools.Workload, Integer> workerPoolSizes;
+    private final boolean virtualThreadsEnabled;
 
     /**
      * Constructor
@@ -64,6 +83,11 @@ public class UserOperatorConfig {
      * @param eoKeySecretName The name of the secret containing the Entity Operator key and certificate
      * @param caNamespace Namespace with the CA secret.
      * @param secretPrefix Prefix used for the Secret names
+     * @param privateKeyPoolSize Number of pre-generated private keys kept for new TLS users. 0 disables the pool.
+     * @param privateKeyPoolRefillRate Maximum number of private keys generated per second when refilling the pool
+     * @param reconciliationParallelism Maximum number of KafkaUser reconciliations running at the same time
+     * @param workerPoolSizes Number of threads of the worker pools used for blocking calls
+     * @param virtualThreadsEnabled true to run the blocking calls on virtual threads when the JVM supports them
      */
     @SuppressWarnings({"checkstyle:ParameterNumber"}) //TODO: to remove when removing the zookeeper related parameters
     public UserOperatorConfig(String namespace,
@@ -76,7 +100,12 @@ public class UserOperatorConfig {
                               String clusterCaCertSecretName,
                               String eoKeySecretName,
                               String caNamespace,
-                              String secretPrefix) {
+                              String secretPrefix,
+                              int privateKeyPoolSize,
+                              int privateKeyPoolRefillRate,
+                              int reconciliationParallelism,
+                              Map<WorkerPools.Workload, Integer> workerPoolSizes,
+                              boolean virtualThreadsEnabled) {
         this.namespace = namespace;
         this.reconciliationIntervalMs = reconciliationIntervalMs;
         this.kafkaBootstrapServers = kafkaBootstrapServers;
@@ -89,6 +118,11 @@ public class UserOperatorConfig {
         this.eoKeySecretName = eoKeySecretName;
         this.caNamespace = caNamespace;
         this.secretPrefix = secretPrefix;
+        this.privateKeyPoolSize = privateKeyPoolSize;
+        this.privateKeyPoolRefillRate = privateKeyPoolRefillRate;
+        this.reconciliationParallelism = reconciliationParallelism;
+        this.workerPoolSizes = workerPoolSizes;
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
     }
 
     /**
@@ -161,8 +195,49 @@ public class UserOperatorConfig {
             secretPrefix = DEFAULT_SECRET_PREFIX;
         }
 
+        int privateKeyPoolSize = DEFAULT_PRIVATE_KEY_POOL_SIZE;
+        String privateKeyPoolSizeEnvVar = map.get(UserOperatorConfig.STRIMZI_PRIVATE_KEY_POOL_SIZE);
+        if (privateKeyPoolSizeEnvVar != null && !privateKeyPoolSizeEnvVar.isEmpty()) {
+            privateKeyPoolSize = Integer.parseInt(privateKeyPoolSizeEnvVar);
+            if (privateKeyPoolSize < 0) {
+                throw new InvalidConfigurationException(UserOperatorConfig.STRIMZI_PRIVATE_KEY_POOL_SIZE + " must not be negative");
+            }
+        }
+
+        int privateKeyPoolRefillRate = DEFAULT_PRIVATE_KEY_POOL_REFILL_RATE;
+        String privateKeyPoolRefillRateEnvVar = map.get(UserOperatorConfig.STRIMZI_PRIVATE_KEY_POOL_REFILL_RATE);
+        if (privateKeyPoolRefillRateEnvVar != null && !privateKeyPoolRefillRateEnvVar.isEmpty()) {
+            privateKeyPoolRefillRate = Integer.parseInt(privateKeyPoolRefillRateEnvVar);
+            if (privateKeyPoolRefillRate <= 0) {
+                throw new InvalidConfigurationException(UserOperatorConfig.STRIMZI_PRIVATE_KEY_POOL_REFILL_RATE + " must be greater than 0");
+            }
+        }
+
+        int reconciliationParallelism = DEFAULT_RECONCILIATION_PARALLELISM;
+        String reconciliationParallelismEnvVar = map.get(UserOperatorConfig.STRIMZI_RECONCILIATION_PARALLELISM);
+        if (reconciliationParallelismEnvVar != null && !reconciliationParallelismEnvVar.isEmpty()) {
+            reconciliationParallelism = Integer.parseInt(reconciliationParallelismEnvVar);
+            if (reconciliationParallelism <= 0) {
+                throw new InvalidConfigurationException(UserOperatorConfig.STRIMZI_RECONCILIATION_PARALLELISM + " must be greater than 0");
+            }
+        }
+
+        Map<WorkerPools.Workload, Integer> workerPoolSizes;
+        try {
+            workerPoolSizes = WorkerPools.parsePoolSizes(map.get(UserOperatorConfig.STRIMZI_WORKER_POOL_SIZES));
+        } catch (RuntimeException e) {
+            throw new InvalidConfigurationException("Failed to parse worker pool sizes from " + STRIMZI_WORKER_POOL_SIZES, e);
+        }
+
+        boolean virtualThreadsEnabled = DEFAULT_VIRTUAL_THREADS_ENABLED;
+        String virtualThreadsEnabledEnvVar = map.get(UserOperatorConfig.STRIMZI_VIRTUAL_THREADS_ENABLED);
+        if (virtualThreadsEnabledEnvVar != null) {
+            virtualThreadsEnabled = Boolean.parseBoolean(virtualThreadsEnabledEnvVar);
+        }
+
         return new UserOperatorConfig(namespace, reconciliationInterval, kafkaBootstrapServers, zookeeperConnect, zookeeperSessionTimeoutMs, labels,
-                caCertSecretName, caKeySecretName, clusterCaCertSecretName, eoKeySecretName, caNamespace, secretPrefix);
+                caCertSecretName, caKeySecretName, clusterCaCertSecretName, eoKeySecretName, caNamespace, secretPrefix,
+                privateKeyPoolSize, privateKeyPoolRefillRate, reconciliationParallelism, workerPoolSizes, virtualThreadsEnabled);
     }
 
     public static int getClientsCaValidityDays() {
@@ -173,6 +248,22 @@ public class UserOperatorConfig {
         return getIntProperty(UserOperatorConfig.STRIMZI_CLIENTS_CA_RENEWAL, CertificateAuthority.DEFAULT_CERTS_RENEWAL_DAYS);
     }
 
+    public static KeyAlgorithm getClientsCaKeyAlgorithm() {
+        return parseKeyAlgorithm(System.getenv(UserOperatorConfig.STRIMZI_CLIENTS_CA_KEY_ALGORITHM));
+    }
+
+    /*test*/ static KeyAlgorithm parseKeyAlgorithm(String keyAlgorithm) {
+        if (keyAlgorithm == null) {
+            return KeyAlgorithm.RSA;
+        }
+
+        try {
+            return KeyAlgorithm.valueOf(keyAlgorithm.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidConfigurationException(UserOperatorConfig.STRIMZI_CLIENTS_CA_KEY_ALGORITHM + " has to be one of rsa or ec");
+        }
+    }
+
     private static int getIntProperty(String name, int defaultVal) {
         String env = System.getenv(name);
         if (env != null) {
@@ -266,6 +357,41 @@ public class UserOperatorConfig {
         return secretPrefix;
     }
 
+    /**
+     * @return  The number of pre-generated private keys kept for new TLS users. 0 when the pool is disabled.
+     */
+    public int getPrivateKeyPoolSize() {
+        return privateKeyPoolSize;
+    }
+
+    /**
+     * @return  The maximum number of private keys generated per second when refilling the pool
+     */
+    public int getPrivateKeyPoolRefillRate() {
+        return privateKeyPoolRefillRate;
+    }
+
+    /**
+     * @return  The maximum number of KafkaUser reconciliations running at the same time
+     */
+    public int getReconciliationParallelism() {
+        return reconciliationParallelism;
+    }
+
+    /**
+     * @return  The number of threads of the worker pools used for blocking calls. Pools missing in the map use their default size.
+     */
+    public Map<WorkerPools.Workload, Integer> getWorkerPoolSizes() {
+        return workerPoolSizes;
+    }
+
+    /**
+     * @return  Indicates whether the blocking calls should run on virtual threads instead of the worker pools
+     */
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
     @Override
     public String toString() {
         return "ClusterOperatorConfig(" +
@@ -279,6 +405,11 @@ public class UserOperatorConfig {
                 ",clusterCaCertSecretName=" + clusterCaCertSecretName +
                 ",eoKeySecretName=" + eoKeySecretName +
                 ",caNamespace=" + caNamespace +
+                ",privateKeyPoolSize=" + privateKeyPoolSize +
+                ",privateKeyPoolRefillRate=" + privateKeyPoolRefillRate +
+                ",reconciliationParallelism=" + reconciliationParallelism +
+                ",workerPoolSizes=" + workerPoolSizes +
+                ",virtualThreadsEnabled=" + virtualThreadsEnabled +
                 ")";
     }
 }
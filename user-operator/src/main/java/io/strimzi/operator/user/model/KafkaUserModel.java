@@ -18,6 +18,7 @@ import io.strimzi.api.kafka.model.KafkaUserScramSha512ClientAuthentication;
 import io.strimzi.api.kafka.model.KafkaUserTlsClientAuthentication;
 import io.strimzi.certs.CertAndKey;
 import io.strimzi.certs.CertManager;
+import io.strimzi.certs.KeyAlgorithm;
 import io.strimzi.certs.OpenSslCertManager;
 import io.strimzi.operator.cluster.model.ClientsCa;
 import io.strimzi.operator.cluster.model.InvalidResourceException;
@@ -25,6 +26,7 @@ import io.strimzi.operator.common.Util;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.user.UserOperatorConfig;
 import io.strimzi.operator.user.model.acl.SimpleAclRule;
+import io.strimzi.operator.user.operator.PrivateKeyPool;
 import io.strimzi.operator.common.PasswordGenerator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -108,6 +110,29 @@ public class KafkaUserModel {
                                          Secret clientsCaCert,
                                          Secret clientsCaKey,
                                          Secret userSecret, String secretPrefix) {
+        return fromCrd(certManager, passwordGenerator, kafkaUser, clientsCaCert, clientsCaKey, userSecret, secretPrefix, null);
+    }
+
+    /**
+     * Creates instance of KafkaUserModel from CRD definition.
+     *
+     * @param certManager CertManager instance for work with certificates.
+     * @param passwordGenerator A password generator.
+     * @param kafkaUser The Custom Resource based on which the model should be created.
+     * @param clientsCaCert The clients CA certificate Secret.
+     * @param clientsCaKey The clients CA key Secret.
+     * @param userSecret Kubernetes secret with existing user certificate.
+     * @param secretPrefix The prefix used to add to the name of the Secret generated from the KafkaUser resource.
+     * @param privateKeyPool Pool of pre-generated private keys used for new user certificates. May be null.
+     * @return The user model.
+     */
+    public static KafkaUserModel fromCrd(CertManager certManager,
+                                         PasswordGenerator passwordGenerator,
+                                         KafkaUser kafkaUser,
+                                         Secret clientsCaCert,
+                                         Secret clientsCaKey,
+                                         Secret userSecret, String secretPrefix,
+                                         PrivateKeyPool privateKeyPool) {
         KafkaUserModel result = new KafkaUserModel(kafkaUser.getMetadata().getNamespace(),
                 kafkaUser.getMetadata().getName(),
                 Labels.fromResource(kafkaUser).withStrimziKind(kafkaUser.getKind()),
@@ -121,7 +146,8 @@ public class KafkaUserModel {
             }
 
             result.maybeGenerateCertificates(certManager, passwordGenerator, clientsCaCert, clientsCaKey, userSecret,
-                    UserOperatorConfig.getClientsCaValidityDays(), UserOperatorConfig.getClientsCaRenewalDays());
+                    UserOperatorConfig.getClientsCaValidityDays(), UserOperatorConfig.getClientsCaRenewalDays(),
+                    UserOperatorConfig.getClientsCaKeyAlgorithm(), privateKeyPool);
         } else if (kafkaUser.getSpec().getAuthentication() instanceof KafkaUserScramSha512ClientAuthentication) {
             result.maybeGeneratePassword(passwordGenerator, userSecret);
         }
@@ -178,10 +204,31 @@ public class KafkaUserModel {
      * @param validityDays The number of days the certificate should be valid for.
      * @param renewalDays The renewal days.
      */
-    @SuppressWarnings("checkstyle:BooleanExpressionComplexity")
     public void maybeGenerateCertificates(CertManager certManager, PasswordGenerator passwordGenerator,
                                           Secret clientsCaCertSecret, Secret clientsCaKeySecret,
                                           Secret userSecret, int validityDays, int renewalDays) {
+        maybeGenerateCertificates(certManager, passwordGenerator, clientsCaCertSecret, clientsCaKeySecret, userSecret,
+                validityDays, renewalDays, null, null);
+    }
+
+    /**
+     * Manage certificates generation based on those already present in the Secrets
+     *
+     * @param certManager CertManager instance for handling certificates creation
+     * @param passwordGenerator PasswordGenerator instance for generating passwords
+     * @param clientsCaCertSecret The clients CA certificate Secret.
+     * @param clientsCaKeySecret The clients CA key Secret.
+     * @param userSecret Secret with the user certificate
+     * @param validityDays The number of days the certificate should be valid for.
+     * @param renewalDays The renewal days.
+     * @param keyAlgorithm The algorithm of newly generated private keys. RSA is used when null.
+     * @param privateKeyPool Pool of pre-generated private keys used for new certificates. May be null.
+     */
+    @SuppressWarnings("checkstyle:BooleanExpressionComplexity")
+    public void maybeGenerateCertificates(CertManager certManager, PasswordGenerator passwordGenerator,
+                                          Secret clientsCaCertSecret, Secret clientsCaKeySecret,
+                                          Secret userSecret, int validityDays, int renewalDays,
+                                          KeyAlgorithm keyAlgorithm, PrivateKeyPool privateKeyPool) {
         if (clientsCaCertSecret == null) {
             throw new NoCertificateSecretException("The Clients CA Cert Secret is missing");
         } else if (clientsCaKeySecret == null) {
@@ -195,7 +242,8 @@ public class KafkaUserModel {
                     validityDays,
                     renewalDays,
                     false,
-                    null);
+                    null,
+                    keyAlgorithm);
             this.caCert = clientsCa.currentCaCertBase64();
             if (userSecret != null) {
                 // Secret already exists -> lets verify if it has keys from the same CA
@@ -239,7 +287,9 @@ public class KafkaUserModel {
             }
 
             try {
-                this.userCertAndKey = clientsCa.generateSignedCert(name);
+                // When the pool is empty, the private key is generated together with the certificate
+                byte[] privateKey = privateKeyPool != null ? privateKeyPool.poll() : null;
+                this.userCertAndKey = clientsCa.generateSignedCert(name, null, privateKey);
             } catch (IOException e) {
                 log.error("Error generating signed certificate for user {}", name, e);
             }
@@ -19,6 +19,8 @@ import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.strimzi.operator.common.PasswordGenerator;
 import io.strimzi.operator.common.Reconciliation;
 import io.strimzi.operator.common.ReconciliationException;
+import io.strimzi.operator.common.ReconciliationWorkQueue;
+import io.strimzi.operator.common.WorkerPools;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.model.NamespaceAndName;
 import io.strimzi.operator.common.operator.resource.CrdOperator;
@@ -62,6 +64,8 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser, KafkaUserSpec
     private final KafkaUserQuotasOperator kafkaUserQuotasOperator;
     private PasswordGenerator passwordGenerator = new PasswordGenerator(12);
     private final String secretPrefix;
+    private final PrivateKeyPool privateKeyPool;
+    private final SecretCache secretCache;
 
     /**
      * @param vertx The Vertx instance.
@@ -85,7 +89,40 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser, KafkaUserSpec
                              ScramShaCredentialsOperator scramShaCredentialOperator,
                              KafkaUserQuotasOperator kafkaUserQuotasOperator,
                              SimpleAclOperator aclOperations, String caCertName, String caKeyName, String caNamespace, String secretPrefix) {
-        super(vertx, "KafkaUser", crdOperator, new MicrometerMetricsProvider());
+        this(vertx, certManager, crdOperator, labels, secretOperations, scramShaCredentialOperator, kafkaUserQuotasOperator,
+                aclOperations, caCertName, caKeyName, caNamespace, secretPrefix, null, null, ReconciliationWorkQueue.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param certManager For managing certificates.
+     * @param crdOperator For operating on Custom Resources.
+     * @param labels A selector for which users in the namespace to consider as the operators
+     * @param secretOperations For operating on Secrets.
+     * @param scramShaCredentialOperator For operating on SCRAM SHA credentials.
+     * @param kafkaUserQuotasOperator For operating on Kafka User quotas.
+     * @param aclOperations For operating on ACLs.
+     * @param caCertName The name of the Secret containing the clients CA certificate.
+     * @param caKeyName The name of the Secret containing the clients CA private key.
+     * @param caNamespace The namespace of the Secret containing the clients CA certificate and private key.
+     * @param secretPrefix The prefix used to add to the name of the Secrets generated from the KafkaUser resources.
+     * @param privateKeyPool Pool of pre-generated private keys for new TLS users. May be null.
+     * @param secretCache Cache of the clients CA and user Secrets. When null, the Secrets are read from the Kubernetes API.
+     * @param reconciliationParallelism The maximum number of KafkaUser reconciliations running at the same time.
+     */
+    @SuppressWarnings({"checkstyle:ParameterNumber"})
+    public KafkaUserOperator(Vertx vertx,
+                             CertManager certManager,
+                             CrdOperator<KubernetesClient, KafkaUser, KafkaUserList, DoneableKafkaUser> crdOperator,
+                             Labels labels,
+                             SecretOperator secretOperations,
+                             ScramShaCredentialsOperator scramShaCredentialOperator,
+                             KafkaUserQuotasOperator kafkaUserQuotasOperator,
+                             SimpleAclOperator aclOperations, String caCertName, String caKeyName, String caNamespace, String secretPrefix,
+                             PrivateKeyPool privateKeyPool,
+                             SecretCache secretCache,
+                             int reconciliationParallelism) {
+        super(vertx, "KafkaUser", crdOperator, new MicrometerMetricsProvider(), reconciliationParallelism);
         this.certManager = certManager;
         Map<String, String> matchLabels = labels.toMap();
         this.selector = matchLabels.isEmpty() ? Optional.empty() : Optional.of(new LabelSelector(null, matchLabels));
@@ -97,6 +134,8 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser, KafkaUserSpec
         this.caKeyName = caKeyName;
         this.caNamespace = caNamespace;
         this.secretPrefix = secretPrefix;
+        this.privateKeyPool = privateKeyPool;
+        this.secretCache = secretCache;
     }
 
     @Override
@@ -124,7 +163,7 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser, KafkaUserSpec
 
     private <T> Future<T> invokeAsync(Supplier<T> getter) {
         Promise<T> result = Promise.promise();
-        vertx.createSharedWorkerExecutor("zookeeper-ops-pool").executeBlocking(future -> {
+        WorkerPools.get(vertx, WorkerPools.Workload.ZOOKEEPER).executeBlocking(future -> {
             try {
                 future.complete(getter.get());
             } catch (Throwable t) {
@@ -146,9 +185,9 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser, KafkaUserSpec
      */
     @Override
     protected Future<KafkaUserStatus> createOrUpdate(Reconciliation reconciliation, KafkaUser resource) {
-        Secret clientsCaCert = secretOperations.get(caNamespace, caCertName);
-        Secret clientsCaKey = secretOperations.get(caNamespace, caKeyName);
-        Secret userSecret = secretOperations.get(reconciliation.namespace(), KafkaUserModel.getSecretName(secretPrefix, reconciliation.name()));
+        Secret clientsCaCert = getSecret(caNamespace, caCertName);
+        Secret clientsCaKey = getSecret(caNamespace, caKeyName);
+        Secret userSecret = getSecret(reconciliation.namespace(), KafkaUserModel.getSecretName(secretPrefix, reconciliation.name()));
 
         KafkaUserStatus userStatus = new KafkaUserStatus();
         String namespace = reconciliation.namespace();
@@ -156,7 +195,7 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser, KafkaUserSpec
         KafkaUserModel user;
 
         try {
-            user = KafkaUserModel.fromCrd(certManager, passwordGenerator, resource, clientsCaCert, clientsCaKey, userSecret, secretPrefix);
+            user = KafkaUserModel.fromCrd(certManager, passwordGenerator, resource, clientsCaCert, clientsCaKey, userSecret, secretPrefix, privateKeyPool);
         } catch (Exception e) {
             StatusUtils.setStatusConditionAndObservedGeneration(resource, userStatus, Future.failedFuture(e));
             return Future.failedFuture(new ReconciliationException(userStatus, e));
@@ -212,8 +251,35 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser, KafkaUserSpec
         return handler.future();
     }
 
+    private Secret getSecret(String namespace, String name) {
+        return secretCache != null ? secretCache.get(namespace, name) : secretOperations.get(namespace, name);
+    }
+
+    /**
+     * Reconciles the user Secret. When the cached Secret already matches the desired one, the Kubernetes API is not
+     * called at all. Otherwise the cache is updated with the result, so that the next reconciliation sees it.
+     */
+    private Future<ReconcileResult<Secret>> reconcileSecret(String namespace, String name, Secret desired) {
+        if (secretCache == null) {
+            return secretOperations.reconcile(namespace, name, desired);
+        }
+
+        Secret cached = secretCache.getCached(namespace, name);
+        if (SecretCache.isUpToDate(cached, desired)) {
+            log.debug("Secret {} in namespace {} is up to date", name, namespace);
+            return Future.succeededFuture(ReconcileResult.noop(cached));
+        }
+
+        return secretOperations.reconcile(namespace, name, desired).map(result -> {
+            if (result != null) {
+                secretCache.update(namespace, name, result.resourceOpt().orElse(null));
+            }
+            return result;
+        });
+    }
+
     protected Future<ReconcileResult<Secret>> reconcileSecretAndSetStatus(String namespace, KafkaUserModel user, Secret desired, KafkaUserStatus userStatus) {
-        return secretOperations.reconcile(namespace, user.getSecretName(), desired).compose(ar -> {
+        return reconcileSecret(namespace, user.getSecretName(), desired).compose(ar -> {
             if (desired != null) {
                 userStatus.setSecret(desired.getMetadata().getName());
             }
@@ -231,7 +297,7 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser, KafkaUserSpec
         String namespace = reconciliation.namespace();
         String user = reconciliation.name();
         log.debug("{}: Deleting User", reconciliation, user, namespace);
-        return CompositeFuture.join(secretOperations.reconcile(namespace, KafkaUserModel.getSecretName(secretPrefix, user), null),
+        return CompositeFuture.join(reconcileSecret(namespace, KafkaUserModel.getSecretName(secretPrefix, user), null),
                 aclOperations.reconcile(KafkaUserModel.getTlsUserName(user), null),
                 aclOperations.reconcile(KafkaUserModel.getScramUserName(user), null),
                 scramShaCredentialOperator.reconcile(KafkaUserModel.getScramUserName(user), null)
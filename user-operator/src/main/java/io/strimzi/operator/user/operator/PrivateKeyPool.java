@@ -0,0 +1,168 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user.operator;
+
+import io.strimzi.certs.CertManager;
+import io.strimzi.certs.KeyAlgorithm;
+import io.strimzi.operator.common.WorkerPool;
+import io.strimzi.operator.common.WorkerPools;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pool of pre-generated private keys for the TLS users. Generating the private key is the most expensive part of
+ * issuing a user certificate. Taking the key from the pool means that creating a TLS user only needs to sign a
+ * certificate. The pool is refilled in the background at a limited rate. When the pool is empty, the keys are
+ * generated on demand as before.
+ */
+public class PrivateKeyPool {
+    private static final Logger log = LogManager.getLogger(PrivateKeyPool.class.getName());
+
+    /*test*/ static final long REFILL_INTERVAL_MS = 1_000L;
+
+    private final Vertx vertx;
+    private final CertManager certManager;
+    private final int size;
+    private final int refillRate;
+    private final KeyAlgorithm keyAlgorithm;
+    private final BlockingQueue<byte[]> keys;
+    private final AtomicBoolean refilling = new AtomicBoolean(false);
+    private WorkerPool executor;
+    private long timerId = -1;
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param certManager For generating the private keys.
+     * @param size The number of private keys kept in the pool.
+     * @param refillRate The maximum number of private keys generated per second when refilling the pool.
+     */
+    public PrivateKeyPool(Vertx vertx, CertManager certManager, int size, int refillRate) {
+        this(vertx, certManager, size, refillRate, KeyAlgorithm.RSA);
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param certManager For generating the private keys.
+     * @param size The number of private keys kept in the pool.
+     * @param refillRate The maximum number of private keys generated per second when refilling the pool.
+     * @param keyAlgorithm The algorithm of the generated private keys.
+     */
+    public PrivateKeyPool(Vertx vertx, CertManager certManager, int size, int refillRate, KeyAlgorithm keyAlgorithm) {
+        this.vertx = vertx;
+        this.certManager = certManager;
+        this.size = size;
+        this.refillRate = refillRate;
+        this.keyAlgorithm = keyAlgorithm;
+        this.keys = new LinkedBlockingQueue<>(Math.max(size, 1));
+    }
+
+    /**
+     * Starts filling the pool in the background
+     */
+    public void start() {
+        if (size > 0 && timerId == -1) {
+            log.info("Starting private key pool with size {} and refill rate {} keys per second", size, refillRate);
+            // Own pool (with a single thread by default), so that the refill does not compete with the reconciliations
+            executor = WorkerPools.get(vertx, WorkerPools.Workload.PRIVATE_KEYS);
+            timerId = vertx.setPeriodic(REFILL_INTERVAL_MS, ignore -> refill());
+            refill();
+        }
+    }
+
+    /**
+     * Stops filling the pool. The keys which are already in the pool can still be used.
+     */
+    public void stop() {
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+
+        executor = null;
+    }
+
+    /**
+     * Takes a private key out of the pool. Every key is handed out only once.
+     *
+     * @return PEM encoded private key or null if the pool is empty
+     */
+    public byte[] poll() {
+        return keys.poll();
+    }
+
+    /**
+     * @return  The number of private keys currently available in the pool
+     */
+    public int available() {
+        return keys.size();
+    }
+
+    /**
+     * Generates the missing private keys, but at most refillRate keys at once
+     *
+     * @return A future which completes when the keys were generated
+     */
+    /*test*/ Future<Void> refill() {
+        int missing = size - keys.size();
+
+        if (missing <= 0 || executor == null || !refilling.compareAndSet(false, true)) {
+            return Future.succeededFuture();
+        }
+
+        int toGenerate = Math.min(missing, refillRate);
+        Promise<Void> result = Promise.promise();
+
+        executor.executeBlocking(future -> {
+            try {
+                for (int i = 0; i < toGenerate; i++) {
+                    if (!keys.offer(generateKey())) {
+                        break;
+                    }
+                }
+
+                future.complete();
+            } catch (Throwable t) {
+                future.fail(t);
+            }
+        },
+            true,
+            res -> {
+                refilling.set(false);
+
+                if (res.succeeded()) {
+                    log.debug("Private key pool refilled, {} keys available", keys.size());
+                } else {
+                    log.warn("Failed to refill the private key pool", res.cause());
+                }
+
+                result.handle(res.mapEmpty());
+            });
+
+        return result.future();
+    }
+
+    private byte[] generateKey() throws IOException {
+        File keyFile = File.createTempFile("tls", "pool-key");
+
+        try {
+            certManager.generateKey(keyFile, keyAlgorithm);
+            return Files.readAllBytes(keyFile.toPath());
+        } finally {
+            if (!keyFile.delete()) {
+                log.warn("{} cannot be deleted", keyFile.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user.operator;
+
+import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.model.NamespaceAndName;
+import io.strimzi.operator.common.operator.resource.AbstractWatchableResourceOperator;
+import io.strimzi.operator.common.operator.resource.SecretOperator;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory cache of the Secrets used by the User Operator. The cache is filled by listing the Secrets and kept up to
+ * date by watching them, so that the reconciliation of users which did not change does not need to read the clients
+ * CA Secrets and the user Secrets from the Kubernetes API. Secrets which are not in the cache are read from the
+ * Kubernetes API.
+ */
+public class SecretCache {
+    private static final Logger log = LogManager.getLogger(SecretCache.class.getName());
+
+    /*test*/ static final long RESTART_DELAY_MS = 5_000L;
+
+    private final Vertx vertx;
+    private final SecretOperator secretOperations;
+    private final Map<NamespaceAndName, Secret> secrets = new ConcurrentHashMap<>();
+    private final List<CacheWatcher> watchers = new CopyOnWriteArrayList<>();
+    private volatile boolean closed = false;
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param secretOperations For listing and watching the Secrets.
+     */
+    public SecretCache(Vertx vertx, SecretOperator secretOperations) {
+        this.vertx = vertx;
+        this.secretOperations = secretOperations;
+    }
+
+    /**
+     * Starts caching a single Secret
+     *
+     * @param namespace Namespace of the Secret
+     * @param name Name of the Secret
+     *
+     * @return A future which completes when the Secret was loaded into the cache and is being watched
+     */
+    public Future<Void> watch(String namespace, String name) {
+        return start(new CacheWatcher(namespace, name, null));
+    }
+
+    /**
+     * Starts caching all Secrets matching the selector
+     *
+     * @param namespace Namespace of the Secrets
+     * @param selector Labels which the Secrets need to have
+     *
+     * @return A future which completes when the Secrets were loaded into the cache and are being watched
+     */
+    public Future<Void> watch(String namespace, Labels selector) {
+        return start(new CacheWatcher(namespace, null, selector));
+    }
+
+    private Future<Void> start(CacheWatcher watcher) {
+        watchers.add(watcher);
+        return watcher.start();
+    }
+
+    /**
+     * Gets the Secret from the cache. When the Secret is not in the cache, it is read from the Kubernetes API.
+     *
+     * @param namespace Namespace of the Secret
+     * @param name Name of the Secret
+     *
+     * @return The Secret or null if it does not exist
+     */
+    public Secret get(String namespace, String name) {
+        Secret secret = getCached(namespace, name);
+
+        if (secret == null) {
+            log.debug("Secret {} in namespace {} is not cached, reading it from the Kubernetes API", name, namespace);
+            secret = secretOperations.get(namespace, name);
+        }
+
+        return secret;
+    }
+
+    /**
+     * Gets the Secret from the cache only
+     *
+     * @param namespace Namespace of the Secret
+     * @param name Name of the Secret
+     *
+     * @return The cached Secret or null if it is not cached
+     */
+    public Secret getCached(String namespace, String name) {
+        return secrets.get(new NamespaceAndName(namespace, name));
+    }
+
+    /**
+     * Updates the cache with a Secret which was created, patched or deleted by the operator. This makes the change
+     * visible to the next reconciliation even before the watch event arrives.
+     *
+     * @param namespace Namespace of the Secret
+     * @param name Name of the Secret
+     * @param secret The current Secret or null if the Secret was deleted
+     */
+    public void update(String namespace, String name, Secret secret) {
+        NamespaceAndName key = new NamespaceAndName(namespace, name);
+
+        if (secret != null) {
+            if (watchers.stream().anyMatch(watcher -> watcher.matches(secret))) {
+                secrets.put(key, secret);
+            }
+        } else {
+            secrets.remove(key);
+        }
+    }
+
+    /**
+     * @return The number of cached Secrets
+     */
+    public int size() {
+        return secrets.size();
+    }
+
+    /**
+     * Stops watching the Secrets and clears the cache
+     */
+    public void close() {
+        closed = true;
+
+        for (CacheWatcher watcher : watchers) {
+            watcher.close();
+        }
+
+        watchers.clear();
+        secrets.clear();
+    }
+
+    /**
+     * Checks whether the Secret in Kubernetes already has the desired content, so that it does not need to be patched.
+     *
+     * @param current The current Secret
+     * @param desired The desired Secret
+     *
+     * @return True if the data, labels, annotations and owner references of both Secrets are the same
+     */
+    public static boolean isUpToDate(Secret current, Secret desired) {
+        if (current == null || desired == null || current.getMetadata() == null || desired.getMetadata() == null) {
+            return false;
+        }
+
+        return Objects.equals(emptyIfNull(current.getData()), emptyIfNull(desired.getData()))
+                && hasSameMetadata(current.getMetadata(), desired.getMetadata());
+    }
+
+    private static boolean hasSameMetadata(ObjectMeta current, ObjectMeta desired) {
+        return Objects.equals(emptyIfNull(current.getLabels()), emptyIfNull(desired.getLabels()))
+                && Objects.equals(emptyIfNull(current.getAnnotations()), emptyIfNull(desired.getAnnotations()))
+                && Objects.equals(emptyIfNull(current.getOwnerReferences()), emptyIfNull(desired.getOwnerReferences()));
+    }
+
+    private static <K, V> Map<K, V> emptyIfNull(Map<K, V> map) {
+        return map != null ? map : Collections.emptyMap();
+    }
+
+    private static <E> List<E> emptyIfNull(List<E> list) {
+        return list != null ? list : Collections.emptyList();
+    }
+
+    /**
+     * Watches one Secret or all Secrets matching a selector and keeps their cache entries up to date. When the watch
+     * is closed because of an error, it is recreated and the Secrets are listed again.
+     */
+    private class CacheWatcher implements Watcher<Secret> {
+        private final String namespace;
+        private final String name;
+        private final Labels selector;
+
+        // Keys changed by watch events while the Secrets are being listed. These take precedence over the listed Secrets.
+        private final Set<NamespaceAndName> changedWhileSyncing = ConcurrentHashMap.newKeySet();
+        private volatile boolean syncing = false;
+        private volatile Watch watch;
+
+        CacheWatcher(String namespace, String name, Labels selector) {
+            this.namespace = namespace;
+            this.name = name;
+            this.selector = selector;
+        }
+
+        private String description() {
+            return name != null ? "Secret " + name + " in namespace " + namespace : "Secrets with labels " + selector + " in namespace " + namespace;
+        }
+
+        /**
+         * The watch is created before listing the Secrets, so that no change is missed between listing and watching.
+         */
+        Future<Void> start() {
+            syncing = true;
+            changedWhileSyncing.clear();
+
+            return Util.async(vertx, () -> name != null
+                        ? secretOperations.watch(namespace, name, this)
+                        : secretOperations.watch(namespace, Optional.of(new LabelSelector(null, selector.toMap())), this))
+                    .compose(w -> {
+                        watch = w;
+                        return list();
+                    })
+                    .map(listed -> {
+                        sync(listed);
+                        log.debug("Cached {} {}", listed.size(), description());
+                        return (Void) null;
+                    });
+        }
+
+        private Future<List<Secret>> list() {
+            if (name != null) {
+                return secretOperations.getAsync(namespace, name)
+                        .map(secret -> secret != null ? Collections.singletonList(secret) : Collections.emptyList());
+            } else {
+                return secretOperations.listAsync(namespace, selector);
+            }
+        }
+
+        private void sync(List<Secret> listed) {
+            Set<NamespaceAndName> listedKeys = listed.stream()
+                    .map(SecretCache::key)
+                    .collect(Collectors.toSet());
+
+            for (Secret secret : listed) {
+                NamespaceAndName key = key(secret);
+
+                if (!changedWhileSyncing.contains(key)) {
+                    secrets.put(key, secret);
+                }
+            }
+
+            // Remove the Secrets which were deleted while the watch was not running
+            secrets.entrySet().removeIf(entry -> matches(entry.getValue())
+                    && !listedKeys.contains(entry.getKey())
+                    && !changedWhileSyncing.contains(entry.getKey()));
+
+            syncing = false;
+            changedWhileSyncing.clear();
+        }
+
+        boolean matches(Secret secret) {
+            if (!AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace)
+                    && !namespace.equals(secret.getMetadata().getNamespace())) {
+                return false;
+            } else if (name != null) {
+                return name.equals(secret.getMetadata().getName());
+            } else {
+                Map<String, String> labels = emptyIfNull(secret.getMetadata().getLabels());
+                return labels.entrySet().containsAll(selector.toMap().entrySet());
+            }
+        }
+
+        @Override
+        public void eventReceived(Action action, Secret secret) {
+            NamespaceAndName key = key(secret);
+
+            switch (action) {
+                case ADDED:
+                case MODIFIED:
+                    secrets.put(key, secret);
+                    break;
+                case DELETED:
+                    secrets.remove(key);
+                    break;
+                default:
+                    log.warn("Unexpected {} event for Secret {} in namespace {}", action, key.getName(), key.getNamespace());
+                    return;
+            }
+
+            if (syncing) {
+                changedWhileSyncing.add(key);
+            }
+        }
+
+        @Override
+        public void onClose(KubernetesClientException e) {
+            if (e != null && !closed) {
+                log.warn("Watch for {} closed with exception, recreating it", description(), e);
+                restart();
+            }
+        }
+
+        private void restart() {
+            start().onComplete(res -> {
+                if (res.failed() && !closed) {
+                    log.warn("Failed to recreate the watch for {}, retrying in {} ms", description(), RESTART_DELAY_MS, res.cause());
+                    vertx.setTimer(RESTART_DELAY_MS, ignore -> restart());
+                }
+            });
+        }
+
+        void close() {
+            if (watch != null) {
+                watch.close();
+            }
+        }
+    }
+
+    private static NamespaceAndName key(Secret secret) {
+        return new NamespaceAndName(secret.getMetadata().getNamespace(), secret.getMetadata().getName());
+    }
+}
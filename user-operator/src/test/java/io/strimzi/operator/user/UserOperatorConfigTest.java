@@ -4,6 +4,7 @@
  */
 package io.strimzi.operator.user;
 
+import io.strimzi.certs.KeyAlgorithm;
 import io.strimzi.operator.common.InvalidConfigurationException;
 import io.strimzi.operator.common.model.Labels;
 import org.junit.jupiter.api.Test;
@@ -107,4 +108,60 @@ public class UserOperatorConfigTest {
 
         assertThrows(InvalidConfigurationException.class, () -> UserOperatorConfig.fromMap(envVars));
     }
+
+    @Test
+    public void testFromMapPrivateKeyPoolMissingSetsDefaults()  {
+        UserOperatorConfig config = UserOperatorConfig.fromMap(envVars);
+
+        assertThat(config.getPrivateKeyPoolSize(), is(UserOperatorConfig.DEFAULT_PRIVATE_KEY_POOL_SIZE));
+        assertThat(config.getPrivateKeyPoolRefillRate(), is(UserOperatorConfig.DEFAULT_PRIVATE_KEY_POOL_REFILL_RATE));
+    }
+
+    @Test
+    public void testFromMapPrivateKeyPool()  {
+        Map<String, String> envVars = new HashMap<>(UserOperatorConfigTest.envVars);
+        envVars.put(UserOperatorConfig.STRIMZI_PRIVATE_KEY_POOL_SIZE, "100");
+        envVars.put(UserOperatorConfig.STRIMZI_PRIVATE_KEY_POOL_REFILL_RATE, "10");
+
+        UserOperatorConfig config = UserOperatorConfig.fromMap(envVars);
+        assertThat(config.getPrivateKeyPoolSize(), is(100));
+        assertThat(config.getPrivateKeyPoolRefillRate(), is(10));
+    }
+
+    @Test
+    public void testFromMapInvalidPrivateKeyPoolSizeThrows()  {
+        Map<String, String> envVars = new HashMap<>(UserOperatorConfigTest.envVars);
+        envVars.put(UserOperatorConfig.STRIMZI_PRIVATE_KEY_POOL_SIZE, "-1");
+
+        assertThrows(InvalidConfigurationException.class, () -> UserOperatorConfig.fromMap(envVars));
+    }
+
+    @Test
+    public void testFromMapInvalidPrivateKeyPoolRefillRateThrows()  {
+        Map<String, String> envVars = new HashMap<>(UserOperatorConfigTest.envVars);
+        envVars.put(UserOperatorConfig.STRIMZI_PRIVATE_KEY_POOL_REFILL_RATE, "0");
+
+        assertThrows(InvalidConfigurationException.class, () -> UserOperatorConfig.fromMap(envVars));
+    }
+
+    @Test
+    public void testFromMapReconciliationParallelism()  {
+        assertThat(UserOperatorConfig.fromMap(envVars).getReconciliationParallelism(), is(UserOperatorConfig.DEFAULT_RECONCILIATION_PARALLELISM));
+
+        Map<String, String> envVars = new HashMap<>(UserOperatorConfigTest.envVars);
+        envVars.put(UserOperatorConfig.STRIMZI_RECONCILIATION_PARALLELISM, "5");
+        assertThat(UserOperatorConfig.fromMap(envVars).getReconciliationParallelism(), is(5));
+
+        envVars.put(UserOperatorConfig.STRIMZI_RECONCILIATION_PARALLELISM, "0");
+        assertThrows(InvalidConfigurationException.class, () -> UserOperatorConfig.fromMap(envVars));
+    }
+
+    @Test
+    public void testParseKeyAlgorithm()  {
+        assertThat(UserOperatorConfig.parseKeyAlgorithm(null), is(KeyAlgorithm.RSA));
+        assertThat(UserOperatorConfig.parseKeyAlgorithm("rsa"), is(KeyAlgorithm.RSA));
+        assertThat(UserOperatorConfig.parseKeyAlgorithm("ec"), is(KeyAlgorithm.EC));
+
+        assertThrows(InvalidConfigurationException.class, () -> UserOperatorConfig.parseKeyAlgorithm("dsa"));
+    }
 }
@@ -19,6 +19,7 @@ import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.MockCertManager;
 import io.strimzi.operator.user.ResourceUtils;
 import io.strimzi.operator.user.UserOperatorConfig;
+import io.strimzi.operator.user.operator.PrivateKeyPool;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
@@ -35,6 +36,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class KafkaUserModelTest {
     private final KafkaUser tlsUser = ResourceUtils.createKafkaUserTls();
@@ -201,6 +207,43 @@ public class KafkaUserModelTest {
         checkOwnerReference(model.createOwnerReference(), generated);
     }
 
+    @Test
+    public void testGenerateSecretGeneratesCertificateWithPooledKey()    {
+        PrivateKeyPool privateKeyPool = mock(PrivateKeyPool.class);
+        when(privateKeyPool.poll()).thenReturn("pooled key".getBytes());
+
+        KafkaUserModel model = KafkaUserModel.fromCrd(mockCertManager, passwordGenerator, tlsUser, clientsCaCert, clientsCaKey, null, UserOperatorConfig.DEFAULT_SECRET_PREFIX, privateKeyPool);
+        Secret generated = model.generateSecret();
+
+        assertThat(new String(model.decodeFromSecret(generated, "ca.crt")), is("clients-ca-crt"));
+        assertThat(new String(model.decodeFromSecret(generated, "user.crt")), is("crt file"));
+        assertThat(new String(model.decodeFromSecret(generated, "user.key")), is("pooled key"));
+        assertThat(new String(model.decodeFromSecret(generated, "user.p12")), is("key store"));
+        assertThat(new String(model.decodeFromSecret(generated, "user.password")), is("aaaaaaaaaa"));
+        verify(privateKeyPool, times(1)).poll();
+    }
+
+    @Test
+    public void testGenerateSecretGeneratesCertificateWithEmptyKeyPool()    {
+        PrivateKeyPool privateKeyPool = mock(PrivateKeyPool.class);
+        when(privateKeyPool.poll()).thenReturn(null);
+
+        KafkaUserModel model = KafkaUserModel.fromCrd(mockCertManager, passwordGenerator, tlsUser, clientsCaCert, clientsCaKey, null, UserOperatorConfig.DEFAULT_SECRET_PREFIX, privateKeyPool);
+        Secret generated = model.generateSecret();
+
+        assertThat(new String(model.decodeFromSecret(generated, "user.key")), is("key file"));
+    }
+
+    @Test
+    public void testGenerateSecretDoesNotUseKeyPoolForExistingCertificate()    {
+        PrivateKeyPool privateKeyPool = mock(PrivateKeyPool.class);
+        Secret userCert = ResourceUtils.createUserSecretTls();
+
+        KafkaUserModel.fromCrd(mockCertManager, passwordGenerator, tlsUser, clientsCaCert, clientsCaKey, userCert, UserOperatorConfig.DEFAULT_SECRET_PREFIX, privateKeyPool);
+
+        verify(privateKeyPool, never()).poll();
+    }
+
     @Test
     public void testGenerateSecretGeneratesCertificateAtCaChange() {
         Secret userCert = ResourceUtils.createUserSecretTls();
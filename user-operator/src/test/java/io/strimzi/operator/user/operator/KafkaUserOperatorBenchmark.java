@@ -0,0 +1,233 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user.operator;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.strimzi.api.kafka.Crds;
+import io.strimzi.api.kafka.model.AclOperation;
+import io.strimzi.api.kafka.model.KafkaUser;
+import io.strimzi.api.kafka.model.KafkaUserBuilder;
+import io.strimzi.api.kafka.model.KafkaUserScramSha512ClientAuthentication;
+import io.strimzi.api.kafka.model.KafkaUserTlsClientAuthentication;
+import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.model.NamespaceAndName;
+import io.strimzi.operator.user.ResourceUtils;
+import io.strimzi.test.EmbeddedZooKeeper;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.VertxPrometheusOptions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Throughput benchmark of the {@link KafkaUserOperator}. It drives the operator with synthetic KafkaUsers against
+ * MockKube, an in-memory ACL Admin client and an embedded ZooKeeper (used for the SCRAM-SHA credentials and quotas),
+ * see {@link KafkaUserOperatorBenchmarkEnvironment}.
+ * For every user count, it measures the creation of the users, their update, a periodic sweep over all users and
+ * their deletion. For each phase it reports the users reconciled per second and the p50 and p99 latency of a single
+ * reconciliation.
+ *
+ * The benchmark is not part of the regular test suite. It can be run with:
+ *
+ * <pre>
+ *     mvn test -pl user-operator -Dtest=KafkaUserOperatorBenchmark -Dbenchmark.userCounts=10,100,1000
+ * </pre>
+ *
+ * The {@code benchmark.userCounts} system property is optional and defaults to {@code 10,100,500}.
+ */
+public class KafkaUserOperatorBenchmark {
+    private static final Logger log = LogManager.getLogger(KafkaUserOperatorBenchmark.class.getName());
+
+    private static final String NAMESPACE = ResourceUtils.NAMESPACE;
+    private static final String USER_COUNTS_PROPERTY = "benchmark.userCounts";
+    private static final String DEFAULT_USER_COUNTS = "10,100,500";
+    private static final long PHASE_TIMEOUT_MS = 600_000L;
+
+    private static Vertx vertx;
+    private static EmbeddedZooKeeper zkServer;
+
+    @BeforeAll
+    public static void before() throws IOException, InterruptedException {
+        // The operator metrics need the Micrometer registry
+        VertxOptions options = new VertxOptions().setMetricsOptions(
+                new MicrometerMetricsOptions()
+                        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+                        .setEnabled(true));
+        vertx = Vertx.vertx(options);
+        zkServer = new EmbeddedZooKeeper();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+        zkServer.close();
+    }
+
+    @Test
+    public void benchmark() throws Exception {
+        List<Integer> userCounts = Arrays.stream(System.getProperty(USER_COUNTS_PROPERTY, DEFAULT_USER_COUNTS).split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .collect(Collectors.toList());
+
+        List<String> results = new ArrayList<>();
+
+        for (int userCount : userCounts) {
+            results.addAll(benchmark(userCount));
+        }
+
+        log.info("KafkaUserOperator benchmark results:\n{}\n{}",
+                String.format("%8s %-8s %12s %12s %12s", "users", "phase", "users/s", "p50 [ms]", "p99 [ms]"),
+                String.join("\n", results));
+    }
+
+    private List<String> benchmark(int userCount) throws Exception {
+        try (KafkaUserOperatorBenchmarkEnvironment environment = new KafkaUserOperatorBenchmarkEnvironment(vertx, zkServer.getZkConnectString())) {
+            KubernetesClient client = environment.client();
+            KafkaUserOperator operator = environment.operator();
+            await(environment.watchSecrets());
+
+            List<String> names = new ArrayList<>(userCount);
+            for (int i = 0; i < userCount; i++) {
+                names.add("user-" + i);
+            }
+
+            List<String> results = new ArrayList<>();
+
+            for (String name : names) {
+                Crds.kafkaUserOperation(client).inNamespace(NAMESPACE).create(kafkaUser(name, 1));
+            }
+            results.add(run(operator, "create", userCount, names));
+            assertThat(client.secrets().inNamespace(NAMESPACE).withName(names.get(0)).get(), is(notNullValue()));
+
+            for (String name : names) {
+                Crds.kafkaUserOperation(client).inNamespace(NAMESPACE).withName(name).patch(kafkaUser(name, 2));
+            }
+            results.add(run(operator, "update", userCount, names));
+
+            Set<NamespaceAndName> allNames = await(operator.allResourceNames(NAMESPACE));
+            assertThat(allNames.size(), is(userCount));
+            results.add(run(operator, "sweep", userCount, allNames.stream().map(NamespaceAndName::getName).collect(Collectors.toList())));
+
+            for (String name : names) {
+                Crds.kafkaUserOperation(client).inNamespace(NAMESPACE).withName(name).delete();
+            }
+            results.add(run(operator, "delete", userCount, names));
+            assertThat(client.secrets().inNamespace(NAMESPACE).withName(names.get(0)).get(), is(nullValue()));
+
+            return results;
+        }
+    }
+
+    /**
+     * Reconciles all users concurrently, in the same way as the periodic reconciliation does, and measures the
+     * latency of every single reconciliation.
+     */
+    private String run(KafkaUserOperator operator, String phase, int userCount, List<String> names) throws Exception {
+        List<Long> latencies = new CopyOnWriteArrayList<>();
+        List<Future> reconciliations = new ArrayList<>(names.size());
+
+        long start = System.nanoTime();
+
+        for (String name : names) {
+            long reconciliationStart = System.nanoTime();
+            reconciliations.add(operator.enqueue(new Reconciliation("benchmark", KafkaUser.RESOURCE_KIND, NAMESPACE, name))
+                    .onComplete(ignore -> latencies.add(System.nanoTime() - reconciliationStart)));
+        }
+
+        await(CompositeFuture.join(reconciliations));
+
+        long durationNs = System.nanoTime() - start;
+        List<Long> sorted = latencies.stream().sorted().collect(Collectors.toList());
+
+        return String.format("%8d %-8s %12.1f %12.1f %12.1f",
+                userCount,
+                phase,
+                names.size() / (durationNs / 1e9),
+                percentile(sorted, 0.50) / 1e6,
+                percentile(sorted, 0.99) / 1e6);
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0));
+    }
+
+    private static <T> T await(Future<T> future) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        future.onComplete(res -> {
+            if (res.succeeded()) {
+                result.complete(res.result());
+            } else {
+                result.completeExceptionally(res.cause());
+            }
+        });
+
+        return result.get(PHASE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Every second user is a TLS user, the others use SCRAM-SHA-512. The generation is used to change the quotas
+     * and the ACLs of the user on update.
+     */
+    private static KafkaUser kafkaUser(String name, int generation) {
+        boolean tls = Integer.parseInt(name.substring(name.lastIndexOf('-') + 1)) % 2 == 0;
+
+        return new KafkaUserBuilder()
+                .withNewMetadata()
+                    .withName(name)
+                    .withNamespace(NAMESPACE)
+                    .withGeneration((long) generation)
+                .endMetadata()
+                .withNewSpec()
+                    .withAuthentication(tls ? new KafkaUserTlsClientAuthentication() : new KafkaUserScramSha512ClientAuthentication())
+                    .withNewQuotas()
+                        .withConsumerByteRate(1024 * generation)
+                        .withProducerByteRate(1024 * generation)
+                    .endQuotas()
+                    .withNewKafkaUserAuthorizationSimple()
+                        .addNewAcl()
+                            .withNewAclRuleTopicResource()
+                                .withName("topic-" + generation)
+                            .endAclRuleTopicResource()
+                            .withOperation(AclOperation.READ)
+                        .endAcl()
+                        .addNewAcl()
+                            .withNewAclRuleGroupResource()
+                                .withName("group")
+                            .endAclRuleGroupResource()
+                            .withOperation(AclOperation.READ)
+                        .endAcl()
+                    .endKafkaUserAuthorizationSimple()
+                .endSpec()
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user.operator;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.strimzi.api.kafka.Crds;
+import io.strimzi.api.kafka.KafkaUserList;
+import io.strimzi.api.kafka.model.DoneableKafkaUser;
+import io.strimzi.api.kafka.model.KafkaUser;
+import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.operator.MockCertManager;
+import io.strimzi.operator.common.operator.resource.CrdOperator;
+import io.strimzi.operator.common.operator.resource.SecretOperator;
+import io.strimzi.operator.user.ResourceUtils;
+import io.strimzi.operator.user.UserOperatorConfig;
+import io.strimzi.test.mockkube.MockKube;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Vertx;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.CreateAclsResult;
+import org.apache.kafka.clients.admin.DeleteAclsResult;
+import org.apache.kafka.clients.admin.DescribeAclsResult;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.acl.AclBindingFilter;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stand-in environment for {@link KafkaUserOperatorBenchmark}. It creates a {@link KafkaUserOperator} which works
+ * with MockKube instead of Kubernetes, with an in-memory ACL Admin client instead of a Kafka cluster and with the
+ * given ZooKeeper for the SCRAM-SHA credentials and quotas.
+ */
+class KafkaUserOperatorBenchmarkEnvironment implements AutoCloseable {
+    private static final String NAMESPACE = ResourceUtils.NAMESPACE;
+
+    private final KubernetesClient client;
+    private final SecretCache secretCache;
+    private final KafkaUserOperator operator;
+
+    KafkaUserOperatorBenchmarkEnvironment(Vertx vertx, String zkConnectString) {
+        client = new MockKube()
+                .withInitialSecrets(new HashSet<>(Arrays.asList(withLabels(ResourceUtils.createClientsCaCertSecret()), withLabels(ResourceUtils.createClientsCaKeySecret()))))
+                .withCustomResourceDefinition(Crds.kafkaUser(), KafkaUser.class, KafkaUserList.class, DoneableKafkaUser.class, KafkaUser::getStatus, KafkaUser::setStatus)
+                .end()
+                .build();
+
+        SecretOperator secretOperations = new SecretOperator(vertx, client);
+        CrdOperator<KubernetesClient, KafkaUser, KafkaUserList, DoneableKafkaUser> crdOperations = new CrdOperator<>(vertx, client, KafkaUser.class, KafkaUserList.class, DoneableKafkaUser.class, Crds.kafkaUser());
+        ScramShaCredentials scramShaCredentials = new ScramShaCredentials(zkConnectString, 6_000);
+        KafkaUserQuotasOperator quotasOperator = new KafkaUserQuotasOperator(vertx, zkConnectString, 6_000);
+        secretCache = new SecretCache(vertx, secretOperations);
+
+        operator = new KafkaUserOperator(vertx,
+                new MockCertManager(),
+                crdOperations,
+                Labels.EMPTY,
+                secretOperations,
+                new ScramShaCredentialsOperator(vertx, scramShaCredentials),
+                quotasOperator,
+                new SimpleAclOperator(vertx, inMemoryAclAdmin()),
+                ResourceUtils.CA_CERT_NAME, ResourceUtils.CA_KEY_NAME, NAMESPACE, UserOperatorConfig.DEFAULT_SECRET_PREFIX,
+                null,
+                secretCache,
+                UserOperatorConfig.DEFAULT_RECONCILIATION_PARALLELISM);
+    }
+
+    /**
+     * @return The MockKube client
+     */
+    KubernetesClient client() {
+        return client;
+    }
+
+    /**
+     * @return The operator under test
+     */
+    KafkaUserOperator operator() {
+        return operator;
+    }
+
+    /**
+     * Starts watching the CA Secrets and the user Secrets in the same way as the User Operator does.
+     *
+     * @return A future which completes once the Secrets are cached
+     */
+    CompositeFuture watchSecrets() {
+        return CompositeFuture.join(secretCache.watch(NAMESPACE, ResourceUtils.CA_CERT_NAME),
+                secretCache.watch(NAMESPACE, ResourceUtils.CA_KEY_NAME),
+                secretCache.watch(NAMESPACE, Labels.forStrimziKind(KafkaUser.RESOURCE_KIND)));
+    }
+
+    @Override
+    public void close() {
+        secretCache.close();
+        client.close();
+    }
+
+    /**
+     * MockKube label selectors expect all Secrets to have labels
+     */
+    private static Secret withLabels(Secret secret) {
+        return new SecretBuilder(secret)
+                .editMetadata()
+                    .withLabels(Collections.singletonMap(Labels.STRIMZI_KIND_LABEL, "Kafka"))
+                .endMetadata()
+                .build();
+    }
+
+    /**
+     * Admin client which keeps the ACLs in memory instead of in a Kafka cluster
+     */
+    @SuppressWarnings("unchecked")
+    private static Admin inMemoryAclAdmin() {
+        Set<AclBinding> acls = ConcurrentHashMap.newKeySet();
+        Admin admin = mock(AdminClient.class);
+
+        when(admin.describeAcls(any())).thenAnswer(invocation -> {
+            AclBindingFilter filter = invocation.getArgument(0);
+            DescribeAclsResult result = mock(DescribeAclsResult.class);
+            when(result.values()).thenReturn(completed(matching(acls, filter::matches)));
+            return result;
+        });
+
+        when(admin.createAcls(any())).thenAnswer(invocation -> {
+            acls.addAll(invocation.getArgument(0));
+            CreateAclsResult result = mock(CreateAclsResult.class);
+            when(result.all()).thenReturn(completed(null));
+            return result;
+        });
+
+        when(admin.deleteAcls(any())).thenAnswer(invocation -> {
+            Collection<AclBindingFilter> filters = invocation.getArgument(0);
+            Collection<AclBinding> deleted = matching(acls, binding -> filters.stream().anyMatch(filter -> filter.matches(binding)));
+            acls.removeAll(deleted);
+            DeleteAclsResult result = mock(DeleteAclsResult.class);
+            when(result.all()).thenReturn(completed(deleted));
+            return result;
+        });
+
+        return admin;
+    }
+
+    private static Collection<AclBinding> matching(Set<AclBinding> acls, Function<AclBinding, Boolean> filter) {
+        return acls.stream().filter(filter::apply).collect(Collectors.toList());
+    }
+
+    private static <T> KafkaFuture<T> completed(T value) {
+        KafkaFutureImpl<T> future = new KafkaFutureImpl<>();
+        future.complete(value);
+        return future;
+    }
+}
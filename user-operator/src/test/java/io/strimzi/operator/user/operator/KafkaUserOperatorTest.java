@@ -52,6 +52,9 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(VertxExtension.class)
@@ -988,4 +991,44 @@ public class KafkaUserOperatorTest {
                 async.flag();
             })));
     }
+
+    @Test
+    public void testUnchangedUserSecretIsNotReconciledWithSecretCache(VertxTestContext context)    {
+        CrdOperator mockCrdOps = mock(CrdOperator.class);
+        SecretOperator mockSecretOps = mock(SecretOperator.class);
+        SecretCache mockSecretCache = mock(SecretCache.class);
+        SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
+        ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
+        KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
+
+        ArgumentCaptor<Secret> secretCaptor = ArgumentCaptor.forClass(Secret.class);
+        when(mockSecretOps.reconcile(anyString(), anyString(), secretCaptor.capture())).thenReturn(Future.succeededFuture());
+        when(aclOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(scramOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+        when(quotasOps.reconcile(any(), any())).thenReturn(Future.succeededFuture());
+
+        KafkaUserOperator op = new KafkaUserOperator(vertx, mockCertManager, mockCrdOps, Labels.EMPTY, mockSecretOps, scramOps, quotasOps, aclOps,
+                ResourceUtils.CA_CERT_NAME, ResourceUtils.CA_KEY_NAME, ResourceUtils.NAMESPACE, UserOperatorConfig.DEFAULT_SECRET_PREFIX, null, mockSecretCache, UserOperatorConfig.DEFAULT_RECONCILIATION_PARALLELISM);
+        KafkaUser user = ResourceUtils.createKafkaUserTls();
+        String secretName = KafkaUserModel.getSecretName(UserOperatorConfig.DEFAULT_SECRET_PREFIX, user.getMetadata().getName());
+
+        when(mockSecretCache.get(anyString(), eq(ResourceUtils.CA_CERT_NAME))).thenReturn(ResourceUtils.createClientsCaCertSecret());
+        when(mockSecretCache.get(anyString(), eq(ResourceUtils.CA_KEY_NAME))).thenReturn(ResourceUtils.createClientsCaKeySecret());
+        when(mockSecretCache.get(anyString(), eq(secretName))).thenReturn(ResourceUtils.createUserSecretTls());
+        // The cache contains the Secret written by the previous reconciliation
+        when(mockSecretCache.getCached(anyString(), eq(secretName))).thenAnswer(i -> secretCaptor.getAllValues().isEmpty() ? null : secretCaptor.getValue());
+
+        Reconciliation reconciliation = new Reconciliation("test-trigger", KafkaUser.RESOURCE_KIND, ResourceUtils.NAMESPACE, ResourceUtils.NAME);
+
+        Checkpoint async = context.checkpoint();
+        op.createOrUpdate(reconciliation, user)
+            .compose(ignore -> op.createOrUpdate(reconciliation, user))
+            .onComplete(context.succeeding(v -> context.verify(() -> {
+                // Only the first reconciliation updated the Secret
+                verify(mockSecretOps, times(1)).reconcile(anyString(), anyString(), any());
+                verify(mockSecretOps, never()).get(anyString(), anyString());
+
+                async.flag();
+            })));
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user.operator;
+
+import io.strimzi.operator.common.operator.MockCertManager;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@ExtendWith(VertxExtension.class)
+public class PrivateKeyPoolTest {
+    protected static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    @Test
+    public void testRefillIsLimitedByRefillRate(VertxTestContext context) {
+        PrivateKeyPool pool = new PrivateKeyPool(vertx, new MockCertManager(), 5, 2);
+        pool.start();
+
+        // only the initial refill is done before the first periodic refill
+        Checkpoint async = context.checkpoint();
+        vertx.setTimer(PrivateKeyPool.REFILL_INTERVAL_MS / 2, ignore -> context.verify(() -> {
+            assertThat(pool.available(), is(2));
+
+            pool.stop();
+            async.flag();
+        }));
+    }
+
+    @Test
+    public void testPoolIsFilledUpToSize(VertxTestContext context) {
+        PrivateKeyPool pool = new PrivateKeyPool(vertx, new MockCertManager(), 3, 2);
+        pool.start();
+
+        Checkpoint async = context.checkpoint();
+        vertx.setTimer(PrivateKeyPool.REFILL_INTERVAL_MS * 3, ignore -> context.verify(() -> {
+            assertThat(pool.available(), is(3));
+
+            assertThat(new String(pool.poll()), is("key file"));
+            assertThat(pool.available(), is(2));
+
+            pool.stop();
+            async.flag();
+        }));
+    }
+
+    @Test
+    public void testDisabledPool(VertxTestContext context) {
+        PrivateKeyPool pool = new PrivateKeyPool(vertx, new MockCertManager(), 0, 2);
+        pool.start();
+
+        Checkpoint async = context.checkpoint();
+        pool.refill().onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(pool.available(), is(0));
+            assertThat(pool.poll(), is(nullValue()));
+            async.flag();
+        })));
+    }
+}
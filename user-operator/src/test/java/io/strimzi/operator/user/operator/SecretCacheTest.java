@@ -0,0 +1,205 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user.operator;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.operator.resource.SecretOperator;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(VertxExtension.class)
+public class SecretCacheTest {
+    private static final String NAMESPACE = "namespace";
+    private static final Labels SELECTOR = Labels.forStrimziKind("KafkaUser");
+
+    protected static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    private static Secret secret(String name, String value) {
+        return new SecretBuilder()
+                .withNewMetadata()
+                    .withName(name)
+                    .withNamespace(NAMESPACE)
+                    .withLabels(SELECTOR.toMap())
+                .endMetadata()
+                .withData(singletonMap("key", value))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSingleSecretIsServedFromCache(VertxTestContext context) {
+        SecretOperator mockSecretOps = mock(SecretOperator.class);
+        ArgumentCaptor<Watcher<Secret>> watcherCaptor = ArgumentCaptor.forClass(Watcher.class);
+        when(mockSecretOps.watch(eq(NAMESPACE), eq("ca-cert"), watcherCaptor.capture())).thenReturn(mock(Watch.class));
+        when(mockSecretOps.getAsync(NAMESPACE, "ca-cert")).thenReturn(Future.succeededFuture(secret("ca-cert", "v1")));
+
+        SecretCache cache = new SecretCache(vertx, mockSecretOps);
+
+        Checkpoint async = context.checkpoint();
+        cache.watch(NAMESPACE, "ca-cert").onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(cache.get(NAMESPACE, "ca-cert").getData().get("key"), is("v1"));
+
+            watcherCaptor.getValue().eventReceived(Watcher.Action.MODIFIED, secret("ca-cert", "v2"));
+            assertThat(cache.get(NAMESPACE, "ca-cert").getData().get("key"), is("v2"));
+            verify(mockSecretOps, never()).get(anyString(), anyString());
+
+            // Deleted Secrets are read from the Kubernetes API again
+            watcherCaptor.getValue().eventReceived(Watcher.Action.DELETED, secret("ca-cert", "v2"));
+            assertThat(cache.getCached(NAMESPACE, "ca-cert"), is(nullValue()));
+            assertThat(cache.get(NAMESPACE, "ca-cert"), is(nullValue()));
+            verify(mockSecretOps, times(1)).get(NAMESPACE, "ca-cert");
+
+            cache.close();
+            async.flag();
+        })));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testWatchEventsDuringListTakePrecedence(VertxTestContext context) {
+        SecretOperator mockSecretOps = mock(SecretOperator.class);
+        ArgumentCaptor<Watcher<Secret>> watcherCaptor = ArgumentCaptor.forClass(Watcher.class);
+        when(mockSecretOps.watch(eq(NAMESPACE), any(Optional.class), watcherCaptor.capture())).thenReturn(mock(Watch.class));
+
+        Promise<List<Secret>> listPromise = Promise.promise();
+        when(mockSecretOps.listAsync(eq(NAMESPACE), any(Labels.class))).thenReturn(listPromise.future());
+
+        SecretCache cache = new SecretCache(vertx, mockSecretOps);
+
+        Checkpoint async = context.checkpoint();
+        Future<Void> started = cache.watch(NAMESPACE, SELECTOR);
+
+        vertx.setTimer(100, ignore -> {
+            // The list was started before these changes, so it returns the old state
+            watcherCaptor.getValue().eventReceived(Watcher.Action.MODIFIED, secret("user1", "new"));
+            watcherCaptor.getValue().eventReceived(Watcher.Action.DELETED, secret("user2", "old"));
+            listPromise.complete(asList(secret("user1", "old"), secret("user2", "old"), secret("user3", "old")));
+        });
+
+        started.onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(cache.getCached(NAMESPACE, "user1").getData().get("key"), is("new"));
+            assertThat(cache.getCached(NAMESPACE, "user2"), is(nullValue()));
+            assertThat(cache.getCached(NAMESPACE, "user3").getData().get("key"), is("old"));
+            assertThat(cache.size(), is(2));
+
+            cache.close();
+            async.flag();
+        })));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testWatchIsRecreatedAfterError(VertxTestContext context) {
+        SecretOperator mockSecretOps = mock(SecretOperator.class);
+        ArgumentCaptor<Watcher<Secret>> watcherCaptor = ArgumentCaptor.forClass(Watcher.class);
+        when(mockSecretOps.watch(eq(NAMESPACE), any(Optional.class), watcherCaptor.capture())).thenReturn(mock(Watch.class));
+        when(mockSecretOps.listAsync(eq(NAMESPACE), any(Labels.class)))
+                .thenReturn(Future.succeededFuture(asList(secret("user1", "v1"), secret("user2", "v1"))))
+                .thenReturn(Future.succeededFuture(asList(secret("user1", "v2"))));
+
+        SecretCache cache = new SecretCache(vertx, mockSecretOps);
+
+        Checkpoint async = context.checkpoint();
+        cache.watch(NAMESPACE, SELECTOR).onComplete(context.succeeding(v -> {
+            watcherCaptor.getValue().onClose(new KubernetesClientException("Watch failed"));
+
+            vertx.setTimer(500, ignore -> context.verify(() -> {
+                verify(mockSecretOps, times(2)).watch(eq(NAMESPACE), any(Optional.class), any(Watcher.class));
+
+                // user2 was deleted while the watch was not running
+                assertThat(cache.getCached(NAMESPACE, "user1").getData().get("key"), is("v2"));
+                assertThat(cache.getCached(NAMESPACE, "user2"), is(nullValue()));
+
+                cache.close();
+                async.flag();
+            }));
+        }));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUpdateOnlyCachesWatchedSecrets(VertxTestContext context) {
+        SecretOperator mockSecretOps = mock(SecretOperator.class);
+        when(mockSecretOps.watch(eq(NAMESPACE), any(Optional.class), any(Watcher.class))).thenReturn(mock(Watch.class));
+        when(mockSecretOps.listAsync(eq(NAMESPACE), any(Labels.class))).thenReturn(Future.succeededFuture(Collections.<Secret>emptyList()));
+
+        SecretCache cache = new SecretCache(vertx, mockSecretOps);
+
+        Checkpoint async = context.checkpoint();
+        cache.watch(NAMESPACE, SELECTOR).onComplete(context.succeeding(v -> context.verify(() -> {
+            cache.update(NAMESPACE, "user1", secret("user1", "v1"));
+            assertThat(cache.getCached(NAMESPACE, "user1").getData().get("key"), is("v1"));
+
+            Secret unlabeled = new SecretBuilder(secret("other", "v1")).editMetadata().withLabels(null).endMetadata().build();
+            cache.update(NAMESPACE, "other", unlabeled);
+            assertThat(cache.getCached(NAMESPACE, "other"), is(nullValue()));
+
+            cache.update(NAMESPACE, "user1", null);
+            assertThat(cache.getCached(NAMESPACE, "user1"), is(nullValue()));
+
+            cache.close();
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testIsUpToDate() {
+        Secret current = new SecretBuilder(secret("user1", "v1"))
+                .editMetadata()
+                    .withResourceVersion("1")
+                .endMetadata()
+                .withType("Opaque")
+                .build();
+
+        assertThat(SecretCache.isUpToDate(current, secret("user1", "v1")), is(true));
+        assertThat(SecretCache.isUpToDate(current, secret("user1", "v2")), is(false));
+        assertThat(SecretCache.isUpToDate(current, new SecretBuilder(secret("user1", "v1")).editMetadata().addToLabels("foo", "bar").endMetadata().build()), is(false));
+        assertThat(SecretCache.isUpToDate(current, new SecretBuilder(secret("user1", "v1")).editMetadata().addToAnnotations("foo", "bar").endMetadata().build()), is(false));
+        assertThat(SecretCache.isUpToDate(null, secret("user1", "v1")), is(false));
+        assertThat(SecretCache.isUpToDate(current, null), is(false));
+    }
+}